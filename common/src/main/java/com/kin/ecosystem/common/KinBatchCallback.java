@@ -0,0 +1,25 @@
+package com.kin.ecosystem.common;
+
+import com.kin.ecosystem.common.exception.KinEcosystemException;
+
+/**
+ * Results of a batch call, the result of each item is delivered as soon as it completes, in any order.
+ * Called on the main thread.
+ */
+public interface KinBatchCallback<T> {
+
+    /**
+     * @param index the index of the item in the batch.
+     */
+    void onItemResponse(int index, T response);
+
+    /**
+     * @param index the index of the item in the batch.
+     */
+    void onItemFailure(int index, KinEcosystemException exception);
+
+    /**
+     * Called once after all the items completed.
+     */
+    void onCompleted();
+}
@@ -0,0 +1,127 @@
+package com.kin.ecosystem.common.model;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Network stats of one logical endpoint, such as "GET /orders/{id}".
+ * The connection phases (dns, connect, tls) are recorded only for calls that opened a new connection,
+ * calls served from the HTTP cache have no phases nor sizes.
+ */
+public class EndpointStats {
+
+    private final String endpoint;
+    private final long calls;
+    private final long failedCalls;
+    private final Map<Integer, Long> statusCodes;
+    private final HistogramSummary dns;
+    private final HistogramSummary connect;
+    private final HistogramSummary tls;
+    private final HistogramSummary timeToFirstByte;
+    private final HistogramSummary responseBody;
+    private final HistogramSummary total;
+    private final HistogramSummary requestBytes;
+    private final HistogramSummary responseBytes;
+
+    public EndpointStats(String endpoint, long calls, long failedCalls, Map<Integer, Long> statusCodes,
+        HistogramSummary dns, HistogramSummary connect, HistogramSummary tls, HistogramSummary timeToFirstByte,
+        HistogramSummary responseBody, HistogramSummary total, HistogramSummary requestBytes,
+        HistogramSummary responseBytes) {
+        this.endpoint = endpoint;
+        this.calls = calls;
+        this.failedCalls = failedCalls;
+        this.statusCodes = Collections.unmodifiableMap(statusCodes);
+        this.dns = dns;
+        this.connect = connect;
+        this.tls = tls;
+        this.timeToFirstByte = timeToFirstByte;
+        this.responseBody = responseBody;
+        this.total = total;
+        this.requestBytes = requestBytes;
+        this.responseBytes = responseBytes;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    /**
+     * @return number of finished calls, failed calls included.
+     */
+    public long getCalls() {
+        return calls;
+    }
+
+    /**
+     * @return number of calls that failed without a response, such as a timeout or no network.
+     */
+    public long getFailedCalls() {
+        return failedCalls;
+    }
+
+    /**
+     * @return number of responses by HTTP status code.
+     */
+    public Map<Integer, Long> getStatusCodes() {
+        return statusCodes;
+    }
+
+    public HistogramSummary getDns() {
+        return dns;
+    }
+
+    /**
+     * @return TCP connect duration, TLS included.
+     */
+    public HistogramSummary getConnect() {
+        return connect;
+    }
+
+    public HistogramSummary getTls() {
+        return tls;
+    }
+
+    /**
+     * @return duration from sending the request until the response headers started to arrive.
+     */
+    public HistogramSummary getTimeToFirstByte() {
+        return timeToFirstByte;
+    }
+
+    public HistogramSummary getResponseBody() {
+        return responseBody;
+    }
+
+    /**
+     * @return duration of the whole call, from start until the response body was read.
+     */
+    public HistogramSummary getTotal() {
+        return total;
+    }
+
+    public HistogramSummary getRequestBytes() {
+        return requestBytes;
+    }
+
+    public HistogramSummary getResponseBytes() {
+        return responseBytes;
+    }
+
+    @Override
+    public String toString() {
+        return "EndpointStats{" +
+            "endpoint='" + endpoint + '\'' +
+            ", calls=" + calls +
+            ", failedCalls=" + failedCalls +
+            ", statusCodes=" + statusCodes +
+            ", dns=" + dns +
+            ", connect=" + connect +
+            ", tls=" + tls +
+            ", timeToFirstByte=" + timeToFirstByte +
+            ", responseBody=" + responseBody +
+            ", total=" + total +
+            ", requestBytes=" + requestBytes +
+            ", responseBytes=" + responseBytes +
+            '}';
+    }
+}
@@ -0,0 +1,54 @@
+package com.kin.ecosystem.common.model;
+
+/**
+ * Summary of recorded values, durations are in milliseconds and sizes in bytes.
+ * Percentiles are approximated, at most 12.5% above the real value.
+ */
+public class HistogramSummary {
+
+    private final long count;
+    private final long mean;
+    private final long p50;
+    private final long p90;
+    private final long p99;
+    private final long max;
+
+    public HistogramSummary(long count, long mean, long p50, long p90, long p99, long max) {
+        this.count = count;
+        this.mean = mean;
+        this.p50 = p50;
+        this.p90 = p90;
+        this.p99 = p99;
+        this.max = max;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getMean() {
+        return mean;
+    }
+
+    public long getP50() {
+        return p50;
+    }
+
+    public long getP90() {
+        return p90;
+    }
+
+    public long getP99() {
+        return p99;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    @Override
+    public String toString() {
+        return "{count=" + count + ", mean=" + mean + ", p50=" + p50 + ", p90=" + p90 + ", p99=" + p99
+            + ", max=" + max + '}';
+    }
+}
@@ -0,0 +1,37 @@
+package com.kin.ecosystem.common.model;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Snapshot of the SDK network calls stats per endpoint, counted since the SDK was initialized.
+ */
+public class NetworkStats {
+
+    private final long timestampMillis;
+    private final List<EndpointStats> endpoints;
+
+    public NetworkStats(long timestampMillis, List<EndpointStats> endpoints) {
+        this.timestampMillis = timestampMillis;
+        this.endpoints = Collections.unmodifiableList(endpoints);
+    }
+
+    /**
+     * @return when the snapshot was taken, in {@link System#currentTimeMillis()} time.
+     */
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+
+    public List<EndpointStats> getEndpoints() {
+        return endpoints;
+    }
+
+    @Override
+    public String toString() {
+        return "NetworkStats{" +
+            "timestampMillis=" + timestampMillis +
+            ", endpoints=" + endpoints +
+            '}';
+    }
+}
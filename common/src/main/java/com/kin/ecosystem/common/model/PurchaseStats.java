@@ -0,0 +1,89 @@
+package com.kin.ecosystem.common.model;
+
+/**
+ * Duration of each stage of the external purchase flow, counted since the SDK was initialized.
+ * Stages that don't run in a flow, such as prepare in the sequential flow, have an empty summary.
+ */
+public class PurchaseStats {
+
+    private final boolean pipelined;
+    private final HistogramSummary create;
+    private final HistogramSummary prepare;
+    private final HistogramSummary submit;
+    private final HistogramSummary broadcast;
+    private final HistogramSummary confirm;
+    private final HistogramSummary total;
+
+    public PurchaseStats(boolean pipelined, HistogramSummary create, HistogramSummary prepare,
+        HistogramSummary submit, HistogramSummary broadcast, HistogramSummary confirm, HistogramSummary total) {
+        this.pipelined = pipelined;
+        this.create = create;
+        this.prepare = prepare;
+        this.submit = submit;
+        this.broadcast = broadcast;
+        this.confirm = confirm;
+        this.total = total;
+    }
+
+    /**
+     * @return true for the stats of the pipelined flow, false for the sequential one.
+     */
+    public boolean isPipelined() {
+        return pipelined;
+    }
+
+    /**
+     * @return duration of the order creation.
+     */
+    public HistogramSummary getCreate() {
+        return create;
+    }
+
+    /**
+     * @return duration of the account lookup made while the order is created, pipelined flow only.
+     */
+    public HistogramSummary getPrepare() {
+        return prepare;
+    }
+
+    /**
+     * @return duration from submitting the order until it was acknowledged.
+     */
+    public HistogramSummary getSubmit() {
+        return submit;
+    }
+
+    /**
+     * @return duration of sending the transaction until it was accepted by the blockchain, pipelined flow only.
+     */
+    public HistogramSummary getBroadcast() {
+        return broadcast;
+    }
+
+    /**
+     * @return duration from the last client stage until the order was confirmed.
+     */
+    public HistogramSummary getConfirm() {
+        return confirm;
+    }
+
+    /**
+     * @return duration of the whole purchase, from start until the order was confirmed.
+     */
+    public HistogramSummary getTotal() {
+        return total;
+    }
+
+    @Override
+    public String toString() {
+        return "PurchaseStats{" +
+            "pipelined=" + pipelined +
+            ", create=" + create +
+            ", prepare=" + prepare +
+            ", submit=" + submit +
+            ", broadcast=" + broadcast +
+            ", confirm=" + confirm +
+            ", total=" + total +
+            '}';
+    }
+}
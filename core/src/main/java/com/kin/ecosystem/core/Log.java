@@ -4,15 +4,38 @@ import static java.lang.annotation.RetentionPolicy.SOURCE;
 
 import android.support.annotation.IntDef;
 import java.lang.annotation.Retention;
+import java.util.Arrays;
 
+/**
+ * A structured log record, the values are only captured when put and formatted when the record is printed,
+ * primitive values are kept unboxed.
+ * Hot paths should check {@link Logger#isLoggable(int)} before building a record.
+ */
 public class Log {
-	private static String COLON = ": ";
-	private static String COMMA = ", ";
-	private static String SPACE = " ";
+	private static final String COLON = ": ";
+	private static final String COMMA = ", ";
+	private static final String SPACE = " ";
+
+	private static final byte KIND_OBJECT = 0;
+	private static final byte KIND_TEXT = 1;
+	private static final byte KIND_LONG = 2;
+	private static final byte KIND_DOUBLE = 3;
+	private static final byte KIND_BOOLEAN = 4;
+	private static final int INITIAL_CAPACITY = 4;
 
 	private int priority = DEBUG;
 	private String tag;
-	private StringBuilder content = new StringBuilder();
+
+	private int size;
+	private byte[] kinds = new byte[INITIAL_CAPACITY];
+	private String[] names = new String[INITIAL_CAPACITY];
+	private Object[] objects;
+	private long[] numbers;
+
+	// Set when the record is kept by the ring buffer.
+	long timestampMillis;
+	String threadName;
+	long sequence;
 
 	public static final int DEBUG = 3;
 	public static final int INFO = 4;
@@ -35,23 +58,115 @@ public class Log {
 		return this;
 	}
 
+	/**
+	 * The value is captured by reference, its {@link Object#toString()} is called only if the record is printed.
+	 */
 	public Log put(String name, Object value) {
-		content.append(name)
-			.append(COLON)
-			.append(value)
-			.append(COMMA);
+		final int index = add(KIND_OBJECT, name);
+		if (objects == null) {
+			objects = new Object[kinds.length];
+		}
+		objects[index] = value;
+		return this;
+	}
+
+	public Log put(String name, int value) {
+		return put(name, (long) value);
+	}
+
+	public Log put(String name, long value) {
+		setNumber(add(KIND_LONG, name), value);
+		return this;
+	}
+
+	public Log put(String name, double value) {
+		setNumber(add(KIND_DOUBLE, name), Double.doubleToRawLongBits(value));
+		return this;
+	}
 
+	public Log put(String name, boolean value) {
+		setNumber(add(KIND_BOOLEAN, name), value ? 1 : 0);
 		return this;
 	}
 
 	public Log text(String name) {
-		content.append(SPACE)
-			.append(name)
-			.append(SPACE);
+		add(KIND_TEXT, name);
 		return this;
 	}
 
 	public void log() {
-		Logger.log(priority, tag, content.substring(0, content.length() - 1));
+		Logger.log(this);
+	}
+
+	@Priority
+	public int getPriority() {
+		return priority;
+	}
+
+	public String getTag() {
+		return tag;
+	}
+
+	/**
+	 * @return the formatted record content.
+	 */
+	public String getContent() {
+		final StringBuilder content = new StringBuilder(size * 24);
+		appendContent(content);
+		return content.toString();
+	}
+
+	void appendContent(StringBuilder content) {
+		final int start = content.length();
+		for (int i = 0; i < size; i++) {
+			if (kinds[i] == KIND_TEXT) {
+				content.append(SPACE).append(names[i]).append(SPACE);
+				continue;
+			}
+			content.append(names[i]).append(COLON);
+			switch (kinds[i]) {
+				case KIND_LONG:
+					content.append(numbers[i]);
+					break;
+				case KIND_DOUBLE:
+					content.append(Double.longBitsToDouble(numbers[i]));
+					break;
+				case KIND_BOOLEAN:
+					content.append(numbers[i] != 0);
+					break;
+				default:
+					content.append(objects[i]);
+					break;
+			}
+			content.append(COMMA);
+		}
+		// Drop the trailing space as the records were always printed.
+		if (content.length() > start) {
+			content.setLength(content.length() - 1);
+		}
+	}
+
+	private int add(byte kind, String name) {
+		if (size == kinds.length) {
+			final int capacity = size * 2;
+			kinds = Arrays.copyOf(kinds, capacity);
+			names = Arrays.copyOf(names, capacity);
+			if (objects != null) {
+				objects = Arrays.copyOf(objects, capacity);
+			}
+			if (numbers != null) {
+				numbers = Arrays.copyOf(numbers, capacity);
+			}
+		}
+		kinds[size] = kind;
+		names[size] = name;
+		return size++;
+	}
+
+	private void setNumber(int index, long value) {
+		if (numbers == null) {
+			numbers = new long[kinds.length];
+		}
+		numbers[index] = value;
 	}
 }
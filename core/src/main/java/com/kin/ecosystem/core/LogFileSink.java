@@ -0,0 +1,127 @@
+package com.kin.ecosystem.core;
+
+import android.support.annotation.NonNull;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.text.SimpleDateFormat;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor.DiscardPolicy;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Appends the recorded logs to a file on a background thread, when the file reaches {@code maxFileBytes} it is
+ * rotated to {@code <name>.1}, {@code <name>.2}.. keeping {@code maxBackupFiles} files.
+ * Records are dropped if the writer can't keep up.
+ */
+public class LogFileSink {
+
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+	private static final int MAX_PENDING_RECORDS = 1024;
+
+	private final File file;
+	private final long maxFileBytes;
+	private final int maxBackupFiles;
+	private final ThreadPoolExecutor executor;
+
+	// Accessed only from the executor thread.
+	private final SimpleDateFormat dateFormat = Logger.newRecordDateFormat();
+	private OutputStream outputStream;
+	private long fileBytes;
+
+	public LogFileSink(@NonNull File file, long maxFileBytes, int maxBackupFiles) {
+		if (maxFileBytes <= 0 || maxBackupFiles < 0) {
+			throw new IllegalArgumentException("maxFileBytes must be positive and maxBackupFiles not negative");
+		}
+		this.file = file;
+		this.maxFileBytes = maxFileBytes;
+		this.maxBackupFiles = maxBackupFiles;
+		this.executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+			new ArrayBlockingQueue<Runnable>(MAX_PENDING_RECORDS), new DiscardPolicy());
+	}
+
+	public File getFile() {
+		return file;
+	}
+
+	void write(final Log log) {
+		executor.execute(new Runnable() {
+			@Override
+			public void run() {
+				final StringBuilder line = new StringBuilder(128);
+				Logger.appendRecord(line, log, dateFormat);
+				writeLine(line.append('\n').toString().getBytes(UTF_8));
+			}
+		});
+	}
+
+	/**
+	 * Write the pending records and close the file, records written after close are ignored.
+	 */
+	public void close() {
+		executor.execute(new Runnable() {
+			@Override
+			public void run() {
+				closeFile();
+			}
+		});
+		executor.shutdown();
+	}
+
+	/**
+	 * Wait for the pending records to be written, for tests.
+	 */
+	boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+		return executor.awaitTermination(timeout, unit);
+	}
+
+	private void writeLine(byte[] line) {
+		try {
+			if (outputStream == null) {
+				fileBytes = file.length();
+				outputStream = new FileOutputStream(file, true);
+			}
+			if (fileBytes > 0 && fileBytes + line.length > maxFileBytes) {
+				rotate();
+			}
+			outputStream.write(line);
+			outputStream.flush();
+			fileBytes += line.length;
+		} catch (IOException e) {
+			// Nowhere to report it, drop the record and reopen the file on the next one.
+			closeFile();
+		}
+	}
+
+	private void rotate() throws IOException {
+		closeFile();
+		if (maxBackupFiles == 0) {
+			file.delete();
+		} else {
+			new File(file.getPath() + "." + maxBackupFiles).delete();
+			for (int i = maxBackupFiles - 1; i >= 1; i--) {
+				final File backup = new File(file.getPath() + "." + i);
+				if (backup.exists()) {
+					backup.renameTo(new File(file.getPath() + "." + (i + 1)));
+				}
+			}
+			file.renameTo(new File(file.getPath() + ".1"));
+		}
+		outputStream = new FileOutputStream(file, false);
+		fileBytes = 0;
+	}
+
+	private void closeFile() {
+		if (outputStream != null) {
+			try {
+				outputStream.close();
+			} catch (IOException e) {
+				// Nothing to do, the stream is dropped anyway.
+			}
+			outputStream = null;
+		}
+	}
+}
@@ -0,0 +1,62 @@
+package com.kin.ecosystem.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Keeps the last records in a fixed size array, writers claim a slot with one atomic increment and never block.
+ * A record being written while the buffer is dumped may be missing from the dump.
+ */
+class LogRingBuffer {
+
+	private final int mask;
+	private final AtomicReferenceArray<Log> slots;
+	private final AtomicLong nextSequence = new AtomicLong();
+
+	/**
+	 * @param capacity rounded up to a power of 2.
+	 */
+	LogRingBuffer(int capacity) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("capacity must be positive: " + capacity);
+		}
+		final int size = Integer.highestOneBit(capacity) == capacity ? capacity : Integer.highestOneBit(capacity) << 1;
+		this.mask = size - 1;
+		this.slots = new AtomicReferenceArray<>(size);
+	}
+
+	void add(Log log) {
+		final long sequence = nextSequence.getAndIncrement();
+		log.sequence = sequence;
+		slots.set((int) (sequence & mask), log);
+	}
+
+	/**
+	 * @return the kept records, oldest first.
+	 */
+	List<Log> snapshot() {
+		final long end = nextSequence.get();
+		final long start = Math.max(0, end - slots.length());
+		final List<Log> logs = new ArrayList<>((int) (end - start));
+		for (long sequence = start; sequence < end; sequence++) {
+			final Log log = slots.get((int) (sequence & mask));
+			// Skip slots not written yet or already overwritten by a newer record.
+			if (log != null && log.sequence == sequence) {
+				logs.add(log);
+			}
+		}
+		return logs;
+	}
+
+	int capacity() {
+		return slots.length();
+	}
+
+	void clear() {
+		for (int i = 0; i < slots.length(); i++) {
+			slots.set(i, null);
+		}
+	}
+}
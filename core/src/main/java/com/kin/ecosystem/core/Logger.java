@@ -1,33 +1,141 @@
 package com.kin.ecosystem.core;
 
+import android.support.annotation.Nullable;
 import android.util.Log;
 import com.kin.ecosystem.core.Log.Priority;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
 
+/**
+ * Prints the logs to logcat when enabled, and records the logs of {@link #setRecordPriority(int)} and above
+ * in a ring buffer that can be dumped for diagnostics, and to an optional {@link LogFileSink}.
+ * The priority is checked before a record is formatted.
+ */
 public class Logger {
 
 	private static final String BASE_TAG = "KinEcosystem - ";
+	private static final int RING_BUFFER_CAPACITY = 256;
+	private static final char[] PRIORITY_LETTERS = {'V', 'V', 'V', 'D', 'I', 'W', 'E', 'A'};
 
-	private static boolean shouldLog;
+	private static final LogRingBuffer ringBuffer = new LogRingBuffer(RING_BUFFER_CAPACITY);
+
+	private static volatile boolean shouldLog;
+	private static volatile int recordPriority = com.kin.ecosystem.core.Log.INFO;
+	@Nullable
+	private static volatile LogFileSink fileSink;
 
 	private Logger() {
 	}
 
-	public static void log(com.kin.ecosystem.core.Log ecosystemLog) {
-		ecosystemLog.log();
+	/**
+	 * @return true if a log of this priority would be printed or recorded,
+	 * check it before building the log on hot paths.
+	 */
+	public static boolean isLoggable(@Priority final int priority) {
+		return shouldLog || priority >= recordPriority;
 	}
 
-	public static void log(@Priority final int priority, final String tag, final String content) {
+	public static void log(com.kin.ecosystem.core.Log ecosystemLog) {
+		final int priority = ecosystemLog.getPriority();
+		if (priority >= recordPriority) {
+			record(ecosystemLog);
+		}
 		if (shouldLog) {
-			Log.println(priority, getTag(tag), content);
+			Log.println(priority, getTag(ecosystemLog.getTag()), ecosystemLog.getContent());
 		}
 	}
 
+	public static void log(@Priority final int priority, final String tag, final String content) {
+		log(new com.kin.ecosystem.core.Log().priority(priority).withTag(tag).text(content));
+	}
+
 	public static void enableLogs(final boolean enableLogs) {
 		Logger.shouldLog = enableLogs;
 	}
 
+	/**
+	 * Set the lowest priority kept in the ring buffer and the file sink, {@link com.kin.ecosystem.core.Log#INFO}
+	 * by default.
+	 */
+	public static void setRecordPriority(@Priority final int priority) {
+		Logger.recordPriority = priority;
+	}
+
+	/**
+	 * Also write the recorded logs to a file, null to stop. The previous sink is closed.
+	 */
+	public static void setFileSink(@Nullable final LogFileSink sink) {
+		final LogFileSink previous = fileSink;
+		fileSink = sink;
+		if (previous != null && previous != sink) {
+			previous.close();
+		}
+	}
+
+	/**
+	 * Write the recorded logs, oldest first, one per line.
+	 */
+	public static void dump(Writer writer) throws IOException {
+		final List<com.kin.ecosystem.core.Log> logs = ringBuffer.snapshot();
+		final SimpleDateFormat dateFormat = newRecordDateFormat();
+		final StringBuilder line = new StringBuilder(128);
+		for (com.kin.ecosystem.core.Log log : logs) {
+			line.setLength(0);
+			appendRecord(line, log, dateFormat);
+			writer.write(line.append('\n').toString());
+		}
+		writer.flush();
+	}
+
+	/**
+	 * @return the recorded logs, oldest first, one per line.
+	 */
+	public static String dump() {
+		final StringWriter writer = new StringWriter(RING_BUFFER_CAPACITY * 128);
+		try {
+			dump(writer);
+		} catch (IOException e) {
+			// StringWriter doesn't throw.
+		}
+		return writer.toString();
+	}
+
+	static void clearRecords() {
+		ringBuffer.clear();
+	}
+
+	static SimpleDateFormat newRecordDateFormat() {
+		return new SimpleDateFormat("MM-dd HH:mm:ss.SSS", Locale.US);
+	}
+
+	static void appendRecord(StringBuilder line, com.kin.ecosystem.core.Log log, SimpleDateFormat dateFormat) {
+		line.append(dateFormat.format(new Date(log.timestampMillis)))
+			.append(' ')
+			.append(PRIORITY_LETTERS[log.getPriority() & 7])
+			.append(' ')
+			.append(getTag(log.getTag()))
+			.append(" [")
+			.append(log.threadName)
+			.append("]: ");
+		log.appendContent(line);
+	}
+
+	private static void record(com.kin.ecosystem.core.Log ecosystemLog) {
+		ecosystemLog.timestampMillis = System.currentTimeMillis();
+		ecosystemLog.threadName = Thread.currentThread().getName();
+		ringBuffer.add(ecosystemLog);
+		final LogFileSink sink = fileSink;
+		if (sink != null) {
+			sink.write(ecosystemLog);
+		}
+	}
+
 	private static String getTag(String tag) {
 		return BASE_TAG + tag;
 	}
 }
- 
\ No newline at end of file
@@ -6,6 +6,7 @@ internal class PollingRequest<T>(private val intervals: IntArray, private val ca
 
     companion object {
         const val SECOND_IN_MILLIS: Long = 1000
+        private const val TAG = "PollingRequest"
     }
 
     private val pollingLimitIndex: Int = intervals.size
@@ -17,14 +18,18 @@ internal class PollingRequest<T>(private val intervals: IntArray, private val ca
     }
 
     private fun poll(): T {
-        Logger.log(Log().withTag("PollingRequest").text("start polling"))
+        if (Logger.isLoggable(Log.DEBUG)) {
+            Logger.log(Log().withTag(TAG).text("start polling"))
+        }
         var pollingIndex = 0
         Polling@ while (true) {
             return try {
                 callable.call()
             } catch (e: Exception) {
                 if (pollingIndex < pollingLimitIndex) {
-                    Logger.log(Log().withTag("PollingRequest").put("pollingIndex", pollingIndex))
+                    if (Logger.isLoggable(Log.DEBUG)) {
+                        Logger.log(Log().withTag(TAG).put("pollingIndex", pollingIndex))
+                    }
                     Thread.sleep(intervals[pollingIndex] * SECOND_IN_MILLIS)
                     pollingIndex++
                     continue@Polling
@@ -4,6 +4,8 @@ import com.kin.ecosystem.core.bi.events.Common;
 import com.kin.ecosystem.core.bi.events.User;
 
 public interface Event {
+    String getEventName();
+
     Common getCommon();
     void setCommon(Common common);
 
@@ -0,0 +1,36 @@
+package com.kin.ecosystem.core.bi;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates random looking version 4 UUIDs for event ids, without the {@link SecureRandom} call
+ * {@link UUID#randomUUID()} pays for every id.
+ * The high bits are random per process, the low bits are a counter scrambled by a bijective mix,
+ * so ids don't repeat in a process and don't collide across devices, but are not unpredictable.
+ */
+public final class EventIdGenerator {
+
+    private static final long PROCESS_BITS = new SecureRandom().nextLong();
+    private static final AtomicLong counter = new AtomicLong(new SecureRandom().nextLong());
+
+    private EventIdGenerator() {
+    }
+
+    public static UUID next() {
+        // Version 4 and IETF variant bits, as in UUID.randomUUID().
+        final long mostSigBits = (PROCESS_BITS & 0xFFFFFFFFFFFF0FFFL) | 0x0000000000004000L;
+        final long leastSigBits = (mix(counter.getAndIncrement()) & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    /**
+     * The SplitMix64 finalizer, a bijection on 64 bits.
+     */
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+}
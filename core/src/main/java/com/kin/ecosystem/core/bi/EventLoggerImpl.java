@@ -1,38 +1,292 @@
 package com.kin.ecosystem.core.bi;
 
+import android.content.Context;
+import android.support.annotation.NonNull;
 import com.kin.ecosystem.core.Log;
 import com.kin.ecosystem.core.Logger;
+import com.kin.ecosystem.core.network.ApiCallback;
 import com.kin.ecosystem.core.network.ApiException;
+import com.kin.ecosystem.core.bi.EventPolicyEngine.AggregatedCount;
+import com.kin.ecosystem.core.bi.events.EventsAggregated;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Scanner;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
-
+/**
+ * Queues events on disk and sends them to BI in batches.
+ * Events first pass their type {@link EventPolicy}, which can sample, rate limit or aggregate them,
+ * the policies are loaded from the {@link #POLICY_CONFIG_ASSET} asset if the app has one.
+ * A batch is flushed when {@link #BATCH_SIZE} events are queued or {@link #FLUSH_INTERVAL_MILLIS} passed since
+ * the first queued event, failed batches are retried with exponential backoff.
+ * By default each event is sent in its own request as a single JSON object. With {@link #setBatchRequests(boolean)}
+ * a request sends a JSON array of events, which the BI endpoint has to accept.
+ * All the queue work is done on a single background thread.
+ */
 public class EventLoggerImpl implements EventLogger {
 
-    private static EventLoggerImpl instance;
+    private static final String TAG = EventLoggerImpl.class.getSimpleName();
+
+    private static final String EVENTS_QUEUE_FILE_NAME = "kinecosystem_bi_events";
+    static final String POLICY_CONFIG_ASSET = "kinecosystem_bi_events_policy.json";
+    private static final long MAX_QUEUE_BYTES = 512 * 1024; // 512KB
+    private static final int BATCH_SIZE = 20;
+    private static final int MAX_BATCH_SIZE = 50;
+    private static final long FLUSH_INTERVAL_MILLIS = 10 * 1000; // 10 seconds
+    private static final long MIN_RETRY_DELAY_MILLIS = 5 * 1000; // 5 seconds
+    private static final long MAX_RETRY_DELAY_MILLIS = 5 * 60 * 1000; // 5 minutes
+
+    private static final int CLIENT_ERROR_MIN_CODE = 400;
+    private static final int SERVER_ERROR_MIN_CODE = 500;
+    private static final int REQUEST_TIMEOUT_CODE = 408;
+    private static final int TOO_MANY_REQUESTS_CODE = 429;
+
+    private static volatile EventLoggerImpl instance;
 
     private final EventsApi eventsApi;
+    private final ScheduledExecutorService executor;
+    private final Random random = new Random();
+    private volatile EventPolicyEngine policyEngine;
+    private volatile boolean batchRequests;
 
-    private EventLoggerImpl(EventsApi eventsApi) {
+    // Accessed only from the executor thread.
+    private EventQueue eventQueue;
+    private ScheduledFuture<?> scheduledFlush;
+    private ScheduledFuture<?> scheduledWindowsClose;
+    private List<String> batch;
+    private String batchId;
+    private boolean isSending;
+    private int retryAttempt;
+
+    private EventLoggerImpl(@NonNull EventsApi eventsApi, @NonNull final File queueFile,
+        @NonNull final Context context) {
         this.eventsApi = eventsApi;
+        this.executor = Executors.newSingleThreadScheduledExecutor();
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                // Load the queue off the caller thread, the executor is sequential so it's ready for any next task.
+                policyEngine = new EventPolicyEngine(loadPolicyConfig(context), random);
+                eventQueue = new EventQueue(queueFile, MAX_QUEUE_BYTES);
+                // Events left from a previous session.
+                if (!eventQueue.isEmpty()) {
+                    scheduleFlush(0);
+                }
+            }
+        });
     }
 
-    public static EventLoggerImpl getInstance() {
+    public static void init(@NonNull Context context) {
         if (instance == null) {
             synchronized (EventLoggerImpl.class) {
                 if (instance == null) {
-                    instance = new EventLoggerImpl(new EventsApi());
+                    instance = new EventLoggerImpl(new EventsApi(),
+                        new File(context.getFilesDir(), EVENTS_QUEUE_FILE_NAME), context.getApplicationContext());
                 }
             }
         }
-        return  instance;
     }
 
+    public static EventLoggerImpl getInstance() {
+        return instance;
+    }
+
+    /**
+     * Send the queued events in batches of up to {@link #MAX_BATCH_SIZE} events as a JSON array,
+     * instead of a request per event. Enable only when the BI endpoint accepts JSON arrays.
+     */
+    public void setBatchRequests(boolean batchRequests) {
+        this.batchRequests = batchRequests;
+    }
+
+    /**
+     * @return what the policy of each event type sent so far did with its events.
+     */
+    public Map<String, EventPolicyStats> getPolicyStats() {
+        final EventPolicyEngine engine = policyEngine;
+        return engine != null ? engine.getStats() : Collections.<String, EventPolicyStats>emptyMap();
+    }
 
     @Override
-    public void send(Event event) {
+    public void send(final Event event) {
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                switch (policyEngine.onEvent(event.getEventName(), System.currentTimeMillis())) {
+                    case SEND:
+                        add(event);
+                        break;
+                    case AGGREGATED:
+                        scheduleWindowsClose();
+                        break;
+                    default:
+                        break;
+                }
+            }
+        });
+    }
+
+    private void add(Event event) {
+        eventQueue.add(eventsApi.serialize(event));
+        // While backing off, let the retry fire on time instead of forcing a flush.
+        if (retryAttempt == 0 && eventQueue.size() >= BATCH_SIZE) {
+            scheduleFlush(0);
+        } else if (scheduledFlush == null) {
+            scheduleFlush(FLUSH_INTERVAL_MILLIS);
+        }
+    }
+
+    private void scheduleWindowsClose() {
+        if (scheduledWindowsClose != null) {
+            return;
+        }
+        final long nextWindowEnd = policyEngine.getNextWindowEndMillis();
+        if (nextWindowEnd == 0) {
+            return;
+        }
+        scheduledWindowsClose = executor.schedule(new Runnable() {
+            @Override
+            public void run() {
+                scheduledWindowsClose = null;
+                for (AggregatedCount count : policyEngine.closeEndedWindows(System.currentTimeMillis())) {
+                    add(EventsAggregated.create(count.eventName, count.count, count.windowMillis));
+                }
+                scheduleWindowsClose();
+            }
+        }, Math.max(0, nextWindowEnd - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+    }
+
+    private static EventPolicyConfig loadPolicyConfig(Context context) {
+        InputStream inputStream = null;
+        try {
+            inputStream = context.getAssets().open(POLICY_CONFIG_ASSET);
+            final Scanner scanner = new Scanner(inputStream, "UTF-8").useDelimiter("\\A");
+            return EventPolicyConfig.fromJson(scanner.hasNext() ? scanner.next() : "{}");
+        } catch (FileNotFoundException e) {
+            return EventPolicyConfig.createDefault();
+        } catch (IOException | IllegalArgumentException e) {
+            Logger.log(new Log().withTag(TAG).priority(Log.ERROR).put("load events policy failed", e.getMessage()));
+            return EventPolicyConfig.createDefault();
+        } finally {
+            if (inputStream != null) {
+                try {
+                    inputStream.close();
+                } catch (IOException e) {
+                    // Nothing to do, the config was read.
+                }
+            }
+        }
+    }
+
+    private void scheduleFlush(long delayMillis) {
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+        }
+        scheduledFlush = executor.schedule(new Runnable() {
+            @Override
+            public void run() {
+                scheduledFlush = null;
+                flush();
+            }
+        }, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void flush() {
+        if (isSending || eventQueue.isEmpty()) {
+            return;
+        }
+        if (batch == null) {
+            // A failed batch is retried as is with the same id, so the server can de-duplicate it.
+            batch = eventQueue.peek(batchRequests ? MAX_BATCH_SIZE : 1);
+            batchId = UUID.randomUUID().toString();
+        }
+        isSending = true;
         try {
-            eventsApi.sendEventAsync(event, null);
+            final ApiCallback<String> callback = new ApiCallback<String>() {
+                @Override
+                public void onFailure(final ApiException e, final int statusCode,
+                    Map<String, List<String>> responseHeaders) {
+                    executor.execute(new Runnable() {
+                        @Override
+                        public void run() {
+                            onBatchFailed(e, statusCode);
+                        }
+                    });
+                }
+
+                @Override
+                public void onSuccess(String result, int statusCode, Map<String, List<String>> responseHeaders) {
+                    executor.execute(new Runnable() {
+                        @Override
+                        public void run() {
+                            onBatchSent();
+                        }
+                    });
+                }
+            };
+            if (batchRequests) {
+                eventsApi.sendEventsAsync(batch, batchId, callback);
+            } else {
+                eventsApi.sendEventAsync(batch.get(0), batchId, callback);
+            }
         } catch (ApiException e) {
-            Logger.log(new Log().withTag("EventLoggerImpl").text(e.getMessage()).priority(Log.ERROR));
+            onBatchFailed(e, 0);
+        }
+    }
+
+    private void onBatchSent() {
+        removeBatch();
+        if (eventQueue.size() >= BATCH_SIZE || (!batchRequests && !eventQueue.isEmpty())) {
+            scheduleFlush(0);
+        } else if (!eventQueue.isEmpty()) {
+            scheduleFlush(FLUSH_INTERVAL_MILLIS);
+        }
+    }
+
+    private void onBatchFailed(ApiException e, int statusCode) {
+        Logger.log(new Log().withTag(TAG).priority(Log.ERROR).put("send batch failed, code", statusCode)
+            .put("message", e.getMessage()));
+        isSending = false;
+        if (isPermanentError(statusCode)) {
+            // Retrying would fail the same way, drop the batch so it won't block the queue.
+            removeBatch();
+            if (!eventQueue.isEmpty()) {
+                scheduleFlush(0);
+            }
+        } else {
+            scheduleFlush(getRetryDelay(retryAttempt++));
         }
     }
+
+    private void removeBatch() {
+        // Events of the batch may have been evicted while it was sent, newer events must stay queued.
+        eventQueue.removePeeked();
+        batch = null;
+        batchId = null;
+        isSending = false;
+        retryAttempt = 0;
+    }
+
+    private boolean isPermanentError(int statusCode) {
+        return statusCode >= CLIENT_ERROR_MIN_CODE && statusCode < SERVER_ERROR_MIN_CODE
+            && statusCode != REQUEST_TIMEOUT_CODE && statusCode != TOO_MANY_REQUESTS_CODE;
+    }
+
+    /**
+     * Exponential backoff with jitter, between {@link #MIN_RETRY_DELAY_MILLIS} and {@link #MAX_RETRY_DELAY_MILLIS}.
+     */
+    private long getRetryDelay(int attempt) {
+        final long delay = Math.min(MAX_RETRY_DELAY_MILLIS, MIN_RETRY_DELAY_MILLIS << Math.min(attempt, 16));
+        return delay / 2 + (long) (random.nextDouble() * delay / 2);
+    }
 }
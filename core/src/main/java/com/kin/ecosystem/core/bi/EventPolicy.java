@@ -0,0 +1,107 @@
+package com.kin.ecosystem.core.bi;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * How the events of one type are thinned out before they are queued:
+ * <ul>
+ * <li>sampling - only the given rate of the events is kept.</li>
+ * <li>aggregation - the first event of a time window is sent, the next ones in the window are only counted and
+ * reported by one {@link com.kin.ecosystem.core.bi.events.EventsAggregated} event when the window ends.</li>
+ * <li>rate limit - a token bucket of {@link #getMaxBurst()} tokens, refilled at {@link #getTokensPerMinute()},
+ * events that find it empty are dropped.</li>
+ * </ul>
+ */
+public class EventPolicy {
+
+    public static final EventPolicy UNLIMITED = new Builder().build();
+
+    private final double sampleRate;
+    private final long aggregationWindowMillis;
+    private final int maxBurst;
+    private final double tokensPerMinute;
+
+    private EventPolicy(Builder builder) {
+        this.sampleRate = builder.sampleRate;
+        this.aggregationWindowMillis = builder.aggregationWindowMillis;
+        this.maxBurst = builder.maxBurst;
+        this.tokensPerMinute = builder.tokensPerMinute;
+    }
+
+    /**
+     * @return the part of the events that is kept, between 0 and 1.
+     */
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    /**
+     * @return the aggregation window, 0 if the events are not aggregated.
+     */
+    public long getAggregationWindowMillis() {
+        return aggregationWindowMillis;
+    }
+
+    /**
+     * @return the token bucket size, 0 if the events are not rate limited.
+     */
+    public int getMaxBurst() {
+        return maxBurst;
+    }
+
+    public double getTokensPerMinute() {
+        return tokensPerMinute;
+    }
+
+    boolean isRateLimited() {
+        return maxBurst > 0;
+    }
+
+    boolean isAggregated() {
+        return aggregationWindowMillis > 0;
+    }
+
+    @Override
+    public String toString() {
+        return "EventPolicy{" +
+            "sampleRate=" + sampleRate +
+            ", aggregationWindowMillis=" + aggregationWindowMillis +
+            ", maxBurst=" + maxBurst +
+            ", tokensPerMinute=" + tokensPerMinute +
+            '}';
+    }
+
+    public static class Builder {
+
+        private double sampleRate = 1;
+        private long aggregationWindowMillis;
+        private int maxBurst;
+        private double tokensPerMinute;
+
+        public Builder sampleRate(double sampleRate) {
+            if (sampleRate < 0 || sampleRate > 1) {
+                throw new IllegalArgumentException("sampleRate must be between 0 and 1: " + sampleRate);
+            }
+            this.sampleRate = sampleRate;
+            return this;
+        }
+
+        public Builder aggregationWindow(long window, TimeUnit unit) {
+            this.aggregationWindowMillis = unit.toMillis(window);
+            return this;
+        }
+
+        public Builder rateLimit(int maxBurst, double tokensPerMinute) {
+            if (maxBurst < 0 || tokensPerMinute < 0) {
+                throw new IllegalArgumentException("rate limit must not be negative");
+            }
+            this.maxBurst = maxBurst;
+            this.tokensPerMinute = tokensPerMinute;
+            return this;
+        }
+
+        public EventPolicy build() {
+            return new EventPolicy(this);
+        }
+    }
+}
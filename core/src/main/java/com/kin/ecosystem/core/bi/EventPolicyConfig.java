@@ -0,0 +1,100 @@
+package com.kin.ecosystem.core.bi;
+
+import android.support.annotation.NonNull;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@link EventPolicy} of each event type, types without a policy use the default one.
+ * A local JSON config overrides the built in policies per type, e.g.
+ * <pre>
+ * {
+ *   "*": {"max_burst": 30, "tokens_per_minute": 60},
+ *   "kin_balance_updated": {"aggregation_window_seconds": 60},
+ *   "marketplace_page_viewed": {"sample_rate": 0.5}
+ * }
+ * </pre>
+ * where "*" is the default policy.
+ */
+public class EventPolicyConfig {
+
+    static final String DEFAULT_KEY = "*";
+    private static final String SAMPLE_RATE = "sample_rate";
+    private static final String AGGREGATION_WINDOW_SECONDS = "aggregation_window_seconds";
+    private static final String MAX_BURST = "max_burst";
+    private static final String TOKENS_PER_MINUTE = "tokens_per_minute";
+
+    private final Map<String, EventPolicy> policies;
+    private final EventPolicy defaultPolicy;
+
+    public EventPolicyConfig(@NonNull Map<String, EventPolicy> policies, @NonNull EventPolicy defaultPolicy) {
+        this.policies = Collections.unmodifiableMap(new HashMap<>(policies));
+        this.defaultPolicy = defaultPolicy;
+    }
+
+    /**
+     * The built in policies: balance updates are aggregated, repeated taps and page views are rate limited.
+     */
+    public static EventPolicyConfig createDefault() {
+        final Map<String, EventPolicy> policies = new HashMap<>();
+        policies.put("kin_balance_updated",
+            new EventPolicy.Builder().aggregationWindow(60, TimeUnit.SECONDS).build());
+        final EventPolicy repeatedUiEvent = new EventPolicy.Builder().rateLimit(5, 10).build();
+        policies.put("balance_tapped", repeatedUiEvent);
+        policies.put("marketplace_page_viewed", repeatedUiEvent);
+        policies.put("order_history_page_viewed", repeatedUiEvent);
+        return new EventPolicyConfig(policies, EventPolicy.UNLIMITED);
+    }
+
+    /**
+     * @return the built in policies overridden by the types in the given JSON config.
+     * @throws IllegalArgumentException if the config is malformed.
+     */
+    public static EventPolicyConfig fromJson(@NonNull String json) {
+        final EventPolicyConfig builtIn = createDefault();
+        final Map<String, EventPolicy> policies = new HashMap<>(builtIn.policies);
+        EventPolicy defaultPolicy = builtIn.defaultPolicy;
+        try {
+            final JsonObject config = new JsonParser().parse(json).getAsJsonObject();
+            for (Entry<String, JsonElement> entry : config.entrySet()) {
+                final EventPolicy policy = parsePolicy(entry.getValue().getAsJsonObject());
+                if (DEFAULT_KEY.equals(entry.getKey())) {
+                    defaultPolicy = policy;
+                } else {
+                    policies.put(entry.getKey(), policy);
+                }
+            }
+        } catch (JsonParseException | IllegalStateException | UnsupportedOperationException e) {
+            throw new IllegalArgumentException("Malformed events policy config", e);
+        }
+        return new EventPolicyConfig(policies, defaultPolicy);
+    }
+
+    private static EventPolicy parsePolicy(JsonObject json) {
+        final EventPolicy.Builder builder = new EventPolicy.Builder();
+        if (json.has(SAMPLE_RATE)) {
+            builder.sampleRate(json.get(SAMPLE_RATE).getAsDouble());
+        }
+        if (json.has(AGGREGATION_WINDOW_SECONDS)) {
+            builder.aggregationWindow(json.get(AGGREGATION_WINDOW_SECONDS).getAsLong(), TimeUnit.SECONDS);
+        }
+        if (json.has(MAX_BURST)) {
+            builder.rateLimit(json.get(MAX_BURST).getAsInt(),
+                json.has(TOKENS_PER_MINUTE) ? json.get(TOKENS_PER_MINUTE).getAsDouble() : 0);
+        }
+        return builder.build();
+    }
+
+    @NonNull
+    public EventPolicy getPolicy(String eventName) {
+        final EventPolicy policy = policies.get(eventName);
+        return policy != null ? policy : defaultPolicy;
+    }
+}
@@ -0,0 +1,166 @@
+package com.kin.ecosystem.core.bi;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Applies the {@link EventPolicyConfig} to the events before they are serialized and queued.
+ * Not thread safe, should be called from the events thread only, the stats can be read from any thread.
+ */
+class EventPolicyEngine {
+
+    enum Decision {
+        SEND,
+        SAMPLED_OUT,
+        RATE_LIMITED,
+        AGGREGATED
+    }
+
+    /**
+     * The count of events of one type aggregated in an ended window.
+     */
+    static class AggregatedCount {
+
+        final String eventName;
+        final long count;
+        final long windowMillis;
+
+        AggregatedCount(String eventName, long count, long windowMillis) {
+            this.eventName = eventName;
+            this.count = count;
+            this.windowMillis = windowMillis;
+        }
+    }
+
+    private static class TypeState {
+
+        final EventPolicy policy;
+        final AtomicLong sent = new AtomicLong();
+        final AtomicLong sampledOut = new AtomicLong();
+        final AtomicLong rateLimited = new AtomicLong();
+        final AtomicLong aggregated = new AtomicLong();
+
+        double tokens;
+        long lastRefillMillis;
+        // 0 while no window is open.
+        long windowEndMillis;
+        long windowCount;
+
+        TypeState(EventPolicy policy, long nowMillis) {
+            this.policy = policy;
+            this.tokens = policy.getMaxBurst();
+            this.lastRefillMillis = nowMillis;
+        }
+    }
+
+    private final EventPolicyConfig config;
+    private final Random random;
+    private final ConcurrentMap<String, TypeState> types = new ConcurrentHashMap<>();
+
+    EventPolicyEngine(EventPolicyConfig config, Random random) {
+        this.config = config;
+        this.random = random;
+    }
+
+    Decision onEvent(String eventName, long nowMillis) {
+        final TypeState state = getState(eventName, nowMillis);
+        final EventPolicy policy = state.policy;
+
+        if (policy.getSampleRate() < 1 && random.nextDouble() >= policy.getSampleRate()) {
+            state.sampledOut.incrementAndGet();
+            return Decision.SAMPLED_OUT;
+        }
+        if (policy.isAggregated()) {
+            if (state.windowEndMillis > 0) {
+                state.windowCount++;
+                state.aggregated.incrementAndGet();
+                return Decision.AGGREGATED;
+            }
+            state.windowEndMillis = nowMillis + policy.getAggregationWindowMillis();
+        }
+        if (policy.isRateLimited() && !tryAcquireToken(state, nowMillis)) {
+            state.rateLimited.incrementAndGet();
+            return Decision.RATE_LIMITED;
+        }
+        state.sent.incrementAndGet();
+        return Decision.SEND;
+    }
+
+    /**
+     * Close the aggregation windows that ended.
+     *
+     * @return the counts of the closed windows that aggregated any event.
+     */
+    List<AggregatedCount> closeEndedWindows(long nowMillis) {
+        List<AggregatedCount> counts = null;
+        for (Map.Entry<String, TypeState> entry : types.entrySet()) {
+            final TypeState state = entry.getValue();
+            if (state.windowEndMillis > 0 && state.windowEndMillis <= nowMillis) {
+                if (state.windowCount > 0) {
+                    if (counts == null) {
+                        counts = new ArrayList<>();
+                    }
+                    counts.add(new AggregatedCount(entry.getKey(), state.windowCount,
+                        state.policy.getAggregationWindowMillis()));
+                }
+                state.windowEndMillis = 0;
+                state.windowCount = 0;
+            }
+        }
+        return counts != null ? counts : new ArrayList<AggregatedCount>(0);
+    }
+
+    /**
+     * @return the end time of the first open aggregation window, 0 if no window is open.
+     */
+    long getNextWindowEndMillis() {
+        long next = 0;
+        for (TypeState state : types.values()) {
+            if (state.windowEndMillis > 0 && (next == 0 || state.windowEndMillis < next)) {
+                next = state.windowEndMillis;
+            }
+        }
+        return next;
+    }
+
+    Map<String, EventPolicyStats> getStats() {
+        final Map<String, EventPolicyStats> stats = new HashMap<>();
+        for (Map.Entry<String, TypeState> entry : types.entrySet()) {
+            final TypeState state = entry.getValue();
+            stats.put(entry.getKey(), new EventPolicyStats(entry.getKey(), state.sent.get(), state.sampledOut.get(),
+                state.rateLimited.get(), state.aggregated.get()));
+        }
+        return stats;
+    }
+
+    private TypeState getState(String eventName, long nowMillis) {
+        TypeState state = types.get(eventName);
+        if (state == null) {
+            state = new TypeState(config.getPolicy(eventName), nowMillis);
+            types.put(eventName, state);
+        }
+        return state;
+    }
+
+    private static boolean tryAcquireToken(TypeState state, long nowMillis) {
+        final EventPolicy policy = state.policy;
+        final long elapsedMillis = nowMillis - state.lastRefillMillis;
+        if (elapsedMillis > 0) {
+            state.tokens = Math.min(policy.getMaxBurst(),
+                state.tokens + elapsedMillis * policy.getTokensPerMinute() / TimeUnit.MINUTES.toMillis(1));
+            state.lastRefillMillis = nowMillis;
+        }
+        if (state.tokens < 1) {
+            return false;
+        }
+        state.tokens--;
+        return true;
+    }
+}
@@ -0,0 +1,65 @@
+package com.kin.ecosystem.core.bi;
+
+/**
+ * Immutable snapshot of what the {@link EventPolicy} of one event type did with its events.
+ */
+public class EventPolicyStats {
+
+    private final String eventName;
+    private final long sent;
+    private final long sampledOut;
+    private final long rateLimited;
+    private final long aggregated;
+
+    EventPolicyStats(String eventName, long sent, long sampledOut, long rateLimited, long aggregated) {
+        this.eventName = eventName;
+        this.sent = sent;
+        this.sampledOut = sampledOut;
+        this.rateLimited = rateLimited;
+        this.aggregated = aggregated;
+    }
+
+    public String getEventName() {
+        return eventName;
+    }
+
+    /**
+     * @return number of events that passed the policy and were queued.
+     */
+    public long getSent() {
+        return sent;
+    }
+
+    public long getSampledOut() {
+        return sampledOut;
+    }
+
+    public long getRateLimited() {
+        return rateLimited;
+    }
+
+    /**
+     * @return number of events only counted in an aggregation event.
+     */
+    public long getAggregated() {
+        return aggregated;
+    }
+
+    /**
+     * @return number of events dropped by sampling or rate limiting.
+     */
+    public long getDropped() {
+        return sampledOut + rateLimited;
+    }
+
+    @Override
+    public String toString() {
+        return "EventPolicyStats{" +
+            "eventName='" + eventName + '\'' +
+            ", sent=" + sent +
+            ", sampledOut=" + sampledOut +
+            ", rateLimited=" + rateLimited +
+            ", aggregated=" + aggregated +
+            '}';
+    }
+}
@@ -0,0 +1,225 @@
+package com.kin.ecosystem.core.bi;
+
+import android.support.annotation.NonNull;
+import com.kin.ecosystem.core.Log;
+import com.kin.ecosystem.core.Logger;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.charset.Charset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Append-only on disk queue of serialized events, one event per line.
+ * Events are appended as they arrive, the file is rewritten only when a batch is removed or the queue
+ * exceeds {@code maxBytes}, then the oldest events are evicted first.
+ * Not thread safe, should be accessed from a single thread.
+ */
+class EventQueue {
+
+	private static final String TAG = EventQueue.class.getSimpleName();
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+	private static final byte NEW_LINE = '\n';
+
+	private final File file;
+	private final long maxBytes;
+	private final ArrayDeque<String> events = new ArrayDeque<>();
+	private long totalBytes;
+	// Events at the head of the queue returned by the last peek and not removed or evicted yet.
+	private int peekedCount;
+
+	EventQueue(@NonNull File file, long maxBytes) {
+		this.file = file;
+		this.maxBytes = maxBytes;
+		load();
+	}
+
+	void add(@NonNull String event) {
+		events.add(event);
+		totalBytes += sizeOf(event);
+		if (totalBytes > maxBytes) {
+			evictOldest();
+			rewrite();
+		} else {
+			append(event);
+		}
+	}
+
+	/**
+	 * @return up to {@code maxCount} events from the head of the queue, without removing them.
+	 * They can be removed later with {@link #removePeeked()}.
+	 */
+	List<String> peek(int maxCount) {
+		final List<String> batch = new ArrayList<>(Math.min(maxCount, events.size()));
+		final Iterator<String> iterator = events.iterator();
+		while (iterator.hasNext() && batch.size() < maxCount) {
+			batch.add(iterator.next());
+		}
+		peekedCount = batch.size();
+		return batch;
+	}
+
+	/**
+	 * Remove the events returned by the last peek, except the ones already evicted since.
+	 */
+	void removePeeked() {
+		remove(peekedCount);
+	}
+
+	/**
+	 * Remove {@code count} events from the head of the queue.
+	 */
+	void remove(int count) {
+		for (int i = 0; i < count && !events.isEmpty(); i++) {
+			totalBytes -= sizeOf(events.poll());
+			onHeadRemoved();
+		}
+		rewrite();
+	}
+
+	int size() {
+		return events.size();
+	}
+
+	boolean isEmpty() {
+		return events.isEmpty();
+	}
+
+	private void evictOldest() {
+		int evicted = 0;
+		while (totalBytes > maxBytes && events.size() > 1) {
+			totalBytes -= sizeOf(events.poll());
+			onHeadRemoved();
+			evicted++;
+		}
+		Logger.log(new Log().withTag(TAG).put("evictOldest: evicted events", evicted));
+	}
+
+	private void onHeadRemoved() {
+		if (peekedCount > 0) {
+			peekedCount--;
+		}
+	}
+
+	private void load() {
+		if (!file.exists()) {
+			return;
+		}
+		final boolean endsWithNewLine = endsWithNewLine();
+		boolean intact = endsWithNewLine;
+		boolean lastLineQueued = false;
+		BufferedReader reader = null;
+		try {
+			reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), UTF_8));
+			String line;
+			while ((line = reader.readLine()) != null) {
+				lastLineQueued = isEvent(line);
+				if (lastLineQueued) {
+					events.add(line);
+					totalBytes += sizeOf(line);
+				} else if (!line.isEmpty()) {
+					intact = false;
+				}
+			}
+		} catch (IOException e) {
+			Logger.log(new Log().withTag(TAG).priority(Log.ERROR).put("load failed", e.getMessage()));
+		} finally {
+			closeQuietly(reader);
+		}
+		if (!endsWithNewLine && lastLineQueued) {
+			// The last event was torn by the process death, sending it would fail the whole batch.
+			totalBytes -= sizeOf(events.pollLast());
+		}
+		if (totalBytes > maxBytes) {
+			evictOldest();
+			rewrite();
+		} else if (!intact) {
+			rewrite();
+		}
+	}
+
+	/**
+	 * Events are serialized to JSON objects, anything else is a leftover of a torn write.
+	 */
+	private static boolean isEvent(String line) {
+		return line.length() > 1 && line.charAt(0) == '{' && line.charAt(line.length() - 1) == '}';
+	}
+
+	private boolean endsWithNewLine() {
+		RandomAccessFile randomAccessFile = null;
+		try {
+			randomAccessFile = new RandomAccessFile(file, "r");
+			final long length = randomAccessFile.length();
+			if (length == 0) {
+				return true;
+			}
+			randomAccessFile.seek(length - 1);
+			return randomAccessFile.read() == NEW_LINE;
+		} catch (IOException e) {
+			return false;
+		} finally {
+			closeQuietly(randomAccessFile);
+		}
+	}
+
+	private void append(String event) {
+		OutputStream outputStream = null;
+		try {
+			outputStream = new FileOutputStream(file, true);
+			outputStream.write(event.getBytes(UTF_8));
+			outputStream.write(NEW_LINE);
+		} catch (IOException e) {
+			Logger.log(new Log().withTag(TAG).priority(Log.ERROR).put("append failed", e.getMessage()));
+		} finally {
+			closeQuietly(outputStream);
+		}
+	}
+
+	/**
+	 * Write the current queue to a temp file and swap it with the queue file,
+	 * so a crash during the write leaves the previous file intact.
+	 */
+	private void rewrite() {
+		final File tempFile = new File(file.getPath() + ".tmp");
+		OutputStream outputStream = null;
+		try {
+			outputStream = new FileOutputStream(tempFile, false);
+			for (String event : events) {
+				outputStream.write(event.getBytes(UTF_8));
+				outputStream.write(NEW_LINE);
+			}
+			outputStream.close();
+			outputStream = null;
+			if (!tempFile.renameTo(file)) {
+				Logger.log(new Log().withTag(TAG).priority(Log.ERROR).text("rewrite: rename failed"));
+			}
+		} catch (IOException e) {
+			Logger.log(new Log().withTag(TAG).priority(Log.ERROR).put("rewrite failed", e.getMessage()));
+		} finally {
+			closeQuietly(outputStream);
+		}
+	}
+
+	private static long sizeOf(String event) {
+		// Events are ASCII JSON in practice, the char count is a close enough estimation of the bytes on disk.
+		return event.length() + 1;
+	}
+
+	private static void closeQuietly(Closeable closeable) {
+		if (closeable != null) {
+			try {
+				closeable.close();
+			} catch (IOException ignored) {
+			}
+		}
+	}
+}
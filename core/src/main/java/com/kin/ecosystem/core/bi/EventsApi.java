@@ -5,75 +5,120 @@ import com.kin.ecosystem.core.data.internal.ConfigurationImpl;
 import com.kin.ecosystem.core.network.ApiCallback;
 import com.kin.ecosystem.core.network.ApiClient;
 import com.kin.ecosystem.core.network.ApiException;
-import com.kin.ecosystem.core.network.Pair;
+import com.kin.ecosystem.core.network.RequestLane;
+import com.kin.ecosystem.core.network.RequestTemplate;
 import java.lang.reflect.Type;
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.nio.charset.Charset;
 import java.util.List;
-import java.util.Map;
 import okhttp3.Call;
 
 class EventsApi {
 
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+	private static final RequestTemplate SEND_EVENTS = RequestTemplate
+		.builder(ApiClient.POST, "")
+		.accept(ApiClient.APPLICATION_JSON_KEY)
+		.endpointPath("bi")
+		.build();
+
 	private ApiClient apiClient;
 
 	/*
 	 * Constructor for EventsApi
 	 */
 	EventsApi() {
-		apiClient = new ApiClient(ConfigurationImpl.getInstance().getEnvironment().getBiUrl());
+		apiClient = new ApiClient(ConfigurationImpl.getInstance().getEnvironment().getBiUrl())
+			.setRequestLane(RequestLane.TELEMETRY);
+	}
+
+	/**
+	 * Serialize the event so it can be queued and sent later on as part of a batch.
+	 *
+	 * @param event the event to serialize
+	 * @return JSON representation of the event
+	 */
+	String serialize(Event event) {
+		return apiClient.getJSON().serialize(event);
 	}
 
 	/**
 	 * Build call for sendEvent
 	 *
+	 * @param serializedEvent event already serialized to JSON
+	 * @param requestId a unique id for the event, a retransmitted event will have the same id
 	 * @return Call to execute
 	 * @throws ApiException If fail to serialize the request body object
 	 */
-	public Call sendEventCall(Event event) throws ApiException {
-		Object localVarPostBody = event;
-
-		// create path and map variables
-		String localVarPath = "";
-
-		List<Pair> localVarQueryParams = new ArrayList<Pair>();
-		List<Pair> localVarCollectionQueryParams = new ArrayList<Pair>();
-
-		Map<String, String> localVarHeaderParams = new HashMap<String, String>();
-
-		final String eventId = apiClient.parameterToString(event.getCommon().getEventId());
-		localVarHeaderParams.put("X-REQUEST-ID", eventId);
-
-
-		Map<String, Object> localVarFormParams = new HashMap<String, Object>();
-
-		String[] applicationJson = {ApiClient.APPLICATION_JSON_KEY};
-		final String localVarAccept = apiClient.selectHeaderAccept(applicationJson);
-		localVarHeaderParams.put("Accept", localVarAccept);
+	public Call sendEventCall(String serializedEvent, String requestId) throws ApiException {
+		return SEND_EVENTS.newCall(apiClient)
+			.header("X-REQUEST-ID", requestId)
+			.body(serializedEvent.getBytes(UTF_8))
+			.build();
+	}
 
-		final String localVarContentType = apiClient.selectHeaderContentType(applicationJson);
-		localVarHeaderParams.put("Content-Type", localVarContentType);
+	/**
+	 * Send a single event to BI, as a JSON object
+	 *
+	 * @param serializedEvent event already serialized to JSON
+	 * @param requestId a unique id for the event, a retransmitted event will have the same id
+	 * @param callback The callback to be executed when the API call finishes
+	 * @return The request call
+	 * @throws ApiException If fail to process the API call, e.g. serializing the request body object
+	 */
+	public Call sendEventAsync(String serializedEvent, String requestId, final ApiCallback<String> callback)
+		throws ApiException {
+		Call call = sendEventCall(serializedEvent, requestId);
+		Type localVarReturnType = new TypeToken<String>() {
+		}.getType();
+		apiClient.executeAsync(call, localVarReturnType, callback);
+		return call;
+	}
 
-		return apiClient
-			.buildCall(localVarPath, ApiClient.POST, localVarQueryParams, localVarCollectionQueryParams, localVarPostBody,
-				localVarHeaderParams, localVarFormParams, null);
+	/**
+	 * Build call for sendEvents, the events are sent as a JSON array,
+	 * the BI endpoint has to accept arrays and not only a single event object.
+	 *
+	 * @param serializedEvents events already serialized to JSON
+	 * @param requestId a unique id for the batch, a retransmitted batch will have the same id
+	 * @return Call to execute
+	 * @throws ApiException If fail to serialize the request body object
+	 */
+	public Call sendEventsCall(List<String> serializedEvents, String requestId) throws ApiException {
+		return SEND_EVENTS.newCall(apiClient)
+			.header("X-REQUEST-ID", requestId)
+			.body(toJsonArray(serializedEvents))
+			.build();
 	}
 
-	@SuppressWarnings("rawtypes")
-	private Call sendEventValidateBeforeCall(Event event) throws ApiException {
-		return sendEventCall(event);
+	/**
+	 * Events are already serialized, join them to a JSON array without parsing them again.
+	 */
+	private byte[] toJsonArray(List<String> serializedEvents) {
+		StringBuilder body = new StringBuilder();
+		body.append('[');
+		for (int i = 0; i < serializedEvents.size(); i++) {
+			if (i > 0) {
+				body.append(',');
+			}
+			body.append(serializedEvents.get(i));
+		}
+		body.append(']');
+		return body.toString().getBytes(UTF_8);
 	}
 
 	/**
-	 * Send event to BI
+	 * Send a batch of events to BI
 	 *
+	 * @param serializedEvents events already serialized to JSON
+	 * @param requestId a unique id for the batch, a retransmitted batch will have the same id
 	 * @param callback The callback to be executed when the API call finishes
 	 * @return The request call
 	 * @throws ApiException If fail to process the API call, e.g. serializing the request body object
 	 */
-	public Call sendEventAsync(Event event, final ApiCallback<String> callback)
+	public Call sendEventsAsync(List<String> serializedEvents, String requestId, final ApiCallback<String> callback)
 		throws ApiException {
-		Call call = sendEventValidateBeforeCall(event);
+		Call call = sendEventsCall(serializedEvents, requestId);
 		Type localVarReturnType = new TypeToken<String>() {
 		}.getType();
 		apiClient.executeAsync(call, localVarReturnType, callback);
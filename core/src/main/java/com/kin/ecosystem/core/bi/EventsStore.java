@@ -2,12 +2,19 @@ package com.kin.ecosystem.core.bi;
 
 import com.kin.ecosystem.core.bi.events.ClientProxy;
 import com.kin.ecosystem.core.bi.events.ClientReadonly;
+import com.kin.ecosystem.core.bi.events.Common;
 import com.kin.ecosystem.core.bi.events.CommonProxy;
 import com.kin.ecosystem.core.bi.events.CommonReadonly;
 import com.kin.ecosystem.core.bi.events.UserProxy;
 import com.kin.ecosystem.core.bi.events.UserReadonly;
-import java.util.concurrent.atomic.AtomicBoolean;
 
+/**
+ * Holds the user, common and client data every event is created with.
+ * Each part is kept as an immutable snapshot of its proxy, taken on first use and reused until the part is
+ * updated or invalidated, e.g. when the balance changes or on login, so creating an event reads a volatile
+ * reference and takes no lock.
+ * Only the event id and timestamp of the common part are read on every event.
+ */
 public final class EventsStore {
     private static final Object userModifierMutex = new Object();
     private static final Object commonModifierMutex = new Object();
@@ -17,9 +24,14 @@ public final class EventsStore {
     private static final CommonProxy common = new CommonProxy();
     private static final ClientProxy client = new ClientProxy();
 
-    private static AtomicBoolean isUserBeingModified;
-    private static AtomicBoolean isCommonBeingModified;
-    private static AtomicBoolean isClientBeingModified;
+    // Bumped on every update or invalidation, a snapshot taken at an older version is stale.
+    private static volatile int userVersion;
+    private static volatile int commonVersion;
+    private static volatile int clientVersion;
+
+    private static volatile Snapshot<UserReadonly> userSnapshot;
+    private static volatile Snapshot<CommonReadonly> commonSnapshot;
+    private static volatile Snapshot<ClientReadonly> clientSnapshot;
 
     public interface DynamicValue<T> {
         T get();
@@ -37,6 +49,17 @@ public final class EventsStore {
         void modify(ClientProxy mutable);
     }
 
+    private static class Snapshot<T> {
+
+        final int version;
+        final T value;
+
+        Snapshot(int version, T value) {
+            this.version = version;
+            this.value = value;
+        }
+    }
+
     public static void init() {
         init(null, null, null);
     }
@@ -54,9 +77,7 @@ public final class EventsStore {
     }
 
     public static void init(UserModifier userModifier, CommonModifier commonModifier, ClientModifier clientModifier) {
-        isUserBeingModified = new AtomicBoolean(false);
-        isCommonBeingModified = new AtomicBoolean(false);
-        isClientBeingModified = new AtomicBoolean(false);
+        invalidate();
 
         if (userModifier != null) {
             update(userModifier);
@@ -72,56 +93,96 @@ public final class EventsStore {
     }
 
     public static UserReadonly user() {
-        if (isUserBeingModified.get()) {
-            synchronized (userModifierMutex) {
-                return user.snapshot();
-            }
+        final Snapshot<UserReadonly> snapshot = userSnapshot;
+        if (snapshot != null && snapshot.version == userVersion) {
+            return snapshot.value;
+        }
+        synchronized (userModifierMutex) {
+            final int version = userVersion;
+            final UserReadonly value = user.snapshot();
+            userSnapshot = new Snapshot<>(version, value);
+            return value;
         }
-
-        return user.snapshot();
     }
 
+    /**
+     * @return the cached common data with a new event id and the current timestamp.
+     */
     public static CommonReadonly common() {
-        if (isCommonBeingModified.get()) {
+        Snapshot<CommonReadonly> snapshot = commonSnapshot;
+        if (snapshot == null || snapshot.version != commonVersion) {
             synchronized (commonModifierMutex) {
-                return common.snapshot();
+                snapshot = new Snapshot<CommonReadonly>(commonVersion, common.snapshot());
+                commonSnapshot = snapshot;
             }
         }
-
-        return common.snapshot();
+        final CommonReadonly base = snapshot.value;
+        return new Common(base.getSchemaVersion(), common.getEventId(), base.getVersion(), base.getUserId(),
+            common.getTimestamp());
     }
 
     public static ClientReadonly client() {
-        if (isClientBeingModified.get()) {
-            synchronized (commonModifierMutex) {
-                return client.snapshot();
-            }
+        final Snapshot<ClientReadonly> snapshot = clientSnapshot;
+        if (snapshot != null && snapshot.version == clientVersion) {
+            return snapshot.value;
+        }
+        synchronized (clientModifierMutex) {
+            final int version = clientVersion;
+            final ClientReadonly value = client.snapshot();
+            clientSnapshot = new Snapshot<>(version, value);
+            return value;
         }
-
-        return client.snapshot();
     }
 
     public static void update(UserModifier modifier) {
         synchronized (userModifierMutex) {
-            isUserBeingModified.set(true);
             modifier.modify(user);
-            isUserBeingModified.set(false);
+            userVersion++;
         }
     }
 
     public static void update(CommonModifier modifier) {
-        synchronized (userModifierMutex) {
-            isUserBeingModified.set(true);
+        synchronized (commonModifierMutex) {
             modifier.modify(common);
-            isUserBeingModified.set(false);
+            commonVersion++;
         }
     }
 
     public static void update(ClientModifier modifier) {
         synchronized (clientModifierMutex) {
-            isClientBeingModified.set(true);
             modifier.modify(client);
-            isClientBeingModified.set(false);
+            clientVersion++;
+        }
+    }
+
+    /**
+     * The dynamic values of the user data changed, e.g. the balance, the next event takes a new snapshot.
+     */
+    public static void invalidateUser() {
+        synchronized (userModifierMutex) {
+            userVersion++;
+        }
+    }
+
+    /**
+     * The dynamic values of the client data changed, e.g. the device language.
+     */
+    public static void invalidateClient() {
+        synchronized (clientModifierMutex) {
+            clientVersion++;
+        }
+    }
+
+    /**
+     * The dynamic values of all the parts may have changed, e.g. on login or logout.
+     */
+    public static void invalidate() {
+        invalidateUser();
+        synchronized (commonModifierMutex) {
+            commonVersion++;
+        }
+        synchronized (clientModifierMutex) {
+            clientVersion++;
         }
     }
 }
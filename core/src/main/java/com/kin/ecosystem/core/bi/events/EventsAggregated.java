@@ -0,0 +1,271 @@
+
+package com.kin.ecosystem.core.bi.events;
+
+// Augmented by script
+import com.kin.ecosystem.core.bi.Event;
+import com.kin.ecosystem.core.bi.EventsStore;
+
+import java.util.HashMap;
+import java.util.Map;
+import com.google.gson.annotations.Expose;
+import com.google.gson.annotations.SerializedName;
+
+
+/**
+ * Count of the events of one type that were aggregated in a time window instead of being sent
+ * 
+ */
+public class EventsAggregated implements Event {
+    public static final String EVENT_NAME = "events_aggregated";
+    public static final String EVENT_TYPE = "log";
+
+    // Augmented by script
+    public static EventsAggregated create(String aggregatedEventName, Long count, Long windowMillis) {
+        return new EventsAggregated(
+            (Common) EventsStore.common(),
+            (User) EventsStore.user(),
+            (Client) EventsStore.client(),
+            aggregatedEventName,
+            count,
+            windowMillis);
+    }
+
+    /**
+     * 
+     * (Required)
+     * 
+     */
+    @SerializedName("event_name")
+    @Expose
+    private String eventName = EVENT_NAME;
+    /**
+     * 
+     * (Required)
+     * 
+     */
+    @SerializedName("event_type")
+    @Expose
+    private String eventType = EVENT_TYPE;
+    /**
+     * common properties for all events
+     * (Required)
+     * 
+     */
+    @SerializedName("common")
+    @Expose
+    private Common common;
+    /**
+     * common user properties
+     * (Required)
+     * 
+     */
+    @SerializedName("user")
+    @Expose
+    private User user;
+    /**
+     * common properties for all client events
+     * (Required)
+     * 
+     */
+    @SerializedName("client")
+    @Expose
+    private Client client;
+    /**
+     * 
+     * (Required)
+     * 
+     */
+    @SerializedName("aggregated_event_name")
+    @Expose
+    private String aggregatedEventName;
+    /**
+     * 
+     * (Required)
+     * 
+     */
+    @SerializedName("count")
+    @Expose
+    private Long count;
+    /**
+     * 
+     * (Required)
+     * 
+     */
+    @SerializedName("window_millis")
+    @Expose
+    private Long windowMillis;
+
+    /**
+     * No args constructor for use in serialization
+     * 
+     */
+    public EventsAggregated() {
+    }
+
+    /**
+     * 
+     * @param common
+     * @param aggregatedEventName
+     * @param count
+     * @param windowMillis
+
+     * @param client
+
+     * @param user
+     */
+    public EventsAggregated(Common common, User user, Client client, String aggregatedEventName, Long count,
+        Long windowMillis) {
+        super();
+        this.common = common;
+        this.user = user;
+        this.client = client;
+        this.aggregatedEventName = aggregatedEventName;
+        this.count = count;
+        this.windowMillis = windowMillis;
+    }
+
+    /**
+     * 
+     * (Required)
+     * 
+     */
+    public String getEventName() {
+        return eventName;
+    }
+
+    /**
+     * 
+     * (Required)
+     * 
+     */
+    public void setEventName(String eventName) {
+        this.eventName = eventName;
+    }
+
+    /**
+     * 
+     * (Required)
+     * 
+     */
+    public String getEventType() {
+        return eventType;
+    }
+
+    /**
+     * 
+     * (Required)
+     * 
+     */
+    public void setEventType(String eventType) {
+        this.eventType = eventType;
+    }
+
+    /**
+     * common properties for all events
+     * (Required)
+     * 
+     */
+    public Common getCommon() {
+        return common;
+    }
+
+    /**
+     * common properties for all events
+     * (Required)
+     * 
+     */
+    public void setCommon(Common common) {
+        this.common = common;
+    }
+
+    /**
+     * common user properties
+     * (Required)
+     * 
+     */
+    public User getUser() {
+        return user;
+    }
+
+    /**
+     * common user properties
+     * (Required)
+     * 
+     */
+    public void setUser(User user) {
+        this.user = user;
+    }
+
+    /**
+     * common properties for all client events
+     * (Required)
+     * 
+     */
+    public Client getClient() {
+        return client;
+    }
+
+    /**
+     * common properties for all client events
+     * (Required)
+     * 
+     */
+    public void setClient(Client client) {
+        this.client = client;
+    }
+
+    /**
+     * 
+     * (Required)
+     * 
+     */
+    public String getAggregatedEventName() {
+        return aggregatedEventName;
+    }
+
+    /**
+     * 
+     * (Required)
+     * 
+     */
+    public void setAggregatedEventName(String aggregatedEventName) {
+        this.aggregatedEventName = aggregatedEventName;
+    }
+
+    /**
+     * 
+     * (Required)
+     * 
+     */
+    public Long getCount() {
+        return count;
+    }
+
+    /**
+     * 
+     * (Required)
+     * 
+     */
+    public void setCount(Long count) {
+        this.count = count;
+    }
+
+    /**
+     * 
+     * (Required)
+     * 
+     */
+    public Long getWindowMillis() {
+        return windowMillis;
+    }
+
+    /**
+     * 
+     * (Required)
+     * 
+     */
+    public void setWindowMillis(Long windowMillis) {
+        this.windowMillis = windowMillis;
+    }
+
+}
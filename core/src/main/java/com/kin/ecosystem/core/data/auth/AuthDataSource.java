@@ -33,6 +33,14 @@ public interface AuthDataSource {
 
 	AuthToken getAuthTokenSync();
 
+	/**
+	 * Called when the server rejected a token, sign in again unless the token was already replaced.
+	 *
+	 * @param rejectedToken the token the server rejected.
+	 * @return the new token, or null if it could not be refreshed.
+	 */
+	AuthToken refreshAuthTokenSync(@NonNull String rejectedToken);
+
 	void hasAccount(@NonNull String userId, @NonNull final KinCallback<Boolean> callback);
 
 	void userStats(@NonNull final KinCallback<UserStats> callback);
@@ -3,6 +3,7 @@ package com.kin.ecosystem.core.data.auth;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import com.kin.ecosystem.common.Callback;
+import com.kin.ecosystem.core.data.internal.ConfigurationImpl;
 import com.kin.ecosystem.core.network.ApiCallback;
 import com.kin.ecosystem.core.network.ApiException;
 import com.kin.ecosystem.core.network.api.AuthApi;
@@ -14,6 +15,7 @@ import com.kin.ecosystem.core.network.model.UserProperties;
 import com.kin.ecosystem.core.util.ExecutorsUtil;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 public class AuthRemoteData implements AuthDataSource.Remote {
 
@@ -23,10 +25,13 @@ public class AuthRemoteData implements AuthDataSource.Remote {
 	private static volatile AuthRemoteData instance;
 
 	private final AuthApi authApi;
+	// Sync sign in refreshes the token for calls waiting on it, it's sent in a lane of its own.
+	private final AuthApi signInApi;
 	private final ExecutorsUtil executorsUtil;
 
 	private AuthRemoteData(@NonNull ExecutorsUtil executorsUtil) {
 		this.authApi = new AuthApi();
+		this.signInApi = new AuthApi(ConfigurationImpl.getInstance().getAuthApiClient());
 		this.executorsUtil = executorsUtil;
 	}
 
@@ -81,7 +86,7 @@ public class AuthRemoteData implements AuthDataSource.Remote {
 	@Nullable
 	public AccountInfo getAccountInfoSync(@NonNull JWT jwt) {
 		try {
-			return authApi.signIn(jwt, "");
+			return signInApi.signIn(jwt, "");
 		} catch (ApiException e) {
 			return null;
 		}
@@ -163,7 +168,7 @@ public class AuthRemoteData implements AuthDataSource.Remote {
 	public void updateWalletAddress(@NonNull UserProperties userProperties,
 		@NonNull final Callback<Void, ApiException> callback) {
 		try {
-			authApi.updateUserAsync(userProperties, new ApiCallback<Void>() {
+			authApi.updateUserAsync(userProperties, UUID.randomUUID().toString(), new ApiCallback<Void>() {
 				@Override
 				public void onFailure(final ApiException e, int statusCode, Map<String, List<String>> responseHeaders) {
 					executorsUtil.mainThread().execute(new Runnable() {
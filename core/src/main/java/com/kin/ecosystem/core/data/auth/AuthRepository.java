@@ -7,6 +7,9 @@ import com.kin.ecosystem.common.Callback;
 import com.kin.ecosystem.common.KinCallback;
 import com.kin.ecosystem.common.exception.ClientException;
 import com.kin.ecosystem.common.model.UserStats;
+import com.kin.ecosystem.core.Log;
+import com.kin.ecosystem.core.Logger;
+import com.kin.ecosystem.core.bi.EventsStore;
 import com.kin.ecosystem.core.network.ApiException;
 import com.kin.ecosystem.core.network.model.AccountInfo;
 import com.kin.ecosystem.core.network.model.AuthToken;
@@ -16,22 +19,34 @@ import com.kin.ecosystem.core.network.model.UserProperties;
 import com.kin.ecosystem.core.util.DateUtil;
 import com.kin.ecosystem.core.util.ErrorUtil;
 import com.kin.ecosystem.core.util.JwtDecoder;
+import com.kin.ecosystem.core.util.SdkExecutor;
 import com.kin.ecosystem.core.util.StringUtil;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
 import org.json.JSONException;
 
 public class AuthRepository implements AuthDataSource {
 
+	private static final String TAG = AuthRepository.class.getSimpleName();
+
 	private static final long TWO_DAYS_IN_MILLIS = 2 * DateUtils.DAY_IN_MILLIS;
+	// Refresh in the background this long before the token is considered expired.
+	private static final long REFRESH_AHEAD_MILLIS = 12 * DateUtils.HOUR_IN_MILLIS;
 	private static volatile AuthRepository instance = null;
 
 	private final AuthDataSource.Local localData;
 	private final AuthDataSource.Remote remoteData;
 
-	private String jwt;
-	private AccountInfo cachedAccountInfo;
-	private AuthToken cachedAuthToken;
+	private final Object refreshLock = new Object();
+	// The in flight sign in, shared by all the callers that need a new token. Guarded by refreshLock.
+	private FutureTask<AuthToken> refreshTask;
+
+	private volatile String jwt;
+	private volatile AccountInfo cachedAccountInfo;
+	private volatile AuthToken cachedAuthToken;
 
 	private AuthRepository(@NonNull AuthDataSource.Local local,
 		@NonNull AuthDataSource.Remote remote) {
@@ -76,6 +91,7 @@ public class AuthRepository implements AuthDataSource {
 		this.jwt = jwt;
 		final JwtBody jwtBody = getJwtBody(jwt);
 		localData.setJWT(jwtBody);
+		EventsStore.invalidate();
 	}
 
 	@NonNull
@@ -132,17 +148,30 @@ public class AuthRepository implements AuthDataSource {
 	@Override
 	@Nullable
 	public AuthToken getAuthTokenSync() {
-		if (cachedAuthToken != null) {
-			return cachedAuthToken;
-		} else {
-			AuthToken authToken = localData.getAuthTokenSync();
+		AuthToken authToken = cachedAuthToken;
+		if (authToken == null) {
+			authToken = localData.getAuthTokenSync();
 			if (authToken != null && !isAuthTokenExpired(authToken)) {
 				setAuthToken(authToken);
-			} else {
-				refreshTokenSync();
 			}
-			return cachedAuthToken;
 		}
+
+		if (authToken == null || isAuthTokenExpired(authToken)) {
+			final AuthToken refreshedToken = refreshTokenSync(authToken == null ? null : authToken.getToken());
+			// If the refresh failed, the expired token might still be accepted by the server.
+			return refreshedToken != null ? refreshedToken : cachedAuthToken;
+		}
+
+		if (isAuthTokenAboutToExpire(authToken)) {
+			refreshTokenAsync();
+		}
+		return authToken;
+	}
+
+	@Override
+	@Nullable
+	public AuthToken refreshAuthTokenSync(@NonNull String rejectedToken) {
+		return refreshTokenSync(rejectedToken);
 	}
 
 
@@ -187,12 +216,16 @@ public class AuthRepository implements AuthDataSource {
 
 	@Override
 	public void logout() {
-		final String token = cachedAuthToken.getToken();
-		remoteData.logout(token);
+		final AuthToken authToken = cachedAuthToken;
+		if (authToken != null) {
+			remoteData.logout(authToken.getToken());
+		}
 
+		// Clearing the jwt also discards the result of a sign in that is still in flight.
 		cachedAuthToken = null;
 		jwt = null;
 		localData.logout();
+		EventsStore.invalidate();
 	}
 
 	private boolean isAuthTokenExpired(AuthToken authToken) {
@@ -208,17 +241,94 @@ public class AuthRepository implements AuthDataSource {
 		}
 	}
 
-	private void refreshTokenSync() {
-		if (!StringUtil.isEmpty(jwt)) {
-			AccountInfo accountInfo = remoteData.getAccountInfoSync(new JWT(jwt));
-			if (accountInfo != null) {
-				setAccountInfo(accountInfo);
+	private boolean isAuthTokenAboutToExpire(@NonNull AuthToken authToken) {
+		Date expirationDate = DateUtil.getDateFromUTCString(authToken.getExpirationDate());
+		return expirationDate == null || Calendar.getInstance().getTimeInMillis() > (expirationDate.getTime()
+			- TWO_DAYS_IN_MILLIS - REFRESH_AHEAD_MILLIS);
+	}
+
+	/**
+	 * Sign in again and wait for the new token, concurrent callers share a single sign in.
+	 *
+	 * @param staleToken the token the caller found expired or rejected, if the cached token was already replaced
+	 * by a valid one it will be returned without signing in again.
+	 * @return the new token, or null if the sign in failed.
+	 */
+	@Nullable
+	private AuthToken refreshTokenSync(@Nullable String staleToken) {
+		final FutureTask<AuthToken> task;
+		synchronized (refreshLock) {
+			final AuthToken authToken = cachedAuthToken;
+			if (authToken != null && (staleToken == null || !staleToken.equals(authToken.getToken()))
+				&& !isAuthTokenExpired(authToken)) {
+				return authToken;
 			}
+			if (refreshTask == null) {
+				refreshTask = newRefreshTask();
+			}
+			task = refreshTask;
+		}
+
+		// Runs the sign in here unless it already started, a refresh queued by refreshTokenAsync may still be waiting
+		// for a worker this thread is holding.
+		task.run();
+		try {
+			return task.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return null;
+		} catch (ExecutionException e) {
+			Logger.log(new Log().withTag(TAG).priority(Log.ERROR).put("refreshTokenSync failed", e.getMessage()));
+			return null;
+		}
+	}
+
+	/**
+	 * Start a sign in on a worker thread, unless one is already in flight.
+	 */
+	private void refreshTokenAsync() {
+		synchronized (refreshLock) {
+			if (refreshTask == null) {
+				refreshTask = newRefreshTask();
+				SdkExecutor.getInstance().execute(refreshTask);
+			}
+		}
+	}
+
+	private FutureTask<AuthToken> newRefreshTask() {
+		return new FutureTask<>(new Callable<AuthToken>() {
+			@Override
+			public AuthToken call() {
+				try {
+					return signInSync();
+				} finally {
+					synchronized (refreshLock) {
+						refreshTask = null;
+					}
+				}
+			}
+		});
+	}
+
+	@Nullable
+	private AuthToken signInSync() {
+		final String currentJwt = jwt;
+		if (StringUtil.isEmpty(currentJwt)) {
+			return null;
+		}
+		AccountInfo accountInfo = remoteData.getAccountInfoSync(new JWT(currentJwt));
+		// Ignore the result if the user logged out or changed while signing in.
+		if (accountInfo == null || !currentJwt.equals(jwt)) {
+			return null;
 		}
+		setAccountInfo(accountInfo);
+		return accountInfo.getAuthToken();
 	}
 
 	private void setAuthToken(@NonNull AuthToken authToken) {
 		cachedAuthToken = authToken;
+		// The ecosystem user id of the events comes from the token.
+		EventsStore.invalidate();
 	}
 
 	private void setAccountInfo(AccountInfo accountInfo) {
@@ -0,0 +1,180 @@
+package com.kin.ecosystem.core.data.blockchain;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import com.kin.ecosystem.core.Log;
+import com.kin.ecosystem.core.Logger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import kin.core.Balance;
+import kin.core.KinAccount;
+import kin.core.ResultCallback;
+
+/**
+ * Merges balance refresh requests, so there is at most one balance query in flight.
+ * A request made while a query is in flight waits for it, a request that needs a newer balance than the
+ * in flight query (payment received, account changed) queues one more query which all the waiting requests get.
+ * Results are cached for {@link #CACHE_TTL_MILLIS}.
+ */
+class BalanceRefresher {
+
+	private static final String TAG = BalanceRefresher.class.getSimpleName();
+
+	static final long CACHE_TTL_MILLIS = 3000;
+
+	interface Listener {
+
+		/**
+		 * Called once per executed query that was not superseded by a newer one.
+		 */
+		void onBalanceRefreshed(@NonNull Balance balance);
+	}
+
+	private final Listener listener;
+	private final Object lock = new Object();
+
+	// Guarded by lock.
+	private KinAccount inFlightAccount;
+	private KinAccount nextAccount;
+	private List<ResultCallback<Balance>> waitingCallbacks = new ArrayList<>();
+	private KinAccount cachedAccount;
+	private Balance cachedBalance;
+	private long cachedTimeMillis;
+	private long requestedCount;
+	private long executedCount;
+
+	BalanceRefresher(@NonNull Listener listener) {
+		this.listener = listener;
+	}
+
+	/**
+	 * @param allowCached false when the balance is known to have changed, a cached or in flight result won't be used.
+	 * @param callback called with the balance of the query, on the thread the account query reports on.
+	 */
+	void refresh(@NonNull KinAccount account, boolean allowCached, @Nullable ResultCallback<Balance> callback) {
+		final Balance cached;
+		synchronized (lock) {
+			requestedCount++;
+			if (!allowCached) {
+				cachedBalance = null;
+			}
+			cached = allowCached && account == cachedAccount && isCacheValid() ? cachedBalance : null;
+			if (cached == null) {
+				if (callback != null) {
+					waitingCallbacks.add(callback);
+				}
+				if (inFlightAccount != null) {
+					if (!allowCached || inFlightAccount != account) {
+						nextAccount = account;
+					}
+					return;
+				}
+				inFlightAccount = account;
+				executedCount++;
+			}
+		}
+		if (cached != null) {
+			if (callback != null) {
+				callback.onResult(cached);
+			}
+		} else {
+			query(account);
+		}
+	}
+
+	/**
+	 * Cache a balance received from another source, such as the balance listener.
+	 */
+	void onBalanceUpdated(@NonNull KinAccount account, @NonNull Balance balance) {
+		synchronized (lock) {
+			setCache(account, balance);
+		}
+	}
+
+	void clearCache() {
+		synchronized (lock) {
+			cachedAccount = null;
+			cachedBalance = null;
+		}
+	}
+
+	long getRequestedCount() {
+		synchronized (lock) {
+			return requestedCount;
+		}
+	}
+
+	long getExecutedCount() {
+		synchronized (lock) {
+			return executedCount;
+		}
+	}
+
+	private void query(final KinAccount account) {
+		account.getBalance().run(new ResultCallback<Balance>() {
+			@Override
+			public void onResult(Balance balance) {
+				onQueryFinished(account, balance, null);
+			}
+
+			@Override
+			public void onError(Exception e) {
+				onQueryFinished(account, null, e);
+			}
+		});
+	}
+
+	private void onQueryFinished(KinAccount account, @Nullable Balance balance, @Nullable Exception error) {
+		final KinAccount next;
+		final List<ResultCallback<Balance>> callbacks;
+		synchronized (lock) {
+			next = nextAccount;
+			if (next != null) {
+				// The result is outdated, the waiting requests get the next query result.
+				nextAccount = null;
+				inFlightAccount = next;
+				executedCount++;
+				callbacks = null;
+			} else {
+				inFlightAccount = null;
+				callbacks = waitingCallbacks;
+				waitingCallbacks = new ArrayList<>();
+				if (balance != null) {
+					setCache(account, balance);
+				}
+			}
+			Logger.log(new Log().withTag(TAG).put("Balance refreshes requested", requestedCount)
+				.put("executed", executedCount));
+		}
+
+		if (next != null) {
+			query(next);
+			return;
+		}
+		if (balance != null) {
+			listener.onBalanceRefreshed(balance);
+		}
+		for (ResultCallback<Balance> callback : callbacks) {
+			if (balance != null) {
+				callback.onResult(balance);
+			} else {
+				callback.onError(error);
+			}
+		}
+	}
+
+	private void setCache(KinAccount account, Balance balance) {
+		cachedAccount = account;
+		cachedBalance = balance;
+		cachedTimeMillis = now();
+	}
+
+	private boolean isCacheValid() {
+		return cachedBalance != null && now() - cachedTimeMillis < CACHE_TTL_MILLIS;
+	}
+
+	private static long now() {
+		return TimeUnit.NANOSECONDS.toMillis(System.nanoTime());
+	}
+}
@@ -44,6 +44,17 @@ public interface BlockchainSource {
 	void sendTransaction(@NonNull String publicAddress, @NonNull BigDecimal amount, @NonNull String orderID,
 		@NonNull String offerID);
 
+	/**
+	 * Send transaction to the network and wait until it's accepted, should be called on a worker thread.
+	 * A failed transaction is also notified to the payment observers, as in {@link #sendTransaction}.
+	 *
+	 * @return the transaction id.
+	 * @throws ClientException account not logged in.
+	 * @throws BlockchainException the transaction failed.
+	 */
+	String sendTransactionSync(@NonNull String publicAddress, @NonNull BigDecimal amount, @NonNull String orderID,
+		@NonNull String offerID) throws ClientException, BlockchainException;
+
 	/**
 	 * @return the cached balance.
 	 */
@@ -87,7 +98,7 @@ public interface BlockchainSource {
 	String getPublicAddress(final int accountIndex);
 
 	/**
-	 * Add {@link Payment} completed observer.
+	 * Add {@link Payment} completed observer, called for the payments of all orders.
 	 */
 	void addPaymentObservable(Observer<Payment> observer);
 
@@ -96,6 +107,16 @@ public interface BlockchainSource {
 	 */
 	void removePaymentObserver(Observer<Payment> observer);
 
+	/**
+	 * Add {@link Payment} completed observer, called only for the payments of the given order.
+	 */
+	void addPaymentObserver(@NonNull String orderID, @NonNull Observer<Payment> observer);
+
+	/**
+	 * Remove the payment observer of the given order.
+	 */
+	void removePaymentObserver(@NonNull String orderID, @NonNull Observer<Payment> observer);
+
 	/**
 	 * Create trustline polling call, so it will try few time before failure.
 	 */
@@ -2,7 +2,6 @@ package com.kin.ecosystem.core.data.blockchain;
 
 import static com.kin.ecosystem.core.data.blockchain.BlockchainSourceLocal.NOT_EXIST;
 
-import android.annotation.SuppressLint;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import android.support.annotation.VisibleForTesting;
@@ -16,6 +15,7 @@ import com.kin.ecosystem.common.model.Balance;
 import com.kin.ecosystem.core.Log;
 import com.kin.ecosystem.core.Logger;
 import com.kin.ecosystem.core.bi.EventLogger;
+import com.kin.ecosystem.core.bi.EventsStore;
 import com.kin.ecosystem.core.bi.events.KinBalanceUpdated;
 import com.kin.ecosystem.core.bi.events.SpendTransactionBroadcastToBlockchainFailed;
 import com.kin.ecosystem.core.bi.events.SpendTransactionBroadcastToBlockchainSubmitted;
@@ -29,6 +29,8 @@ import com.kin.ecosystem.core.util.ExecutorsUtil.MainThreadExecutor;
 import com.kin.ecosystem.core.util.StringUtil;
 import com.kin.ecosystem.recovery.KeyStoreProvider;
 import java.math.BigDecimal;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
 import kin.core.EventListener;
 import kin.core.KinAccount;
 import kin.core.KinClient;
@@ -54,11 +56,13 @@ public class BlockchainSourceImpl implements BlockchainSource {
 	private String currentUserId;
 
 	private ObservableData<Balance> balance = ObservableData.create(new Balance());
+	private final BalanceRefresher balanceRefresher;
 	/**
-	 * Listen for {@code completedPayment} in order to be notify about completed transaction sent to the blockchain, it
-	 * could failed or succeed.
+	 * Routes the completed transactions sent to the blockchain, which could fail or succeed, to the observers of
+	 * their order.
 	 */
-	private ObservableData<Payment> completedPayment = ObservableData.create();
+	private final PaymentRouter paymentRouter = new PaymentRouter(new MainThreadExecutor());
+	private final TransactionQueue transactionQueue = new TransactionQueue();
 	private final Object paymentObserversLock = new Object();
 	private final Object balanceObserversLock = new Object();
 	private int paymentObserversCount;
@@ -71,14 +75,6 @@ public class BlockchainSourceImpl implements BlockchainSource {
 	private final MainThreadExecutor mainThread = new MainThreadExecutor();
 
 	private String appID;
-	private static final int MEMO_FORMAT_VERSION = 1;
-	private static final String MEMO_DELIMITER = "-";
-	private static final String MEMO_FORMAT =
-		"%d" + MEMO_DELIMITER + "%s" + MEMO_DELIMITER + "%s"; // version-appID-orderID
-
-	private static final int APP_ID_INDEX = 1;
-	private static final int ORDER_ID_INDEX = 2;
-	private static final int MEMO_SPLIT_LENGTH = 3;
 
 	private BlockchainSourceImpl(@NonNull EventLogger eventLogger, @NonNull final KinClient kinClient,
 		@NonNull BlockchainSource.Local local, @NonNull AuthDataSource authRepository) {
@@ -90,6 +86,13 @@ public class BlockchainSourceImpl implements BlockchainSource {
 			.put("BlockchainSourceImpl authRepository.getEcosystemUserID()", authRepository.getEcosystemUserID()));
 		this.currentUserId = authRepository.getEcosystemUserID();
 		this.appID = authRepository.getAppID();
+		this.balanceRefresher = new BalanceRefresher(new BalanceRefresher.Listener() {
+			@Override
+			public void onBalanceRefreshed(@NonNull kin.core.Balance balanceObj) {
+				setBalance(balanceObj);
+				Logger.log(new Log().withTag(TAG).put("getBalance onResult", balanceObj.value().intValue()));
+			}
+		});
 	}
 
 	public static void init(@NonNull EventLogger eventLogger, @NonNull final KinClient kinClient,
@@ -201,32 +204,98 @@ public class BlockchainSourceImpl implements BlockchainSource {
 	@Override
 	public void sendTransaction(@NonNull final String publicAddress, @NonNull final BigDecimal amount,
 		@NonNull final String orderID, @NonNull final String offerID) {
-		if (account != null) {
-			eventLogger.send(SpendTransactionBroadcastToBlockchainSubmitted.create(offerID, orderID));
-			account.sendTransaction(publicAddress, amount, generateMemo(orderID)).run(
-				new ResultCallback<TransactionId>() {
-					@Override
-					public void onResult(TransactionId result) {
-						eventLogger
-							.send(SpendTransactionBroadcastToBlockchainSucceeded.create(result.id(), offerID, orderID));
-						Logger.log(new Log().withTag(TAG).put("sendTransaction onResult", result.id()));
-					}
+		final KinAccount currentAccount = account;
+		if (currentAccount == null) {
+			return;
+		}
+		eventLogger.send(SpendTransactionBroadcastToBlockchainSubmitted.create(offerID, orderID));
+		transactionQueue.enqueue(new TransactionQueue.Transaction() {
+			@Override
+			public void send(@NonNull final Runnable onDone) {
+				currentAccount.sendTransaction(publicAddress, amount, generateMemo(orderID)).run(
+					new ResultCallback<TransactionId>() {
+						@Override
+						public void onResult(TransactionId result) {
+							onDone.run();
+							eventLogger
+								.send(SpendTransactionBroadcastToBlockchainSucceeded.create(result.id(), offerID, orderID));
+							Logger.log(new Log().withTag(TAG).put("sendTransaction onResult", result.id()));
+						}
 
-					@Override
-					public void onError(Exception e) {
-						eventLogger
-							.send(SpendTransactionBroadcastToBlockchainFailed.create(e.getMessage(), offerID, orderID));
-						completedPayment.postValue(new Payment(orderID, false, e));
-						Logger.log(new Log().withTag(TAG).put("sendTransaction onError", e.getMessage()));
-					}
-				});
+						@Override
+						public void onError(Exception e) {
+							onDone.run();
+							eventLogger
+								.send(SpendTransactionBroadcastToBlockchainFailed.create(e.getMessage(), offerID, orderID));
+							paymentRouter.dispatch(new Payment(orderID, false, e));
+							Logger.log(new Log().withTag(TAG).put("sendTransaction onError", e.getMessage()));
+						}
+					});
+			}
+		});
+	}
+
+	@Override
+	public String sendTransactionSync(@NonNull String publicAddress, @NonNull BigDecimal amount,
+		@NonNull String orderID, @NonNull String offerID) throws ClientException, BlockchainException {
+		final KinAccount currentAccount = account;
+		if (currentAccount == null) {
+			throw ErrorUtil.getClientException(ClientException.ACCOUNT_NOT_LOGGED_IN, null);
+		}
+		eventLogger.send(SpendTransactionBroadcastToBlockchainSubmitted.create(offerID, orderID));
+		final Runnable onDone = awaitTransactionTurn();
+		try {
+			final TransactionId result;
+			try {
+				result = currentAccount.sendTransactionSync(publicAddress, amount, generateMemo(orderID));
+			} finally {
+				onDone.run();
+			}
+			eventLogger.send(SpendTransactionBroadcastToBlockchainSucceeded.create(result.id(), offerID, orderID));
+			Logger.log(new Log().withTag(TAG).put("sendTransactionSync onResult", result.id()));
+			return result.id();
+		} catch (OperationFailedException e) {
+			eventLogger.send(SpendTransactionBroadcastToBlockchainFailed.create(e.getMessage(), offerID, orderID));
+			paymentRouter.dispatch(new Payment(orderID, false, e));
+			Logger.log(new Log().withTag(TAG).put("sendTransactionSync onError", e.getMessage()));
+			throw ErrorUtil.getBlockchainException(e);
 		}
 	}
 
-	@SuppressLint("DefaultLocale")
+	/**
+	 * Wait until the transactions queued before are done.
+	 *
+	 * @return must be run once the transaction is done, to let the next one be sent.
+	 */
+	private Runnable awaitTransactionTurn() {
+		final CountDownLatch turn = new CountDownLatch(1);
+		final AtomicReference<Runnable> onDone = new AtomicReference<>();
+		transactionQueue.enqueue(new TransactionQueue.Transaction() {
+			@Override
+			public void send(@NonNull Runnable done) {
+				onDone.set(done);
+				turn.countDown();
+			}
+		});
+		// Once queued the turn must be taken and passed on, otherwise the queue is stuck.
+		boolean interrupted = false;
+		while (true) {
+			try {
+				turn.await();
+				break;
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+		return onDone.get();
+	}
+
 	@VisibleForTesting
 	String generateMemo(@NonNull final String orderID) {
-		return String.format(MEMO_FORMAT, MEMO_FORMAT_VERSION, getAppID(), orderID);
+		return MemoCodec.encode(getAppID(), orderID);
 	}
 
 	private String getAppID() {
@@ -263,10 +332,9 @@ public class BlockchainSourceImpl implements BlockchainSource {
 			}
 			return;
 		}
-		account.getBalance().run(new ResultCallback<kin.core.Balance>() {
+		balanceRefresher.refresh(account, true, new ResultCallback<kin.core.Balance>() {
 			@Override
 			public void onResult(final kin.core.Balance balanceObj) {
-				setBalance(balanceObj);
 				if (callback != null) {
 					mainThread.execute(new Runnable() {
 						@Override
@@ -275,7 +343,6 @@ public class BlockchainSourceImpl implements BlockchainSource {
 						}
 					});
 				}
-				Logger.log(new Log().withTag(TAG).put("getBalance onResult", balanceObj.value().intValue()));
 			}
 
 			@Override
@@ -293,13 +360,26 @@ public class BlockchainSourceImpl implements BlockchainSource {
 		});
 	}
 
+	/**
+	 * Refresh the balance after it's known to be changed, merged with any refresh already in flight.
+	 */
+	private void refreshChangedBalance() {
+		final KinAccount currentAccount = account;
+		if (currentAccount != null) {
+			balanceRefresher.refresh(currentAccount, false, null);
+		}
+	}
+
 	@Override
 	public Balance getBalanceSync() throws ClientException, BlockchainException {
 		if (account == null) {
 			throw ErrorUtil.getClientException(ClientException.ACCOUNT_NOT_LOGGED_IN, null);
 		}
 		try {
-			setBalance(account.getBalanceSync());
+			final KinAccount currentAccount = account;
+			final kin.core.Balance balanceObj = currentAccount.getBalanceSync();
+			balanceRefresher.onBalanceUpdated(currentAccount, balanceObj);
+			setBalance(balanceObj);
 			return balance.getValue();
 		} catch (OperationFailedException e) {
 			throw ErrorUtil.getBlockchainException(e);
@@ -323,10 +403,13 @@ public class BlockchainSourceImpl implements BlockchainSource {
 		// no need to update for equal values.
 		if (balanceTemp.getAmount().compareTo(balanceObj.value()) != 0) {
 			eventLogger.send(KinBalanceUpdated.create(balanceTemp.getAmount().doubleValue()));
-			Logger.log(new Log().withTag(TAG).text("setBalance: Balance changed, should get update"));
+			if (Logger.isLoggable(Log.DEBUG)) {
+				Logger.log(new Log().withTag(TAG).text("setBalance: Balance changed, should get update"));
+			}
 			balanceTemp.setAmount(balanceObj.value());
 			balance.postValue(balanceTemp);
 			local.setBalance(balanceObj.value().intValue());
+			EventsStore.invalidateUser();
 		}
 	}
 
@@ -353,10 +436,12 @@ public class BlockchainSourceImpl implements BlockchainSource {
 	private void startBalanceListener() {
 		if (account != null) {
 			Logger.log(new Log().withTag(TAG).text("startBalanceListener"));
-			balanceRegistration = account.blockchainEvents()
+			final KinAccount listenedAccount = account;
+			balanceRegistration = listenedAccount.blockchainEvents()
 				.addBalanceListener(new EventListener<kin.core.Balance>() {
 					@Override
 					public void onEvent(kin.core.Balance data) {
+						balanceRefresher.onBalanceUpdated(listenedAccount, data);
 						setBalance(data);
 					}
 				});
@@ -404,7 +489,13 @@ public class BlockchainSourceImpl implements BlockchainSource {
 
 	@Override
 	public void addPaymentObservable(Observer<Payment> observer) {
-		completedPayment.addObserver(observer);
+		paymentRouter.addGlobalObserver(observer);
+		incrementPaymentCount();
+	}
+
+	@Override
+	public void addPaymentObserver(@NonNull String orderID, @NonNull Observer<Payment> observer) {
+		paymentRouter.addObserver(orderID, observer);
 		incrementPaymentCount();
 	}
 
@@ -424,16 +515,21 @@ public class BlockchainSourceImpl implements BlockchainSource {
 					@Override
 					public void onEvent(PaymentInfo data) {
 						final String orderID = extractOrderId(data.memo());
-						Logger.log(new Log().withTag(TAG).put("startPaymentListener onEvent: the orderId", orderID)
-							.put("with memo", data.memo()));
+						final boolean loggable = Logger.isLoggable(Log.DEBUG);
+						if (loggable) {
+							Logger.log(new Log().withTag(TAG).put("startPaymentListener onEvent: the orderId", orderID)
+								.put("with memo", data.memo()));
+						}
 						final String accountPublicAddress = account.getPublicAddress();
 						if (orderID != null && accountPublicAddress != null) {
-							completedPayment.postValue(PaymentConverter.toPayment(data, orderID, accountPublicAddress));
-							Logger.log(new Log().withTag(TAG).put("completedPayment order id", orderID));
+							paymentRouter.dispatch(PaymentConverter.toPayment(data, orderID, accountPublicAddress));
+							if (loggable) {
+								Logger.log(new Log().withTag(TAG).put("completedPayment order id", orderID));
+							}
 						}
 
 						// UpdateBalance
-						getBalance(null);
+						refreshChangedBalance();
 					}
 				});
 		}
@@ -441,8 +537,17 @@ public class BlockchainSourceImpl implements BlockchainSource {
 
 	@Override
 	public void removePaymentObserver(Observer<Payment> observer) {
-		completedPayment.removeObserver(observer);
-		decrementPaymentCount();
+		if (paymentRouter.removeGlobalObserver(observer)) {
+			decrementPaymentCount();
+		}
+	}
+
+	@Override
+	public void removePaymentObserver(@NonNull String orderID, @NonNull Observer<Payment> observer) {
+		// An observer may be removed twice, by its payment and by its timeout, count it once.
+		if (paymentRouter.removeObserver(orderID, observer)) {
+			decrementPaymentCount();
+		}
 	}
 
 	@Override
@@ -498,8 +603,9 @@ public class BlockchainSourceImpl implements BlockchainSource {
 		removeRegistration(balanceRegistration);
 		paymentRegistration = null;
 		balanceRegistration = null;
-		completedPayment.removeAllObservers();
+		paymentRouter.clear();
 		account = null;
+		balanceRefresher.clearCache();
 		local.logout();
 	}
 
@@ -525,11 +631,6 @@ public class BlockchainSourceImpl implements BlockchainSource {
 
 	@VisibleForTesting
 	String extractOrderId(String memo) {
-		String[] memoParts = memo.split(MEMO_DELIMITER);
-		String orderID = null;
-		if (memoParts.length == MEMO_SPLIT_LENGTH && memoParts[APP_ID_INDEX].equals(getAppID())) {
-			orderID = memoParts[ORDER_ID_INDEX];
-		}
-		return orderID;
+		return MemoCodec.decodeOrderId(memo, getAppID());
 	}
 }
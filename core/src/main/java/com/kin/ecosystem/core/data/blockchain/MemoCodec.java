@@ -0,0 +1,51 @@
+package com.kin.ecosystem.core.data.blockchain;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+/**
+ * Encodes and decodes the transaction memo of an order, in the format {@code version-appID-orderID}.
+ * Decoding scans the memo in place, the only allocation is the returned order id.
+ */
+final class MemoCodec {
+
+	static final int FORMAT_VERSION = 1;
+	private static final char DELIMITER = '-';
+
+	private MemoCodec() {
+	}
+
+	@NonNull
+	static String encode(@NonNull String appID, @NonNull String orderID) {
+		return new StringBuilder(appID.length() + orderID.length() + 4)
+			.append(FORMAT_VERSION)
+			.append(DELIMITER)
+			.append(appID)
+			.append(DELIMITER)
+			.append(orderID)
+			.toString();
+	}
+
+	/**
+	 * @return the order id of a memo of this app, null if the memo is not in the format or of another app.
+	 */
+	@Nullable
+	static String decodeOrderId(@Nullable String memo, @Nullable String appID) {
+		if (memo == null || appID == null || appID.isEmpty()) {
+			return null;
+		}
+		final int appIdStart = memo.indexOf(DELIMITER) + 1;
+		if (appIdStart <= 1) {
+			return null;
+		}
+		final int appIdEnd = memo.indexOf(DELIMITER, appIdStart);
+		final int orderIdStart = appIdEnd + 1;
+		if (appIdEnd < 0 || orderIdStart == memo.length() || memo.indexOf(DELIMITER, orderIdStart) >= 0) {
+			return null;
+		}
+		if (appIdEnd - appIdStart != appID.length() || !memo.regionMatches(appIdStart, appID, 0, appID.length())) {
+			return null;
+		}
+		return memo.substring(orderIdStart);
+	}
+}
@@ -0,0 +1,134 @@
+package com.kin.ecosystem.core.data.blockchain;
+
+import android.support.annotation.NonNull;
+import com.kin.ecosystem.common.Observer;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Delivers each {@link Payment} to the observers of its order id, and to the few global observers that want all
+ * the payments, so a payment costs one lookup no matter how many orders are waiting.
+ * Observers are called on the delivery executor, the main thread in the SDK.
+ */
+class PaymentRouter {
+
+	@SuppressWarnings("unchecked")
+	private static final Observer<Payment>[] EMPTY = new Observer[0];
+
+	private final Executor deliveryExecutor;
+	// Copy on write arrays, an order usually has one or two observers.
+	private final ConcurrentMap<String, Observer<Payment>[]> orderObservers = new ConcurrentHashMap<>();
+	private final AtomicReference<Observer<Payment>[]> globalObservers = new AtomicReference<>(EMPTY);
+
+	PaymentRouter(@NonNull Executor deliveryExecutor) {
+		this.deliveryExecutor = deliveryExecutor;
+	}
+
+	void addObserver(@NonNull String orderID, @NonNull Observer<Payment> observer) {
+		while (true) {
+			final Observer<Payment>[] observers = orderObservers.get(orderID);
+			if (observers == null) {
+				if (orderObservers.putIfAbsent(orderID, new Observer[]{observer}) == null) {
+					return;
+				}
+			} else if (orderObservers.replace(orderID, observers, add(observers, observer))) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * @return true if the observer was removed, false if it wasn't observing the order.
+	 */
+	boolean removeObserver(@NonNull String orderID, @NonNull Observer<Payment> observer) {
+		while (true) {
+			final Observer<Payment>[] observers = orderObservers.get(orderID);
+			if (observers == null) {
+				return false;
+			}
+			final Observer<Payment>[] updated = remove(observers, observer);
+			if (updated == observers) {
+				return false;
+			}
+			if (updated.length == 0 ? orderObservers.remove(orderID, observers)
+				: orderObservers.replace(orderID, observers, updated)) {
+				return true;
+			}
+		}
+	}
+
+	void addGlobalObserver(@NonNull Observer<Payment> observer) {
+		Observer<Payment>[] observers;
+		do {
+			observers = globalObservers.get();
+		} while (!globalObservers.compareAndSet(observers, add(observers, observer)));
+	}
+
+	/**
+	 * @return true if the observer was removed, false if it wasn't observing.
+	 */
+	boolean removeGlobalObserver(@NonNull Observer<Payment> observer) {
+		Observer<Payment>[] observers;
+		Observer<Payment>[] updated;
+		do {
+			observers = globalObservers.get();
+			updated = remove(observers, observer);
+		} while (updated != observers && !globalObservers.compareAndSet(observers, updated));
+		return updated != observers;
+	}
+
+	void dispatch(@NonNull final Payment payment) {
+		deliveryExecutor.execute(new Runnable() {
+			@Override
+			public void run() {
+				final String orderID = payment.getOrderID();
+				// Read the observers on delivery, so observers removed meanwhile are not called.
+				final Observer<Payment>[] observers = orderID != null ? orderObservers.get(orderID) : null;
+				if (observers != null) {
+					for (Observer<Payment> observer : observers) {
+						observer.onChanged(payment);
+					}
+				}
+				for (Observer<Payment> observer : globalObservers.get()) {
+					observer.onChanged(payment);
+				}
+			}
+		});
+	}
+
+	void clear() {
+		orderObservers.clear();
+		globalObservers.set(EMPTY);
+	}
+
+	private static Observer<Payment>[] add(Observer<Payment>[] observers, Observer<Payment> observer) {
+		@SuppressWarnings("unchecked")
+		final Observer<Payment>[] updated = new Observer[observers.length + 1];
+		System.arraycopy(observers, 0, updated, 0, observers.length);
+		updated[observers.length] = observer;
+		return updated;
+	}
+
+	private static Observer<Payment>[] remove(Observer<Payment>[] observers, Observer<Payment> observer) {
+		int index = -1;
+		for (int i = 0; i < observers.length; i++) {
+			if (observers[i] == observer) {
+				index = i;
+				break;
+			}
+		}
+		if (index < 0) {
+			return observers;
+		}
+		if (observers.length == 1) {
+			return EMPTY;
+		}
+		@SuppressWarnings("unchecked")
+		final Observer<Payment>[] updated = new Observer[observers.length - 1];
+		System.arraycopy(observers, 0, updated, 0, index);
+		System.arraycopy(observers, index + 1, updated, index, observers.length - index - 1);
+		return updated;
+	}
+}
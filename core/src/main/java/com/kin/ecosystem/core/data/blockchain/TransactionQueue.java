@@ -0,0 +1,62 @@
+package com.kin.ecosystem.core.data.blockchain;
+
+import android.support.annotation.NonNull;
+import java.util.ArrayDeque;
+
+/**
+ * Sends the transactions of the account one at a time, in the order they were queued.
+ * A transaction is built on the account sequence number, so concurrent transactions of the same account load the
+ * same sequence and all but one fail, queued transactions each load the sequence left by the previous one.
+ * Nothing runs on a thread of its own, the next transaction is sent on the thread that finished the previous one.
+ */
+class TransactionQueue {
+
+	interface Transaction {
+
+		/**
+		 * Send the transaction, {@code onDone} must be run once it is accepted or failed.
+		 */
+		void send(@NonNull Runnable onDone);
+	}
+
+	private final ArrayDeque<Transaction> pending = new ArrayDeque<>();
+	// Guarded by this.
+	private boolean sending;
+
+	private final Runnable onDone = new Runnable() {
+		@Override
+		public void run() {
+			sendNext();
+		}
+	};
+
+	void enqueue(@NonNull Transaction transaction) {
+		synchronized (this) {
+			pending.offer(transaction);
+			if (sending) {
+				return;
+			}
+			sending = true;
+		}
+		sendNext();
+	}
+
+	/**
+	 * @return the number of transactions waiting for their turn.
+	 */
+	synchronized int getPendingCount() {
+		return pending.size();
+	}
+
+	private void sendNext() {
+		final Transaction next;
+		synchronized (this) {
+			next = pending.poll();
+			if (next == null) {
+				sending = false;
+				return;
+			}
+		}
+		next.send(onDone);
+	}
+}
@@ -0,0 +1,88 @@
+package com.kin.ecosystem.core.data.internal;
+
+import static com.kin.ecosystem.core.network.ApiClient.DELETE;
+import static com.kin.ecosystem.core.network.ApiClient.POST;
+
+import com.kin.ecosystem.core.Log;
+import com.kin.ecosystem.core.Logger;
+import com.kin.ecosystem.core.data.auth.AuthRepository;
+import com.kin.ecosystem.core.network.model.AuthToken;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * Adds the auth token to every request except sign in and logout.
+ * If the server rejects the token, the token is refreshed and the request is retried once.
+ */
+class AuthInterceptor implements Interceptor {
+
+	private static final String TAG = AuthInterceptor.class.getSimpleName();
+
+	private static final String BEARER = "Bearer ";
+	private static final String AUTHORIZATION = "Authorization";
+
+	private static final int NO_TOKEN_ERROR_CODE = 666;
+	private static final String AUTH_TOKEN_COULD_NOT_BE_GENERATED = "AuthToken could not be generated";
+
+	private static final String USERS_PATH = "/" + ConfigurationImpl.API_VERSION + "/users";
+	private static final String LOGOUT_PATH = "/" + ConfigurationImpl.API_VERSION + "/users/me/session";
+
+	@Override
+	public Response intercept(Chain chain) throws IOException {
+		Request originalRequest = chain.request();
+		if (isCanProceed(originalRequest)) {
+			return chain.proceed(originalRequest);
+		}
+
+		final AuthRepository authRepository = AuthRepository.getInstance();
+		final AuthToken authToken = authRepository.getAuthTokenSync();
+		if (authToken == null) {
+			// Stop the request from being executed.
+			Logger.log(new Log().withTag(TAG).text("No token - response error on client"));
+			return noTokenResponse(originalRequest);
+		}
+
+		final Response response = chain.proceed(authorize(originalRequest, authToken));
+		if (response.code() != HttpURLConnection.HTTP_UNAUTHORIZED) {
+			return response;
+		}
+
+		final AuthToken refreshedToken = authRepository.refreshAuthTokenSync(authToken.getToken());
+		if (refreshedToken == null || refreshedToken.getToken().equals(authToken.getToken())) {
+			return response;
+		}
+		Logger.log(new Log().withTag(TAG).put("Token rejected, retrying", originalRequest.url().encodedPath()));
+		response.close();
+		return chain.proceed(authorize(originalRequest, refreshedToken));
+	}
+
+	private Request authorize(Request request, AuthToken authToken) {
+		return request.newBuilder()
+			.header(AUTHORIZATION, BEARER + authToken.getToken())
+			.build();
+	}
+
+	private Response noTokenResponse(Request request) {
+		return new Response.Builder()
+			.code(NO_TOKEN_ERROR_CODE)
+			.body(ResponseBody.create(MediaType.parse("application/json"),
+				"{error: \"" + AUTH_TOKEN_COULD_NOT_BE_GENERATED + "\"}"))
+			.message(AUTH_TOKEN_COULD_NOT_BE_GENERATED)
+			.protocol(Protocol.HTTP_2)
+			.request(request)
+			.build();
+	}
+
+	private boolean isCanProceed(Request originalRequest) {
+		final String path = originalRequest.url().encodedPath();
+		final String method = originalRequest.method();
+		return path.equals(USERS_PATH) && method.equals(POST) ||
+			path.equals(LOGOUT_PATH) && method.equals(DELETE);
+	}
+}
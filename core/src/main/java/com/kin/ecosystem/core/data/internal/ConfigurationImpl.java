@@ -1,27 +1,15 @@
 package com.kin.ecosystem.core.data.internal;
 
-import static com.kin.ecosystem.core.network.ApiClient.DELETE;
-import static com.kin.ecosystem.core.network.ApiClient.POST;
-
 import android.os.Build;
 import android.os.Build.VERSION;
 import android.support.annotation.NonNull;
 import android.text.TextUtils;
 import com.kin.ecosystem.common.KinEnvironment;
-import com.kin.ecosystem.core.Log;
-import com.kin.ecosystem.core.Logger;
-import com.kin.ecosystem.core.data.auth.AuthRepository;
 import com.kin.ecosystem.core.network.ApiClient;
-import com.kin.ecosystem.core.network.model.AuthToken;
-import java.io.IOException;
+import com.kin.ecosystem.core.network.RequestCoalescingInterceptor;
+import com.kin.ecosystem.core.network.RequestLane;
 import java.util.Locale;
 import kin.ecosystem.core.BuildConfig;
-import okhttp3.Interceptor;
-import okhttp3.MediaType;
-import okhttp3.Protocol;
-import okhttp3.Request;
-import okhttp3.Response;
-import okhttp3.ResponseBody;
 
 public class ConfigurationImpl implements Configuration {
 
@@ -31,20 +19,17 @@ public class ConfigurationImpl implements Configuration {
 	private static final String HEADER_DEVICE_LANGUAGE = "Accept-Language";
 	private static final String HEADER_OS = "X-OS";
 
-	private static final String BEARER = "Bearer ";
-	private static final String AUTHORIZATION = "Authorization";
-
 	static final String API_VERSION = "v2";
 
-	private static final int NO_TOKEN_ERROR_CODE = 666;
-	private static final String AUTH_TOKEN_COULD_NOT_BE_GENERATED = "AuthToken could not be generated";
-
-	private static final String USERS_PATH = "/" + API_VERSION + "/users";
-	private static final String LOGOUT_PATH = "/" + API_VERSION + "/users/me/session";
 	private static final String PREFIX_ANDROID = "android ";
 
 	private static final Object apiClientLock = new Object();
-	private static ApiClient defaultApiClient;
+	private static volatile ApiClient defaultApiClient;
+	private static volatile ApiClient backgroundApiClient;
+	private static volatile ApiClient authApiClient;
+	// Shared by the ecosystem clients, so identical requests are coalesced whatever lane they were made on.
+	private static final RequestCoalescingInterceptor requestCoalescingInterceptor =
+		new RequestCoalescingInterceptor();
 
 	private final KinEnvironment kinEnvironment;
 	private static volatile ConfigurationImpl instance;
@@ -77,35 +62,9 @@ public class ConfigurationImpl implements Configuration {
 	public ApiClient getDefaultApiClient() {
 		if (defaultApiClient == null) {
 			synchronized (apiClientLock) {
-				defaultApiClient = new ApiClient(kinEnvironment.getEcosystemServerUrl());
-				defaultApiClient.addInterceptor(new Interceptor() {
-					@Override
-					public Response intercept(Chain chain) throws IOException {
-						Request originalRequest = chain.request();
-						if (isCanProceed(originalRequest)) {
-							return chain.proceed(originalRequest);
-						} else {
-							AuthToken authToken = AuthRepository.getInstance().getAuthTokenSync();
-							if (authToken != null) {
-								Request authorisedRequest = originalRequest.newBuilder()
-									.header(AUTHORIZATION, BEARER + authToken.getToken())
-									.build();
-								return chain.proceed(authorisedRequest);
-							} else {
-								// Stop the request from being executed.
-								Logger.log(new Log().withTag("ApiClient").text("No token - response error on client"));
-								return new Response.Builder()
-									.code(NO_TOKEN_ERROR_CODE)
-									.body(ResponseBody.create(MediaType.parse("application/json"),
-										"{error: \"" + AUTH_TOKEN_COULD_NOT_BE_GENERATED + "\"}"))
-									.message(AUTH_TOKEN_COULD_NOT_BE_GENERATED)
-									.protocol(Protocol.HTTP_2)
-									.request(originalRequest)
-									.build();
-							}
-						}
-					}
-				});
+				if (defaultApiClient == null) {
+					defaultApiClient = createEcosystemApiClient(RequestLane.INTERACTIVE);
+				}
 			}
 		}
 
@@ -113,11 +72,48 @@ public class ConfigurationImpl implements Configuration {
 		return defaultApiClient;
 	}
 
-	private boolean isCanProceed(Request originalRequest) {
-		final String path = originalRequest.url().encodedPath();
-		final String method = originalRequest.method();
-		return path.equals(USERS_PATH) && method.equals(POST) ||
-			path.equals(LOGOUT_PATH) && method.equals(DELETE);
+	/**
+	 * Get the API client for requests the SDK makes on its own, such as polling orders,
+	 * so they don't hold back the requests the user waits for.
+	 *
+	 * @return Background API client
+	 */
+	public ApiClient getBackgroundApiClient() {
+		if (backgroundApiClient == null) {
+			synchronized (apiClientLock) {
+				if (backgroundApiClient == null) {
+					backgroundApiClient = createEcosystemApiClient(RequestLane.BACKGROUND_SYNC);
+				}
+			}
+		}
+
+		addHeaders(backgroundApiClient);
+		return backgroundApiClient;
+	}
+
+	/**
+	 * Get the API client for sign in calls, which may be made from within other calls that wait for a new token.
+	 *
+	 * @return Auth API client
+	 */
+	public ApiClient getAuthApiClient() {
+		if (authApiClient == null) {
+			synchronized (apiClientLock) {
+				if (authApiClient == null) {
+					authApiClient = createEcosystemApiClient(RequestLane.AUTH);
+				}
+			}
+		}
+
+		addHeaders(authApiClient);
+		return authApiClient;
+	}
+
+	private ApiClient createEcosystemApiClient(RequestLane requestLane) {
+		ApiClient apiClient = new ApiClient(kinEnvironment.getEcosystemServerUrl()).setRequestLane(requestLane);
+		apiClient.addInterceptor(new AuthInterceptor());
+		apiClient.addInterceptor(requestCoalescingInterceptor);
+		return apiClient;
 	}
 
 	private void addHeaders(ApiClient apiClient) {
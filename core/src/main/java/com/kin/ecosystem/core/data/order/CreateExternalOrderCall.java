@@ -1,17 +1,21 @@
 package com.kin.ecosystem.core.data.order;
 
 import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
 import com.kin.ecosystem.common.KinCallback;
 import com.kin.ecosystem.common.Observer;
 import com.kin.ecosystem.common.exception.KinEcosystemException;
 import com.kin.ecosystem.common.exception.ServiceException;
 import com.kin.ecosystem.common.model.Balance;
+import com.kin.ecosystem.core.Log;
+import com.kin.ecosystem.core.Logger;
 import com.kin.ecosystem.core.bi.EventLogger;
 import com.kin.ecosystem.core.bi.events.SpendOrderCompletionSubmitted;
 import com.kin.ecosystem.core.bi.events.SpendOrderCreationFailed;
 import com.kin.ecosystem.core.bi.events.SpendOrderCreationReceived;
 import com.kin.ecosystem.core.data.blockchain.BlockchainSource;
 import com.kin.ecosystem.core.data.blockchain.Payment;
+import com.kin.ecosystem.core.data.order.PurchaseMetrics.Stage;
 import com.kin.ecosystem.core.network.ApiException;
 import com.kin.ecosystem.core.network.model.JWTBodyPaymentConfirmationResult;
 import com.kin.ecosystem.core.network.model.Offer.OfferType;
@@ -19,45 +23,84 @@ import com.kin.ecosystem.core.network.model.OpenOrder;
 import com.kin.ecosystem.core.network.model.Order;
 import com.kin.ecosystem.core.util.ErrorUtil;
 import com.kin.ecosystem.core.util.ExecutorsUtil.MainThreadExecutor;
+import com.kin.ecosystem.core.util.SdkExecutor;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Map;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import kin.core.exception.InsufficientKinException;
 
-class CreateExternalOrderCall extends Thread {
+/**
+ * Runs an external order flow, should be executed on a {@link SdkExecutor} worker.
+ * A spend order can run pipelined: the account is looked up on another worker while the order is created, which
+ * also opens the blockchain connection the transaction is sent on, and the transaction is sent on this worker as
+ * soon as the submit is acknowledged. The order is then fetched once the transaction is accepted,
+ * instead of waiting for its payment event.
+ */
+class CreateExternalOrderCall implements Runnable {
+
+	private static final String TAG = CreateExternalOrderCall.class.getSimpleName();
 
 	private static final int SSE_TIMEOUT = 15000; // 15 seconds
+	private static final int ACCOUNT_LOOKUP_TIMEOUT = 10000; // 10 seconds
 	private final OrderDataSource orderRepository;
 	private final BlockchainSource blockchainSource;
 	private final String orderJwt;
 	private final ExternalOrderCallbacks externalOrderCallbacks;
 	private final EventLogger eventLogger;
+	@Nullable
+	private final PurchaseMetrics purchaseMetrics;
+	private final boolean pipelined;
 
 	private OpenOrder openOrder;
+	private long startNanos;
+	private volatile long confirmStartNanos;
+	private final AtomicBoolean isConfirmRecorded = new AtomicBoolean(false);
 	private MainThreadExecutor mainThreadExecutor = new MainThreadExecutor();
 
 	CreateExternalOrderCall(@NonNull OrderDataSource orderRepository, @NonNull BlockchainSource blockchainSource,
-		@NonNull String orderJwt, @NonNull EventLogger eventLogger,
-		@NonNull ExternalOrderCallbacks externalOrderCallbacks) {
+		@NonNull String orderJwt, @NonNull EventLogger eventLogger, @Nullable PurchaseMetrics purchaseMetrics,
+		boolean pipelined, @NonNull ExternalOrderCallbacks externalOrderCallbacks) {
 		this.orderRepository = orderRepository;
 		this.blockchainSource = blockchainSource;
 		this.orderJwt = orderJwt;
 		this.eventLogger = eventLogger;
+		this.purchaseMetrics = purchaseMetrics;
+		this.pipelined = pipelined;
 		this.externalOrderCallbacks = externalOrderCallbacks;
 	}
 
 	@Override
 	public void run() {
+		if (createOrder(0)) {
+			submitOrder();
+		}
+	}
+
+	/**
+	 * Create the order, a spend order is created only if the balance covers it on top of the given amount,
+	 * reserved by orders created before it and not paid yet.
+	 *
+	 * @return true if the order should be submitted, otherwise the callbacks were already called.
+	 */
+	boolean createOrder(int reservedAmount) {
+		startNanos = System.nanoTime();
+		final FutureTask<Balance> accountLookup = pipelined ? startAccountLookup() : null;
 		try {
 			// Create external order
 			openOrder = orderRepository.createExternalOrderSync(orderJwt);
+			record(Stage.CREATE, startNanos);
 			sendOrderCreationReceivedEvent();
 			if (isSpendOrder(openOrder)) {
-				Balance balance = blockchainSource.getBalance();
-				if (balance.getAmount().intValue() < openOrder.getAmount()) {
+				Balance balance = accountLookup != null ? getBalance(accountLookup) : blockchainSource.getBalance();
+				if (balance.getAmount().intValue() - reservedAmount < openOrder.getAmount()) {
 					orderRepository.cancelOrderSync(openOrder.getId());
 					runOnMainThread(new Runnable() {
 						@Override
@@ -67,7 +110,7 @@ class CreateExternalOrderCall extends Thread {
 									openOrder);
 						}
 					});
-					return;
+					return false;
 				}
 			}
 		} catch (final ApiException e) {
@@ -78,76 +121,181 @@ class CreateExternalOrderCall extends Thread {
 				sendOrderCreationFailedEvent(openOrder, e);
 				onOrderFailed(ErrorUtil.fromApiException(e));
 			}
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * @return the amount the created order spends, 0 for an earn order.
+	 */
+	int getSpendAmount() {
+		return openOrder != null && isSpendOrder(openOrder) ? openOrder.getAmount() : 0;
+	}
+
+	/**
+	 * Submit the created order, and send its transaction if it's a spend order.
+	 * In the sequential flow this returns once the submit request is sent, the rest runs on the callbacks.
+	 */
+	void submitOrder() {
+		if (pipelined && isSpendOrder(openOrder)) {
+			submitAndSendTransaction();
 			return;
 		}
 
-		//Create SSE timeout timer, so we can schedule timed task.
-		final Timer sseTimeoutTimer = new Timer();
+		//Scheduled SSE timeout task, set once the order is submitted.
+		final AtomicReference<ScheduledFuture<?>> sseTimeoutTask = new AtomicReference<>();
 		final AtomicBoolean isTimeoutTaskCanceled = new AtomicBoolean(false);
 
-		//Listen for payments, make sure the transaction succeed.
+		//Listen for the payment of this order, make sure the transaction succeed.
+		final String orderID = openOrder.getId();
 		final Observer<Payment> paymentObserver = new Observer<Payment>() {
 			@Override
 			public void onChanged(final Payment payment) {
-				if (isPaymentOrderEquals(payment, openOrder.getId())) {
-					//Cancel SSE timeout task
-					if(!isTimeoutTaskCanceled.getAndSet(true)) {
-						sseTimeoutTimer.cancel();
-					}
+				//Cancel SSE timeout task
+				if(!isTimeoutTaskCanceled.getAndSet(true)) {
+					cancelTimeoutTask(sseTimeoutTask.get());
+				}
 
-					if (payment.isSucceed()) {
-						getOrder(payment.getOrderID());
-					} else {
-						if (isSpendOrder(openOrder)) {
-							runOnMainThread(new Runnable() {
-								@Override
-								public void run() {
-									((ExternalSpendOrderCallbacks) externalOrderCallbacks)
-										.onTransactionFailed(openOrder,
-											ErrorUtil.getBlockchainException(payment.getException()));
-								}
-							});
-						}
+				if (payment.isSucceed()) {
+					getOrder(payment.getOrderID());
+				} else {
+					if (isSpendOrder(openOrder)) {
+						runOnMainThread(new Runnable() {
+							@Override
+							public void run() {
+								((ExternalSpendOrderCallbacks) externalOrderCallbacks)
+									.onTransactionFailed(openOrder,
+										ErrorUtil.getBlockchainException(payment.getException()));
+							}
+						});
 					}
-					blockchainSource.removePaymentObserver(this);
 				}
+				blockchainSource.removePaymentObserver(orderID, this);
 			}
 		};
-		blockchainSource.addPaymentObservable(paymentObserver);
+		blockchainSource.addPaymentObserver(orderID, paymentObserver);
 
 		sendCompletionSubmittedEvent(openOrder);
+		final long submitStartNanos = System.nanoTime();
 		orderRepository.submitOrder(openOrder.getOfferId(), null, openOrder.getId(), new KinCallback<Order>() {
 			@Override
 			public void onResponse(Order response) {
+				record(Stage.SUBMIT, submitStartNanos);
+				confirmStartNanos = System.nanoTime();
 				if (isSpendOrder(openOrder)) {
 					// Send transaction to the blockchain
 					blockchainSource.sendTransaction(openOrder.getBlockchainData().getRecipientAddress(),
 						new BigDecimal(openOrder.getAmount()), openOrder.getId(), openOrder.getOfferId());
+					orderRepository.onTransactionSent(openOrder.getId());
 				}
 
-				// Schedule sse timeout task
-				sseTimeoutTimer.schedule(new TimerTask() {
+				// Schedule sse timeout task, unless the payment already arrived.
+				if (isTimeoutTaskCanceled.get()) {
+					return;
+				}
+				sseTimeoutTask.set(SdkExecutor.getInstance().scheduleTimeout(new Runnable() {
 					@Override
 					public void run() {
-						// TimerTask runs on a BG thread of the timer.
+						// Runs on the SdkExecutor scheduler thread.
 						if(!isTimeoutTaskCanceled.getAndSet(true)) {
 							// Timeout should be fulfilled, remove payment observer and start server polling for order.
-							blockchainSource.removePaymentObserver(paymentObserver);
+							blockchainSource.removePaymentObserver(orderID, paymentObserver);
 							getOrder(openOrder.getId());
-							sseTimeoutTimer.cancel(); // Clear queue so it can be GC
 						}
 					}
-				}, SSE_TIMEOUT);
+				}, SSE_TIMEOUT, TimeUnit.MILLISECONDS));
 			}
 
 			@Override
 			public void onFailure(KinEcosystemException e) {
-				blockchainSource.removePaymentObserver(paymentObserver);
+				blockchainSource.removePaymentObserver(orderID, paymentObserver);
 				onOrderFailed(e);
 			}
 		});
 	}
 
+	/**
+	 * Look up the account on another worker, it also opens the connection to the blockchain,
+	 * so sending the transaction later doesn't pay for it.
+	 */
+	private FutureTask<Balance> startAccountLookup() {
+		final FutureTask<Balance> accountLookup = new FutureTask<>(new Callable<Balance>() {
+			@Override
+			public Balance call() throws Exception {
+				final long lookupStartNanos = System.nanoTime();
+				final Balance balance = blockchainSource.getBalanceSync();
+				record(Stage.PREPARE, lookupStartNanos);
+				return balance;
+			}
+		});
+		SdkExecutor.getInstance().execute(accountLookup);
+		return accountLookup;
+	}
+
+	/**
+	 * @return the looked up balance, or the cached one if the lookup failed or took too long.
+	 */
+	private Balance getBalance(FutureTask<Balance> accountLookup) {
+		// This flow runs on a worker too, if the lookup is still queued behind busy workers it's run here instead
+		// of waiting for a worker, otherwise flows waiting on their queued lookups would hold all the workers.
+		// Does nothing if the lookup already started on another worker.
+		accountLookup.run();
+		try {
+			return accountLookup.get(ACCOUNT_LOOKUP_TIMEOUT, TimeUnit.MILLISECONDS);
+		} catch (ExecutionException e) {
+			Logger.log(new Log().withTag(TAG).priority(Log.WARN).put("Account lookup failed", e.getCause()));
+		} catch (TimeoutException e) {
+			Logger.log(new Log().withTag(TAG).priority(Log.WARN).text("Account lookup timed out"));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		return blockchainSource.getBalance();
+	}
+
+	private void submitAndSendTransaction() {
+		final String orderID = openOrder.getId();
+		sendCompletionSubmittedEvent(openOrder);
+		final long submitStartNanos = System.nanoTime();
+		try {
+			orderRepository.submitOrderSync(openOrder.getOfferId(), null, orderID);
+		} catch (ApiException e) {
+			onOrderFailed(ErrorUtil.fromApiException(e));
+			return;
+		}
+		record(Stage.SUBMIT, submitStartNanos);
+
+		final long broadcastStartNanos = System.nanoTime();
+		orderRepository.onTransactionSent(orderID);
+		try {
+			blockchainSource.sendTransactionSync(openOrder.getBlockchainData().getRecipientAddress(),
+				new BigDecimal(openOrder.getAmount()), orderID, openOrder.getOfferId());
+		} catch (final KinEcosystemException e) {
+			runOnMainThread(new Runnable() {
+				@Override
+				public void run() {
+					((ExternalSpendOrderCallbacks) externalOrderCallbacks).onTransactionFailed(openOrder, e);
+				}
+			});
+			return;
+		}
+		record(Stage.BROADCAST, broadcastStartNanos);
+		confirmStartNanos = System.nanoTime();
+		getOrder(orderID);
+	}
+
+	private void record(Stage stage, long stageStartNanos) {
+		if (purchaseMetrics != null) {
+			purchaseMetrics.record(pipelined, stage, stageStartNanos);
+		}
+	}
+
+	private void cancelTimeoutTask(ScheduledFuture<?> timeoutTask) {
+		if (timeoutTask != null) {
+			timeoutTask.cancel(false);
+		}
+	}
+
 	private boolean isSpendOrder(OpenOrder openOrder) {
 		return openOrder.getOfferType() == OfferType.SPEND;
 	}
@@ -218,17 +366,17 @@ class CreateExternalOrderCall extends Thread {
 			&& e.getResponseBody().getCode() == ErrorUtil.ERROR_CODE_EXTERNAL_ORDER_ALREADY_COMPLETED;
 	}
 
-	private boolean isPaymentOrderEquals(Payment payment, String orderId) {
-		String paymentOrderID = payment.getOrderID();
-		return paymentOrderID != null && paymentOrderID.equals(orderId);
-	}
-
 	private void getOrder(String orderID) {
 		orderRepository.getOrder(orderID, new KinCallback<Order>() {
 			@Override
 			public void onResponse(final Order order) {
 				switch (order.getStatus()) {
 					case COMPLETED:
+						// Recorded once, the order can be fetched again by a late payment event.
+						if (confirmStartNanos != 0 && !isConfirmRecorded.getAndSet(true)) {
+							record(Stage.CONFIRM, confirmStartNanos);
+							record(Stage.TOTAL, startNanos);
+						}
 						runOnMainThread(new Runnable() {
 							@Override
 							public void run() {
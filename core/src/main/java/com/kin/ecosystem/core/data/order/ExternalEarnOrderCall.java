@@ -12,6 +12,6 @@ class ExternalEarnOrderCall extends CreateExternalOrderCall {
         @NonNull String orderJwt,
         @NonNull EventLogger eventLogger,
         @NonNull ExternalOrderCallbacks externalEarnOrderCallbacks) {
-        super(orderRepository, blockchainSource, orderJwt, eventLogger, externalEarnOrderCallbacks);
+        super(orderRepository, blockchainSource, orderJwt, eventLogger, null, false, externalEarnOrderCallbacks);
     }
 }
\ No newline at end of file
@@ -0,0 +1,100 @@
+package com.kin.ecosystem.core.data.order;
+
+import android.support.annotation.NonNull;
+import com.kin.ecosystem.common.KinBatchCallback;
+import com.kin.ecosystem.common.KinCallback;
+import com.kin.ecosystem.common.exception.KinEcosystemException;
+import com.kin.ecosystem.core.util.ExecutorsUtil.MainThreadExecutor;
+import com.kin.ecosystem.core.util.SdkExecutor;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Runs the flows of a batch of external orders on one {@link SdkExecutor} worker, instead of a worker per order.
+ * All the orders are created first, back to back on the same connection, then all the created orders are submitted.
+ * The transactions of the spend orders are sent one at a time by the blockchain source, and each order
+ * completes on its own.
+ */
+class ExternalOrderBatchCall implements Runnable {
+
+	private final List<CreateExternalOrderCall> calls;
+
+	ExternalOrderBatchCall(@NonNull List<CreateExternalOrderCall> calls) {
+		this.calls = calls;
+	}
+
+	@Override
+	public void run() {
+		final List<CreateExternalOrderCall> createdCalls = new ArrayList<>(calls.size());
+		int reservedAmount = 0;
+		for (CreateExternalOrderCall call : calls) {
+			if (call.createOrder(reservedAmount)) {
+				createdCalls.add(call);
+				reservedAmount += call.getSpendAmount();
+			}
+		}
+		for (CreateExternalOrderCall call : createdCalls) {
+			call.submitOrder();
+		}
+	}
+
+	/**
+	 * Collects the result of each item of a batch to a {@link KinBatchCallback}.
+	 */
+	static class Results<T> {
+
+		private final KinBatchCallback<T> batchCallback;
+		private final AtomicIntegerArray completedItems;
+		private final AtomicInteger remaining;
+
+		Results(int size, @NonNull KinBatchCallback<T> batchCallback) {
+			this.batchCallback = batchCallback;
+			this.completedItems = new AtomicIntegerArray(size);
+			this.remaining = new AtomicInteger(size);
+			if (size == 0) {
+				new MainThreadExecutor().execute(new Runnable() {
+					@Override
+					public void run() {
+						Results.this.batchCallback.onCompleted();
+					}
+				});
+			}
+		}
+
+		/**
+		 * @return the callback of the item, only its first result is delivered.
+		 */
+		@NonNull
+		KinCallback<T> forItem(final int index) {
+			return new KinCallback<T>() {
+				@Override
+				public void onResponse(T response) {
+					if (complete(index)) {
+						batchCallback.onItemResponse(index, response);
+						onItemCompleted();
+					}
+				}
+
+				@Override
+				public void onFailure(KinEcosystemException exception) {
+					if (complete(index)) {
+						batchCallback.onItemFailure(index, exception);
+						onItemCompleted();
+					}
+				}
+			};
+		}
+
+		private boolean complete(int index) {
+			return completedItems.compareAndSet(index, 0, 1);
+		}
+
+		private void onItemCompleted() {
+			if (remaining.decrementAndGet() == 0) {
+				batchCallback.onCompleted();
+			}
+		}
+	}
+}
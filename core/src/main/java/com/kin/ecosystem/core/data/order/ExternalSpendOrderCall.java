@@ -1,6 +1,7 @@
 package com.kin.ecosystem.core.data.order;
 
 import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
 import com.kin.ecosystem.core.bi.EventLogger;
 import com.kin.ecosystem.core.data.blockchain.BlockchainSource;
 
@@ -11,7 +12,10 @@ class ExternalSpendOrderCall extends CreateExternalOrderCall {
 		@NonNull BlockchainSource blockchainSource,
 		@NonNull String orderJwt,
 		@NonNull EventLogger eventLogger,
+		@Nullable PurchaseMetrics purchaseMetrics,
+		boolean pipelined,
 		@NonNull ExternalSpendOrderCallbacks externalSpendOrderCallbacks) {
-		super(orderRepository, blockchainSource, orderJwt, eventLogger, externalSpendOrderCallbacks);
+		super(orderRepository, blockchainSource, orderJwt, eventLogger, purchaseMetrics, pipelined,
+			externalSpendOrderCallbacks);
 	}
 }
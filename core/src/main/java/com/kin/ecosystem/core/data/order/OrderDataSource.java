@@ -3,6 +3,7 @@ package com.kin.ecosystem.core.data.order;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import com.kin.ecosystem.common.Callback;
+import com.kin.ecosystem.common.KinBatchCallback;
 import com.kin.ecosystem.common.KinCallback;
 import com.kin.ecosystem.common.ObservableData;
 import com.kin.ecosystem.common.Observer;
@@ -12,6 +13,7 @@ import com.kin.ecosystem.core.network.model.Body;
 import com.kin.ecosystem.core.network.model.OpenOrder;
 import com.kin.ecosystem.core.network.model.Order;
 import com.kin.ecosystem.core.network.model.OrderList;
+import java.util.List;
 
 public interface OrderDataSource {
 
@@ -20,13 +22,33 @@ public interface OrderDataSource {
 
     void getAllOrderHistory(@NonNull final KinCallback<OrderList> callback);
 
+    /**
+     * Get a page of the order history that is not cached, using the cursors of an already loaded page.
+     *
+     * @param before cursor of the newest loaded order, to get the page of newer orders.
+     * @param after cursor of the oldest loaded order, to get the page of older orders.
+     */
+    void getOrderHistoryPage(@Nullable String before, @Nullable String after,
+        @NonNull final KinCallback<OrderList> callback);
+
     void createOrder(@NonNull final String offerID, final KinCallback<OpenOrder> callback);
 
     void submitOrder(@NonNull final String offerID, @Nullable String content, @NonNull String orderID,
         final KinCallback<Order> callback);
 
+    /**
+     * Submit the order and wait for the response, should be called on a worker thread.
+     */
+    Order submitOrderSync(@NonNull final String offerID, @Nullable String content, @NonNull String orderID)
+        throws ApiException;
+
     void cancelOrderSync(@NonNull final String orderID);
 
+    /**
+     * Notify that the transaction of a submitted spend order was sent to the blockchain.
+     */
+    void onTransactionSent(@NonNull String orderID);
+
     void cancelOrder(@NonNull final String offerID, @NonNull final String orderID, final KinCallback<Void> callback);
 
     ObservableData<OpenOrder> getOpenOrder();
@@ -39,6 +61,17 @@ public interface OrderDataSource {
 
     void requestPayment(String offerJwt, KinCallback<OrderConfirmation> callback);
 
+    /**
+     * Run the spend orders of all the JWTs in one batch, the result of each order is delivered when it completes.
+     */
+    void purchaseBatch(@NonNull List<String> offerJwts, @NonNull KinBatchCallback<OrderConfirmation> batchCallback);
+
+    /**
+     * Run the earn orders of all the JWTs in one batch, the result of each order is delivered when it completes.
+     */
+    void requestPaymentBatch(@NonNull List<String> offerJwts,
+        @NonNull KinBatchCallback<OrderConfirmation> batchCallback);
+
     void addOrderObserver(@NonNull final Observer<Order> observer);
 
     void removeOrderObserver(@NonNull final Observer<Order> observer);
@@ -56,16 +89,46 @@ public interface OrderDataSource {
         void isFirstSpendOrder(@NonNull final Callback<Boolean, Void> callback);
 
         void setIsFirstSpendOrder(boolean isFirstSpendOrder);
+
+        /**
+         * Load the order history saved on disk, callback is called on the main thread.
+         */
+        void getOrderHistory(@NonNull final Callback<OrderList, Void> callback);
+
+        void setOrderHistory(@NonNull OrderList orderList);
+
+        void clearOrderHistory();
+
+        /**
+         * Append the state of an in-flight order to the order journal on disk.
+         */
+        void journalOrderState(@NonNull OrderJournal.Entry entry);
+
+        /**
+         * Load the in-flight orders from the order journal, callback is called on the main thread.
+         */
+        void getJournaledOrders(@NonNull final Callback<List<OrderJournal.Entry>, Void> callback);
+
+        void clearOrderJournal();
     }
 
     interface Remote {
 
-        void getAllOrderHistory(@NonNull final Callback<OrderList, ApiException> callback);
+        /**
+         * Get a page of the order history, newest order first.
+         *
+         * @param before cursor of the newest order already known, to get only newer orders.
+         * @param after cursor of the oldest order already known, to get only older orders.
+         */
+        void getOrderHistory(@Nullable String before, @Nullable String after, int limit,
+            @NonNull final Callback<OrderList, ApiException> callback);
 
         void createOrder(@NonNull final String offerID, final Callback<OpenOrder, ApiException> callback);
 
         void submitOrder(@Nullable String content, @NonNull String orderID, final Callback<Order, ApiException> callback);
 
+        Order submitOrderSync(@Nullable String content, @NonNull String orderID) throws ApiException;
+
         void cancelOrder(@NonNull final String orderID, final Callback<Void, ApiException> callback);
 
         void cancelOrderSync(@NonNull final String orderID);
@@ -74,6 +137,12 @@ public interface OrderDataSource {
 
         Order getOrderSync(@NonNull final String orderID);
 
+        /**
+         * @return the newest orders, or null if the request failed.
+         */
+        @Nullable
+        OrderList getOrderHistorySync(int limit);
+
         OpenOrder createExternalOrderSync(String orderJwt) throws ApiException;
 
         void getFilteredOrderHistory(@Nullable String origin, @NonNull String offerID, @NonNull final Callback<OrderList, ApiException> callback);
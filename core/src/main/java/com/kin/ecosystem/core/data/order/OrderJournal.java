@@ -0,0 +1,266 @@
+package com.kin.ecosystem.core.data.order;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import com.kin.ecosystem.core.Log;
+import com.kin.ecosystem.core.Logger;
+import com.kin.ecosystem.core.data.order.OrderTracker.State;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Write-ahead journal of the in-flight orders, so they can be resumed after the process died.
+ * Every state change is appended as a line, the last line of an order wins and a final state drops the order.
+ * Once most of the lines are stale the file is rewritten with the live orders only.
+ * Not thread safe, should be used on one thread, the disk IO thread.
+ */
+class OrderJournal {
+
+	private static final String TAG = OrderJournal.class.getSimpleName();
+
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+	private static final char SEPARATOR = '\t';
+	private static final char NEW_LINE = '\n';
+	private static final String EXTERNAL = "E";
+	private static final String MARKETPLACE = "M";
+	private static final int FIELDS = 5;
+	private static final int MIN_COMPACT_LINES = 64;
+
+	static final class Entry {
+
+		private final String orderId;
+		private final String offerId;
+		private final boolean external;
+		private final State state;
+		private final long timestampMillis;
+
+		Entry(@NonNull String orderId, @Nullable String offerId, boolean external, @NonNull State state,
+			long timestampMillis) {
+			this.orderId = orderId;
+			this.offerId = offerId != null ? offerId : "";
+			this.external = external;
+			this.state = state;
+			this.timestampMillis = timestampMillis;
+		}
+
+		String getOrderId() {
+			return orderId;
+		}
+
+		String getOfferId() {
+			return offerId;
+		}
+
+		boolean isExternal() {
+			return external;
+		}
+
+		State getState() {
+			return state;
+		}
+
+		/**
+		 * @return when the order moved to this state, in {@link System#currentTimeMillis()} time.
+		 */
+		long getTimestampMillis() {
+			return timestampMillis;
+		}
+	}
+
+	private final File file;
+	private final Map<String, Entry> liveOrders = new LinkedHashMap<>();
+	private boolean loaded;
+	private int lines;
+
+	OrderJournal(@NonNull File file) {
+		this.file = file;
+	}
+
+	/**
+	 * @return the live orders, in the order they were first journaled.
+	 */
+	@NonNull
+	List<Entry> load() {
+		ensureLoaded();
+		return new ArrayList<>(liveOrders.values());
+	}
+
+	/**
+	 * Journal the state of an order, a state the order is already journaled in is skipped.
+	 */
+	void append(@NonNull Entry entry) {
+		ensureLoaded();
+		if (entry.orderId.indexOf(SEPARATOR) >= 0 || entry.orderId.indexOf(NEW_LINE) >= 0
+			|| entry.offerId.indexOf(SEPARATOR) >= 0 || entry.offerId.indexOf(NEW_LINE) >= 0) {
+			Logger.log(new Log().withTag(TAG).priority(Log.WARN).put("Order not journaled", entry.orderId));
+			return;
+		}
+		final Entry previous = liveOrders.get(entry.orderId);
+		if (previous != null ? previous.state == entry.state : entry.state.isFinal()) {
+			return;
+		}
+		// Keep the first position, so the journal keeps its creation order.
+		if (entry.state.isFinal()) {
+			liveOrders.remove(entry.orderId);
+		} else {
+			liveOrders.put(entry.orderId, entry);
+		}
+		if (lines >= MIN_COMPACT_LINES && lines > liveOrders.size() * 4 && rewrite()) {
+			return;
+		}
+		appendLine(entry);
+	}
+
+	void clear() {
+		liveOrders.clear();
+		lines = 0;
+		loaded = true;
+		if (file.exists() && !file.delete()) {
+			Logger.log(new Log().withTag(TAG).priority(Log.ERROR).text("clear: delete failed"));
+		}
+	}
+
+	private void ensureLoaded() {
+		if (loaded) {
+			return;
+		}
+		loaded = true;
+		if (!file.exists()) {
+			return;
+		}
+		boolean intact = endsWithNewLine();
+		BufferedReader reader = null;
+		try {
+			reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), UTF_8));
+			String line;
+			while ((line = reader.readLine()) != null) {
+				lines++;
+				final Entry entry = parse(line);
+				if (entry == null) {
+					intact = false;
+				} else if (entry.state.isFinal()) {
+					liveOrders.remove(entry.orderId);
+				} else {
+					liveOrders.put(entry.orderId, entry);
+				}
+			}
+		} catch (IOException e) {
+			Logger.log(new Log().withTag(TAG).priority(Log.ERROR).put("load failed", e.getMessage()));
+			intact = false;
+		} finally {
+			closeQuietly(reader);
+		}
+		if (!intact) {
+			// A line torn by the process death, rewrite before the next line is appended to it.
+			rewrite();
+		}
+	}
+
+	private boolean endsWithNewLine() {
+		RandomAccessFile randomAccessFile = null;
+		try {
+			randomAccessFile = new RandomAccessFile(file, "r");
+			final long length = randomAccessFile.length();
+			if (length == 0) {
+				return true;
+			}
+			randomAccessFile.seek(length - 1);
+			return randomAccessFile.read() == NEW_LINE;
+		} catch (IOException e) {
+			return false;
+		} finally {
+			closeQuietly(randomAccessFile);
+		}
+	}
+
+	@Nullable
+	private static Entry parse(String line) {
+		final String[] fields = line.split(String.valueOf(SEPARATOR), -1);
+		if (fields.length != FIELDS || fields[0].isEmpty()) {
+			return null;
+		}
+		try {
+			return new Entry(fields[0], fields[1], EXTERNAL.equals(fields[2]), State.valueOf(fields[3]),
+				Long.parseLong(fields[4]));
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
+	}
+
+	private static void format(Entry entry, StringBuilder line) {
+		line.append(entry.orderId).append(SEPARATOR)
+			.append(entry.offerId).append(SEPARATOR)
+			.append(entry.external ? EXTERNAL : MARKETPLACE).append(SEPARATOR)
+			.append(entry.state.name()).append(SEPARATOR)
+			.append(entry.timestampMillis).append(NEW_LINE);
+	}
+
+	private void appendLine(Entry entry) {
+		final StringBuilder line = new StringBuilder(64);
+		format(entry, line);
+		Writer writer = null;
+		try {
+			// Written through to the OS on close, so it survives the process death.
+			writer = new OutputStreamWriter(new FileOutputStream(file, true), UTF_8);
+			writer.write(line.toString());
+			writer.close();
+			writer = null;
+			lines++;
+		} catch (IOException e) {
+			Logger.log(new Log().withTag(TAG).priority(Log.ERROR).put("append failed", e.getMessage()));
+		} finally {
+			closeQuietly(writer);
+		}
+	}
+
+	/**
+	 * Write the live orders to a temp file and swap it with the journal, so a crash during the write leaves the
+	 * previous journal intact.
+	 */
+	private boolean rewrite() {
+		final StringBuilder content = new StringBuilder(liveOrders.size() * 64);
+		for (Entry entry : liveOrders.values()) {
+			format(entry, content);
+		}
+		final File tempFile = new File(file.getPath() + ".tmp");
+		Writer writer = null;
+		try {
+			writer = new OutputStreamWriter(new FileOutputStream(tempFile, false), UTF_8);
+			writer.write(content.toString());
+			writer.close();
+			writer = null;
+			if (tempFile.renameTo(file)) {
+				lines = liveOrders.size();
+				return true;
+			}
+			Logger.log(new Log().withTag(TAG).priority(Log.ERROR).text("rewrite: rename failed"));
+		} catch (IOException e) {
+			Logger.log(new Log().withTag(TAG).priority(Log.ERROR).put("rewrite failed", e.getMessage()));
+		} finally {
+			closeQuietly(writer);
+		}
+		return false;
+	}
+
+	private static void closeQuietly(Closeable closeable) {
+		if (closeable != null) {
+			try {
+				closeable.close();
+			} catch (IOException ignored) {
+			}
+		}
+	}
+}
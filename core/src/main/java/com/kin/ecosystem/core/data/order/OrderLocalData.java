@@ -5,22 +5,51 @@ import android.content.Context;
 import android.content.SharedPreferences;
 import android.support.annotation.NonNull;
 import com.kin.ecosystem.common.Callback;
+import com.kin.ecosystem.core.Log;
+import com.kin.ecosystem.core.Logger;
+import com.kin.ecosystem.core.network.JSON;
+import com.kin.ecosystem.core.network.model.OrderList;
 import com.kin.ecosystem.core.util.ExecutorsUtil;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
 
 public class OrderLocalData implements OrderDataSource.Local {
 
+    private static final String TAG = OrderLocalData.class.getSimpleName();
+
     private static volatile OrderLocalData instance;
 
     private static final String ORDERS_PREF_NAME_FILE_KEY = "kinecosystem_orders_pref";
 
     private static final String IS_FIRST_SPEND_ORDER_KEY = "is_first_spend_order_key";
 
+    private static final String ORDER_HISTORY_FILE_NAME = "kinecosystem_order_history";
+    private static final String ORDER_JOURNAL_FILE_NAME = "kinecosystem_order_journal";
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
     private final SharedPreferences ordersSharedPreferences;
     private final ExecutorsUtil executorsUtil;
+    private final File orderHistoryFile;
+    // Used on the disk IO thread only.
+    private final OrderJournal orderJournal;
+    private final JSON json;
 
     private OrderLocalData(@NonNull final Context context, @NonNull ExecutorsUtil executorsUtil) {
         this.ordersSharedPreferences = context.getSharedPreferences(ORDERS_PREF_NAME_FILE_KEY, Context.MODE_PRIVATE);
         this.executorsUtil = executorsUtil;
+        this.orderHistoryFile = new File(context.getFilesDir(), ORDER_HISTORY_FILE_NAME);
+        this.orderJournal = new OrderJournal(new File(context.getFilesDir(), ORDER_JOURNAL_FILE_NAME));
+        this.json = new JSON();
     }
 
     public static OrderLocalData getInstance(@NonNull final Context context, @NonNull ExecutorsUtil executorsUtil) {
@@ -55,4 +84,133 @@ public class OrderLocalData implements OrderDataSource.Local {
     public void setIsFirstSpendOrder(boolean isFirstSpendOrder) {
         ordersSharedPreferences.edit().putBoolean(IS_FIRST_SPEND_ORDER_KEY, isFirstSpendOrder).apply();
     }
+
+    @Override
+    public void getOrderHistory(@NonNull final Callback<OrderList, Void> callback) {
+        executorsUtil.diskIO().execute(new Runnable() {
+            @Override
+            public void run() {
+                final OrderList orderList = readOrderHistory();
+                executorsUtil.mainThread().execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (orderList != null) {
+                            callback.onResponse(orderList);
+                        } else {
+                            callback.onFailure(null);
+                        }
+                    }
+                });
+            }
+        });
+    }
+
+    @Override
+    public void setOrderHistory(@NonNull OrderList orderList) {
+        // Copy the list so it can keep changing while it is written.
+        final OrderList snapshot = new OrderList()
+            .orders(orderList.getOrders() != null ? new ArrayList<>(orderList.getOrders()) : null);
+        snapshot.setPaging(orderList.getPaging());
+        executorsUtil.diskIO().execute(new Runnable() {
+            @Override
+            public void run() {
+                writeOrderHistory(snapshot);
+            }
+        });
+    }
+
+    @Override
+    public void clearOrderHistory() {
+        executorsUtil.diskIO().execute(new Runnable() {
+            @Override
+            public void run() {
+                if (orderHistoryFile.exists() && !orderHistoryFile.delete()) {
+                    Logger.log(new Log().withTag(TAG).priority(Log.ERROR).text("clearOrderHistory: delete failed"));
+                }
+            }
+        });
+    }
+
+    @Override
+    public void journalOrderState(@NonNull final OrderJournal.Entry entry) {
+        executorsUtil.diskIO().execute(new Runnable() {
+            @Override
+            public void run() {
+                orderJournal.append(entry);
+            }
+        });
+    }
+
+    @Override
+    public void getJournaledOrders(@NonNull final Callback<List<OrderJournal.Entry>, Void> callback) {
+        executorsUtil.diskIO().execute(new Runnable() {
+            @Override
+            public void run() {
+                final List<OrderJournal.Entry> entries = orderJournal.load();
+                executorsUtil.mainThread().execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        callback.onResponse(entries);
+                    }
+                });
+            }
+        });
+    }
+
+    @Override
+    public void clearOrderJournal() {
+        executorsUtil.diskIO().execute(new Runnable() {
+            @Override
+            public void run() {
+                orderJournal.clear();
+            }
+        });
+    }
+
+    private OrderList readOrderHistory() {
+        if (!orderHistoryFile.exists()) {
+            return null;
+        }
+        Reader reader = null;
+        try {
+            reader = new InputStreamReader(new FileInputStream(orderHistoryFile), UTF_8);
+            return json.deserialize(reader, OrderList.class);
+        } catch (Exception e) {
+            // IO or parse error, the history will be fetched again from the server.
+            Logger.log(new Log().withTag(TAG).priority(Log.ERROR).put("readOrderHistory failed", e.getMessage()));
+            return null;
+        } finally {
+            closeQuietly(reader);
+        }
+    }
+
+    /**
+     * Write to a temp file and swap it with the history file, so a crash during the write leaves the previous file intact.
+     */
+    private void writeOrderHistory(OrderList orderList) {
+        final File tempFile = new File(orderHistoryFile.getPath() + ".tmp");
+        Writer writer = null;
+        try {
+            writer = new OutputStreamWriter(new FileOutputStream(tempFile, false), UTF_8);
+            writer.write(json.serialize(orderList));
+            writer.close();
+            writer = null;
+            if (!tempFile.renameTo(orderHistoryFile)) {
+                Logger.log(new Log().withTag(TAG).priority(Log.ERROR).text("writeOrderHistory: rename failed"));
+            }
+        } catch (IOException e) {
+            Logger.log(new Log().withTag(TAG).priority(Log.ERROR).put("writeOrderHistory failed", e.getMessage()));
+        } finally {
+            closeQuietly(writer);
+        }
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        if (closeable != null) {
+            try {
+                closeable.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
 }
@@ -5,6 +5,7 @@ import android.support.annotation.Nullable;
 import com.kin.ecosystem.common.Callback;
 import com.kin.ecosystem.core.Log;
 import com.kin.ecosystem.core.Logger;
+import com.kin.ecosystem.core.data.internal.ConfigurationImpl;
 import com.kin.ecosystem.core.network.ApiCallback;
 import com.kin.ecosystem.core.network.ApiException;
 import com.kin.ecosystem.core.network.api.OrdersApi;
@@ -15,24 +16,30 @@ import com.kin.ecosystem.core.network.model.OpenOrder;
 import com.kin.ecosystem.core.network.model.Order;
 import com.kin.ecosystem.core.network.model.OrderList;
 import com.kin.ecosystem.core.util.ExecutorsUtil;
+import com.kin.ecosystem.core.util.SdkExecutor;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 public class OrderRemoteData implements OrderDataSource.Remote {
 
     private static final String TAG = OrderRemoteData.class.getSimpleName();
 
-    private static final int ORDERS_ITEMS_LIMIT = 100;
     private static final int ONE_ORDER_LIMIT = 1;
 
     private static volatile OrderRemoteData instance;
 
     private final OrdersApi ordersApi;
+    // Used by the poller, in the background request lane.
+    private final OrdersApi pollingOrdersApi;
     private final ExecutorsUtil executorsUtil;
+    private final OrderStatusPoller orderStatusPoller;
 
     private OrderRemoteData(@NonNull ExecutorsUtil executorsUtil) {
         this.ordersApi = new OrdersApi();
+        this.pollingOrdersApi = new OrdersApi(ConfigurationImpl.getInstance().getBackgroundApiClient());
         this.executorsUtil = executorsUtil;
+        this.orderStatusPoller = new OrderStatusPoller(this, SdkExecutor.getInstance());
     }
 
     public static OrderRemoteData getInstance(@NonNull ExecutorsUtil executorsUtil) {
@@ -47,14 +54,15 @@ public class OrderRemoteData implements OrderDataSource.Remote {
     }
 
     @Override
-    public void getAllOrderHistory(@NonNull final Callback<OrderList, ApiException> callback) {
-        getHistory(null, null, ORDERS_ITEMS_LIMIT, callback);
+    public void getOrderHistory(@Nullable String before, @Nullable String after, int limit,
+        @NonNull final Callback<OrderList, ApiException> callback) {
+        getHistory(null, null, limit, before, after, callback);
     }
 
     @Override
     public void createOrder(@NonNull final String offerID, @NonNull final Callback<OpenOrder, ApiException> callback) {
         try {
-            ordersApi.createOrderAsync(offerID, "", new ApiCallback<OpenOrder>() {
+            ordersApi.createOrderAsync(offerID, newRequestId(), new ApiCallback<OpenOrder>() {
                 @Override
                 public void onFailure(final ApiException e, int statusCode, Map<String, List<String>> responseHeaders) {
                     executorsUtil.mainThread().execute(new Runnable() {
@@ -89,7 +97,7 @@ public class OrderRemoteData implements OrderDataSource.Remote {
     @Override
     public void submitOrder(@NonNull String content, @NonNull String orderID, @NonNull final Callback<Order, ApiException> callback) {
         try {
-            ordersApi.submitOrderAsync(new EarnSubmission().content(content), orderID, "", new ApiCallback<Order>() {
+            ordersApi.submitOrderAsync(new EarnSubmission().content(content), orderID, newRequestId(), new ApiCallback<Order>() {
                 @Override
                 public void onFailure(final ApiException e, int statusCode, Map<String, List<String>> responseHeaders) {
                     executorsUtil.mainThread().execute(new Runnable() {
@@ -123,7 +131,7 @@ public class OrderRemoteData implements OrderDataSource.Remote {
     @Override
     public void cancelOrder(@NonNull final String orderID, @Nullable final Callback<Void, ApiException> callback) {
         try {
-            ordersApi.cancelOrderAsync(orderID, "", new ApiCallback<Void>() {
+            ordersApi.cancelOrderAsync(orderID, newRequestId(), new ApiCallback<Void>() {
                 @Override
                 public void onFailure(final ApiException e, int statusCode, Map<String, List<String>> responseHeaders) {
                     executorsUtil.mainThread().execute(new Runnable() {
@@ -158,10 +166,15 @@ public class OrderRemoteData implements OrderDataSource.Remote {
         }
     }
 
+    @Override
+    public Order submitOrderSync(@Nullable String content, @NonNull String orderID) throws ApiException {
+        return ordersApi.submitOrder(new EarnSubmission().content(content), orderID, newRequestId());
+    }
+
     @Override
     public void cancelOrderSync(@NonNull String orderID) {
         try {
-            ordersApi.cancelOrder(orderID, "");
+            ordersApi.cancelOrder(orderID, newRequestId());
         } catch (ApiException e) {
 			Logger
                 .log(new Log().withTag(TAG).priority(Log.ERROR).put("Cancel order", orderID).put("sync failed, code", e.getCode()));
@@ -170,7 +183,7 @@ public class OrderRemoteData implements OrderDataSource.Remote {
 
     @Override
     public void getOrder(@NonNull final String orderID, final Callback<Order, ApiException> callback) {
-        new GetOrderPollingCall(this, orderID, new Callback<Order, ApiException>() {
+        orderStatusPoller.poll(orderID, new Callback<Order, ApiException>() {
             @Override
             public void onResponse(final Order result) {
                 executorsUtil.mainThread().execute(new Runnable() {
@@ -190,34 +203,46 @@ public class OrderRemoteData implements OrderDataSource.Remote {
                     }
                 });
             }
-        }).start();
+        });
     }
 
     @Override
     public Order getOrderSync(@NonNull final String orderID) {
         Order order = null;
         try {
-            order = ordersApi.getOrder(orderID, "");
+            order = pollingOrdersApi.getOrder(orderID, "");
         } catch (ApiException e) {
 			Logger.log(new Log().withTag(TAG).priority(Log.ERROR).put("Get order", orderID).put("sync failed, code",e.getCode()));
         }
         return order;
     }
 
+    @Nullable
+    @Override
+    public OrderList getOrderHistorySync(int limit) {
+        OrderList orderList = null;
+        try {
+            orderList = pollingOrdersApi.getHistory("", null, null, limit, null, null);
+        } catch (ApiException e) {
+            Logger.log(new Log().withTag(TAG).priority(Log.ERROR).put("Get order history sync failed, code", e.getCode()));
+        }
+        return orderList;
+    }
+
     public OpenOrder createExternalOrderSync(String orderJwt) throws ApiException {
-        return ordersApi.createExternalOrder(new ExternalOrderRequest().jwt(orderJwt), "");
+        return ordersApi.createExternalOrder(new ExternalOrderRequest().jwt(orderJwt), newRequestId());
     }
 
     @Override
     public void getFilteredOrderHistory(@Nullable String origin, @NonNull String offerID,
         @NonNull Callback<OrderList, ApiException> callback) {
-        getHistory(origin, offerID, ONE_ORDER_LIMIT, callback);
+        getHistory(origin, offerID, ONE_ORDER_LIMIT, null, null, callback);
     }
 
     @Override
     public void changeOrder(@NonNull final String orderID, @NonNull Body body, @NonNull final Callback<Order, ApiException> callback) {
         try {
-            ordersApi.changeOrderAsync(orderID, body, new ApiCallback<Order>() {
+            ordersApi.changeOrderAsync(orderID, body, newRequestId(), new ApiCallback<Order>() {
 				@Override
 				public void onFailure(final ApiException e, int statusCode, Map<String, List<String>> responseHeaders) {
                     executorsUtil.mainThread().execute(new Runnable() {
@@ -248,10 +273,10 @@ public class OrderRemoteData implements OrderDataSource.Remote {
         }
     }
 
-    private void getHistory(@Nullable String origin, @Nullable String offerID, int limit,
-        @NonNull final Callback<OrderList, ApiException> callback) {
+    private void getHistory(@Nullable String origin, @Nullable String offerID, int limit, @Nullable String before,
+        @Nullable String after, @NonNull final Callback<OrderList, ApiException> callback) {
         try {
-            ordersApi.getHistoryAsync("", origin, offerID, limit, null, null, new ApiCallback<OrderList>() {
+            ordersApi.getHistoryAsync("", origin, offerID, limit, before, after, new ApiCallback<OrderList>() {
                 @Override
                 public void onFailure(final ApiException e, int statusCode, Map<String, List<String>> responseHeaders) {
                     executorsUtil.mainThread().execute(new Runnable() {
@@ -282,4 +307,11 @@ public class OrderRemoteData implements OrderDataSource.Remote {
             });
         }
     }
+
+    /**
+     * A new id for each mutation, the retries of the same mutation share it so the server can de-duplicate them.
+     */
+    private static String newRequestId() {
+        return UUID.randomUUID().toString();
+    }
 }
@@ -4,6 +4,7 @@ import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import android.support.annotation.VisibleForTesting;
 import com.kin.ecosystem.common.Callback;
+import com.kin.ecosystem.common.KinBatchCallback;
 import com.kin.ecosystem.common.KinCallback;
 import com.kin.ecosystem.common.ObservableData;
 import com.kin.ecosystem.common.Observer;
@@ -12,8 +13,6 @@ import com.kin.ecosystem.common.exception.ClientException;
 import com.kin.ecosystem.common.exception.DataNotAvailableException;
 import com.kin.ecosystem.common.exception.KinEcosystemException;
 import com.kin.ecosystem.common.model.OrderConfirmation;
-import com.kin.ecosystem.core.Log;
-import com.kin.ecosystem.core.Logger;
 import com.kin.ecosystem.core.bi.EventLogger;
 import com.kin.ecosystem.core.bi.events.EarnOrderPaymentConfirmed;
 import com.kin.ecosystem.core.bi.events.SpendOrderCompleted;
@@ -23,6 +22,10 @@ import com.kin.ecosystem.core.data.blockchain.BlockchainSource;
 import com.kin.ecosystem.core.data.blockchain.Payment;
 import com.kin.ecosystem.core.data.order.CreateExternalOrderCall.ExternalOrderCallbacks;
 import com.kin.ecosystem.core.data.order.CreateExternalOrderCall.ExternalSpendOrderCallbacks;
+import com.kin.ecosystem.core.data.order.ExternalOrderBatchCall.Results;
+import com.kin.ecosystem.core.data.order.OrderTracker.State;
+import com.kin.ecosystem.core.data.order.OrderTracker.StateListener;
+import com.kin.ecosystem.core.data.order.OrderTracker.TrackedOrder;
 import com.kin.ecosystem.core.network.ApiException;
 import com.kin.ecosystem.core.network.model.Body;
 import com.kin.ecosystem.core.network.model.Error;
@@ -33,14 +36,26 @@ import com.kin.ecosystem.core.network.model.Order;
 import com.kin.ecosystem.core.network.model.Order.Origin;
 import com.kin.ecosystem.core.network.model.Order.Status;
 import com.kin.ecosystem.core.network.model.OrderList;
+import com.kin.ecosystem.core.network.model.Paging;
+import com.kin.ecosystem.core.network.model.PagingCursors;
 import com.kin.ecosystem.core.util.ErrorUtil;
+import com.kin.ecosystem.core.util.SdkExecutor;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class OrderRepository implements OrderDataSource {
 
 	private static final String TAG = OrderRepository.class.getSimpleName();
 
+	// Small enough for the first screen to load fast, further pages are loaded on scroll.
+	private static final int ORDER_HISTORY_PAGE_SIZE = 20;
+	private static final int NOT_FOUND = -1;
+	// Each poll of an order gives up after a few minutes of pending statuses.
+	private static final int RESUMED_ORDER_POLLS = 3;
+
 	private static volatile OrderRepository instance = null;
 	private final OrderDataSource.Local localData;
 	private final OrderDataSource.Remote remoteData;
@@ -50,14 +65,37 @@ public class OrderRepository implements OrderDataSource {
 
 	@Nullable
 	private OrderList cachedOrderList;
+	// The open order of the marketplace UI, external orders are only tracked by the orderTracker.
 	private ObservableData<OpenOrder> cachedOpenOrder = ObservableData.create();
 	private ObservableData<Order> orderWatcher = ObservableData.create();
-	private Observer<Payment> paymentObserver;
-
-	private volatile AtomicInteger pendingOrdersCount = new AtomicInteger(0);
+	private final OrderTracker orderTracker;
+	private final PurchaseMetrics purchaseMetrics = new PurchaseMetrics();
+	private volatile boolean pipelinedPurchase;
+	private final AtomicBoolean isJournalResumed = new AtomicBoolean(false);
+	// Offer id to order id of the external orders resumed from the journal, and their final order once fetched,
+	// so their confirmation doesn't need a history lookup.
+	private final ConcurrentMap<String, String> resumedExternalOrderIDs = new ConcurrentHashMap<>();
+	private final ConcurrentMap<String, Order> resumedExternalOrders = new ConcurrentHashMap<>();
+
+	// Registered by order id while the order is submitted and waiting for its payment.
+	private final Observer<Payment> paymentObserver = new Observer<Payment>() {
+		@Override
+		public void onChanged(Payment payment) {
+			final String orderID = payment.getOrderID();
+			if (!payment.isSucceed()) {
+				BlockchainException blockchainException = ErrorUtil
+					.getBlockchainException(payment.getException());
+				final Error error = new Error("Transaction failed", blockchainException.getMessage(),
+					blockchainException.getCode());
+				final Body body = new Body().error(error);
+				changeOrder(orderID, body, null);
+			}
 
-	private final Object paymentObserversLock = new Object();
-	private int paymentObserverCount;
+			sendEarnPaymentConfirmed(payment);
+			orderTracker.moveTo(orderID, State.PAYMENT_SEEN);
+			getOrder(orderID, null);
+		}
+	};
 
 	private OrderRepository(@NonNull final BlockchainSource blockchainSource,
 		@NonNull final EventLogger eventLogger,
@@ -67,6 +105,18 @@ public class OrderRepository implements OrderDataSource {
 		this.localData = localData;
 		this.blockchainSource = blockchainSource;
 		this.eventLogger = eventLogger;
+		this.orderTracker = new OrderTracker(SdkExecutor.getInstance());
+		this.orderTracker.addListener(new StateListener() {
+			@Override
+			public void onStateChanged(@NonNull TrackedOrder order, @NonNull State from, @NonNull State to) {
+				// The open order is cleared only by the server result, never by a client side timeout.
+				journal(order, to);
+				if (isWaitingForPayment(from) && !isWaitingForPayment(to)) {
+					blockchainSource.removePaymentObserver(order.getOrderId(), paymentObserver);
+				}
+			}
+		});
+		loadOrderHistory();
 	}
 
 	public static void init(@NonNull final BlockchainSource blockchainSource,
@@ -92,12 +142,90 @@ public class OrderRepository implements OrderDataSource {
 		return cachedOrderList;
 	}
 
+	/**
+	 * Load the order history saved on disk, so it can be shown before it is synced with the server.
+	 */
+	private void loadOrderHistory() {
+		localData.getOrderHistory(new Callback<OrderList, Void>() {
+			@Override
+			public void onResponse(OrderList orderList) {
+				// Don't override a newer history from the server.
+				if (cachedOrderList == null) {
+					cachedOrderList = orderList;
+				}
+			}
+
+			@Override
+			public void onFailure(Void t) {
+				// No saved history.
+			}
+		});
+	}
+
+	/**
+	 * Sync the newest page of the order history with the server, if it is already cached only newer orders are
+	 * fetched. Older pages are loaded with {@link #getOrderHistoryPage(String, String, KinCallback)}.
+	 */
 	@Override
 	public void getAllOrderHistory(@NonNull final KinCallback<OrderList> callback) {
-		remoteData.getAllOrderHistory(new Callback<OrderList, ApiException>() {
+		final OrderList orderList = cachedOrderList;
+		final String newestOrderCursor = getNewestOrderCursor(orderList);
+		if (newestOrderCursor == null || hasUnfinishedOrders(orderList)) {
+			// Nothing to sync from, or orders that may have changed since, get the first page again.
+			getFirstOrderHistoryPage(callback);
+			return;
+		}
+
+		remoteData.getOrderHistory(newestOrderCursor, null, ORDER_HISTORY_PAGE_SIZE, new Callback<OrderList, ApiException>() {
+			@Override
+			public void onResponse(OrderList newerOrders) {
+				final List<Order> orders = newerOrders.getOrders();
+				if (orders != null && orders.size() >= ORDER_HISTORY_PAGE_SIZE) {
+					// There might be a gap between the new orders and the cached ones.
+					getFirstOrderHistoryPage(callback);
+					return;
+				}
+				// The cache may have changed while syncing, merge to the current one.
+				final OrderList currentOrderList = cachedOrderList;
+				if (currentOrderList == null) {
+					addNewerOrders(orderList, newerOrders);
+					callback.onResponse(orderList);
+					return;
+				}
+				addNewerOrders(currentOrderList, newerOrders);
+				localData.setOrderHistory(currentOrderList);
+				callback.onResponse(currentOrderList);
+			}
+
+			@Override
+			public void onFailure(ApiException e) {
+				callback.onFailure(ErrorUtil.fromApiException(e));
+			}
+		});
+	}
+
+	@Override
+	public void getOrderHistoryPage(@Nullable String before, @Nullable String after,
+		@NonNull final KinCallback<OrderList> callback) {
+		remoteData.getOrderHistory(before, after, ORDER_HISTORY_PAGE_SIZE, new Callback<OrderList, ApiException>() {
+			@Override
+			public void onResponse(OrderList response) {
+				callback.onResponse(response);
+			}
+
+			@Override
+			public void onFailure(ApiException e) {
+				callback.onFailure(ErrorUtil.fromApiException(e));
+			}
+		});
+	}
+
+	private void getFirstOrderHistoryPage(@NonNull final KinCallback<OrderList> callback) {
+		remoteData.getOrderHistory(null, null, ORDER_HISTORY_PAGE_SIZE, new Callback<OrderList, ApiException>() {
 			@Override
 			public void onResponse(OrderList response) {
 				cachedOrderList = response;
+				localData.setOrderHistory(response);
 				callback.onResponse(response);
 			}
 
@@ -108,20 +236,235 @@ public class OrderRepository implements OrderDataSource {
 		});
 	}
 
+	/**
+	 * Merge newer orders to the top of the history, orders that are already in the history are updated.
+	 * The history is kept to a single page, when it overflows only the newer orders are kept with their
+	 * after cursor, the cursors are opaque so it's the only place the history can be cut at.
+	 */
+	private void addNewerOrders(@NonNull OrderList orderList, @NonNull OrderList newerOrders) {
+		final List<Order> orders = newerOrders.getOrders();
+		if (orders == null || orders.isEmpty()) {
+			return;
+		}
+		// The newest order is the first one, so we'll go from the last and add to the top.
+		for (int i = orders.size() - 1; i >= 0; i--) {
+			addOrUpdateOrder(orderList, orders.get(i));
+		}
+
+		final String newestOrderCursor = getNewestOrderCursor(newerOrders);
+		if (newestOrderCursor != null) {
+			getPagingCursors(orderList).setBefore(newestOrderCursor);
+		}
+		if (orderList.getOrders().size() > ORDER_HISTORY_PAGE_SIZE) {
+			// The older orders are loaded again as the next page.
+			orderList.setOrders(new ArrayList<>(orders));
+			getPagingCursors(orderList).setAfter(getOldestOrderCursor(newerOrders));
+		}
+	}
+
+	private void addOrUpdateOrder(@NonNull OrderList orderList, @NonNull Order order) {
+		final int index = orderList.contains(order);
+		if (index == NOT_FOUND) {
+			orderList.addOrderAtIndex(0, order);
+		} else {
+			orderList.getOrders().set(index, order);
+		}
+	}
+
+	/**
+	 * Keep the cached history up to date with orders that changed on this device.
+	 */
+	private void updateCachedOrderHistory(@NonNull Order order) {
+		final OrderList orderList = cachedOrderList;
+		if (orderList != null) {
+			addOrUpdateOrder(orderList, order);
+			if (orderList.getOrders().size() > ORDER_HISTORY_PAGE_SIZE) {
+				// There is no cursor for the trimmed order, drop the newest cursor so the next sync
+				// loads the first page again with its cursors.
+				orderList.getOrders().subList(ORDER_HISTORY_PAGE_SIZE, orderList.getOrders().size()).clear();
+				getPagingCursors(orderList).setBefore(null);
+			}
+			localData.setOrderHistory(orderList);
+		}
+	}
+
+	@Nullable
+	private static String getNewestOrderCursor(@Nullable OrderList orderList) {
+		if (orderList == null || orderList.getPaging() == null || orderList.getPaging().getCursors() == null) {
+			return null;
+		}
+		return orderList.getPaging().getCursors().getBefore();
+	}
+
+	@Nullable
+	private static String getOldestOrderCursor(@NonNull OrderList orderList) {
+		if (orderList.getPaging() == null || orderList.getPaging().getCursors() == null) {
+			return null;
+		}
+		return orderList.getPaging().getCursors().getAfter();
+	}
+
+	@NonNull
+	private static PagingCursors getPagingCursors(@NonNull OrderList orderList) {
+		if (orderList.getPaging() == null) {
+			orderList.setPaging(new Paging());
+		}
+		final Paging paging = orderList.getPaging();
+		if (paging.getCursors() == null) {
+			paging.setCursors(new PagingCursors());
+		}
+		return paging.getCursors();
+	}
+
+	private static boolean hasUnfinishedOrders(@NonNull OrderList orderList) {
+		if (orderList.getOrders() != null) {
+			for (Order order : orderList.getOrders()) {
+				if (order.getStatus() == Status.PENDING || order.getStatus() == Status.DELAYED) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
 	public ObservableData<OpenOrder> getOpenOrder() {
 		return cachedOpenOrder;
 	}
 
+	/**
+	 * @return the state of the live orders of this session.
+	 */
+	public OrderTracker getOrderTracker() {
+		return orderTracker;
+	}
+
+	/**
+	 * @return the per stage latency of the external purchases of this session.
+	 */
+	public PurchaseMetrics getPurchaseMetrics() {
+		return purchaseMetrics;
+	}
+
+	/**
+	 * In the pipelined purchase flow the account is looked up while the order is created, and the transaction is
+	 * sent on the submitting worker as soon as the submit is acknowledged, without waiting for the payment event.
+	 */
+	public void setPipelinedPurchase(boolean pipelinedPurchase) {
+		this.pipelinedPurchase = pipelinedPurchase;
+	}
+
+	/**
+	 * Resume the in-flight orders journaled before the process died, once per login: an order waiting for its
+	 * payment listens to it again, and every order is fetched by its id until it's final.
+	 * An order that was created but not submitted can't be continued, it's canceled.
+	 */
+	public void resumeJournaledOrders() {
+		if (!isJournalResumed.compareAndSet(false, true)) {
+			return;
+		}
+		localData.getJournaledOrders(new Callback<List<OrderJournal.Entry>, Void>() {
+			@Override
+			public void onResponse(List<OrderJournal.Entry> entries) {
+				for (OrderJournal.Entry entry : entries) {
+					resumeOrder(entry);
+				}
+			}
+
+			@Override
+			public void onFailure(Void t) {
+				// Nothing to resume.
+			}
+		});
+	}
+
+	/**
+	 * Drop the journaled orders without resuming them, e.g. when another user logs in.
+	 */
+	public void discardJournaledOrders() {
+		isJournalResumed.set(true);
+		localData.clearOrderJournal();
+	}
+
+	private void resumeOrder(@NonNull OrderJournal.Entry entry) {
+		final String orderID = entry.getOrderId();
+		final long elapsedMillis = System.currentTimeMillis() - entry.getTimestampMillis();
+		if (orderTracker.resume(orderID, entry.getOfferId(), entry.isExternal(), entry.getState(), elapsedMillis)
+			== null) {
+			// Already running in this process.
+			return;
+		}
+		if (entry.getState() == State.CREATED) {
+			cancelOrder(entry.getOfferId(), orderID, null);
+			return;
+		}
+		if (isWaitingForPayment(entry.getState())) {
+			blockchainSource.addPaymentObserver(orderID, paymentObserver);
+		}
+		if (entry.isExternal()) {
+			resumedExternalOrderIDs.put(entry.getOfferId(), orderID);
+		}
+		pollResumedOrder(orderID, 1);
+	}
+
+	/**
+	 * Poll a resumed order until it's final, the server may still complete it long after the process died.
+	 * Once the polls give up, the order gets the time left of its state timeout.
+	 */
+	private void pollResumedOrder(@NonNull final String orderID, final int polls) {
+		getOrder(orderID, new KinCallback<Order>() {
+			@Override
+			public void onResponse(Order order) {
+				// A pending or delayed order is still polled, a final one already moved the tracker.
+			}
+
+			@Override
+			public void onFailure(KinEcosystemException exception) {
+				if (orderTracker.get(orderID) == null) {
+					return;
+				}
+				if (polls < RESUMED_ORDER_POLLS) {
+					pollResumedOrder(orderID, polls + 1);
+				} else {
+					orderTracker.startStateTimer(orderID);
+				}
+			}
+		});
+	}
+
+	/**
+	 * Start tracking the order, a new order is journaled in {@link State#CREATED}.
+	 */
+	private void track(@NonNull String orderID, @Nullable String offerID, boolean external) {
+		final TrackedOrder order = orderTracker.track(orderID, offerID, external);
+		if (order.getState() == State.CREATED) {
+			journal(order, State.CREATED);
+		}
+	}
+
+	private void journal(@NonNull TrackedOrder order, @NonNull State state) {
+		localData.journalOrderState(new OrderJournal.Entry(order.getOrderId(), order.getOfferId(), order.isExternal(),
+			state, System.currentTimeMillis()));
+	}
+
 	@Override
 	public void getOrder(@NonNull String orderID, @Nullable final KinCallback<Order> callback) {
 		remoteData.getOrder(orderID, new Callback<Order, ApiException>() {
 			@Override
 			public void onResponse(Order order) {
-				decrementPendingOrdersCount();
+				updateCachedOrderHistory(order);
 				getOrderWatcher().postValue(order);
 				sendSpendOrderCompleted(order);
-				if (!hasMorePendingOffers()) {
+				if (order.getStatus() == Status.COMPLETED) {
+					orderTracker.moveTo(order.getOrderId(), State.CONFIRMED);
+				} else if (order.getStatus() == Status.FAILED) {
+					orderTracker.fail(order.getOrderId(), order.getError() != null ? order.getError().getMessage() : null);
+				}
+				if (order.getStatus() != Status.PENDING && order.getStatus() != Status.DELAYED) {
 					removeCachedOpenOrderByID(order.getOrderId());
+					if (order.getOrderId() != null
+						&& order.getOrderId().equals(resumedExternalOrderIDs.get(order.getOfferId()))) {
+						resumedExternalOrders.put(order.getOfferId(), order);
+					}
 				}
 				if (callback != null) {
 					callback.onResponse(order);
@@ -130,7 +473,7 @@ public class OrderRepository implements OrderDataSource {
 
 			@Override
 			public void onFailure(ApiException e) {
-				decrementPendingOrdersCount();
+				// The order state is unknown, it's left as is until it's fetched again or timed out.
 				if (callback != null) {
 					callback.onFailure(ErrorUtil.fromApiException(e));
 				}
@@ -143,6 +486,7 @@ public class OrderRepository implements OrderDataSource {
 		remoteData.createOrder(offerID, new Callback<OpenOrder, ApiException>() {
 			@Override
 			public void onResponse(OpenOrder response) {
+				track(response.getId(), response.getOfferId(), false);
 				cachedOpenOrder.postValue(response);
 				if (callback != null) {
 					callback.onResponse(response);
@@ -161,11 +505,10 @@ public class OrderRepository implements OrderDataSource {
 	@Override
 	public void submitOrder(@NonNull final String offerID, @Nullable String content, @NonNull final String orderID,
 		@Nullable final KinCallback<Order> callback) {
-		listenForCompletedPayment();
+		onSubmitOrder(offerID, orderID);
 		remoteData.submitOrder(content, orderID, new Callback<Order, ApiException>() {
 			@Override
 			public void onResponse(Order response) {
-				pendingOrdersCount.incrementAndGet();
 				getOrderWatcher().postValue(response);
 				if (callback != null) {
 					callback.onResponse(response);
@@ -174,9 +517,7 @@ public class OrderRepository implements OrderDataSource {
 
 			@Override
 			public void onFailure(ApiException e) {
-				getOrderWatcher().postValue(
-					new Order().orderId(orderID).offerId(offerID).status(Status.FAILED).error(e.getResponseBody()));
-				removeCachedOpenOrderByID(orderID);
+				onSubmitOrderFailed(offerID, orderID, e);
 				if (callback != null) {
 					callback.onFailure(ErrorUtil.fromApiException(e));
 				}
@@ -184,37 +525,44 @@ public class OrderRepository implements OrderDataSource {
 		});
 	}
 
+	@Override
+	public Order submitOrderSync(@NonNull String offerID, @Nullable String content, @NonNull String orderID)
+		throws ApiException {
+		onSubmitOrder(offerID, orderID);
+		try {
+			final Order order = remoteData.submitOrderSync(content, orderID);
+			getOrderWatcher().postValue(order);
+			return order;
+		} catch (ApiException e) {
+			onSubmitOrderFailed(offerID, orderID, e);
+			throw e;
+		}
+	}
+
+	private void onSubmitOrder(@NonNull String offerID, @NonNull String orderID) {
+		track(orderID, offerID, false);
+		if (orderTracker.moveTo(orderID, State.SUBMITTED)) {
+			blockchainSource.addPaymentObserver(orderID, paymentObserver);
+		}
+	}
+
+	private void onSubmitOrderFailed(@NonNull String offerID, @NonNull String orderID, @NonNull ApiException e) {
+		getOrderWatcher().postValue(
+			new Order().orderId(orderID).offerId(offerID).status(Status.FAILED).error(e.getResponseBody()));
+		orderTracker.fail(orderID, "submit failed: " + e.getMessage());
+		removeCachedOpenOrderByID(orderID);
+	}
+
 	@Override
 	public void cancelOrderSync(@NonNull String orderID) {
+		orderTracker.fail(orderID, "canceled");
 		removeCachedOpenOrderByID(orderID);
 		remoteData.cancelOrderSync(orderID);
 	}
 
-	private void listenForCompletedPayment() {
-		synchronized (paymentObserversLock) {
-			if (paymentObserverCount == 0) {
-				paymentObserver = new Observer<Payment>() {
-					@Override
-					public void onChanged(Payment payment) {
-						if (!payment.isSucceed()) {
-							BlockchainException blockchainException = ErrorUtil
-								.getBlockchainException(payment.getException());
-							final Error error = new Error("Transaction failed", blockchainException.getMessage(),
-								blockchainException.getCode());
-							final Body body = new Body().error(error);
-							changeOrder(payment.getOrderID(), body, null);
-						}
-
-						sendEarnPaymentConfirmed(payment);
-						decrementPaymentObserverCount();
-						getOrder(payment.getOrderID(), null);
-					}
-				};
-				blockchainSource.addPaymentObservable(paymentObserver);
-				Logger.log(new Log().withTag(TAG).text("listenForCompletedPayment: addPaymentObservable"));
-			}
-			paymentObserverCount++;
-		}
+	@Override
+	public void onTransactionSent(@NonNull String orderID) {
+		orderTracker.moveTo(orderID, State.TX_SENT);
 	}
 
 	private void sendEarnPaymentConfirmed(Payment payment) {
@@ -223,23 +571,8 @@ public class OrderRepository implements OrderDataSource {
 		}
 	}
 
-	private void decrementPaymentObserverCount() {
-		synchronized (paymentObserversLock) {
-			if (paymentObserverCount > 0) {
-				paymentObserverCount--;
-			}
-
-			if (paymentObserverCount == 0 && paymentObserver != null) {
-				blockchainSource.removePaymentObserver(paymentObserver);
-				paymentObserver = null;
-			}
-		}
-	}
-
-	private void decrementPendingOrdersCount() {
-		if (hasMorePendingOffers()) {
-			pendingOrdersCount.decrementAndGet();
-		}
+	private static boolean isWaitingForPayment(State state) {
+		return state == State.SUBMITTED || state == State.TX_SENT;
 	}
 
 	@VisibleForTesting
@@ -265,10 +598,6 @@ public class OrderRepository implements OrderDataSource {
 		}
 	}
 
-	private boolean hasMorePendingOffers() {
-		return pendingOrdersCount.get() > 0;
-	}
-
 	private void removeCachedOpenOrderByID(String orderId) {
 		if (isCachedOpenOrderEquals(orderId)) {
 			cachedOpenOrder.postValue(null);
@@ -288,6 +617,7 @@ public class OrderRepository implements OrderDataSource {
 	@Override
 	public void cancelOrder(@NonNull final String offerID, @NonNull final String orderID,
 		@Nullable final KinCallback<Void> callback) {
+		orderTracker.fail(orderID, "canceled");
 		removeCachedOpenOrderByID(orderID);
 		remoteData.cancelOrder(orderID, new Callback<Void, ApiException>() {
 			@Override
@@ -309,68 +639,88 @@ public class OrderRepository implements OrderDataSource {
 	@Override
 	public OpenOrder createExternalOrderSync(@NonNull final String orderJwt) throws ApiException {
 		OpenOrder openOrder = remoteData.createExternalOrderSync(orderJwt);
-		cachedOpenOrder.postValue(openOrder);
+		track(openOrder.getId(), openOrder.getOfferId(), true);
 		return openOrder;
 	}
 
 	@Override
 	public void purchase(String offerJwt, @Nullable final KinCallback<OrderConfirmation> callback) {
 		eventLogger.send(SpendOrderCreationRequested.create("", true, SpendOrderCreationRequested.Origin.EXTERNAL));
-		new ExternalSpendOrderCall(this, blockchainSource, offerJwt, eventLogger,
-			new ExternalSpendOrderCallbacks() {
+		SdkExecutor.getInstance().execute(new ExternalSpendOrderCall(this, blockchainSource, offerJwt, eventLogger,
+			purchaseMetrics, pipelinedPurchase, newSpendOrderCallbacks(callback)));
+	}
 
-				@Override
-				public void onTransactionFailed(final OpenOrder openOrder, final KinEcosystemException exception) {
-					final String orderId = openOrder.getId();
-					removeCachedOpenOrderByID(orderId);
-					handleOnFailure(exception, openOrder.getOfferId(), orderId);
-				}
+	@Override
+	public void purchaseBatch(@NonNull List<String> offerJwts,
+		@NonNull KinBatchCallback<OrderConfirmation> batchCallback) {
+		final Results<OrderConfirmation> results = new Results<>(offerJwts.size(), batchCallback);
+		final List<CreateExternalOrderCall> calls = new ArrayList<>(offerJwts.size());
+		for (int i = 0; i < offerJwts.size(); i++) {
+			eventLogger
+				.send(SpendOrderCreationRequested.create("", true, SpendOrderCreationRequested.Origin.EXTERNAL));
+			// Not recorded in the purchase metrics, the orders of a batch wait for each other.
+			calls.add(new ExternalSpendOrderCall(this, blockchainSource, offerJwts.get(i), eventLogger, null, false,
+				newSpendOrderCallbacks(results.forItem(i))));
+		}
+		SdkExecutor.getInstance().execute(new ExternalOrderBatchCall(calls));
+	}
 
-				@Override
-				public void onOrderConfirmed(String confirmationJwt, Order order) {
-					String offerID = "null";
-					String orderId = "null";
-					double amount = -1;
-					if (order != null) {
-						offerID = order.getOfferId();
-						orderId = order.getOrderId();
-						amount = (double) order.getAmount();
-					}
-					eventLogger.send(SpendOrderCompleted
-						.create(offerID, orderId, true, SpendOrderCompleted.Origin.EXTERNAL, amount));
+	private ExternalSpendOrderCallbacks newSpendOrderCallbacks(
+		@Nullable final KinCallback<OrderConfirmation> callback) {
+		return new ExternalSpendOrderCallbacks() {
 
-					if (callback != null) {
-						callback.onResponse(createOrderConfirmation(confirmationJwt));
-					}
+			@Override
+			public void onTransactionFailed(final OpenOrder openOrder, final KinEcosystemException exception) {
+				final String orderId = openOrder.getId();
+				orderTracker.fail(orderId, "transaction failed");
+				handleOnFailure(exception, openOrder.getOfferId(), orderId);
+			}
+
+			@Override
+			public void onOrderConfirmed(String confirmationJwt, Order order) {
+				String offerID = "null";
+				String orderId = "null";
+				double amount = -1;
+				if (order != null) {
+					offerID = order.getOfferId();
+					orderId = order.getOrderId();
+					amount = (double) order.getAmount();
+					orderTracker.moveTo(orderId, State.CONFIRMED);
 				}
+				eventLogger.send(SpendOrderCompleted
+					.create(offerID, orderId, true, SpendOrderCompleted.Origin.EXTERNAL, amount));
 
-				@Override
-				public void onOrderFailed(KinEcosystemException exception, OpenOrder openOrder) {
-					if (openOrder != null) { // did not fail before submit
-						decrementCount();
-					}
-					handleOnFailure(exception, openOrder != null ? openOrder.getOfferId() : "null",
-						openOrder != null ? openOrder.getId() : "null");
+				if (callback != null) {
+					callback.onResponse(createOrderConfirmation(confirmationJwt));
 				}
+			}
 
-				private void handleOnFailure(KinEcosystemException exception, String offerId, String orderId) {
-					String reason = "";
-					if (exception != null) {
-						if (exception.getCause() != null) {
-							reason = exception.getCause().getMessage();
-						} else {
-							reason = exception.getMessage();
-						}
-					}
-					eventLogger.send(
-						SpendOrderFailed.create(reason, offerId, orderId, true, SpendOrderFailed.Origin.EXTERNAL));
+			@Override
+			public void onOrderFailed(KinEcosystemException exception, OpenOrder openOrder) {
+				if (openOrder != null) { // did not fail before create
+					orderTracker.fail(openOrder.getId(), exception != null ? exception.getMessage() : null);
+				}
+				handleOnFailure(exception, openOrder != null ? openOrder.getOfferId() : "null",
+					openOrder != null ? openOrder.getId() : "null");
+			}
 
-					if (callback != null) {
-						callback.onFailure(exception);
+			private void handleOnFailure(KinEcosystemException exception, String offerId, String orderId) {
+				String reason = "";
+				if (exception != null) {
+					if (exception.getCause() != null) {
+						reason = exception.getCause().getMessage();
+					} else {
+						reason = exception.getMessage();
 					}
 				}
+				eventLogger.send(
+					SpendOrderFailed.create(reason, offerId, orderId, true, SpendOrderFailed.Origin.EXTERNAL));
 
-			}).start();
+				if (callback != null) {
+					callback.onFailure(exception);
+				}
+			}
+		};
 	}
 
 	/**
@@ -402,9 +752,29 @@ public class OrderRepository implements OrderDataSource {
 
 	@Override
 	public void requestPayment(String offerJwt, final KinCallback<OrderConfirmation> callback) {
-		new ExternalEarnOrderCall(this, blockchainSource, offerJwt, eventLogger, new ExternalOrderCallbacks() {
+		SdkExecutor.getInstance().execute(new ExternalEarnOrderCall(this, blockchainSource, offerJwt, eventLogger,
+			newEarnOrderCallbacks(callback)));
+	}
+
+	@Override
+	public void requestPaymentBatch(@NonNull List<String> offerJwts,
+		@NonNull KinBatchCallback<OrderConfirmation> batchCallback) {
+		final Results<OrderConfirmation> results = new Results<>(offerJwts.size(), batchCallback);
+		final List<CreateExternalOrderCall> calls = new ArrayList<>(offerJwts.size());
+		for (int i = 0; i < offerJwts.size(); i++) {
+			calls.add(new ExternalEarnOrderCall(this, blockchainSource, offerJwts.get(i), eventLogger,
+				newEarnOrderCallbacks(results.forItem(i))));
+		}
+		SdkExecutor.getInstance().execute(new ExternalOrderBatchCall(calls));
+	}
+
+	private ExternalOrderCallbacks newEarnOrderCallbacks(@Nullable final KinCallback<OrderConfirmation> callback) {
+		return new ExternalOrderCallbacks() {
 			@Override
 			public void onOrderConfirmed(String confirmationJwt, Order order) {
+				if (order != null) {
+					orderTracker.moveTo(order.getOrderId(), State.CONFIRMED);
+				}
 				if (callback != null) {
 					callback.onResponse(createOrderConfirmation(confirmationJwt));
 				}
@@ -412,8 +782,8 @@ public class OrderRepository implements OrderDataSource {
 
 			@Override
 			public void onOrderFailed(KinEcosystemException exception, OpenOrder openOrder) {
-				if (openOrder != null) { // did not fail before submit
-					decrementCount();
+				if (openOrder != null) { // did not fail before create
+					orderTracker.fail(openOrder.getId(), exception != null ? exception.getMessage() : null);
 				}
 				handleOnFailure(exception);
 			}
@@ -423,7 +793,16 @@ public class OrderRepository implements OrderDataSource {
 					callback.onFailure(exception);
 				}
 			}
-		}).start();
+		};
+	}
+
+	private OrderConfirmation createOrderConfirmation(@NonNull Order order) {
+		final OrderConfirmation orderConfirmation = new OrderConfirmation();
+		orderConfirmation.setStatus(OrderConfirmation.Status.fromValue(order.getStatus().getValue()));
+		if (order.getStatus() == Status.COMPLETED && order.getResult() instanceof JWTBodyPaymentConfirmationResult) {
+			orderConfirmation.setJwtConfirmation(((JWTBodyPaymentConfirmationResult) order.getResult()).getJwt());
+		}
+		return orderConfirmation;
 	}
 
 	private OrderConfirmation createOrderConfirmation(String confirmationJwt) {
@@ -468,6 +847,20 @@ public class OrderRepository implements OrderDataSource {
 	@Override
 	public void getExternalOrderStatus(@NonNull String offerID,
 		@NonNull final KinCallback<OrderConfirmation> callback) {
+		final String resumedOrderID = resumedExternalOrderIDs.get(offerID);
+		if (resumedOrderID != null) {
+			final Order resumedOrder = resumedExternalOrders.get(offerID);
+			if (resumedOrder != null) {
+				callback.onResponse(createOrderConfirmation(resumedOrder));
+				return;
+			}
+			if (orderTracker.get(resumedOrderID) != null) {
+				final OrderConfirmation orderConfirmation = new OrderConfirmation();
+				orderConfirmation.setStatus(OrderConfirmation.Status.PENDING);
+				callback.onResponse(orderConfirmation);
+				return;
+			}
+		}
 		remoteData
 			.getFilteredOrderHistory(Origin.EXTERNAL.getValue(), offerID, new Callback<OrderList, ApiException>() {
 				@Override
@@ -510,10 +903,16 @@ public class OrderRepository implements OrderDataSource {
 	@Override
 	public void logout() {
 		cachedOrderList = null;
-	}
-
-	private void decrementCount() {
-		decrementPendingOrdersCount();
-		decrementPaymentObserverCount();
+		localData.clearOrderHistory();
+		for (TrackedOrder order : orderTracker.getLiveOrders()) {
+			if (isWaitingForPayment(order.getState())) {
+				blockchainSource.removePaymentObserver(order.getOrderId(), paymentObserver);
+			}
+		}
+		orderTracker.clear();
+		localData.clearOrderJournal();
+		isJournalResumed.set(false);
+		resumedExternalOrderIDs.clear();
+		resumedExternalOrders.clear();
 	}
 }
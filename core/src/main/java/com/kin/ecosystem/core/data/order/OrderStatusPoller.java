@@ -0,0 +1,198 @@
+package com.kin.ecosystem.core.data.order;
+
+import android.support.annotation.NonNull;
+import com.kin.ecosystem.common.Callback;
+import com.kin.ecosystem.core.Log;
+import com.kin.ecosystem.core.Logger;
+import com.kin.ecosystem.core.network.ApiException;
+import com.kin.ecosystem.core.network.model.Order;
+import com.kin.ecosystem.core.network.model.Order.Status;
+import com.kin.ecosystem.core.network.model.OrderList;
+import com.kin.ecosystem.core.util.ErrorUtil;
+import com.kin.ecosystem.core.util.SdkExecutor;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Polls the status of all pending orders, until each order is no longer pending or timed out.
+ * Polls run one at a time on the {@link SdkExecutor} workers, timed by its scheduler.
+ * When several orders are due at the same time their statuses are fetched with one order history request,
+ * orders that are not found in the history are fetched one by one.
+ * Callbacks are called on a worker thread.
+ */
+class OrderStatusPoller {
+
+    private static final String TAG = OrderStatusPoller.class.getSimpleName();
+
+    private static final int[] DELAY_SECONDS = {2, 4, 8, 16, 32, 32, 32, 32, 32};
+    private static final int DELAYED_ATTEMPTED_NUMBER = 5;
+    // Pending orders are the newest ones, so they should all be in the first page of the history.
+    private static final int BATCH_HISTORY_LIMIT = 25;
+
+    private final OrderDataSource.Remote remote;
+    private final SdkExecutor sdkExecutor;
+    private final Executor serialExecutor;
+
+    // Accessed only from the serial executor.
+    private final Map<String, PendingOrder> pendingOrders = new HashMap<>();
+    private ScheduledFuture<?> nextPoll;
+
+    private static class PendingOrder {
+
+        final String orderID;
+        final List<Callback<Order, ApiException>> callbacks = new ArrayList<>();
+        int pollingIndex;
+        long dueTimeMillis;
+
+        PendingOrder(String orderID) {
+            this.orderID = orderID;
+        }
+    }
+
+    private final Runnable pollDueOrders = new Runnable() {
+        @Override
+        public void run() {
+            nextPoll = null;
+            pollDueOrders();
+            scheduleNextPoll();
+        }
+    };
+
+    // Runs on the scheduler thread, the polling itself is blocking so it's handed off to the workers.
+    private final Runnable schedulePollDueOrders = new Runnable() {
+        @Override
+        public void run() {
+            serialExecutor.execute(pollDueOrders);
+        }
+    };
+
+    OrderStatusPoller(@NonNull OrderDataSource.Remote remote, @NonNull SdkExecutor sdkExecutor) {
+        this.remote = remote;
+        this.sdkExecutor = sdkExecutor;
+        this.serialExecutor = sdkExecutor.newSerialExecutor();
+    }
+
+    /**
+     * Poll the order until it is completed, failed or timed out.
+     * Polling an order which is already polled will not send more requests, both callbacks get the same result.
+     */
+    void poll(@NonNull final String orderID, @NonNull final Callback<Order, ApiException> callback) {
+        serialExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                PendingOrder pendingOrder = pendingOrders.get(orderID);
+                if (pendingOrder == null) {
+                    pendingOrder = new PendingOrder(orderID);
+                    pendingOrder.dueTimeMillis = now();
+                    pendingOrders.put(orderID, pendingOrder);
+                }
+                pendingOrder.callbacks.add(callback);
+                scheduleNextPoll();
+            }
+        });
+    }
+
+    private void pollDueOrders() {
+        final long now = now();
+        final List<PendingOrder> dueOrders = new ArrayList<>();
+        final Iterator<PendingOrder> iterator = pendingOrders.values().iterator();
+        while (iterator.hasNext()) {
+            PendingOrder pendingOrder = iterator.next();
+            if (pendingOrder.dueTimeMillis > now) {
+                continue;
+            }
+            if (pendingOrder.pollingIndex >= DELAY_SECONDS.length) {
+                iterator.remove();
+                notifyFailure(pendingOrder, ErrorUtil.createOrderTimeoutException());
+            } else {
+                dueOrders.add(pendingOrder);
+            }
+        }
+        if (dueOrders.isEmpty()) {
+            return;
+        }
+
+        final Map<String, Order> fetchedOrders = fetchOrders(dueOrders);
+        for (PendingOrder pendingOrder : dueOrders) {
+            onOrderFetched(pendingOrder, fetchedOrders.get(pendingOrder.orderID));
+        }
+    }
+
+    private Map<String, Order> fetchOrders(List<PendingOrder> dueOrders) {
+        final Map<String, Order> fetchedOrders = new HashMap<>();
+        if (dueOrders.size() > 1) {
+            OrderList orderList = remote.getOrderHistorySync(BATCH_HISTORY_LIMIT);
+            if (orderList != null && orderList.getOrders() != null) {
+                for (Order order : orderList.getOrders()) {
+                    if (pendingOrders.containsKey(order.getOrderId())) {
+                        fetchedOrders.put(order.getOrderId(), order);
+                    }
+                }
+            }
+            Logger.log(new Log().withTag(TAG).put("Due orders", dueOrders.size())
+                .put("found in history", fetchedOrders.size()));
+        }
+        for (PendingOrder pendingOrder : dueOrders) {
+            if (!fetchedOrders.containsKey(pendingOrder.orderID)) {
+                Order order = remote.getOrderSync(pendingOrder.orderID);
+                if (order != null) {
+                    fetchedOrders.put(pendingOrder.orderID, order);
+                }
+            }
+        }
+        return fetchedOrders;
+    }
+
+    private void onOrderFetched(PendingOrder pendingOrder, Order order) {
+        if (order != null && order.getStatus() != Status.PENDING) {
+            pendingOrders.remove(pendingOrder.orderID);
+            notifyResponse(pendingOrder, order);
+            return;
+        }
+        if (order != null && pendingOrder.pollingIndex == DELAYED_ATTEMPTED_NUMBER) {
+            notifyResponse(pendingOrder, order.status(Status.DELAYED));
+        }
+        pendingOrder.dueTimeMillis = now() + TimeUnit.SECONDS.toMillis(DELAY_SECONDS[pendingOrder.pollingIndex]);
+        pendingOrder.pollingIndex++;
+    }
+
+    private void scheduleNextPoll() {
+        if (pendingOrders.isEmpty()) {
+            return;
+        }
+        long nextDueTime = Long.MAX_VALUE;
+        for (PendingOrder pendingOrder : pendingOrders.values()) {
+            nextDueTime = Math.min(nextDueTime, pendingOrder.dueTimeMillis);
+        }
+        final long delay = Math.max(0, nextDueTime - now());
+        if (nextPoll != null) {
+            if (nextPoll.getDelay(TimeUnit.MILLISECONDS) <= delay) {
+                return;
+            }
+            nextPoll.cancel(false);
+        }
+        nextPoll = sdkExecutor.schedule(schedulePollDueOrders, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void notifyResponse(PendingOrder pendingOrder, Order order) {
+        for (Callback<Order, ApiException> callback : pendingOrder.callbacks) {
+            callback.onResponse(order);
+        }
+    }
+
+    private void notifyFailure(PendingOrder pendingOrder, ApiException exception) {
+        for (Callback<Order, ApiException> callback : pendingOrder.callbacks) {
+            callback.onFailure(exception);
+        }
+    }
+
+    private static long now() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime());
+    }
+}
@@ -0,0 +1,327 @@
+package com.kin.ecosystem.core.data.order;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.annotation.VisibleForTesting;
+import com.kin.ecosystem.core.Log;
+import com.kin.ecosystem.core.Logger;
+import com.kin.ecosystem.core.util.SdkExecutor;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the live orders of this session by order id, each order runs its own state machine:
+ * {@link State#CREATED} -> {@link State#SUBMITTED} -> {@link State#TX_SENT} -> {@link State#PAYMENT_SEEN} ->
+ * {@link State#CONFIRMED} or {@link State#FAILED}.
+ * States only move forward (a state can be skipped, e.g. an earn order has no transaction sent by the client),
+ * an order can fail from any state, and a confirmed or failed order leaves the table.
+ * Every order has its own lock, listeners and state timer, so many orders can run at once without shared counters.
+ */
+public class OrderTracker {
+
+	private static final String TAG = OrderTracker.class.getSimpleName();
+
+	// An order that stays in one state for this long is failed and dropped, so abandoned orders don't pile up.
+	// A created marketplace order has no timer, the user may take any time to finish its quiz or poll.
+	private static final long CREATED_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(10);
+	private static final long IN_FLIGHT_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+	public enum State {
+		CREATED,
+		SUBMITTED,
+		TX_SENT,
+		PAYMENT_SEEN,
+		CONFIRMED,
+		FAILED;
+
+		public boolean isFinal() {
+			return this == CONFIRMED || this == FAILED;
+		}
+	}
+
+	public interface StateListener {
+
+		/**
+		 * Called on the thread that moved the order, after the state was changed.
+		 */
+		void onStateChanged(@NonNull TrackedOrder order, @NonNull State from, @NonNull State to);
+	}
+
+	public static final class TrackedOrder {
+
+		private final String orderId;
+		private final String offerId;
+		private final boolean external;
+		private final long createdMillis;
+		private final List<StateListener> listeners = new CopyOnWriteArrayList<>();
+
+		// Guarded by this.
+		private State state = State.CREATED;
+		private long stateEnteredMillis;
+		private ScheduledFuture<?> stateTimer;
+		// False while a resumed order is polled, until startStateTimer is called.
+		private boolean isTimed = true;
+		private String failureReason;
+
+		private TrackedOrder(String orderId, String offerId, boolean external, long createdMillis) {
+			this.orderId = orderId;
+			this.offerId = offerId;
+			this.external = external;
+			this.createdMillis = createdMillis;
+			this.stateEnteredMillis = createdMillis;
+		}
+
+		public String getOrderId() {
+			return orderId;
+		}
+
+		public String getOfferId() {
+			return offerId;
+		}
+
+		public boolean isExternal() {
+			return external;
+		}
+
+		public synchronized State getState() {
+			return state;
+		}
+
+		@Nullable
+		public synchronized String getFailureReason() {
+			return failureReason;
+		}
+
+		/**
+		 * Listen to the state changes of this order only.
+		 */
+		public void addListener(@NonNull StateListener listener) {
+			listeners.add(listener);
+		}
+
+		@Override
+		public synchronized String toString() {
+			final long now = now();
+			return orderId
+				+ " offer=" + offerId
+				+ (external ? " external" : " marketplace")
+				+ " state=" + state
+				+ " in state " + (now - stateEnteredMillis) + "ms"
+				+ " age " + (now - createdMillis) + "ms"
+				+ (failureReason != null ? " reason=" + failureReason : "");
+		}
+	}
+
+	private final SdkExecutor sdkExecutor;
+	private final long createdTimeoutMillis;
+	private final long inFlightTimeoutMillis;
+	private final ConcurrentMap<String, TrackedOrder> orders = new ConcurrentHashMap<>();
+	private final List<StateListener> listeners = new CopyOnWriteArrayList<>();
+
+	OrderTracker(@NonNull SdkExecutor sdkExecutor) {
+		this(sdkExecutor, CREATED_TIMEOUT_MILLIS, IN_FLIGHT_TIMEOUT_MILLIS);
+	}
+
+	@VisibleForTesting
+	OrderTracker(@NonNull SdkExecutor sdkExecutor, long createdTimeoutMillis, long inFlightTimeoutMillis) {
+		this.sdkExecutor = sdkExecutor;
+		this.createdTimeoutMillis = createdTimeoutMillis;
+		this.inFlightTimeoutMillis = inFlightTimeoutMillis;
+	}
+
+	/**
+	 * Start tracking an order in {@link State#CREATED}, an order that is already tracked is kept as is.
+	 */
+	@NonNull
+	TrackedOrder track(@NonNull String orderId, @Nullable String offerId, boolean external) {
+		final TrackedOrder order = new TrackedOrder(orderId, offerId, external, now());
+		final TrackedOrder existing = orders.putIfAbsent(orderId, order);
+		if (existing != null) {
+			return existing;
+		}
+		synchronized (order) {
+			startStateTimer(order);
+		}
+		return order;
+	}
+
+	/**
+	 * Track an order journaled by a previous process in the state it was journaled in, without notifying.
+	 * Its state timer is not started, the order is polled until it's final instead, and if the polling gives up
+	 * {@link #startStateTimer(String)} starts it for the time left since it was journaled.
+	 *
+	 * @param elapsedMillis the time passed since the order moved to the state.
+	 * @return null if the order is already tracked.
+	 */
+	@Nullable
+	TrackedOrder resume(@NonNull String orderId, @Nullable String offerId, boolean external, @NonNull State state,
+		long elapsedMillis) {
+		final TrackedOrder order = new TrackedOrder(orderId, offerId, external, now() - Math.max(0, elapsedMillis));
+		order.state = state;
+		order.isTimed = false;
+		return !state.isFinal() && orders.putIfAbsent(orderId, order) == null ? order : null;
+	}
+
+	/**
+	 * Start the state timer of a resumed order, less the time it already spent in its state.
+	 * An order that already overstayed its state fails right away.
+	 */
+	void startStateTimer(@Nullable String orderId) {
+		final TrackedOrder order = get(orderId);
+		if (order == null) {
+			return;
+		}
+		synchronized (order) {
+			if (order.isTimed || order.state.isFinal()) {
+				return;
+			}
+			order.isTimed = true;
+			startStateTimer(order);
+		}
+	}
+
+	@Nullable
+	public TrackedOrder get(@Nullable String orderId) {
+		return orderId != null ? orders.get(orderId) : null;
+	}
+
+	/**
+	 * Move the order forward to the given state.
+	 *
+	 * @return false if the order is not tracked or is already in this state or a later one.
+	 */
+	boolean moveTo(@Nullable String orderId, @NonNull State to) {
+		return transition(get(orderId), null, to, null);
+	}
+
+	/**
+	 * Move the order to {@link State#FAILED} and drop it.
+	 */
+	boolean fail(@Nullable String orderId, @Nullable String reason) {
+		return transition(get(orderId), null, State.FAILED, reason);
+	}
+
+	/**
+	 * @return the number of live orders in any of the given states.
+	 */
+	int count(State... states) {
+		int count = 0;
+		for (TrackedOrder order : orders.values()) {
+			final State state = order.getState();
+			for (State s : states) {
+				if (state == s) {
+					count++;
+					break;
+				}
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Listen to the state changes of all orders.
+	 */
+	void addListener(@NonNull StateListener listener) {
+		listeners.add(listener);
+	}
+
+	@NonNull
+	public List<TrackedOrder> getLiveOrders() {
+		return new ArrayList<>(orders.values());
+	}
+
+	/**
+	 * @return a line per live order with its state and how long it's in it, for debugging.
+	 */
+	@NonNull
+	public String dump() {
+		final StringBuilder dump = new StringBuilder();
+		for (TrackedOrder order : orders.values()) {
+			dump.append(order).append('\n');
+		}
+		return dump.toString();
+	}
+
+	/**
+	 * Drop all orders without notifying, e.g. on logout.
+	 */
+	void clear() {
+		for (TrackedOrder order : orders.values()) {
+			synchronized (order) {
+				cancelStateTimer(order);
+			}
+		}
+		orders.clear();
+	}
+
+	private boolean transition(@Nullable TrackedOrder order, @Nullable State expected, @NonNull State to,
+		@Nullable String reason) {
+		if (order == null) {
+			return false;
+		}
+		final State from;
+		synchronized (order) {
+			from = order.state;
+			if (from.isFinal() || (expected != null && from != expected)
+				|| (to != State.FAILED && to.ordinal() <= from.ordinal())) {
+				return false;
+			}
+			order.state = to;
+			order.stateEnteredMillis = now();
+			order.failureReason = reason;
+			cancelStateTimer(order);
+			if (!to.isFinal() && order.isTimed) {
+				startStateTimer(order);
+			}
+		}
+		if (to.isFinal()) {
+			orders.remove(order.orderId, order);
+		}
+		if (Logger.isLoggable(Log.DEBUG)) {
+			Logger.log(new Log().withTag(TAG).put("order", order.orderId).put("from", from).put("to", to));
+		}
+		for (StateListener listener : order.listeners) {
+			listener.onStateChanged(order, from, to);
+		}
+		for (StateListener listener : listeners) {
+			listener.onStateChanged(order, from, to);
+		}
+		return true;
+	}
+
+	// Must hold the order lock.
+	private void startStateTimer(final TrackedOrder order) {
+		final State state = order.state;
+		if (state == State.CREATED && !order.external) {
+			return;
+		}
+		final long stateTimeout = state == State.CREATED ? createdTimeoutMillis : inFlightTimeoutMillis;
+		final long timeout = Math.max(0, stateTimeout - (now() - order.stateEnteredMillis));
+		order.stateTimer = sdkExecutor.schedule(new Runnable() {
+			@Override
+			public void run() {
+				if (transition(order, state, State.FAILED, "timed out in " + state)) {
+					Logger.log(new Log().withTag(TAG).priority(Log.WARN).put("order timed out", order.orderId)
+						.put("state", state));
+				}
+			}
+		}, timeout, TimeUnit.MILLISECONDS);
+	}
+
+	// Must hold the order lock.
+	private static void cancelStateTimer(TrackedOrder order) {
+		if (order.stateTimer != null) {
+			order.stateTimer.cancel(false);
+			order.stateTimer = null;
+		}
+	}
+
+	private static long now() {
+		return TimeUnit.NANOSECONDS.toMillis(System.nanoTime());
+	}
+}
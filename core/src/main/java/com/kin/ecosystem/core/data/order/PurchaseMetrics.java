@@ -0,0 +1,67 @@
+package com.kin.ecosystem.core.data.order;
+
+import android.support.annotation.NonNull;
+import com.kin.ecosystem.common.model.PurchaseStats;
+import com.kin.ecosystem.core.util.Histogram;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per stage latency of the external purchase flow, kept apart for the sequential and the pipelined flows,
+ * so the two can be compared on the same device and network.
+ */
+public class PurchaseMetrics {
+
+	enum Stage {
+		CREATE,
+		PREPARE,
+		SUBMIT,
+		BROADCAST,
+		CONFIRM,
+		TOTAL
+	}
+
+	private final Histogram[] sequential = newHistograms();
+	private final Histogram[] pipelined = newHistograms();
+
+	PurchaseMetrics() {
+	}
+
+	/**
+	 * Record the duration of a stage that started at {@code startNanos}, in {@link System#nanoTime()} time.
+	 */
+	void record(boolean pipelinedFlow, @NonNull Stage stage, long startNanos) {
+		final Histogram[] histograms = pipelinedFlow ? pipelined : sequential;
+		histograms[stage.ordinal()].record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+	}
+
+	/**
+	 * @return the stats of the sequential flow followed by the pipelined one.
+	 */
+	@NonNull
+	public List<PurchaseStats> getStats() {
+		final List<PurchaseStats> stats = new ArrayList<>(2);
+		stats.add(getStats(false, sequential));
+		stats.add(getStats(true, pipelined));
+		return stats;
+	}
+
+	private static PurchaseStats getStats(boolean pipelinedFlow, Histogram[] histograms) {
+		return new PurchaseStats(pipelinedFlow,
+			histograms[Stage.CREATE.ordinal()].getSummary(),
+			histograms[Stage.PREPARE.ordinal()].getSummary(),
+			histograms[Stage.SUBMIT.ordinal()].getSummary(),
+			histograms[Stage.BROADCAST.ordinal()].getSummary(),
+			histograms[Stage.CONFIRM.ordinal()].getSummary(),
+			histograms[Stage.TOTAL.ordinal()].getSummary());
+	}
+
+	private static Histogram[] newHistograms() {
+		final Histogram[] histograms = new Histogram[Stage.values().length];
+		for (int i = 0; i < histograms.length; i++) {
+			histograms[i] = new Histogram();
+		}
+		return histograms;
+	}
+}
@@ -5,6 +5,7 @@
 package com.kin.ecosystem.core.network;
 
 import android.support.annotation.StringDef;
+import com.google.gson.JsonParseException;
 import com.google.gson.reflect.TypeToken;
 import com.kin.ecosystem.core.network.model.Error;
 import com.kin.ecosystem.core.util.StringUtil;
@@ -33,6 +34,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -54,6 +57,7 @@ import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.RequestBody;
 import okhttp3.Response;
+import okhttp3.ResponseBody;
 import okhttp3.internal.http.HttpMethod;
 import okhttp3.logging.HttpLoggingInterceptor;
 import okio.BufferedSink;
@@ -66,6 +70,8 @@ public class ApiClient {
 
 	private boolean debugging = false;
 	private Map<String, String> defaultHeaderMap = new HashMap<>();
+	// The static headers of each template merged with the default headers, cleared when a default header changes.
+	private final ConcurrentMap<RequestTemplate, Headers> templateHeaders = new ConcurrentHashMap<>();
 	private String tempFolderPath = null;
 
 	private Map<String, Authentication> authentications;
@@ -74,13 +80,20 @@ public class ApiClient {
 	private boolean verifyingSsl;
 	private KeyManager[] keyManagers;
 
+	private final Object httpClientLock = new Object();
 	private OkHttpClient.Builder httpClientBuilder;
+	private OkHttpClient httpClient;
 	private JSON json;
 
 	private HttpLoggingInterceptor loggingInterceptor;
 
+	private volatile RequestLane requestLane = RequestLane.INTERACTIVE;
+
 	public static final String APPLICATION_JSON_KEY = "application/json";
 
+	private static final Pattern JSON_MIME = Pattern
+		.compile("(?i)^(application/json|[^;/ \t]+/[^;/ \t]+[+]json)[ \t]*(;.*)?$");
+
 	public static final String POST = "POST";
 	public static final String GET = "GET";
 	public static final String DELETE = "DELETE";
@@ -97,8 +110,8 @@ public class ApiClient {
 	 */
 	public ApiClient(final String baseUrlPath) {
 		basePath = baseUrlPath;
-		httpClientBuilder = new OkHttpClient.Builder();
-		httpClientBuilder.connectTimeout(30, TimeUnit.SECONDS);
+		// Derive from the shared engine, so all clients reuse the same connection pool and dispatcher.
+		httpClientBuilder = SharedHttpClient.newBuilder();
 
 		//Depends on build variants
 		setDebugging(BuildConfig.DEBUG);
@@ -113,6 +126,19 @@ public class ApiClient {
 		authentications = Collections.unmodifiableMap(authentications);
 	}
 
+	/**
+	 * Set the {@link RequestLane} all the calls of this client are sent in, {@link RequestLane#INTERACTIVE} by
+	 * default.
+	 */
+	public ApiClient setRequestLane(RequestLane requestLane) {
+		this.requestLane = requestLane;
+		return this;
+	}
+
+	public RequestLane getRequestLane() {
+		return requestLane;
+	}
+
 	/**
 	 * Get base path
 	 *
@@ -134,12 +160,27 @@ public class ApiClient {
 	}
 
 	/**
-	 * Get HTTP client
+	 * Get HTTP client, the client is built once and rebuilt only after its configuration was changed.
 	 *
 	 * @return An instance of OkHttpClient
 	 */
 	private OkHttpClient getHttpClient() {
-		return httpClientBuilder.build();
+		synchronized (httpClientLock) {
+			if (httpClient == null) {
+				httpClient = httpClientBuilder.build();
+				SharedHttpClient.onClientBuilt();
+			}
+			return httpClient;
+		}
+	}
+
+	/**
+	 * Should be called after every change of {@link #httpClientBuilder}.
+	 */
+	private void invalidateHttpClient() {
+		synchronized (httpClientLock) {
+			httpClient = null;
+		}
 	}
 
 	/**
@@ -258,10 +299,37 @@ public class ApiClient {
 	 * @return ApiClient
 	 */
 	public ApiClient addDefaultHeader(String key, String value) {
-		defaultHeaderMap.put(key, value);
+		synchronized (templateHeaders) {
+			final String oldValue = defaultHeaderMap.get(key);
+			if (!defaultHeaderMap.containsKey(key) || (value == null ? oldValue != null : !value.equals(oldValue))) {
+				defaultHeaderMap.put(key, value);
+				templateHeaders.clear();
+			}
+		}
 		return this;
 	}
 
+	/**
+	 * @return the static headers of the template followed by the default headers it doesn't set, built once per
+	 * template until a default header is changed.
+	 */
+	Headers getTemplateHeaders(RequestTemplate template) {
+		Headers headers = templateHeaders.get(template);
+		if (headers == null) {
+			synchronized (templateHeaders) {
+				final Headers.Builder builder = template.staticHeaders.newBuilder();
+				for (Entry<String, String> header : defaultHeaderMap.entrySet()) {
+					if (template.staticHeaders.get(header.getKey()) == null) {
+						builder.add(header.getKey(), parameterToString(header.getValue()));
+					}
+				}
+				headers = builder.build();
+				templateHeaders.put(template, headers);
+			}
+		}
+		return headers;
+	}
+
 	/**
 	 * Check that whether debugging is enabled for this API client.
 	 *
@@ -284,9 +352,10 @@ public class ApiClient {
 				loggingInterceptor.setLevel(HttpLoggingInterceptor.Level.BODY);
 				httpClientBuilder.addInterceptor(loggingInterceptor);
 			} else {
-				httpClientBuilder.addInterceptor(loggingInterceptor);
+				httpClientBuilder.interceptors().remove(loggingInterceptor);
 				loggingInterceptor = null;
 			}
+			invalidateHttpClient();
 		}
 		this.debugging = debugging;
 		return this;
@@ -324,6 +393,7 @@ public class ApiClient {
 	 */
 	public ApiClient setConnectTimeout(int connectionTimeout) {
 		httpClientBuilder.connectTimeout(connectionTimeout, TimeUnit.MILLISECONDS);
+		invalidateHttpClient();
 		return this;
 	}
 
@@ -449,8 +519,7 @@ public class ApiClient {
 	 * @return True if the given MIME is JSON, false otherwise.
 	 */
 	public boolean isJsonMime(String mime) {
-		String jsonMime = "(?i)^(application/json|[^;/ \t]+/[^;/ \t]+[+]json)[ \t]*(;.*)?$";
-		return mime != null && (mime.matches(jsonMime) || mime.equals("*/*"));
+		return mime != null && (JSON_MIME.matcher(mime).matches() || mime.equals("*/*"));
 	}
 
 	/**
@@ -537,26 +606,31 @@ public class ApiClient {
 			return (T) downloadFileFromResponse(response);
 		}
 
+		final ResponseBody body = response.body();
+		if (body == null) {
+			return null;
+		}
+
+		String contentType = response.headers().get("Content-Type");
+		if (contentType == null) {
+			// ensuring a default content type
+			contentType = "application/json";
+		}
+		if (isJsonMime(contentType) && !returnType.equals(String.class)) {
+			return deserializeStream(body, returnType);
+		}
+
 		String respBody;
 		try {
-			if (response.body() != null) {
-				respBody = response.body().string();
-			} else {
-				respBody = null;
-			}
+			respBody = body.string();
 		} catch (IOException e) {
 			throw new ApiException(e);
 		}
 
-		if (respBody == null || "".equals(respBody)) {
+		if ("".equals(respBody)) {
 			return null;
 		}
 
-		String contentType = response.headers().get("Content-Type");
-		if (contentType == null) {
-			// ensuring a default content type
-			contentType = "application/json";
-		}
 		if (isJsonMime(contentType)) {
 			return json.deserialize(respBody, returnType);
 		} else if (returnType.equals(String.class)) {
@@ -571,6 +645,25 @@ public class ApiClient {
 		}
 	}
 
+	/**
+	 * Parse the JSON directly from the response source, without reading the whole body into a String first.
+	 */
+	private <T> T deserializeStream(ResponseBody body, Type returnType) throws ApiException {
+		try {
+			if (body.source().exhausted()) {
+				return null;
+			}
+			return json.deserialize(body.charStream(), returnType);
+		} catch (IOException e) {
+			throw new ApiException(e);
+		} catch (JsonParseException e) {
+			// Reading from the network failed in the middle of parsing, or the body is malformed or truncated.
+			throw new ApiException(e.getCause() instanceof IOException ? e.getCause() : e);
+		} finally {
+			body.close();
+		}
+	}
+
 	private Error deserializeError(String respBody) {
 		try {
 			return (Error) (json.deserialize(respBody, new TypeToken<Error>() {
@@ -697,7 +790,7 @@ public class ApiClient {
 	 */
 	public <T> ApiResponse<T> execute(Call call, Type returnType) throws ApiException {
 		try {
-			Response response = call.execute();
+			Response response = SharedHttpClient.getRequestRetrier().execute(call, requestLane);
 			T data = handleResponse(response, returnType);
 			return new ApiResponse<T>(response.code(), response.headers().toMultimap(), data);
 		} catch (IOException e) {
@@ -727,7 +820,7 @@ public class ApiClient {
 	 */
 	@SuppressWarnings("unchecked")
 	public <T> void executeAsync(Call call, final Type returnType, final ApiCallback<T> callback) {
-		call.enqueue(new Callback() {
+		SharedHttpClient.getRequestRetrier().enqueue(call, requestLane, new Callback() {
 			@Override
 			public void onFailure(Call call, IOException e) {
 				if(callback != null) {
@@ -809,6 +902,10 @@ public class ApiClient {
 		Request request = buildRequest(path, method, queryParams, collectionQueryParams, body, headerParams, formParams,
 			authNames);
 
+		return newCall(request);
+	}
+
+	Call newCall(Request request) {
 		return getHttpClient().newCall(request);
 	}
 
@@ -832,7 +929,8 @@ public class ApiClient {
 		updateParamsForAuth(authNames, queryParams, headerParams);
 
 		final String url = buildUrl(path, queryParams, collectionQueryParams);
-		final Request.Builder reqBuilder = new Request.Builder().url(url);
+		final Request.Builder reqBuilder = new Request.Builder().url(url)
+			.tag(NetworkMetrics.getEndpointName(method, path));
 		processHeaderParams(headerParams, reqBuilder);
 
 		String contentType = (String) headerParams.get("Content-Type");
@@ -1062,6 +1160,7 @@ public class ApiClient {
 			if (hostnameVerifier != null) {
 				httpClientBuilder.hostnameVerifier(hostnameVerifier);
 			}
+			invalidateHttpClient();
 		} catch (GeneralSecurityException e) {
 			throw new RuntimeException(e);
 		}
@@ -1079,9 +1178,11 @@ public class ApiClient {
 
 	public void addInterceptor(Interceptor interceptor) {
 		httpClientBuilder.addInterceptor(interceptor);
+		invalidateHttpClient();
 	}
 
 	public void addNetworkInterceptor(Interceptor interceptor) {
 		httpClientBuilder.addNetworkInterceptor(interceptor);
+		invalidateHttpClient();
 	}
 }
@@ -0,0 +1,126 @@
+package com.kin.ecosystem.core.network;
+
+import android.support.annotation.NonNull;
+import com.kin.ecosystem.core.Log;
+import com.kin.ecosystem.core.Logger;
+import com.kin.ecosystem.core.util.SdkExecutor;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import okhttp3.EventListener;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Sets up connections ahead of the first real calls, in the background: resolves the host
+ * and, for hosts the SDK calls through {@link SharedHttpClient}, sends a HEAD request so the connection,
+ * including its TLS session, is left in the shared pool.
+ * The first real call to a pre-warmed host reports whether it found the connection still warm.
+ */
+class ConnectionPrewarmer {
+
+	private static final String TAG = ConnectionPrewarmer.class.getSimpleName();
+	private static final long PREWARM_TIMEOUT_SECONDS = 10;
+
+	private final SdkExecutor sdkExecutor;
+	// Host and port of the pre-warmed connections, removed when the first real call acquires a connection.
+	private final ConcurrentMap<String, Boolean> pendingHosts = new ConcurrentHashMap<>();
+	private final AtomicLong prewarmedConnections = new AtomicLong();
+	private final AtomicLong warmHits = new AtomicLong();
+	private final AtomicLong warmMisses = new AtomicLong();
+
+	ConnectionPrewarmer(SdkExecutor sdkExecutor) {
+		this.sdkExecutor = sdkExecutor;
+	}
+
+	/**
+	 * @param url a url of the host, only its scheme, host and port are used.
+	 * @param connect true to open a pooled connection, false to only resolve the host, for hosts called by other
+	 * http clients.
+	 */
+	void prewarm(@NonNull String url, final boolean connect) {
+		final HttpUrl httpUrl = HttpUrl.parse(url);
+		if (httpUrl == null) {
+			Logger.log(new Log().withTag(TAG).priority(Log.WARN).put("prewarm invalid url", url));
+			return;
+		}
+		sdkExecutor.execute(new Runnable() {
+			@Override
+			public void run() {
+				if (connect) {
+					connect(httpUrl);
+				} else {
+					resolve(httpUrl.host());
+				}
+			}
+		});
+	}
+
+	private void resolve(String host) {
+		try {
+			InetAddress.getAllByName(host);
+		} catch (UnknownHostException e) {
+			Logger.log(new Log().withTag(TAG).priority(Log.WARN).put("prewarm resolve failed", host));
+		}
+	}
+
+	private void connect(HttpUrl httpUrl) {
+		final HttpUrl root = httpUrl.newBuilder().encodedPath("/").query(null).fragment(null).build();
+		// Shares the pool of the base engine, the HEAD request is not reported to the network metrics.
+		final OkHttpClient client = SharedHttpClient.getBaseClient().newBuilder()
+			.eventListener(EventListener.NONE)
+			.connectTimeout(PREWARM_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+			.readTimeout(PREWARM_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+			.build();
+		final Request request = new Request.Builder().url(root).head().build();
+		final String hostKey = getHostKey(root);
+		// A real call that starts while the connection is still being set up is reported as a miss.
+		pendingHosts.put(hostKey, Boolean.TRUE);
+		try {
+			final Response response = client.newCall(request).execute();
+			response.close();
+			prewarmedConnections.incrementAndGet();
+		} catch (IOException e) {
+			pendingHosts.remove(hostKey);
+			Logger.log(new Log().withTag(TAG).priority(Log.WARN).put("prewarm connect failed", root.host())
+				.put("error", e.getMessage()));
+		}
+	}
+
+	/**
+	 * Called when a real call acquired a connection.
+	 */
+	void onConnectionAcquired(HttpUrl url, boolean isReused) {
+		if (pendingHosts.isEmpty() || pendingHosts.remove(getHostKey(url)) == null) {
+			return;
+		}
+		if (isReused) {
+			warmHits.incrementAndGet();
+		} else {
+			warmMisses.incrementAndGet();
+		}
+		Logger.log(new Log().withTag(TAG).put("first call to prewarmed host", url.host()).put("warm", isReused));
+	}
+
+	long getPrewarmedConnections() {
+		return prewarmedConnections.get();
+	}
+
+	long getWarmHits() {
+		return warmHits.get();
+	}
+
+	long getWarmMisses() {
+		return warmMisses.get();
+	}
+
+	private static String getHostKey(HttpUrl url) {
+		return url.host() + ':' + url.port();
+	}
+}
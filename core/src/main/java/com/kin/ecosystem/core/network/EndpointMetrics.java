@@ -0,0 +1,55 @@
+package com.kin.ecosystem.core.network;
+
+import com.kin.ecosystem.common.model.EndpointStats;
+import com.kin.ecosystem.core.util.Histogram;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free counters and histograms of one logical endpoint, recorded by {@link NetworkEventListener}.
+ */
+class EndpointMetrics {
+
+	final String endpoint;
+	final AtomicLong calls = new AtomicLong();
+	final AtomicLong failedCalls = new AtomicLong();
+	final Histogram dns = new Histogram();
+	final Histogram connect = new Histogram();
+	final Histogram tls = new Histogram();
+	final Histogram timeToFirstByte = new Histogram();
+	final Histogram responseBody = new Histogram();
+	final Histogram total = new Histogram();
+	final Histogram requestBytes = new Histogram();
+	final Histogram responseBytes = new Histogram();
+	private final ConcurrentMap<Integer, AtomicLong> statusCodes = new ConcurrentHashMap<>();
+
+	EndpointMetrics(String endpoint) {
+		this.endpoint = endpoint;
+	}
+
+	void onStatusCode(int code) {
+		AtomicLong counter = statusCodes.get(code);
+		if (counter == null) {
+			final AtomicLong newCounter = new AtomicLong();
+			counter = statusCodes.putIfAbsent(code, newCounter);
+			if (counter == null) {
+				counter = newCounter;
+			}
+		}
+		counter.incrementAndGet();
+	}
+
+	EndpointStats getStats() {
+		final Map<Integer, Long> codes = new HashMap<>();
+		for (Entry<Integer, AtomicLong> entry : statusCodes.entrySet()) {
+			codes.put(entry.getKey(), entry.getValue().get());
+		}
+		return new EndpointStats(endpoint, calls.get(), failedCalls.get(), codes, dns.getSummary(),
+			connect.getSummary(), tls.getSummary(), timeToFirstByte.getSummary(), responseBody.getSummary(),
+			total.getSummary(), requestBytes.getSummary(), responseBytes.getSummary());
+	}
+}
@@ -0,0 +1,191 @@
+package com.kin.ecosystem.core.network;
+
+/**
+ * Immutable snapshot of the {@link SharedHttpClient} counters.
+ */
+public class HttpClientStats {
+
+	private final long connectionPoolHits;
+	private final long connectionPoolMisses;
+	private final int connectionCount;
+	private final int idleConnectionCount;
+	private final long clientBuilds;
+	private final int cacheRequests;
+	private final int cacheHits;
+	private final int cacheNetworkRequests;
+	private final long cacheRevalidations;
+	private final long cacheNotModified;
+	private final long coalescedRequests;
+	private final long retries;
+	private final long retriedCalls;
+	private final long retriedCallsSucceeded;
+	private final long prewarmedConnections;
+	private final long prewarmHits;
+	private final long prewarmMisses;
+
+	HttpClientStats(long connectionPoolHits, long connectionPoolMisses, int connectionCount,
+		int idleConnectionCount, long clientBuilds, int cacheRequests, int cacheHits, int cacheNetworkRequests,
+		long cacheRevalidations, long cacheNotModified, long coalescedRequests, long retries, long retriedCalls,
+		long retriedCallsSucceeded, long prewarmedConnections, long prewarmHits, long prewarmMisses) {
+		this.connectionPoolHits = connectionPoolHits;
+		this.connectionPoolMisses = connectionPoolMisses;
+		this.connectionCount = connectionCount;
+		this.idleConnectionCount = idleConnectionCount;
+		this.clientBuilds = clientBuilds;
+		this.cacheRequests = cacheRequests;
+		this.cacheHits = cacheHits;
+		this.cacheNetworkRequests = cacheNetworkRequests;
+		this.cacheRevalidations = cacheRevalidations;
+		this.cacheNotModified = cacheNotModified;
+		this.coalescedRequests = coalescedRequests;
+		this.retries = retries;
+		this.retriedCalls = retriedCalls;
+		this.retriedCallsSucceeded = retriedCallsSucceeded;
+		this.prewarmedConnections = prewarmedConnections;
+		this.prewarmHits = prewarmHits;
+		this.prewarmMisses = prewarmMisses;
+	}
+
+	/**
+	 * @return number of calls that reused a pooled connection.
+	 */
+	public long getConnectionPoolHits() {
+		return connectionPoolHits;
+	}
+
+	/**
+	 * @return number of calls that had to open a new connection.
+	 */
+	public long getConnectionPoolMisses() {
+		return connectionPoolMisses;
+	}
+
+	public int getConnectionCount() {
+		return connectionCount;
+	}
+
+	public int getIdleConnectionCount() {
+		return idleConnectionCount;
+	}
+
+	/**
+	 * @return how many times an {@link ApiClient} had to build its {@link okhttp3.OkHttpClient}.
+	 */
+	public long getClientBuilds() {
+		return clientBuilds;
+	}
+
+	/**
+	 * @return number of requests that went through the response cache, 0 if the cache is not enabled.
+	 */
+	public int getCacheRequests() {
+		return cacheRequests;
+	}
+
+	/**
+	 * @return number of responses served from the cache, including the ones revalidated with a 304.
+	 */
+	public int getCacheHits() {
+		return cacheHits;
+	}
+
+	/**
+	 * @return number of cache requests that needed the network, conditional requests included.
+	 */
+	public int getCacheNetworkRequests() {
+		return cacheNetworkRequests;
+	}
+
+	/**
+	 * @return number of conditional requests sent to revalidate a stale cached response.
+	 */
+	public long getCacheRevalidations() {
+		return cacheRevalidations;
+	}
+
+	/**
+	 * @return number of revalidations answered with 304 Not Modified.
+	 */
+	public long getCacheNotModified() {
+		return cacheNotModified;
+	}
+
+	/**
+	 * @return number of requests saved by sharing the response of an identical in-flight request.
+	 */
+	public long getCoalescedRequests() {
+		return coalescedRequests;
+	}
+
+	/**
+	 * @return number of retries sent after transient failures.
+	 */
+	public long getRetries() {
+		return retries;
+	}
+
+	/**
+	 * @return number of finished calls that needed at least one retry.
+	 */
+	public long getRetriedCalls() {
+		return retriedCalls;
+	}
+
+	/**
+	 * @return number of retried calls that finished with a successful response.
+	 */
+	public long getRetriedCallsSucceeded() {
+		return retriedCallsSucceeded;
+	}
+
+	/**
+	 * @return the part of the retried calls that finished successfully, 0 if no call was retried.
+	 */
+	public double getRetrySuccessRate() {
+		return retriedCalls == 0 ? 0 : (double) retriedCallsSucceeded / retriedCalls;
+	}
+
+	/**
+	 * @return number of connections opened ahead of the first call to their host.
+	 */
+	public long getPrewarmedConnections() {
+		return prewarmedConnections;
+	}
+
+	/**
+	 * @return number of pre-warmed hosts whose first call reused the pre-warmed connection.
+	 */
+	public long getPrewarmHits() {
+		return prewarmHits;
+	}
+
+	/**
+	 * @return number of pre-warmed hosts whose first call had to open a new connection anyway.
+	 */
+	public long getPrewarmMisses() {
+		return prewarmMisses;
+	}
+
+	@Override
+	public String toString() {
+		return "HttpClientStats{" +
+			"connectionPoolHits=" + connectionPoolHits +
+			", connectionPoolMisses=" + connectionPoolMisses +
+			", connectionCount=" + connectionCount +
+			", idleConnectionCount=" + idleConnectionCount +
+			", clientBuilds=" + clientBuilds +
+			", cacheRequests=" + cacheRequests +
+			", cacheHits=" + cacheHits +
+			", cacheNetworkRequests=" + cacheNetworkRequests +
+			", cacheRevalidations=" + cacheRevalidations +
+			", cacheNotModified=" + cacheNotModified +
+			", coalescedRequests=" + coalescedRequests +
+			", retries=" + retries +
+			", retriedCalls=" + retriedCalls +
+			", retriedCallsSucceeded=" + retriedCallsSucceeded +
+			", prewarmedConnections=" + prewarmedConnections +
+			", prewarmHits=" + prewarmHits +
+			", prewarmMisses=" + prewarmMisses +
+			'}';
+	}
+}
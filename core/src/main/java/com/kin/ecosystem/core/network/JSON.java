@@ -23,6 +23,7 @@ import com.google.gson.stream.JsonWriter;
 
 
 import java.io.IOException;
+import java.io.Reader;
 import java.io.StringReader;
 import java.lang.reflect.Type;
 import java.text.DateFormat;
@@ -40,6 +41,7 @@ public class JSON {
         gson = new GsonBuilder()
             .registerTypeAdapter(Date.class, dateTypeAdapter)
             .registerTypeAdapter(java.sql.Date.class, sqlDateTypeAdapter)
+            .registerTypeAdapterFactory(new ModelTypeAdapterFactory())
             .create();
     }
 
@@ -106,6 +108,20 @@ public class JSON {
         }
     }
 
+    /**
+     * Deserialize the given JSON stream to Java object, without buffering it into a String.
+     *
+     * @param <T>        Type
+     * @param reader     The JSON stream
+     * @param returnType The type to deserialize into
+     * @return The deserialized Java object
+     */
+    public <T> T deserialize(Reader reader, Type returnType) {
+        JsonReader jsonReader = new JsonReader(reader);
+        jsonReader.setLenient(isLenientOnJson);
+        return gson.fromJson(jsonReader, returnType);
+    }
+
     /**
      * Gson TypeAdapter for java.sql.Date type
      * If the dateFormat is null, a simple "yyyy-MM-dd" format will be used
@@ -0,0 +1,559 @@
+package com.kin.ecosystem.core.network;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.kin.ecosystem.core.network.model.BlockchainData;
+import com.kin.ecosystem.core.network.model.CouponCodeResult;
+import com.kin.ecosystem.core.network.model.Error;
+import com.kin.ecosystem.core.network.model.JWTBodyPaymentConfirmationResult;
+import com.kin.ecosystem.core.network.model.Offer;
+import com.kin.ecosystem.core.network.model.Offer.ContentTypeEnum;
+import com.kin.ecosystem.core.network.model.Offer.OfferType;
+import com.kin.ecosystem.core.network.model.OfferList;
+import com.kin.ecosystem.core.network.model.OpenOrder;
+import com.kin.ecosystem.core.network.model.Order;
+import com.kin.ecosystem.core.network.model.Order.Origin;
+import com.kin.ecosystem.core.network.model.Order.Status;
+import com.kin.ecosystem.core.network.model.OrderList;
+import com.kin.ecosystem.core.network.model.OrderSpendResult;
+import com.kin.ecosystem.core.network.model.Paging;
+import com.kin.ecosystem.core.network.model.PagingCursors;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Hand written adapters for the network models on the hot paths (offers, orders and their nested objects),
+ * so reading and writing them doesn't go through Gson's reflective adapter.
+ * Field names must match the {@code @SerializedName} of the model, unknown fields are skipped.
+ */
+final class ModelTypeAdapterFactory implements TypeAdapterFactory {
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        final Class<? super T> rawType = type.getRawType();
+        final TypeAdapter<?> adapter;
+        if (rawType == Order.class) {
+            adapter = new OrderAdapter(gson);
+        } else if (rawType == OrderList.class) {
+            adapter = new OrderListAdapter(gson);
+        } else if (rawType == OpenOrder.class) {
+            adapter = new OpenOrderAdapter(gson);
+        } else if (rawType == Offer.class) {
+            adapter = new OfferAdapter(gson);
+        } else if (rawType == OfferList.class) {
+            adapter = new OfferListAdapter(gson);
+        } else if (rawType == BlockchainData.class) {
+            adapter = new BlockchainDataAdapter();
+        } else if (rawType == Paging.class) {
+            adapter = new PagingAdapter(gson);
+        } else if (rawType == PagingCursors.class) {
+            adapter = new PagingCursorsAdapter();
+        } else if (rawType == Error.class) {
+            adapter = new ErrorAdapter();
+        } else if (rawType == JWTBodyPaymentConfirmationResult.class || rawType == CouponCodeResult.class) {
+            // OrderSpendResult's @JsonAdapter isn't inherited by the subclasses.
+            adapter = new OrderSpendResult.Adapter();
+        } else {
+            return null;
+        }
+        return (TypeAdapter<T>) adapter.nullSafe();
+    }
+
+    private static String nextString(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return in.nextString();
+    }
+
+    private static Integer nextInteger(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return in.nextInt();
+    }
+
+    private static class OrderAdapter extends TypeAdapter<Order> {
+
+        private final TypeAdapter<OrderSpendResult> resultAdapter;
+        private final TypeAdapter<Status> statusAdapter;
+        private final TypeAdapter<Origin> originAdapter;
+        private final TypeAdapter<OfferType> offerTypeAdapter;
+        private final TypeAdapter<BlockchainData> blockchainDataAdapter;
+        private final TypeAdapter<Error> errorAdapter;
+
+        OrderAdapter(Gson gson) {
+            resultAdapter = gson.getAdapter(OrderSpendResult.class);
+            statusAdapter = gson.getAdapter(Status.class);
+            originAdapter = gson.getAdapter(Origin.class);
+            offerTypeAdapter = gson.getAdapter(OfferType.class);
+            blockchainDataAdapter = gson.getAdapter(BlockchainData.class);
+            errorAdapter = gson.getAdapter(Error.class);
+        }
+
+        @Override
+        public void write(JsonWriter out, Order order) throws IOException {
+            out.beginObject();
+            out.name("result");
+            resultAdapter.write(out, order.getResult());
+            out.name("content").value(order.getContent());
+            out.name("origin");
+            originAdapter.write(out, order.getOrigin());
+            out.name("status");
+            statusAdapter.write(out, order.getStatus());
+            out.name("id").value(order.getOrderId());
+            out.name("offer_id").value(order.getOfferId());
+            out.name("completion_date").value(order.getCompletionDate());
+            out.name("blockchain_data");
+            blockchainDataAdapter.write(out, order.getBlockchainData());
+            out.name("offer_type");
+            offerTypeAdapter.write(out, order.getOfferType());
+            out.name("title").value(order.getTitle());
+            out.name("description").value(order.getDescription());
+            out.name("call_to_action").value(order.getCallToAction());
+            out.name("amount").value(order.getAmount());
+            out.name("error");
+            errorAdapter.write(out, order.getError());
+            out.endObject();
+        }
+
+        @Override
+        public Order read(JsonReader in) throws IOException {
+            final Order order = new Order();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "result":
+                        order.setResult(resultAdapter.read(in));
+                        break;
+                    case "content":
+                        order.setContent(nextString(in));
+                        break;
+                    case "origin":
+                        order.setOrigin(originAdapter.read(in));
+                        break;
+                    case "status":
+                        order.setStatus(statusAdapter.read(in));
+                        break;
+                    case "id":
+                        order.setOrderId(nextString(in));
+                        break;
+                    case "offer_id":
+                        order.offerId(nextString(in));
+                        break;
+                    case "completion_date":
+                        order.setCompletionDate(nextString(in));
+                        break;
+                    case "blockchain_data":
+                        order.setBlockchainData(blockchainDataAdapter.read(in));
+                        break;
+                    case "offer_type":
+                        order.setOfferType(offerTypeAdapter.read(in));
+                        break;
+                    case "title":
+                        order.setTitle(nextString(in));
+                        break;
+                    case "description":
+                        order.setDescription(nextString(in));
+                        break;
+                    case "call_to_action":
+                        order.setCallToAction(nextString(in));
+                        break;
+                    case "amount":
+                        order.setAmount(nextInteger(in));
+                        break;
+                    case "error":
+                        order.error(errorAdapter.read(in));
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return order;
+        }
+    }
+
+    private static class OrderListAdapter extends TypeAdapter<OrderList> {
+
+        private final TypeAdapter<List<Order>> ordersAdapter;
+        private final TypeAdapter<Paging> pagingAdapter;
+
+        OrderListAdapter(Gson gson) {
+            ordersAdapter = gson.getAdapter(new TypeToken<List<Order>>() {
+            });
+            pagingAdapter = gson.getAdapter(Paging.class);
+        }
+
+        @Override
+        public void write(JsonWriter out, OrderList orderList) throws IOException {
+            out.beginObject();
+            out.name("orders");
+            ordersAdapter.write(out, orderList.getOrders());
+            out.name("paging");
+            pagingAdapter.write(out, orderList.getPaging());
+            out.endObject();
+        }
+
+        @Override
+        public OrderList read(JsonReader in) throws IOException {
+            final OrderList orderList = new OrderList();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "orders":
+                        orderList.setOrders(ordersAdapter.read(in));
+                        break;
+                    case "paging":
+                        orderList.setPaging(pagingAdapter.read(in));
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return orderList;
+        }
+    }
+
+    private static class OpenOrderAdapter extends TypeAdapter<OpenOrder> {
+
+        private final TypeAdapter<OfferType> offerTypeAdapter;
+        private final TypeAdapter<BlockchainData> blockchainDataAdapter;
+
+        OpenOrderAdapter(Gson gson) {
+            offerTypeAdapter = gson.getAdapter(OfferType.class);
+            blockchainDataAdapter = gson.getAdapter(BlockchainData.class);
+        }
+
+        @Override
+        public void write(JsonWriter out, OpenOrder openOrder) throws IOException {
+            out.beginObject();
+            out.name("id").value(openOrder.getId());
+            out.name("offer_id").value(openOrder.getOfferId());
+            out.name("offer_type");
+            offerTypeAdapter.write(out, openOrder.getOfferType());
+            out.name("title").value(openOrder.getTitle());
+            out.name("description").value(openOrder.getDescription());
+            out.name("amount").value(openOrder.getAmount());
+            out.name("blockchain_data");
+            blockchainDataAdapter.write(out, openOrder.getBlockchainData());
+            out.name("expiration_date").value(openOrder.getExpirationDate());
+            out.endObject();
+        }
+
+        @Override
+        public OpenOrder read(JsonReader in) throws IOException {
+            final OpenOrder openOrder = new OpenOrder();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "id":
+                        openOrder.setId(nextString(in));
+                        break;
+                    case "offer_id":
+                        openOrder.setOfferId(nextString(in));
+                        break;
+                    case "offer_type":
+                        openOrder.setOfferType(offerTypeAdapter.read(in));
+                        break;
+                    case "title":
+                        openOrder.setTitle(nextString(in));
+                        break;
+                    case "description":
+                        openOrder.setDescription(nextString(in));
+                        break;
+                    case "amount":
+                        openOrder.setAmount(nextInteger(in));
+                        break;
+                    case "blockchain_data":
+                        openOrder.setBlockchainData(blockchainDataAdapter.read(in));
+                        break;
+                    case "expiration_date":
+                        openOrder.setExpirationDate(nextString(in));
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return openOrder;
+        }
+    }
+
+    private static class OfferAdapter extends TypeAdapter<Offer> {
+
+        private final TypeAdapter<OfferType> offerTypeAdapter;
+        private final TypeAdapter<ContentTypeEnum> contentTypeAdapter;
+        private final TypeAdapter<BlockchainData> blockchainDataAdapter;
+
+        OfferAdapter(Gson gson) {
+            offerTypeAdapter = gson.getAdapter(OfferType.class);
+            contentTypeAdapter = gson.getAdapter(ContentTypeEnum.class);
+            blockchainDataAdapter = gson.getAdapter(BlockchainData.class);
+        }
+
+        @Override
+        public void write(JsonWriter out, Offer offer) throws IOException {
+            out.beginObject();
+            out.name("id").value(offer.getId());
+            out.name("title").value(offer.getTitle());
+            out.name("description").value(offer.getDescription());
+            out.name("image").value(offer.getImage());
+            out.name("amount").value(offer.getAmount());
+            out.name("offer_type");
+            offerTypeAdapter.write(out, offer.getOfferType());
+            out.name("content_type");
+            contentTypeAdapter.write(out, offer.getContentType());
+            out.name("content").value(offer.getContent());
+            out.name("blockchain_data");
+            blockchainDataAdapter.write(out, offer.getBlockchainData());
+            out.endObject();
+        }
+
+        @Override
+        public Offer read(JsonReader in) throws IOException {
+            final Offer offer = new Offer();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "id":
+                        offer.setId(nextString(in));
+                        break;
+                    case "title":
+                        offer.setTitle(nextString(in));
+                        break;
+                    case "description":
+                        offer.setDescription(nextString(in));
+                        break;
+                    case "image":
+                        offer.setImage(nextString(in));
+                        break;
+                    case "amount":
+                        offer.setAmount(nextInteger(in));
+                        break;
+                    case "offer_type":
+                        offer.setOfferType(offerTypeAdapter.read(in));
+                        break;
+                    case "content_type":
+                        offer.setContentType(contentTypeAdapter.read(in));
+                        break;
+                    case "content":
+                        offer.setContent(nextString(in));
+                        break;
+                    case "blockchain_data":
+                        offer.setBlockchainData(blockchainDataAdapter.read(in));
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return offer;
+        }
+    }
+
+    private static class OfferListAdapter extends TypeAdapter<OfferList> {
+
+        private final TypeAdapter<List<Offer>> offersAdapter;
+        private final TypeAdapter<Paging> pagingAdapter;
+
+        OfferListAdapter(Gson gson) {
+            offersAdapter = gson.getAdapter(new TypeToken<List<Offer>>() {
+            });
+            pagingAdapter = gson.getAdapter(Paging.class);
+        }
+
+        @Override
+        public void write(JsonWriter out, OfferList offerList) throws IOException {
+            out.beginObject();
+            out.name("offers");
+            offersAdapter.write(out, offerList.getOffers());
+            out.name("paging");
+            pagingAdapter.write(out, offerList.getPaging());
+            out.endObject();
+        }
+
+        @Override
+        public OfferList read(JsonReader in) throws IOException {
+            final OfferList offerList = new OfferList();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "offers":
+                        offerList.setOffers(offersAdapter.read(in));
+                        break;
+                    case "paging":
+                        offerList.setPaging(pagingAdapter.read(in));
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return offerList;
+        }
+    }
+
+    private static class BlockchainDataAdapter extends TypeAdapter<BlockchainData> {
+
+        @Override
+        public void write(JsonWriter out, BlockchainData blockchainData) throws IOException {
+            out.beginObject();
+            out.name("transaction_id").value(blockchainData.getTransactionId());
+            out.name("sender_address").value(blockchainData.getSenderAddress());
+            out.name("recipient_address").value(blockchainData.getRecipientAddress());
+            out.endObject();
+        }
+
+        @Override
+        public BlockchainData read(JsonReader in) throws IOException {
+            final BlockchainData blockchainData = new BlockchainData();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "transaction_id":
+                        blockchainData.setTransactionId(nextString(in));
+                        break;
+                    case "sender_address":
+                        blockchainData.setSenderAddress(nextString(in));
+                        break;
+                    case "recipient_address":
+                        blockchainData.setRecipientAddress(nextString(in));
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return blockchainData;
+        }
+    }
+
+    private static class PagingAdapter extends TypeAdapter<Paging> {
+
+        private final TypeAdapter<PagingCursors> cursorsAdapter;
+
+        PagingAdapter(Gson gson) {
+            cursorsAdapter = gson.getAdapter(PagingCursors.class);
+        }
+
+        @Override
+        public void write(JsonWriter out, Paging paging) throws IOException {
+            out.beginObject();
+            out.name("cursors");
+            cursorsAdapter.write(out, paging.getCursors());
+            out.name("previous").value(paging.getPrevious());
+            out.name("next").value(paging.getNext());
+            out.endObject();
+        }
+
+        @Override
+        public Paging read(JsonReader in) throws IOException {
+            final Paging paging = new Paging();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "cursors":
+                        paging.setCursors(cursorsAdapter.read(in));
+                        break;
+                    case "previous":
+                        paging.setPrevious(nextString(in));
+                        break;
+                    case "next":
+                        paging.setNext(nextString(in));
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return paging;
+        }
+    }
+
+    private static class PagingCursorsAdapter extends TypeAdapter<PagingCursors> {
+
+        @Override
+        public void write(JsonWriter out, PagingCursors cursors) throws IOException {
+            out.beginObject();
+            out.name("after").value(cursors.getAfter());
+            out.name("before").value(cursors.getBefore());
+            out.endObject();
+        }
+
+        @Override
+        public PagingCursors read(JsonReader in) throws IOException {
+            final PagingCursors cursors = new PagingCursors();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "after":
+                        cursors.setAfter(nextString(in));
+                        break;
+                    case "before":
+                        cursors.setBefore(nextString(in));
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return cursors;
+        }
+    }
+
+    private static class ErrorAdapter extends TypeAdapter<Error> {
+
+        @Override
+        public void write(JsonWriter out, Error error) throws IOException {
+            out.beginObject();
+            out.name("error").value(error.getError());
+            out.name("message").value(error.getMessage());
+            out.name("code").value(error.getCode());
+            out.endObject();
+        }
+
+        @Override
+        public Error read(JsonReader in) throws IOException {
+            String error = null;
+            String message = null;
+            Integer code = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "error":
+                        error = nextString(in);
+                        break;
+                    case "message":
+                        message = nextString(in);
+                        break;
+                    case "code":
+                        code = nextInteger(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return new Error(error, message, code);
+        }
+    }
+}
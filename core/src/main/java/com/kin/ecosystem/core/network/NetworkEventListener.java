@@ -0,0 +1,138 @@
+package com.kin.ecosystem.core.network;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Per call {@link EventListener}, tracks whether the call was served by a pooled connection
+ * and records the call phases durations and sizes to its endpoint {@link NetworkMetrics}.
+ */
+class NetworkEventListener extends EventListener {
+
+	static final EventListener.Factory FACTORY = new EventListener.Factory() {
+		@Override
+		public EventListener create(Call call) {
+			return new NetworkEventListener(NetworkMetrics.getInstance());
+		}
+	};
+
+	private final NetworkMetrics networkMetrics;
+	private EndpointMetrics endpoint;
+	private boolean isConnecting;
+	private long callStartNanos;
+	private long dnsStartNanos;
+	private long connectStartNanos;
+	private long secureConnectStartNanos;
+	private long requestSentNanos;
+	private long responseBodyStartNanos;
+
+	NetworkEventListener(NetworkMetrics networkMetrics) {
+		this.networkMetrics = networkMetrics;
+	}
+
+	@Override
+	public void callStart(Call call) {
+		final Request request = call.request();
+		final Object tag = request.tag();
+		final String endpointName = tag instanceof String ? (String) tag
+			: NetworkMetrics.getEndpointName(request.method(), request.url().encodedPath());
+		endpoint = networkMetrics.getEndpoint(endpointName);
+		callStartNanos = System.nanoTime();
+	}
+
+	@Override
+	public void dnsStart(Call call, String domainName) {
+		dnsStartNanos = System.nanoTime();
+	}
+
+	@Override
+	public void dnsEnd(Call call, String domainName, List<InetAddress> inetAddressList) {
+		endpoint.dns.record(millisSince(dnsStartNanos));
+	}
+
+	@Override
+	public void connectStart(Call call, InetSocketAddress inetSocketAddress, Proxy proxy) {
+		isConnecting = true;
+		connectStartNanos = System.nanoTime();
+	}
+
+	@Override
+	public void secureConnectStart(Call call) {
+		secureConnectStartNanos = System.nanoTime();
+	}
+
+	@Override
+	public void secureConnectEnd(Call call, Handshake handshake) {
+		endpoint.tls.record(millisSince(secureConnectStartNanos));
+	}
+
+	@Override
+	public void connectEnd(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol) {
+		endpoint.connect.record(millisSince(connectStartNanos));
+	}
+
+	@Override
+	public void connectionAcquired(Call call, Connection connection) {
+		SharedHttpClient.onConnectionAcquired(call.request().url(), !isConnecting);
+	}
+
+	@Override
+	public void requestHeadersEnd(Call call, Request request) {
+		requestSentNanos = System.nanoTime();
+	}
+
+	@Override
+	public void requestBodyEnd(Call call, long byteCount) {
+		requestSentNanos = System.nanoTime();
+		endpoint.requestBytes.record(byteCount);
+	}
+
+	@Override
+	public void responseHeadersStart(Call call) {
+		endpoint.timeToFirstByte.record(millisSince(requestSentNanos));
+	}
+
+	@Override
+	public void responseHeadersEnd(Call call, Response response) {
+		endpoint.onStatusCode(response.code());
+	}
+
+	@Override
+	public void responseBodyStart(Call call) {
+		responseBodyStartNanos = System.nanoTime();
+	}
+
+	@Override
+	public void responseBodyEnd(Call call, long byteCount) {
+		endpoint.responseBody.record(millisSince(responseBodyStartNanos));
+		endpoint.responseBytes.record(byteCount);
+	}
+
+	@Override
+	public void callEnd(Call call) {
+		endpoint.calls.incrementAndGet();
+		endpoint.total.record(millisSince(callStartNanos));
+	}
+
+	@Override
+	public void callFailed(Call call, IOException ioe) {
+		endpoint.calls.incrementAndGet();
+		endpoint.failedCalls.incrementAndGet();
+		endpoint.total.record(millisSince(callStartNanos));
+	}
+
+	private static long millisSince(long startNanos) {
+		return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+	}
+}
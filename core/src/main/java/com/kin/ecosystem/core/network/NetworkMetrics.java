@@ -0,0 +1,152 @@
+package com.kin.ecosystem.core.network;
+
+import android.support.annotation.NonNull;
+import com.kin.ecosystem.common.ObservableData;
+import com.kin.ecosystem.common.Observer;
+import com.kin.ecosystem.common.model.EndpointStats;
+import com.kin.ecosystem.common.model.NetworkStats;
+import com.kin.ecosystem.core.util.SdkExecutor;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Latency, size and status code stats of all the SDK network calls, per logical endpoint.
+ * The endpoint of an {@link ApiClient} call is its method and path template, e.g. "GET /orders/{id}",
+ * path segments that are not plain lowercase words, optionally versioned like "v2", are considered ids.
+ */
+public class NetworkMetrics {
+
+	static final long SUMMARY_PERIOD_SECONDS = 60;
+	private static final String ID_SEGMENT = "{id}";
+	private static final Pattern WORD_SEGMENT = Pattern.compile("[a-z_\\-]+\\d*");
+
+	private static volatile NetworkMetrics instance;
+
+	private final ConcurrentMap<String, EndpointMetrics> endpoints = new ConcurrentHashMap<>();
+
+	private final Object summaryLock = new Object();
+	// Guarded by summaryLock.
+	private ObservableData<NetworkStats> summaries;
+	// The registered observers, so removing an observer that isn't registered doesn't stop the summaries.
+	private final List<Observer<NetworkStats>> summaryObservers = new ArrayList<>();
+	private ScheduledFuture<?> nextSummary;
+
+	private final Runnable postSummary = new Runnable() {
+		@Override
+		public void run() {
+			synchronized (summaryLock) {
+				nextSummary = null;
+				if (summaryObservers.isEmpty()) {
+					return;
+				}
+				summaries.postValue(getSnapshot());
+				scheduleSummary();
+			}
+		}
+	};
+
+	NetworkMetrics() {
+	}
+
+	public static NetworkMetrics getInstance() {
+		if (instance == null) {
+			synchronized (NetworkMetrics.class) {
+				if (instance == null) {
+					instance = new NetworkMetrics();
+				}
+			}
+		}
+		return instance;
+	}
+
+	/**
+	 * @return a snapshot of all the endpoints, sorted by name.
+	 */
+	public NetworkStats getSnapshot() {
+		final List<EndpointStats> stats = new ArrayList<>(endpoints.size());
+		for (EndpointMetrics endpointMetrics : endpoints.values()) {
+			stats.add(endpointMetrics.getStats());
+		}
+		Collections.sort(stats, new Comparator<EndpointStats>() {
+			@Override
+			public int compare(EndpointStats first, EndpointStats second) {
+				return first.getEndpoint().compareTo(second.getEndpoint());
+			}
+		});
+		return new NetworkStats(System.currentTimeMillis(), stats);
+	}
+
+	/**
+	 * The observer gets a snapshot on the main thread every {@link #SUMMARY_PERIOD_SECONDS} seconds,
+	 * while it's registered.
+	 */
+	public void addSummaryObserver(@NonNull Observer<NetworkStats> observer) {
+		synchronized (summaryLock) {
+			if (summaries == null) {
+				summaries = ObservableData.create();
+			}
+			summaries.addObserver(observer);
+			summaryObservers.add(observer);
+			if (nextSummary == null) {
+				scheduleSummary();
+			}
+		}
+	}
+
+	public void removeSummaryObserver(@NonNull Observer<NetworkStats> observer) {
+		synchronized (summaryLock) {
+			if (!summaryObservers.remove(observer)) {
+				return;
+			}
+			summaries.removeObserver(observer);
+			if (summaryObservers.isEmpty() && nextSummary != null) {
+				nextSummary.cancel(false);
+				nextSummary = null;
+			}
+		}
+	}
+
+	EndpointMetrics getEndpoint(@NonNull String endpoint) {
+		EndpointMetrics endpointMetrics = endpoints.get(endpoint);
+		if (endpointMetrics == null) {
+			final EndpointMetrics newEndpointMetrics = new EndpointMetrics(endpoint);
+			endpointMetrics = endpoints.putIfAbsent(endpoint, newEndpointMetrics);
+			if (endpointMetrics == null) {
+				endpointMetrics = newEndpointMetrics;
+			}
+		}
+		return endpointMetrics;
+	}
+
+	private void scheduleSummary() {
+		nextSummary = SdkExecutor.getInstance().schedule(postSummary, SUMMARY_PERIOD_SECONDS, TimeUnit.SECONDS);
+	}
+
+	/**
+	 * @param path the path relative to the api base path, ids are replaced by {@link #ID_SEGMENT}.
+	 */
+	static String getEndpointName(String method, String path) {
+		final StringBuilder name = new StringBuilder(method.length() + path.length() + 1);
+		name.append(method).append(' ');
+		final String[] segments = path.split("/");
+		for (int i = 0; i < segments.length; i++) {
+			final String segment = segments[i];
+			if (i > 0) {
+				name.append('/');
+			}
+			if (segment.isEmpty() || WORD_SEGMENT.matcher(segment).matches()) {
+				name.append(segment);
+			} else {
+				name.append(ID_SEGMENT);
+			}
+		}
+		return name.toString();
+	}
+}
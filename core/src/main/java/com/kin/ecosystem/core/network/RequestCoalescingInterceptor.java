@@ -0,0 +1,151 @@
+package com.kin.ecosystem.core.network;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * Shares one in-flight request between identical concurrent GET requests.
+ * Requests are identical if they have the same method, url and Authorization header, so it should be added
+ * after the interceptor that authorizes the requests.
+ * A request made while an identical one waits for its response gets a copy of that response.
+ * When no request joined by the time the response headers arrive, the response is streamed as usual.
+ */
+public class RequestCoalescingInterceptor implements Interceptor {
+
+	private static final String AUTHORIZATION = "Authorization";
+
+	private final Map<String, InFlightRequest> inFlightRequests = new HashMap<>();
+
+	private static class InFlightRequest {
+
+		final CountDownLatch done = new CountDownLatch(1);
+		// Guarded by inFlightRequests.
+		int joinedRequests;
+		// Written before done is counted down.
+		Response response;
+		MediaType contentType;
+		byte[] body;
+		IOException exception;
+	}
+
+	@Override
+	public Response intercept(Chain chain) throws IOException {
+		final Request request = chain.request();
+		if (!ApiClient.GET.equals(request.method())) {
+			return chain.proceed(request);
+		}
+
+		final String key = request.method() + " " + request.url() + " " + request.header(AUTHORIZATION);
+		final InFlightRequest inFlightRequest;
+		final boolean isJoined;
+		synchronized (inFlightRequests) {
+			InFlightRequest existing = inFlightRequests.get(key);
+			isJoined = existing != null;
+			if (isJoined) {
+				existing.joinedRequests++;
+				inFlightRequest = existing;
+			} else {
+				inFlightRequest = new InFlightRequest();
+				inFlightRequests.put(key, inFlightRequest);
+			}
+		}
+
+		if (isJoined) {
+			SharedHttpClient.onRequestCoalesced();
+			return awaitResponse(chain, inFlightRequest);
+		}
+		return proceed(chain, key, inFlightRequest);
+	}
+
+	private Response proceed(Chain chain, String key, InFlightRequest inFlightRequest) throws IOException {
+		final Request request = chain.request();
+		final Response response;
+		try {
+			response = chain.proceed(request);
+		} catch (IOException e) {
+			onDone(key, inFlightRequest);
+			inFlightRequest.exception = e;
+			inFlightRequest.done.countDown();
+			throw e;
+		} catch (RuntimeException e) {
+			onDone(key, inFlightRequest);
+			inFlightRequest.exception = new IOException(e);
+			inFlightRequest.done.countDown();
+			throw e;
+		}
+
+		if (onDone(key, inFlightRequest) == 0) {
+			return response;
+		}
+		// Other requests wait for this response, read the body once for all of them.
+		try {
+			final ResponseBody responseBody = response.body();
+			inFlightRequest.contentType = responseBody != null ? responseBody.contentType() : null;
+			inFlightRequest.body = responseBody != null ? responseBody.bytes() : new byte[0];
+			inFlightRequest.response = response;
+		} catch (IOException e) {
+			inFlightRequest.exception = e;
+			throw e;
+		} finally {
+			inFlightRequest.done.countDown();
+		}
+		return copyResponse(request, inFlightRequest);
+	}
+
+	/**
+	 * Stop other requests from joining.
+	 *
+	 * @return number of requests that joined.
+	 */
+	private int onDone(String key, InFlightRequest inFlightRequest) {
+		synchronized (inFlightRequests) {
+			inFlightRequests.remove(key);
+			return inFlightRequest.joinedRequests;
+		}
+	}
+
+	private Response awaitResponse(Chain chain, InFlightRequest inFlightRequest) throws IOException {
+		try {
+			if (hasNoTimeout(chain)) {
+				// The in-flight request can't time out either, wait until it's done.
+				inFlightRequest.done.await();
+			} else {
+				final long timeoutMillis =
+					chain.connectTimeoutMillis() + chain.writeTimeoutMillis() + chain.readTimeoutMillis();
+				if (!inFlightRequest.done.await(timeoutMillis, TimeUnit.MILLISECONDS)) {
+					throw new InterruptedIOException("timeout");
+				}
+			}
+		} catch (InterruptedException e) {
+			throw new InterruptedIOException("interrupted");
+		}
+		if (inFlightRequest.exception != null) {
+			throw new IOException(inFlightRequest.exception.getMessage(), inFlightRequest.exception);
+		}
+		return copyResponse(chain.request(), inFlightRequest);
+	}
+
+	/**
+	 * A timeout of 0 means no timeout.
+	 */
+	private static boolean hasNoTimeout(Chain chain) {
+		return chain.connectTimeoutMillis() == 0 || chain.writeTimeoutMillis() == 0
+			|| chain.readTimeoutMillis() == 0;
+	}
+
+	private Response copyResponse(Request request, InFlightRequest inFlightRequest) {
+		return inFlightRequest.response.newBuilder()
+			.request(request)
+			.body(ResponseBody.create(inFlightRequest.contentType, inFlightRequest.body))
+			.build();
+	}
+}
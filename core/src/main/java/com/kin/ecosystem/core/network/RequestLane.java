@@ -0,0 +1,40 @@
+package com.kin.ecosystem.core.network;
+
+/**
+ * Priority lanes of the {@link RequestScheduler}, each {@link ApiClient} sends its calls in one lane.
+ */
+public enum RequestLane {
+
+	/**
+	 * Calls the user waits for, such as sign in, creating and submitting orders.
+	 */
+	INTERACTIVE(8, false, true),
+
+	/**
+	 * Sign in calls made to refresh the auth token. Not limited, they're made while the calls waiting for the token
+	 * hold their own slots, limiting them as well would leave a full lane waiting on itself.
+	 */
+	AUTH(Integer.MAX_VALUE, false, true),
+
+	/**
+	 * Calls the SDK makes on its own to keep its data up to date, such as polling pending orders.
+	 */
+	BACKGROUND_SYNC(2, false, true),
+
+	/**
+	 * BI events, sent only while there are no interactive calls.
+	 * A telemetry call still running when an interactive call arrives is canceled and sent again later.
+	 * Failed calls are not retried by the {@link RequestRetrier}, the events logger retries them with its own backoff.
+	 */
+	TELEMETRY(1, true, false);
+
+	final int maxRunningCalls;
+	final boolean isPreemptible;
+	final boolean isRetried;
+
+	RequestLane(int maxRunningCalls, boolean isPreemptible, boolean isRetried) {
+		this.maxRunningCalls = maxRunningCalls;
+		this.isPreemptible = isPreemptible;
+		this.isRetried = isRetried;
+	}
+}
@@ -0,0 +1,83 @@
+package com.kin.ecosystem.core.network;
+
+/**
+ * Immutable snapshot of one {@link RequestLane} counters.
+ */
+public class RequestLaneStats {
+
+	private final RequestLane lane;
+	private final int queuedCalls;
+	private final int runningCalls;
+	private final long startedCalls;
+	private final long preemptedCalls;
+	private final long totalQueueWaitMillis;
+	private final long maxQueueWaitMillis;
+
+	RequestLaneStats(RequestLane lane, int queuedCalls, int runningCalls, long startedCalls, long preemptedCalls,
+		long totalQueueWaitMillis, long maxQueueWaitMillis) {
+		this.lane = lane;
+		this.queuedCalls = queuedCalls;
+		this.runningCalls = runningCalls;
+		this.startedCalls = startedCalls;
+		this.preemptedCalls = preemptedCalls;
+		this.totalQueueWaitMillis = totalQueueWaitMillis;
+		this.maxQueueWaitMillis = maxQueueWaitMillis;
+	}
+
+	public RequestLane getLane() {
+		return lane;
+	}
+
+	/**
+	 * @return number of calls waiting for a free slot in the lane.
+	 */
+	public int getQueuedCalls() {
+		return queuedCalls;
+	}
+
+	public int getRunningCalls() {
+		return runningCalls;
+	}
+
+	/**
+	 * @return number of calls that left the queue, a preempted call is counted again when it restarts.
+	 */
+	public long getStartedCalls() {
+		return startedCalls;
+	}
+
+	/**
+	 * @return number of running calls canceled to make room for interactive calls.
+	 */
+	public long getPreemptedCalls() {
+		return preemptedCalls;
+	}
+
+	/**
+	 * @return the total time the started calls waited in the queue.
+	 */
+	public long getTotalQueueWaitMillis() {
+		return totalQueueWaitMillis;
+	}
+
+	public long getAverageQueueWaitMillis() {
+		return startedCalls == 0 ? 0 : totalQueueWaitMillis / startedCalls;
+	}
+
+	public long getMaxQueueWaitMillis() {
+		return maxQueueWaitMillis;
+	}
+
+	@Override
+	public String toString() {
+		return "RequestLaneStats{" +
+			"lane=" + lane +
+			", queuedCalls=" + queuedCalls +
+			", runningCalls=" + runningCalls +
+			", startedCalls=" + startedCalls +
+			", preemptedCalls=" + preemptedCalls +
+			", averageQueueWaitMillis=" + getAverageQueueWaitMillis() +
+			", maxQueueWaitMillis=" + maxQueueWaitMillis +
+			'}';
+	}
+}
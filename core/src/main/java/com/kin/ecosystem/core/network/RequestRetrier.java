@@ -0,0 +1,163 @@
+package com.kin.ecosystem.core.network;
+
+import com.kin.ecosystem.core.util.SdkExecutor;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.HttpURLConnection;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Response;
+
+/**
+ * Retries calls that have an X-REQUEST-ID after transient failures: network errors, timeouts, 429 and 5xx responses.
+ * Every retry sends the same request id, so the server can de-duplicate a request that did reach it.
+ * Retries use exponential backoff with jitter, until {@link #MAX_RETRIES} or the {@link #DEADLINE_MILLIS}
+ * since the first attempt would be exceeded.
+ * Calls without a request id, or in a lane whose callers retry on their own, are sent once.
+ */
+class RequestRetrier {
+
+	static final String REQUEST_ID_HEADER = "X-REQUEST-ID";
+
+	static final int MAX_RETRIES = 4;
+	static final long DEADLINE_MILLIS = TimeUnit.SECONDS.toMillis(30);
+	private static final long MIN_RETRY_DELAY_MILLIS = 500;
+	private static final long MAX_RETRY_DELAY_MILLIS = TimeUnit.SECONDS.toMillis(8);
+	private static final int TOO_MANY_REQUESTS_CODE = 429;
+
+	private final RequestScheduler requestScheduler;
+	private final SdkExecutor sdkExecutor;
+	private final long minRetryDelayMillis;
+	private final Random random = new Random();
+
+	RequestRetrier(RequestScheduler requestScheduler, SdkExecutor sdkExecutor) {
+		this(requestScheduler, sdkExecutor, MIN_RETRY_DELAY_MILLIS);
+	}
+
+	RequestRetrier(RequestScheduler requestScheduler, SdkExecutor sdkExecutor, long minRetryDelayMillis) {
+		this.requestScheduler = requestScheduler;
+		this.sdkExecutor = sdkExecutor;
+		this.minRetryDelayMillis = minRetryDelayMillis;
+	}
+
+	Response execute(Call call, RequestLane lane) throws IOException {
+		if (!isRetryable(call, lane)) {
+			return requestScheduler.execute(call, lane);
+		}
+		final long deadline = now() + DEADLINE_MILLIS;
+		int retries = 0;
+		while (true) {
+			long retryDelay;
+			try {
+				final Response response = requestScheduler.execute(call, lane);
+				retryDelay = getRetryDelay(retries, deadline, isTransient(response));
+				if (retryDelay < 0) {
+					onFinished(retries, response.isSuccessful());
+					return response;
+				}
+				response.close();
+			} catch (IOException e) {
+				retryDelay = getRetryDelay(retries, deadline, !call.isCanceled());
+				if (retryDelay < 0) {
+					onFinished(retries, false);
+					throw e;
+				}
+			}
+			try {
+				Thread.sleep(retryDelay);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				onFinished(retries, false);
+				throw new InterruptedIOException("interrupted while waiting to retry");
+			}
+			retries++;
+			SharedHttpClient.onRetry();
+			call = call.clone();
+		}
+	}
+
+	void enqueue(Call call, RequestLane lane, Callback callback) {
+		if (!isRetryable(call, lane)) {
+			requestScheduler.enqueue(call, lane, callback);
+			return;
+		}
+		enqueue(call, lane, callback, 0, now() + DEADLINE_MILLIS);
+	}
+
+	private void enqueue(final Call call, final RequestLane lane, final Callback callback, final int retries,
+		final long deadline) {
+		requestScheduler.enqueue(call, lane, new Callback() {
+			@Override
+			public void onFailure(Call call, IOException e) {
+				final long retryDelay = getRetryDelay(retries, deadline, !call.isCanceled());
+				if (retryDelay < 0) {
+					onFinished(retries, false);
+					callback.onFailure(call, e);
+				} else {
+					scheduleRetry(call, lane, callback, retries, deadline, retryDelay);
+				}
+			}
+
+			@Override
+			public void onResponse(Call call, Response response) throws IOException {
+				final long retryDelay = getRetryDelay(retries, deadline, isTransient(response));
+				if (retryDelay < 0) {
+					onFinished(retries, response.isSuccessful());
+					callback.onResponse(call, response);
+				} else {
+					response.close();
+					scheduleRetry(call, lane, callback, retries, deadline, retryDelay);
+				}
+			}
+		});
+	}
+
+	private void scheduleRetry(final Call call, final RequestLane lane, final Callback callback, final int retries,
+		final long deadline, long retryDelay) {
+		sdkExecutor.schedule(new Runnable() {
+			@Override
+			public void run() {
+				SharedHttpClient.onRetry();
+				enqueue(call.clone(), lane, callback, retries + 1, deadline);
+			}
+		}, retryDelay, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * @return the delay before the next retry, or -1 if the call should not be retried.
+	 */
+	private long getRetryDelay(int retries, long deadline, boolean isTransientFailure) {
+		if (!isTransientFailure || retries >= MAX_RETRIES) {
+			return -1;
+		}
+		final long delay = Math.min(MAX_RETRY_DELAY_MILLIS, minRetryDelayMillis << retries);
+		final long jitteredDelay = delay / 2 + (long) (random.nextDouble() * delay / 2);
+		return now() + jitteredDelay < deadline ? jitteredDelay : -1;
+	}
+
+	private static void onFinished(int retries, boolean isSuccessful) {
+		if (retries > 0) {
+			SharedHttpClient.onRetriedCallFinished(isSuccessful);
+		}
+	}
+
+	private static boolean isRetryable(Call call, RequestLane lane) {
+		if (!lane.isRetried) {
+			return false;
+		}
+		final String requestId = call.request().header(REQUEST_ID_HEADER);
+		return requestId != null && !requestId.isEmpty();
+	}
+
+	private static boolean isTransient(Response response) {
+		final int code = response.code();
+		return code == HttpURLConnection.HTTP_CLIENT_TIMEOUT || code == TOO_MANY_REQUESTS_CODE
+			|| (code >= HttpURLConnection.HTTP_INTERNAL_ERROR && code != HttpURLConnection.HTTP_NOT_IMPLEMENTED);
+	}
+
+	private static long now() {
+		return TimeUnit.NANOSECONDS.toMillis(System.nanoTime());
+	}
+}
@@ -0,0 +1,248 @@
+package com.kin.ecosystem.core.network;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Response;
+
+/**
+ * Limits the running calls of each {@link RequestLane}, so a burst of calls in one lane can't delay the calls
+ * in another.
+ * Preemptible lanes run only while the {@link RequestLane#INTERACTIVE} lane is idle, their running async calls
+ * are canceled when an interactive call arrives and queued again without notifying the caller.
+ * Both async and sync calls wait for a slot, sync calls wait on the calling thread.
+ */
+class RequestScheduler {
+
+	private final Object lock = new Object();
+
+	// Guarded by lock.
+	private final Map<RequestLane, Lane> lanes = new EnumMap<>(RequestLane.class);
+
+	private static class Lane {
+
+		final RequestLane type;
+		final ArrayDeque<Task> queue = new ArrayDeque<>();
+		final List<Task> running = new ArrayList<>();
+		long startedCalls;
+		long preemptedCalls;
+		long totalQueueWaitMillis;
+		long maxQueueWaitMillis;
+
+		Lane(RequestLane type) {
+			this.type = type;
+		}
+	}
+
+	private static class Task {
+
+		final Call call;
+		// null for sync calls.
+		final Callback callback;
+		final RequestLane lane;
+		long queuedTimeMillis;
+		boolean isStarted;
+		boolean isPreempted;
+
+		Task(Call call, Callback callback, RequestLane lane) {
+			this.call = call;
+			this.callback = callback;
+			this.lane = lane;
+		}
+	}
+
+	RequestScheduler() {
+		for (RequestLane type : RequestLane.values()) {
+			lanes.put(type, new Lane(type));
+		}
+	}
+
+	/**
+	 * Enqueue the call once its lane has a free slot.
+	 */
+	void enqueue(Call call, RequestLane lane, Callback callback) {
+		final Task task = new Task(call, callback, lane);
+		final List<Task> preempted;
+		final List<Task> ready;
+		synchronized (lock) {
+			preempted = add(task);
+			ready = promote();
+		}
+		cancel(preempted);
+		start(ready);
+	}
+
+	/**
+	 * Execute the call on the calling thread once its lane has a free slot.
+	 */
+	Response execute(Call call, RequestLane lane) throws IOException {
+		final Task task = new Task(call, null, lane);
+		final List<Task> preempted;
+		final List<Task> ready;
+		synchronized (lock) {
+			preempted = add(task);
+			ready = promote();
+		}
+		cancel(preempted);
+		start(ready);
+
+		boolean isInterrupted = false;
+		synchronized (lock) {
+			while (!task.isStarted && !isInterrupted) {
+				try {
+					lock.wait();
+				} catch (InterruptedException e) {
+					// Already started if it's not in the queue, the call runs and the interrupt is kept.
+					isInterrupted = lanes.get(lane).queue.remove(task);
+					if (!isInterrupted) {
+						Thread.currentThread().interrupt();
+					}
+				}
+			}
+		}
+		if (isInterrupted) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("interrupted while waiting for a " + lane + " slot");
+		}
+		try {
+			return call.execute();
+		} finally {
+			finish(task);
+		}
+	}
+
+	RequestLaneStats getStats(RequestLane type) {
+		synchronized (lock) {
+			final Lane lane = lanes.get(type);
+			return new RequestLaneStats(type, lane.queue.size(), lane.running.size(), lane.startedCalls,
+				lane.preemptedCalls, lane.totalQueueWaitMillis, lane.maxQueueWaitMillis);
+		}
+	}
+
+	/**
+	 * @return running calls to cancel to make room for the added task.
+	 */
+	private List<Task> add(Task task) {
+		task.queuedTimeMillis = now();
+		lanes.get(task.lane).queue.add(task);
+		final List<Task> preempted = new ArrayList<>();
+		if (task.lane == RequestLane.INTERACTIVE) {
+			for (Lane lane : lanes.values()) {
+				if (!lane.type.isPreemptible) {
+					continue;
+				}
+				for (Task runningTask : lane.running) {
+					if (runningTask.callback != null && !runningTask.isPreempted) {
+						runningTask.isPreempted = true;
+						preempted.add(runningTask);
+					}
+				}
+			}
+		}
+		return preempted;
+	}
+
+	/**
+	 * Move queued tasks to running while their lanes have free slots.
+	 *
+	 * @return async tasks to start, sync tasks are notified.
+	 */
+	private List<Task> promote() {
+		final List<Task> ready = new ArrayList<>();
+		boolean isSyncTaskReady = false;
+		final Lane interactive = lanes.get(RequestLane.INTERACTIVE);
+		final boolean isInteractiveIdle = interactive.queue.isEmpty() && interactive.running.isEmpty();
+		for (Lane lane : lanes.values()) {
+			if (lane.type.isPreemptible && !isInteractiveIdle) {
+				continue;
+			}
+			while (!lane.queue.isEmpty() && lane.running.size() < lane.type.maxRunningCalls) {
+				final Task task = lane.queue.poll();
+				final long queueWaitMillis = now() - task.queuedTimeMillis;
+				lane.startedCalls++;
+				lane.totalQueueWaitMillis += queueWaitMillis;
+				lane.maxQueueWaitMillis = Math.max(lane.maxQueueWaitMillis, queueWaitMillis);
+				lane.running.add(task);
+				task.isStarted = true;
+				if (task.callback != null) {
+					ready.add(task);
+				} else {
+					isSyncTaskReady = true;
+				}
+			}
+		}
+		if (isSyncTaskReady) {
+			lock.notifyAll();
+		}
+		return ready;
+	}
+
+	private void start(List<Task> ready) {
+		for (final Task task : ready) {
+			task.call.enqueue(new Callback() {
+				@Override
+				public void onFailure(Call call, IOException e) {
+					if (!requeueIfPreempted(task)) {
+						finish(task);
+						task.callback.onFailure(call, e);
+					}
+				}
+
+				@Override
+				public void onResponse(Call call, Response response) throws IOException {
+					// Like a sync call the slot is held until the headers arrive,
+					// the caller may take its time reading the body.
+					finish(task);
+					task.callback.onResponse(call, response);
+				}
+			});
+		}
+	}
+
+	private void cancel(List<Task> preempted) {
+		for (Task task : preempted) {
+			task.call.cancel();
+		}
+	}
+
+	/**
+	 * A preempted call failed because it was canceled, queue a fresh copy in front of its lane.
+	 */
+	private boolean requeueIfPreempted(Task task) {
+		final List<Task> ready;
+		synchronized (lock) {
+			if (!task.isPreempted) {
+				return false;
+			}
+			final Lane lane = lanes.get(task.lane);
+			lane.running.remove(task);
+			lane.preemptedCalls++;
+			final Task retry = new Task(task.call.clone(), task.callback, task.lane);
+			retry.queuedTimeMillis = now();
+			lane.queue.addFirst(retry);
+			ready = promote();
+		}
+		start(ready);
+		return true;
+	}
+
+	private void finish(Task task) {
+		final List<Task> ready;
+		synchronized (lock) {
+			lanes.get(task.lane).running.remove(task);
+			ready = promote();
+		}
+		start(ready);
+	}
+
+	private static long now() {
+		return TimeUnit.NANOSECONDS.toMillis(System.nanoTime());
+	}
+}
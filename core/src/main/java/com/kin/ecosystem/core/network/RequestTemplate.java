@@ -0,0 +1,254 @@
+package com.kin.ecosystem.core.network;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import com.kin.ecosystem.core.network.ApiClient.Methods;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import okhttp3.Call;
+import okhttp3.Headers;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.internal.http.HttpMethod;
+
+/**
+ * A request of one endpoint, resolved once: the path template is split to its literal parts, the static headers,
+ * the media type and the endpoint name are computed when the template is built.
+ * A call fills only the dynamic parts, path and query parameters, dynamic headers and the body.
+ * Templates are immutable and should be kept in static fields.
+ */
+public class RequestTemplate {
+
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+	private static final String JSON_MEDIA_TYPE = "application/json";
+	private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+	private static final byte[] EMPTY_BODY = new byte[0];
+
+	final String method;
+	final String endpointName;
+	final Headers staticHeaders;
+	private final String[] pathParts;
+	private final String[] pathParamNames;
+	private final MediaType mediaType;
+	private final boolean permitsBody;
+	private final int pathLength;
+
+	private RequestTemplate(Builder builder) {
+		this.method = builder.method;
+		this.endpointName = NetworkMetrics.getEndpointName(builder.method,
+			builder.endpointPath != null ? builder.endpointPath : builder.pathTemplate);
+
+		final List<String> parts = new ArrayList<>();
+		final List<String> names = new ArrayList<>();
+		final String template = builder.pathTemplate;
+		int start = 0;
+		int open;
+		while ((open = template.indexOf('{', start)) >= 0) {
+			final int close = template.indexOf('}', open);
+			parts.add(template.substring(start, open));
+			names.add(template.substring(open + 1, close));
+			start = close + 1;
+		}
+		parts.add(template.substring(start));
+		this.pathParts = parts.toArray(new String[parts.size()]);
+		this.pathParamNames = names.toArray(new String[names.size()]);
+		this.pathLength = template.length();
+
+		final String contentType = builder.contentType != null ? builder.contentType : JSON_MEDIA_TYPE;
+		this.mediaType = MediaType.parse(contentType);
+		this.permitsBody = HttpMethod.permitsRequestBody(builder.method);
+		final Headers.Builder headers = new Headers.Builder();
+		if (builder.accept != null) {
+			headers.add("Accept", builder.accept);
+		}
+		headers.add("Content-Type", contentType);
+		this.staticHeaders = headers.build();
+	}
+
+	public static Builder builder(@Methods String method, @NonNull String pathTemplate) {
+		return new Builder(method, pathTemplate);
+	}
+
+	/**
+	 * Start a call of this template, fill its dynamic parts and {@link CallBuilder#build()} it.
+	 */
+	public CallBuilder newCall(@NonNull ApiClient apiClient) {
+		return new CallBuilder(this, apiClient);
+	}
+
+	public static class Builder {
+
+		private final String method;
+		private final String pathTemplate;
+		private String accept;
+		private String contentType;
+		private String endpointPath;
+
+		private Builder(String method, String pathTemplate) {
+			this.method = method;
+			this.pathTemplate = pathTemplate;
+		}
+
+		public Builder accept(String accept) {
+			this.accept = accept;
+			return this;
+		}
+
+		/**
+		 * @param contentType the request body content type, JSON by default.
+		 */
+		public Builder contentType(String contentType) {
+			this.contentType = contentType;
+			return this;
+		}
+
+		/**
+		 * @param endpointPath the path reported to {@link NetworkMetrics}, the path template by default.
+		 */
+		public Builder endpointPath(String endpointPath) {
+			this.endpointPath = endpointPath;
+			return this;
+		}
+
+		public RequestTemplate build() {
+			return new RequestTemplate(this);
+		}
+	}
+
+	public static class CallBuilder {
+
+		private final RequestTemplate template;
+		private final ApiClient apiClient;
+		private final String[] pathParams;
+		private final Request.Builder requestBuilder = new Request.Builder();
+		private StringBuilder query;
+		private Object body;
+
+		private CallBuilder(RequestTemplate template, ApiClient apiClient) {
+			this.template = template;
+			this.apiClient = apiClient;
+			this.pathParams = new String[template.pathParamNames.length];
+			requestBuilder.headers(apiClient.getTemplateHeaders(template));
+		}
+
+		public CallBuilder pathParam(@NonNull String name, @NonNull String value) {
+			for (int i = 0; i < pathParams.length; i++) {
+				if (template.pathParamNames[i].equals(name)) {
+					pathParams[i] = value;
+					return this;
+				}
+			}
+			throw new IllegalArgumentException("No path parameter " + name + " in " + template.endpointName);
+		}
+
+		/**
+		 * @param value ignored if null.
+		 */
+		public CallBuilder queryParam(@NonNull String name, @Nullable Object value) {
+			if (value == null) {
+				return this;
+			}
+			if (query == null) {
+				query = new StringBuilder();
+				query.append('?');
+			} else {
+				query.append('&');
+			}
+			appendEscaped(query, name);
+			query.append('=');
+			appendEscaped(query, String.valueOf(value));
+			return this;
+		}
+
+		/**
+		 * @param value ignored if null.
+		 */
+		public CallBuilder header(@NonNull String name, @Nullable String value) {
+			if (value != null) {
+				requestBuilder.header(name, value);
+			}
+			return this;
+		}
+
+		/**
+		 * @param body a model serialized to JSON, or a byte array which is sent as is.
+		 */
+		public CallBuilder body(@Nullable Object body) {
+			this.body = body;
+			return this;
+		}
+
+		public Call build() throws ApiException {
+			final String basePath = apiClient.getBasePath();
+			final StringBuilder url = new StringBuilder(basePath.length() + template.pathLength + 32
+				+ (query != null ? query.length() : 0));
+			url.append(basePath).append(template.pathParts[0]);
+			for (int i = 0; i < pathParams.length; i++) {
+				if (pathParams[i] == null) {
+					throw new ApiException(
+						"Missing the required parameter '" + template.pathParamNames[i] + "' when calling "
+							+ template.endpointName);
+				}
+				appendEscaped(url, pathParams[i]);
+				url.append(template.pathParts[i + 1]);
+			}
+			if (query != null) {
+				url.append(query);
+			}
+			return apiClient.newCall(requestBuilder
+				.url(url.toString())
+				.method(template.method, createBody())
+				.tag(template.endpointName)
+				.build());
+		}
+
+		private RequestBody createBody() {
+			if (!template.permitsBody) {
+				return null;
+			}
+			if (body instanceof byte[]) {
+				return RequestBody.create(template.mediaType, (byte[]) body);
+			}
+			if (body != null) {
+				return RequestBody.create(template.mediaType, apiClient.getJSON().serialize(body));
+			}
+			// Allow calling DELETE without sending a request body, use an empty body for POST, PUT and PATCH.
+			return ApiClient.DELETE.equals(template.method) ? null : RequestBody.create(template.mediaType, EMPTY_BODY);
+		}
+	}
+
+	/**
+	 * Percent-encode the value as {@link ApiClient#escapeString(String)} does, ids and numbers are appended as is.
+	 */
+	static void appendEscaped(StringBuilder builder, String value) {
+		final int length = value.length();
+		for (int i = 0; i < length; i++) {
+			if (!isUnreserved(value.charAt(i))) {
+				appendPercentEncoded(builder, value);
+				return;
+			}
+		}
+		builder.append(value);
+	}
+
+	private static void appendPercentEncoded(StringBuilder builder, String value) {
+		for (byte b : value.getBytes(UTF_8)) {
+			final char c = (char) (b & 0xFF);
+			if (isUnreserved(c)) {
+				builder.append(c);
+			} else {
+				builder.append('%').append(HEX_DIGITS[(c >> 4) & 0xF]).append(HEX_DIGITS[c & 0xF]);
+			}
+		}
+	}
+
+	/**
+	 * The characters {@link java.net.URLEncoder} leaves as is.
+	 */
+	private static boolean isUnreserved(char c) {
+		return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+			|| c == '-' || c == '_' || c == '.' || c == '*';
+	}
+}
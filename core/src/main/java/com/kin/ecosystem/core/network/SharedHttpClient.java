@@ -0,0 +1,214 @@
+package com.kin.ecosystem.core.network;
+
+import android.support.annotation.NonNull;
+import com.kin.ecosystem.core.Log;
+import com.kin.ecosystem.core.Logger;
+import com.kin.ecosystem.core.util.SdkExecutor;
+import java.io.File;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import okhttp3.Cache;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Holds the single {@link OkHttpClient} engine that every {@link ApiClient} derives from,
+ * so all the apis share one connection pool, one dispatcher and one TLS session cache.
+ * Once {@link #setCacheDirectory(File)} is called they also share one HTTP response cache,
+ * which follows the server Cache-Control and revalidates stale responses with If-None-Match / If-Modified-Since.
+ */
+public final class SharedHttpClient {
+
+	private static final int MAX_IDLE_CONNECTIONS = 5;
+	private static final long KEEP_ALIVE_DURATION_MINUTES = 5;
+	private static final long CONNECT_TIMEOUT_SECONDS = 30;
+	// The request lanes limit the calls, so the interactive and background lanes can run together on the same host.
+	private static final int MAX_REQUESTS_PER_HOST = RequestLane.INTERACTIVE.maxRunningCalls
+		+ RequestLane.BACKGROUND_SYNC.maxRunningCalls;
+	private static final String HTTP_CACHE_DIR_NAME = "kinecosystem_http_cache";
+	private static final long MAX_CACHE_SIZE_BYTES = 5 * 1024 * 1024; // 5 MB
+	private static final String TAG = SharedHttpClient.class.getSimpleName();
+
+	private static volatile OkHttpClient baseClient;
+	private static volatile Cache cache;
+	private static final RequestScheduler requestScheduler = new RequestScheduler();
+	private static final RequestRetrier requestRetrier = new RequestRetrier(requestScheduler, SdkExecutor.getInstance());
+	private static final ConnectionPrewarmer connectionPrewarmer = new ConnectionPrewarmer(SdkExecutor.getInstance());
+
+	private static final AtomicLong connectionPoolHits = new AtomicLong();
+	private static final AtomicLong connectionPoolMisses = new AtomicLong();
+	private static final AtomicLong clientBuilds = new AtomicLong();
+	private static final AtomicLong cacheRevalidations = new AtomicLong();
+	private static final AtomicLong cacheNotModified = new AtomicLong();
+	private static final AtomicLong coalescedRequests = new AtomicLong();
+	private static final AtomicLong retries = new AtomicLong();
+	private static final AtomicLong retriedCalls = new AtomicLong();
+	private static final AtomicLong retriedCallsSucceeded = new AtomicLong();
+
+	/**
+	 * Network interceptor, sees the conditional requests the cache sends and their 304 responses.
+	 */
+	private static final Interceptor REVALIDATION_COUNTER = new Interceptor() {
+		@Override
+		public Response intercept(Chain chain) throws IOException {
+			final Request request = chain.request();
+			final boolean isConditional =
+				request.header("If-None-Match") != null || request.header("If-Modified-Since") != null;
+			final Response response = chain.proceed(request);
+			if (isConditional) {
+				cacheRevalidations.incrementAndGet();
+				if (response.code() == HttpURLConnection.HTTP_NOT_MODIFIED) {
+					cacheNotModified.incrementAndGet();
+				}
+			}
+			return response;
+		}
+	};
+
+	private SharedHttpClient() {
+	}
+
+	static RequestScheduler getRequestScheduler() {
+		return requestScheduler;
+	}
+
+	static RequestRetrier getRequestRetrier() {
+		return requestRetrier;
+	}
+
+	static OkHttpClient getBaseClient() {
+		if (baseClient == null) {
+			synchronized (SharedHttpClient.class) {
+				if (baseClient == null) {
+					final Dispatcher dispatcher = new Dispatcher();
+					dispatcher.setMaxRequestsPerHost(MAX_REQUESTS_PER_HOST);
+					baseClient = new OkHttpClient.Builder()
+						.connectionPool(
+							new ConnectionPool(MAX_IDLE_CONNECTIONS, KEEP_ALIVE_DURATION_MINUTES, TimeUnit.MINUTES))
+						.dispatcher(dispatcher)
+						.protocols(Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1))
+						.connectTimeout(CONNECT_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+						.eventListenerFactory(NetworkEventListener.FACTORY)
+						.addNetworkInterceptor(REVALIDATION_COUNTER)
+						.cache(cache)
+						.build();
+				}
+			}
+		}
+		return baseClient;
+	}
+
+	/**
+	 * Enable the HTTP response cache in the given directory, such as {@code Context.getCacheDir()}.
+	 * Should be called before the api clients are created, clients created before don't use the cache.
+	 */
+	public static void setCacheDirectory(@NonNull File directory) {
+		synchronized (SharedHttpClient.class) {
+			if (cache != null) {
+				return;
+			}
+			cache = new Cache(new File(directory, HTTP_CACHE_DIR_NAME), MAX_CACHE_SIZE_BYTES);
+			if (baseClient != null) {
+				baseClient = baseClient.newBuilder().cache(cache).build();
+			}
+		}
+	}
+
+	/**
+	 * Remove all the cached responses, they belong to the user which logged out.
+	 * Blocking, should be called from a background thread.
+	 */
+	public static void clearCache() {
+		final Cache currentCache = cache;
+		if (currentCache != null) {
+			try {
+				currentCache.evictAll();
+			} catch (IOException e) {
+				Logger.log(new Log().withTag(TAG).priority(Log.ERROR).put("clearCache failed", e.getMessage()));
+			}
+		}
+	}
+
+	/**
+	 * Set up, in the background, the connections of the given SDK hosts before their first calls.
+	 *
+	 * @param sdkUrls urls of hosts called through the api clients, connected and kept in the shared pool.
+	 * @param otherUrls urls of hosts called by other http clients, only resolved.
+	 */
+	public static void prewarm(@NonNull List<String> sdkUrls, @NonNull List<String> otherUrls) {
+		for (String url : sdkUrls) {
+			connectionPrewarmer.prewarm(url, true);
+		}
+		for (String url : otherUrls) {
+			connectionPrewarmer.prewarm(url, false);
+		}
+	}
+
+	/**
+	 * @return a builder that shares the connection pool and dispatcher of the base engine.
+	 */
+	static OkHttpClient.Builder newBuilder() {
+		return getBaseClient().newBuilder();
+	}
+
+	static void onConnectionAcquired(HttpUrl url, boolean isReused) {
+		if (isReused) {
+			connectionPoolHits.incrementAndGet();
+		} else {
+			connectionPoolMisses.incrementAndGet();
+		}
+		connectionPrewarmer.onConnectionAcquired(url, isReused);
+	}
+
+	static void onClientBuilt() {
+		clientBuilds.incrementAndGet();
+	}
+
+	static void onRequestCoalesced() {
+		coalescedRequests.incrementAndGet();
+	}
+
+	static void onRetry() {
+		retries.incrementAndGet();
+	}
+
+	static void onRetriedCallFinished(boolean isSuccessful) {
+		retriedCalls.incrementAndGet();
+		if (isSuccessful) {
+			retriedCallsSucceeded.incrementAndGet();
+		}
+	}
+
+	/**
+	 * @return a snapshot of the shared engine counters.
+	 */
+	public static HttpClientStats getStats() {
+		final ConnectionPool connectionPool = getBaseClient().connectionPool();
+		final Cache currentCache = cache;
+		return new HttpClientStats(connectionPoolHits.get(), connectionPoolMisses.get(),
+			connectionPool.connectionCount(), connectionPool.idleConnectionCount(), clientBuilds.get(),
+			currentCache != null ? currentCache.requestCount() : 0,
+			currentCache != null ? currentCache.hitCount() : 0,
+			currentCache != null ? currentCache.networkCount() : 0,
+			cacheRevalidations.get(), cacheNotModified.get(), coalescedRequests.get(), retries.get(),
+			retriedCalls.get(), retriedCallsSucceeded.get(), connectionPrewarmer.getPrewarmedConnections(),
+			connectionPrewarmer.getWarmHits(), connectionPrewarmer.getWarmMisses());
+	}
+
+	/**
+	 * @return a snapshot of the lane counters, including how long its calls waited for a free slot.
+	 */
+	public static RequestLaneStats getLaneStats(@NonNull RequestLane lane) {
+		return requestScheduler.getStats(lane);
+	}
+}
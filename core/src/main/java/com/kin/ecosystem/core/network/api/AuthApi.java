@@ -22,22 +22,39 @@ import com.kin.ecosystem.core.network.ApiCallback;
 import com.kin.ecosystem.core.network.ApiClient;
 import com.kin.ecosystem.core.network.ApiException;
 import com.kin.ecosystem.core.network.ApiResponse;
-import com.kin.ecosystem.core.network.Pair;
+import com.kin.ecosystem.core.network.RequestTemplate;
 import com.kin.ecosystem.core.network.model.AccountInfo;
 import com.kin.ecosystem.core.network.model.AuthToken;
 import com.kin.ecosystem.core.network.model.JWT;
 import com.kin.ecosystem.core.network.model.UserProfile;
 import com.kin.ecosystem.core.network.model.UserProperties;
 import java.lang.reflect.Type;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
 import okhttp3.Call;
 
 
 public class AuthApi {
 
+	private static final RequestTemplate SIGN_IN = RequestTemplate
+		.builder(ApiClient.POST, "/users")
+		.accept(ApiClient.APPLICATION_JSON_KEY)
+		.build();
+	private static final RequestTemplate USER_PROFILE = RequestTemplate
+		.builder(ApiClient.GET, "/users/me")
+		.accept(ApiClient.APPLICATION_JSON_KEY)
+		.build();
+	private static final RequestTemplate HAS_ACCOUNT = RequestTemplate
+		.builder(ApiClient.GET, "/users/exists")
+		.accept(ApiClient.APPLICATION_JSON_KEY)
+		.build();
+	private static final RequestTemplate UPDATE_USER = RequestTemplate
+		.builder(PATCH, "/users/me")
+		.accept(ApiClient.APPLICATION_JSON_KEY)
+		.build();
+	private static final RequestTemplate LOGOUT = RequestTemplate
+		.builder(ApiClient.DELETE, "/users/me/session")
+		.accept(ApiClient.APPLICATION_JSON_KEY)
+		.build();
+
 	private ApiClient apiClient;
 
 	public AuthApi() {
@@ -65,40 +82,10 @@ public class AuthApi {
 	 * @throws ApiException If fail to serialize the request body object
 	 */
 	public Call signInCall(JWT jwt, String X_REQUEST_ID) throws ApiException {
-		Object localVarPostBody = jwt;
-
-		// create path and map variables
-		String localVarPath = "/users";
-
-		List<Pair> localVarQueryParams = new ArrayList<Pair>();
-		List<Pair> localVarCollectionQueryParams = new ArrayList<Pair>();
-
-		Map<String, String> localVarHeaderParams = new HashMap<String, String>();
-		if (X_REQUEST_ID != null) {
-			localVarHeaderParams.put("X-REQUEST-ID", apiClient.parameterToString(X_REQUEST_ID));
-		}
-
-		Map<String, Object> localVarFormParams = new HashMap<String, Object>();
-
-		final String[] localVarAccepts = {
-			"application/json", "application/json"
-		};
-		final String localVarAccept = apiClient.selectHeaderAccept(localVarAccepts);
-		if (localVarAccept != null) {
-			localVarHeaderParams.put("Accept", localVarAccept);
-		}
-
-		final String[] localVarContentTypes = {
-			"application/json"
-		};
-		final String localVarContentType = apiClient.selectHeaderContentType(localVarContentTypes);
-		localVarHeaderParams.put("Content-Type", localVarContentType);
-
-		String[] localVarAuthNames = new String[]{};
-		return apiClient
-			.buildCall(localVarPath, ApiClient.POST, localVarQueryParams, localVarCollectionQueryParams,
-				localVarPostBody,
-				localVarHeaderParams, localVarFormParams, localVarAuthNames);
+		return SIGN_IN.newCall(apiClient)
+			.header("X-REQUEST-ID", X_REQUEST_ID)
+			.body(jwt)
+			.build();
 	}
 
 	@SuppressWarnings("rawtypes")
@@ -178,38 +165,9 @@ public class AuthApi {
 	 * @throws ApiException If fail to serialize the request body object
 	 */
 	public Call userProfileCall(String X_REQUEST_ID) throws ApiException {
-		Object localVarPostBody = null;
-
-		// create path and map variables
-		String localVarPath = "/users/me";
-
-		List<Pair> localVarQueryParams = new ArrayList<Pair>();
-		List<Pair> localVarCollectionQueryParams = new ArrayList<Pair>();
-
-		Map<String, String> localVarHeaderParams = new HashMap<String, String>();
-		if (X_REQUEST_ID != null) {
-			localVarHeaderParams.put("X-REQUEST-ID", apiClient.parameterToString(X_REQUEST_ID));
-		}
-
-		Map<String, Object> localVarFormParams = new HashMap<String, Object>();
-
-		final String[] localVarAccepts = {
-			"application/json"
-		};
-		final String localVarAccept = apiClient.selectHeaderAccept(localVarAccepts);
-		if (localVarAccept != null) {
-			localVarHeaderParams.put("Accept", localVarAccept);
-		}
-
-		final String[] localVarContentTypes = {
-
-		};
-		final String localVarContentType = apiClient.selectHeaderContentType(localVarContentTypes);
-		localVarHeaderParams.put("Content-Type", localVarContentType);
-
-		String[] localVarAuthNames = new String[]{};
-		return apiClient.buildCall(localVarPath, ApiClient.GET, localVarQueryParams, localVarCollectionQueryParams,
-			localVarPostBody, localVarHeaderParams, localVarFormParams, localVarAuthNames);
+		return USER_PROFILE.newCall(apiClient)
+			.header("X-REQUEST-ID", X_REQUEST_ID)
+			.build();
 	}
 
 	@SuppressWarnings("rawtypes")
@@ -279,43 +237,10 @@ public class AuthApi {
 	 * @throws ApiException If fail to serialize the request body object
 	 */
 	public Call hasAccountCall(String userId, String X_REQUEST_ID) throws ApiException {
-		Object localVarPostBody = userId;
-
-		// create path and map variables
-		String localVarPath = "/users/exists";
-
-		List<Pair> localVarQueryParams = new ArrayList<Pair>();
-		List<Pair> localVarCollectionQueryParams = new ArrayList<Pair>();
-
-		Map<String, String> localVarHeaderParams = new HashMap<String, String>();
-		if (userId != null) {
-			localVarQueryParams.addAll(apiClient.parameterToPair("user_id", userId));
-		}
-		if (X_REQUEST_ID != null) {
-			localVarHeaderParams.put("X-REQUEST-ID", apiClient.parameterToString(X_REQUEST_ID));
-		}
-
-		Map<String, Object> localVarFormParams = new HashMap<String, Object>();
-
-		final String[] localVarAccepts = {
-			"application/json", "application/json"
-		};
-		final String localVarAccept = apiClient.selectHeaderAccept(localVarAccepts);
-		if (localVarAccept != null) {
-			localVarHeaderParams.put("Accept", localVarAccept);
-		}
-
-		final String[] localVarContentTypes = {
-			"application/json"
-		};
-		final String localVarContentType = apiClient.selectHeaderContentType(localVarContentTypes);
-		localVarHeaderParams.put("Content-Type", localVarContentType);
-
-		String[] localVarAuthNames = new String[]{};
-		return apiClient
-			.buildCall(localVarPath, ApiClient.GET, localVarQueryParams, localVarCollectionQueryParams,
-				localVarPostBody,
-				localVarHeaderParams, localVarFormParams, localVarAuthNames);
+		return HAS_ACCOUNT.newCall(apiClient)
+			.queryParam("user_id", userId)
+			.header("X-REQUEST-ID", X_REQUEST_ID)
+			.build();
 	}
 
 	@SuppressWarnings("rawtypes")
@@ -388,51 +313,26 @@ public class AuthApi {
 	 * Build call for updateUser
 	 *
 	 * @param userproperties (required)
+	 * @param X_REQUEST_ID A unique id for the request. A retransmitted request will have the same id  (required)
 	 * @return Call to execute
 	 * @throws ApiException If fail to serialize the request body object
 	 */
-	public Call updateUserCall(UserProperties userproperties) throws ApiException {
-		Object localVarPostBody = userproperties;
-
-		// create path and map variables
-		String localVarPath = "/users/me";
-
-		List<Pair> localVarQueryParams = new ArrayList<Pair>();
-		List<Pair> localVarCollectionQueryParams = new ArrayList<Pair>();
-
-		Map<String, String> localVarHeaderParams = new HashMap<String, String>();
-
-		Map<String, Object> localVarFormParams = new HashMap<String, Object>();
-
-		final String[] localVarAccepts = {
-			"application/json"
-		};
-		final String localVarAccept = apiClient.selectHeaderAccept(localVarAccepts);
-		if (localVarAccept != null) {
-			localVarHeaderParams.put("Accept", localVarAccept);
-		}
-
-		final String[] localVarContentTypes = {
-			"application/json"
-		};
-		final String localVarContentType = apiClient.selectHeaderContentType(localVarContentTypes);
-		localVarHeaderParams.put("Content-Type", localVarContentType);
-
-		String[] localVarAuthNames = new String[]{};
-		return apiClient
-			.buildCall(localVarPath, PATCH, localVarQueryParams, localVarCollectionQueryParams, localVarPostBody,
-				localVarHeaderParams, localVarFormParams, localVarAuthNames);
+	public Call updateUserCall(UserProperties userproperties, String X_REQUEST_ID) throws ApiException {
+		return UPDATE_USER.newCall(apiClient)
+			.header("X-REQUEST-ID", X_REQUEST_ID)
+			.body(userproperties)
+			.build();
 	}
 
 	@SuppressWarnings("rawtypes")
-	private Call updateUserValidateBeforeCall(UserProperties userproperties) throws ApiException {
+	private Call updateUserValidateBeforeCall(UserProperties userproperties, String X_REQUEST_ID) throws ApiException {
 
 		// verify the required parameter 'userproperties' is set
 		if (userproperties == null) {
 			throw new ApiException("Missing the required parameter 'userproperties' when calling updateUser(Async)");
 		}
 
-		Call call = updateUserCall(userproperties);
+		Call call = updateUserCall(userproperties, X_REQUEST_ID);
 		return call;
 	}
 
@@ -441,12 +341,14 @@ public class AuthApi {
 	 * Update user - wallet address
 	 *
 	 * @param userproperties (required)
+	 * @param X_REQUEST_ID A unique id for the request. A retransmitted request will have the same id  (required)
 	 * @param callback The callback to be executed when the API call finishes
 	 * @return The request call
 	 * @throws ApiException If fail to process the API call, e.g. serializing the request body object
 	 */
-	public Call updateUserAsync(UserProperties userproperties, final ApiCallback<Void> callback) throws ApiException {
-		Call call = updateUserValidateBeforeCall(userproperties);
+	public Call updateUserAsync(UserProperties userproperties, String X_REQUEST_ID,
+		final ApiCallback<Void> callback) throws ApiException {
+		Call call = updateUserValidateBeforeCall(userproperties, X_REQUEST_ID);
 		apiClient.executeAsync(call, callback);
 		return call;
 	}
@@ -458,30 +360,9 @@ public class AuthApi {
 	 * @throws ApiException If fail to serialize the request body object
 	 */
 	private Call logoutCall(final String token) throws ApiException {
-		// create path and map variables
-		String localVarPath = "/users/me/session";
-
-		Map<String, String> localVarHeaderParams = new HashMap<String, String>();
-
-		final String[] localVarAccepts = {
-			"application/json"
-		};
-		final String localVarAccept = apiClient.selectHeaderAccept(localVarAccepts);
-		if (localVarAccept != null) {
-			localVarHeaderParams.put("Accept", localVarAccept);
-		}
-
-		final String[] localVarContentTypes = {
-			"application/json"
-		};
-		final String localVarContentType = apiClient.selectHeaderContentType(localVarContentTypes);
-		localVarHeaderParams.put("Content-Type", localVarContentType);
-		localVarHeaderParams.put("Authorization", "Bearer " + token);
-
-		String[] localVarAuthNames = new String[]{};
-		return apiClient
-			.buildCall(localVarPath, ApiClient.DELETE, null, null, null,
-				localVarHeaderParams, null, localVarAuthNames);
+		return LOGOUT.newCall(apiClient)
+			.header("Authorization", "Bearer " + token)
+			.build();
 	}
 
 	/**
@@ -7,17 +7,18 @@ import com.kin.ecosystem.core.network.ApiCallback;
 import com.kin.ecosystem.core.network.ApiClient;
 import com.kin.ecosystem.core.network.ApiException;
 import com.kin.ecosystem.core.network.ApiResponse;
-import com.kin.ecosystem.core.network.Pair;
+import com.kin.ecosystem.core.network.RequestTemplate;
 import com.kin.ecosystem.core.network.model.OfferList;
 import java.lang.reflect.Type;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
 import okhttp3.Call;
 
 
 public class OffersApi {
+    private static final RequestTemplate GET_OFFERS = RequestTemplate
+            .builder(ApiClient.GET, "/offers")
+            .accept(ApiClient.APPLICATION_JSON_KEY)
+            .build();
+
     private ApiClient apiClient;
 
     public OffersApi() {
@@ -48,40 +49,12 @@ public class OffersApi {
      * @throws ApiException If fail to serialize the request body object
      */
     public Call getOffersCall(String X_REQUEST_ID, Integer limit, String after, String before) throws ApiException {
-        Object localVarPostBody = null;
-
-        // create path and map variables
-        String localVarPath = "/offers";
-
-        List<Pair> localVarQueryParams = new ArrayList<Pair>();
-        List<Pair> localVarCollectionQueryParams = new ArrayList<Pair>();
-        if (limit != null)
-            localVarQueryParams.addAll(apiClient.parameterToPair("limit", limit));
-        if (after != null)
-            localVarQueryParams.addAll(apiClient.parameterToPair("after", after));
-        if (before != null)
-            localVarQueryParams.addAll(apiClient.parameterToPair("before", before));
-
-        Map<String, String> localVarHeaderParams = new HashMap<String, String>();
-        if (X_REQUEST_ID != null)
-            localVarHeaderParams.put("X-REQUEST-ID", apiClient.parameterToString(X_REQUEST_ID));
-
-        Map<String, Object> localVarFormParams = new HashMap<String, Object>();
-
-        final String[] localVarAccepts = {
-                "application/json", "application/json"
-        };
-        final String localVarAccept = apiClient.selectHeaderAccept(localVarAccepts);
-        if (localVarAccept != null) localVarHeaderParams.put("Accept", localVarAccept);
-
-        final String[] localVarContentTypes = {
-
-        };
-        final String localVarContentType = apiClient.selectHeaderContentType(localVarContentTypes);
-        localVarHeaderParams.put("Content-Type", localVarContentType);
-
-        String[] localVarAuthNames = new String[]{};
-        return apiClient.buildCall(localVarPath, ApiClient.GET, localVarQueryParams, localVarCollectionQueryParams, localVarPostBody, localVarHeaderParams, localVarFormParams, localVarAuthNames);
+        return GET_OFFERS.newCall(apiClient)
+                .queryParam("limit", limit)
+                .queryParam("after", after)
+                .queryParam("before", before)
+                .header("X-REQUEST-ID", X_REQUEST_ID)
+                .build();
     }
 
     @SuppressWarnings("rawtypes")
@@ -17,7 +17,7 @@ import com.kin.ecosystem.core.network.ApiCallback;
 import com.kin.ecosystem.core.network.ApiClient;
 import com.kin.ecosystem.core.network.ApiException;
 import com.kin.ecosystem.core.network.ApiResponse;
-import com.kin.ecosystem.core.network.Pair;
+import com.kin.ecosystem.core.network.RequestTemplate;
 import com.kin.ecosystem.core.network.model.Body;
 import com.kin.ecosystem.core.network.model.EarnSubmission;
 import com.kin.ecosystem.core.network.model.ExternalOrderRequest;
@@ -25,15 +25,41 @@ import com.kin.ecosystem.core.network.model.OpenOrder;
 import com.kin.ecosystem.core.network.model.Order;
 import com.kin.ecosystem.core.network.model.OrderList;
 import java.lang.reflect.Type;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
 import okhttp3.Call;
 
 
 public class OrdersApi {
 
+	private static final RequestTemplate CANCEL_ORDER = RequestTemplate
+		.builder(ApiClient.DELETE, "/orders/{order_id}")
+		.accept(ApiClient.APPLICATION_JSON_KEY)
+		.build();
+	private static final RequestTemplate CHANGE_ORDER = RequestTemplate
+		.builder(ApiClient.PATCH, "/orders/{order_id}")
+		.accept(ApiClient.APPLICATION_JSON_KEY)
+		.contentType("application/merge-patch+json")
+		.build();
+	private static final RequestTemplate CREATE_EXTERNAL_ORDER = RequestTemplate
+		.builder(ApiClient.POST, "/offers/external/orders")
+		.accept(ApiClient.APPLICATION_JSON_KEY)
+		.build();
+	private static final RequestTemplate CREATE_ORDER = RequestTemplate
+		.builder(ApiClient.POST, "/offers/{offer_id}/orders")
+		.accept(ApiClient.APPLICATION_JSON_KEY)
+		.build();
+	private static final RequestTemplate GET_HISTORY = RequestTemplate
+		.builder(ApiClient.GET, "/orders")
+		.accept(ApiClient.APPLICATION_JSON_KEY)
+		.build();
+	private static final RequestTemplate GET_ORDER = RequestTemplate
+		.builder(ApiClient.GET, "/orders/{order_id}")
+		.accept(ApiClient.APPLICATION_JSON_KEY)
+		.build();
+	private static final RequestTemplate SUBMIT_ORDER = RequestTemplate
+		.builder(ApiClient.POST, "/orders/{order_id}")
+		.accept(ApiClient.APPLICATION_JSON_KEY)
+		.build();
+
 	private ApiClient apiClient;
 
 	public OrdersApi() {
@@ -62,41 +88,10 @@ public class OrdersApi {
 	 * @throws ApiException If fail to serialize the request body object
 	 */
 	public Call cancelOrderCall(String orderId, String X_REQUEST_ID) throws ApiException {
-		Object localVarPostBody = null;
-
-		// create path and map variables
-		String localVarPath = "/orders/{order_id}"
-			.replaceAll("\\{" + "order_id" + "\\}", apiClient.escapeString(orderId.toString()));
-
-		List<Pair> localVarQueryParams = new ArrayList<Pair>();
-		List<Pair> localVarCollectionQueryParams = new ArrayList<Pair>();
-
-		Map<String, String> localVarHeaderParams = new HashMap<String, String>();
-		if (X_REQUEST_ID != null) {
-			localVarHeaderParams.put("X-REQUEST-ID", apiClient.parameterToString(X_REQUEST_ID));
-		}
-
-		Map<String, Object> localVarFormParams = new HashMap<String, Object>();
-
-		final String[] localVarAccepts = {
-			"application/json"
-		};
-		final String localVarAccept = apiClient.selectHeaderAccept(localVarAccepts);
-		if (localVarAccept != null) {
-			localVarHeaderParams.put("Accept", localVarAccept);
-		}
-
-		final String[] localVarContentTypes = {
-
-		};
-		final String localVarContentType = apiClient.selectHeaderContentType(localVarContentTypes);
-		localVarHeaderParams.put("Content-Type", localVarContentType);
-
-		String[] localVarAuthNames = new String[]{};
-		return apiClient
-			.buildCall(localVarPath, ApiClient.DELETE, localVarQueryParams, localVarCollectionQueryParams,
-				localVarPostBody,
-				localVarHeaderParams, localVarFormParams, localVarAuthNames);
+		return CANCEL_ORDER.newCall(apiClient)
+			.pathParam("order_id", orderId)
+			.header("X-REQUEST-ID", X_REQUEST_ID)
+			.build();
 	}
 
 	@SuppressWarnings("rawtypes")
@@ -164,53 +159,27 @@ public class OrdersApi {
 	 *
 	 * @param orderId The order id (required)
 	 * @param body (optional)
+	 * @param X_REQUEST_ID A unique id for the request. A retransmitted request will have the same id  (required)
 	 * @return Call to execute
 	 * @throws ApiException If fail to serialize the request body object
 	 */
-	public Call changeOrderCall(String orderId, Body body) throws ApiException {
-		Object localVarPostBody = body;
-
-		// create path and map variables
-		String localVarPath = "/orders/{order_id}"
-			.replaceAll("\\{" + "order_id" + "\\}", apiClient.escapeString(orderId.toString()));
-
-		List<Pair> localVarQueryParams = new ArrayList<Pair>();
-		List<Pair> localVarCollectionQueryParams = new ArrayList<Pair>();
-
-		Map<String, String> localVarHeaderParams = new HashMap<String, String>();
-
-		Map<String, Object> localVarFormParams = new HashMap<String, Object>();
-
-		final String[] localVarAccepts = {
-			"application/json", "application/json", "application/json"
-		};
-		final String localVarAccept = apiClient.selectHeaderAccept(localVarAccepts);
-		if (localVarAccept != null) {
-			localVarHeaderParams.put("Accept", localVarAccept);
-		}
-
-		final String[] localVarContentTypes = {
-			"application/merge-patch+json"
-		};
-		final String localVarContentType = apiClient.selectHeaderContentType(localVarContentTypes);
-		localVarHeaderParams.put("Content-Type", localVarContentType);
-
-
-
-		String[] localVarAuthNames = new String[]{};
-		return apiClient.buildCall(localVarPath, ApiClient.PATCH, localVarQueryParams, localVarCollectionQueryParams,
-			localVarPostBody, localVarHeaderParams, localVarFormParams, localVarAuthNames);
+	public Call changeOrderCall(String orderId, Body body, String X_REQUEST_ID) throws ApiException {
+		return CHANGE_ORDER.newCall(apiClient)
+			.pathParam("order_id", orderId)
+			.header("X-REQUEST-ID", X_REQUEST_ID)
+			.body(body)
+			.build();
 	}
 
 	@SuppressWarnings("rawtypes")
-	private Call changeOrderValidateBeforeCall(String orderId, Body body) throws ApiException {
+	private Call changeOrderValidateBeforeCall(String orderId, Body body, String X_REQUEST_ID) throws ApiException {
 
 		// verify the required parameter 'orderId' is set
 		if (orderId == null) {
 			throw new ApiException("Missing the required parameter 'orderId' when calling changeOrder(Async)");
 		}
 
-		Call call = changeOrderCall(orderId, body);
+		Call call = changeOrderCall(orderId, body, X_REQUEST_ID);
 		return call;
 	}
 
@@ -222,11 +191,12 @@ public class OrdersApi {
 	 *
 	 * @param orderId The order id (required)
 	 * @param body (optional)
+	 * @param X_REQUEST_ID A unique id for the request. A retransmitted request will have the same id  (required)
 	 * @return Order
 	 * @throws ApiException If fail to call the API, e.g. server error or cannot deserialize the response body
 	 */
-	public Order changeOrder(String orderId, Body body) throws ApiException {
-		ApiResponse<Order> resp = changeOrderWithHttpInfo(orderId, body);
+	public Order changeOrder(String orderId, Body body, String X_REQUEST_ID) throws ApiException {
+		ApiResponse<Order> resp = changeOrderWithHttpInfo(orderId, body, X_REQUEST_ID);
 		return resp.getData();
 	}
 
@@ -238,11 +208,12 @@ public class OrdersApi {
 	 *
 	 * @param orderId The order id (required)
 	 * @param body (optional)
+	 * @param X_REQUEST_ID A unique id for the request. A retransmitted request will have the same id  (required)
 	 * @return ApiResponse&lt;Order&gt;
 	 * @throws ApiException If fail to call the API, e.g. server error or cannot deserialize the response body
 	 */
-	public ApiResponse<Order> changeOrderWithHttpInfo(String orderId, Body body) throws ApiException {
-		Call call = changeOrderValidateBeforeCall(orderId, body);
+	public ApiResponse<Order> changeOrderWithHttpInfo(String orderId, Body body, String X_REQUEST_ID) throws ApiException {
+		Call call = changeOrderValidateBeforeCall(orderId, body, X_REQUEST_ID);
 		Type localVarReturnType = new TypeToken<Order>() {
 		}.getType();
 		return apiClient.execute(call, localVarReturnType);
@@ -256,13 +227,15 @@ public class OrdersApi {
 	 *
 	 * @param orderId The order id (required)
 	 * @param body (optional)
+	 * @param X_REQUEST_ID A unique id for the request. A retransmitted request will have the same id  (required)
 	 * @param callback The callback to be executed when the API call finishes
 	 * @return The request call
 	 * @throws ApiException If fail to process the API call, e.g. serializing the request body object
 	 */
-	public Call changeOrderAsync(String orderId, Body body, final ApiCallback<Order> callback) throws ApiException {
+	public Call changeOrderAsync(String orderId, Body body, String X_REQUEST_ID,
+		final ApiCallback<Order> callback) throws ApiException {
 
-		Call call = changeOrderValidateBeforeCall(orderId, body);
+		Call call = changeOrderValidateBeforeCall(orderId, body, X_REQUEST_ID);
 		Type localVarReturnType = new TypeToken<Order>() {
 		}.getType();
 		apiClient.executeAsync(call, localVarReturnType, callback);
@@ -279,38 +252,10 @@ public class OrdersApi {
 	 * @throws ApiException If fail to serialize the request body object
 	 */
 	public Call createExternalOrderCall(ExternalOrderRequest externalorderrequest, String X_REQUEST_ID) throws ApiException {
-		Object localVarPostBody = externalorderrequest;
-
-		// create path and map variables
-		String localVarPath = "/offers/external/orders";
-
-		List<Pair> localVarQueryParams = new ArrayList<Pair>();
-		List<Pair> localVarCollectionQueryParams = new ArrayList<Pair>();
-
-		Map<String, String> localVarHeaderParams = new HashMap<String, String>();
-		if (X_REQUEST_ID != null) {
-			localVarHeaderParams.put("X-REQUEST-ID", apiClient.parameterToString(X_REQUEST_ID));
-		}
-
-		Map<String, Object> localVarFormParams = new HashMap<String, Object>();
-
-		final String[] localVarAccepts = {
-			"application/json", "application/json"
-		};
-		final String localVarAccept = apiClient.selectHeaderAccept(localVarAccepts);
-		if (localVarAccept != null) {
-			localVarHeaderParams.put("Accept", localVarAccept);
-		}
-
-		final String[] localVarContentTypes = {
-			"application/json"
-		};
-		final String localVarContentType = apiClient.selectHeaderContentType(localVarContentTypes);
-		localVarHeaderParams.put("Content-Type", localVarContentType);
-
-		String[] localVarAuthNames = new String[]{};
-		return apiClient.buildCall(localVarPath, ApiClient.POST, localVarQueryParams, localVarCollectionQueryParams,
-			localVarPostBody, localVarHeaderParams, localVarFormParams, localVarAuthNames);
+		return CREATE_EXTERNAL_ORDER.newCall(apiClient)
+			.header("X-REQUEST-ID", X_REQUEST_ID)
+			.body(externalorderrequest)
+			.build();
 	}
 
 	@SuppressWarnings("rawtypes")
@@ -393,41 +338,10 @@ public class OrdersApi {
 	 * @throws ApiException If fail to serialize the request body object
 	 */
 	public Call createOrderCall(String offerId, String X_REQUEST_ID) throws ApiException {
-		Object localVarPostBody = null;
-
-		// create path and map variables
-		String localVarPath = "/offers/{offer_id}/orders"
-			.replaceAll("\\{" + "offer_id" + "\\}", apiClient.escapeString(offerId.toString()));
-
-		List<Pair> localVarQueryParams = new ArrayList<Pair>();
-		List<Pair> localVarCollectionQueryParams = new ArrayList<Pair>();
-
-		Map<String, String> localVarHeaderParams = new HashMap<String, String>();
-		if (X_REQUEST_ID != null) {
-			localVarHeaderParams.put("X-REQUEST-ID", apiClient.parameterToString(X_REQUEST_ID));
-		}
-
-		Map<String, Object> localVarFormParams = new HashMap<String, Object>();
-
-		final String[] localVarAccepts = {
-			"application/json", "application/json", "application/json"
-		};
-		final String localVarAccept = apiClient.selectHeaderAccept(localVarAccepts);
-		if (localVarAccept != null) {
-			localVarHeaderParams.put("Accept", localVarAccept);
-		}
-
-		final String[] localVarContentTypes = {
-
-		};
-		final String localVarContentType = apiClient.selectHeaderContentType(localVarContentTypes);
-		localVarHeaderParams.put("Content-Type", localVarContentType);
-
-		String[] localVarAuthNames = new String[]{};
-		return apiClient
-			.buildCall(localVarPath, ApiClient.POST, localVarQueryParams, localVarCollectionQueryParams,
-				localVarPostBody,
-				localVarHeaderParams, localVarFormParams, localVarAuthNames);
+		return CREATE_ORDER.newCall(apiClient)
+			.pathParam("offer_id", offerId)
+			.header("X-REQUEST-ID", X_REQUEST_ID)
+			.build();
 	}
 
 	@SuppressWarnings("rawtypes")
@@ -511,55 +425,14 @@ public class OrdersApi {
 	 */
 	public Call getHistoryCall(String X_REQUEST_ID, String origin, String offerId, Integer limit, String before,
 		String after) throws ApiException {
-		Object localVarPostBody = null;
-
-		// create path and map variables
-		String localVarPath = "/orders";
-
-		List<Pair> localVarQueryParams = new ArrayList<Pair>();
-		List<Pair> localVarCollectionQueryParams = new ArrayList<Pair>();
-		if (origin != null) {
-			localVarQueryParams.addAll(apiClient.parameterToPair("origin", origin));
-		}
-		if (offerId != null) {
-			localVarQueryParams.addAll(apiClient.parameterToPair("offer_id", offerId));
-		}
-		if (limit != null) {
-			localVarQueryParams.addAll(apiClient.parameterToPair("limit", limit));
-		}
-		if (before != null) {
-			localVarQueryParams.addAll(apiClient.parameterToPair("before", before));
-		}
-		if (after != null) {
-			localVarQueryParams.addAll(apiClient.parameterToPair("after", after));
-		}
-
-		Map<String, String> localVarHeaderParams = new HashMap<String, String>();
-		if (X_REQUEST_ID != null) {
-			localVarHeaderParams.put("X-REQUEST-ID", apiClient.parameterToString(X_REQUEST_ID));
-		}
-
-		Map<String, Object> localVarFormParams = new HashMap<String, Object>();
-
-		final String[] localVarAccepts = {
-			"application/json", "application/json"
-		};
-		final String localVarAccept = apiClient.selectHeaderAccept(localVarAccepts);
-		if (localVarAccept != null) {
-			localVarHeaderParams.put("Accept", localVarAccept);
-		}
-
-		final String[] localVarContentTypes = {
-
-		};
-		final String localVarContentType = apiClient.selectHeaderContentType(localVarContentTypes);
-		localVarHeaderParams.put("Content-Type", localVarContentType);
-
-		String[] localVarAuthNames = new String[]{};
-		return apiClient
-			.buildCall(localVarPath, ApiClient.GET, localVarQueryParams, localVarCollectionQueryParams,
-				localVarPostBody,
-				localVarHeaderParams, localVarFormParams, localVarAuthNames);
+		return GET_HISTORY.newCall(apiClient)
+			.queryParam("origin", origin)
+			.queryParam("offer_id", offerId)
+			.queryParam("limit", limit)
+			.queryParam("before", before)
+			.queryParam("after", after)
+			.header("X-REQUEST-ID", X_REQUEST_ID)
+			.build();
 	}
 
 	@SuppressWarnings("rawtypes")
@@ -651,43 +524,10 @@ public class OrdersApi {
 	 * @throws ApiException If fail to serialize the request body object
 	 */
 	public Call getOrderCall(String orderId, String X_REQUEST_ID) throws ApiException {
-		Object localVarPostBody = null;
-
-		// create path and map variables
-		String localVarPath = "/orders/{order_id}"
-			.replaceAll("\\{" + "order_id" + "\\}", apiClient.escapeString(orderId.toString()));
-
-		List<Pair> localVarQueryParams = new ArrayList<Pair>();
-		List<Pair> localVarCollectionQueryParams = new ArrayList<Pair>();
-
-		Map<String, String> localVarHeaderParams = new HashMap<String, String>();
-		if (X_REQUEST_ID != null) {
-			localVarHeaderParams.put("X-REQUEST-ID", apiClient.parameterToString(X_REQUEST_ID));
-		}
-
-		Map<String, Object> localVarFormParams = new HashMap<String, Object>();
-
-		final String[] localVarAccepts = {
-			"application/json", "application/json"
-		};
-		final String localVarAccept = apiClient.selectHeaderAccept(localVarAccepts);
-		if (localVarAccept != null) {
-			localVarHeaderParams.put("Accept", localVarAccept);
-		}
-
-		final String[] localVarContentTypes = {
-
-		};
-		final String localVarContentType = apiClient.selectHeaderContentType(localVarContentTypes);
-		localVarHeaderParams.put("Content-Type", localVarContentType);
-
-
-
-		String[] localVarAuthNames = new String[]{};
-		return apiClient
-			.buildCall(localVarPath, ApiClient.GET, localVarQueryParams, localVarCollectionQueryParams,
-				localVarPostBody,
-				localVarHeaderParams, localVarFormParams, localVarAuthNames);
+		return GET_ORDER.newCall(apiClient)
+			.pathParam("order_id", orderId)
+			.header("X-REQUEST-ID", X_REQUEST_ID)
+			.build();
 	}
 
 	@SuppressWarnings("rawtypes")
@@ -769,43 +609,11 @@ public class OrdersApi {
 	 * @throws ApiException If fail to serialize the request body object
 	 */
 	public Call submitOrderCall(EarnSubmission earnsubmission, String orderId, String X_REQUEST_ID) throws ApiException {
-		Object localVarPostBody = earnsubmission;
-
-		// create path and map variables
-		String localVarPath = "/orders/{order_id}"
-			.replaceAll("\\{" + "order_id" + "\\}", apiClient.escapeString(orderId.toString()));
-
-		List<Pair> localVarQueryParams = new ArrayList<Pair>();
-		List<Pair> localVarCollectionQueryParams = new ArrayList<Pair>();
-
-		Map<String, String> localVarHeaderParams = new HashMap<String, String>();
-		if (X_REQUEST_ID != null) {
-			localVarHeaderParams.put("X-REQUEST-ID", apiClient.parameterToString(X_REQUEST_ID));
-		}
-
-		Map<String, Object> localVarFormParams = new HashMap<String, Object>();
-
-		final String[] localVarAccepts = {
-			"application/json", "application/json", "application/json"
-		};
-		final String localVarAccept = apiClient.selectHeaderAccept(localVarAccepts);
-		if (localVarAccept != null) {
-			localVarHeaderParams.put("Accept", localVarAccept);
-		}
-
-		final String[] localVarContentTypes = {
-			"application/json"
-		};
-		final String localVarContentType = apiClient.selectHeaderContentType(localVarContentTypes);
-		localVarHeaderParams.put("Content-Type", localVarContentType);
-
-
-
-		String[] localVarAuthNames = new String[]{};
-		return apiClient
-			.buildCall(localVarPath, ApiClient.POST, localVarQueryParams, localVarCollectionQueryParams,
-				localVarPostBody,
-				localVarHeaderParams, localVarFormParams, localVarAuthNames);
+		return SUBMIT_ORDER.newCall(apiClient)
+			.pathParam("order_id", orderId)
+			.header("X-REQUEST-ID", X_REQUEST_ID)
+			.body(earnsubmission)
+			.build();
 	}
 
 	@SuppressWarnings("rawtypes")
@@ -374,6 +374,10 @@ public class Order {
         return content;
     }
 
+    public void setContent(String content) {
+        this.content = content;
+    }
+
     public Order error(Error error) {
         this.error = error;
         return this;
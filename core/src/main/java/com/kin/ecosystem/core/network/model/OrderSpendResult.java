@@ -134,8 +134,6 @@ public class OrderSpendResult {
 
     public static class Adapter extends TypeAdapter<OrderSpendResult> {
 
-        private OrderSpendResult result;
-
         @Override
         public void write(JsonWriter out, OrderSpendResult spendResult) throws IOException {
             out.beginObject();
@@ -151,7 +149,8 @@ public class OrderSpendResult {
 
         @Override
         public OrderSpendResult read(JsonReader in) throws IOException {
-
+            // Local, the adapter instance is cached by Gson and shared between threads.
+            OrderSpendResult result = null;
             in.beginObject();
             while (in.hasNext()) {
                 switch (in.nextName()) {
@@ -175,6 +174,9 @@ public class OrderSpendResult {
                     case "jwt":
                         ((JWTBodyPaymentConfirmationResult)result).setJwt(in.nextString());
                         break;
+                    default:
+                        in.skipValue();
+                        break;
                 }
             }
             in.endObject();
@@ -0,0 +1,91 @@
+package com.kin.ecosystem.core.util;
+
+import com.kin.ecosystem.common.model.HistogramSummary;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free histogram of non negative values, safe to record from any thread.
+ * Values up to 15 have their own bucket, larger values share log-linear buckets of 8 per power of two,
+ * so a reported percentile is at most 12.5% above the real value.
+ */
+public class Histogram {
+
+	private static final int SUB_BUCKET_BITS = 3;
+	private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+	private static final int LINEAR_LIMIT = SUB_BUCKET_COUNT << 1;
+	private static final int BUCKET_COUNT = bucketIndex(Long.MAX_VALUE) + 1;
+
+	private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+	private final AtomicLong count = new AtomicLong();
+	private final AtomicLong sum = new AtomicLong();
+	private final AtomicLong max = new AtomicLong();
+
+	/**
+	 * @param value negative values are recorded as 0.
+	 */
+	public void record(long value) {
+		value = Math.max(0, value);
+		buckets.incrementAndGet(bucketIndex(value));
+		count.incrementAndGet();
+		sum.addAndGet(value);
+		long currentMax = max.get();
+		while (value > currentMax && !max.compareAndSet(currentMax, value)) {
+			currentMax = max.get();
+		}
+	}
+
+	/**
+	 * The summary is not atomic, values recorded while it's taken can be partially included.
+	 */
+	public HistogramSummary getSummary() {
+		final long[] counts = new long[BUCKET_COUNT];
+		long total = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			counts[i] = buckets.get(i);
+			total += counts[i];
+		}
+		final long maxValue = max.get();
+		final long mean = total == 0 ? 0 : sum.get() / total;
+		return new HistogramSummary(total, mean, percentile(counts, total, 0.5, maxValue),
+			percentile(counts, total, 0.9, maxValue), percentile(counts, total, 0.99, maxValue), maxValue);
+	}
+
+	public long getCount() {
+		return count.get();
+	}
+
+	private static long percentile(long[] counts, long total, double percentile, long maxValue) {
+		if (total == 0) {
+			return 0;
+		}
+		final long rank = (long) Math.ceil(total * percentile);
+		long seen = 0;
+		for (int i = 0; i < counts.length; i++) {
+			seen += counts[i];
+			if (seen >= rank) {
+				return Math.min(bucketUpperBound(i), maxValue);
+			}
+		}
+		return maxValue;
+	}
+
+	static int bucketIndex(long value) {
+		if (value < LINEAR_LIMIT) {
+			return (int) value;
+		}
+		final int exponent = 63 - Long.numberOfLeadingZeros(value);
+		final int shift = exponent - SUB_BUCKET_BITS;
+		return (shift << SUB_BUCKET_BITS) + (int) (value >>> shift);
+	}
+
+	static long bucketUpperBound(int index) {
+		if (index < LINEAR_LIMIT) {
+			return index;
+		}
+		final int shift = (index >>> SUB_BUCKET_BITS) - 1;
+		final long subBucket = (index & (SUB_BUCKET_COUNT - 1)) + SUB_BUCKET_COUNT;
+		final long upperBound = ((subBucket + 1) << shift) - 1;
+		return upperBound < 0 ? Long.MAX_VALUE : upperBound;
+	}
+}
@@ -0,0 +1,202 @@
+package com.kin.ecosystem.core.util;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.VisibleForTesting;
+import java.util.ArrayDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Threads shared by the SDK background work.
+ * A bounded pool of workers runs blocking work such as network calls,
+ * and one scheduler thread runs delayed tasks. Scheduled tasks should be short, or hand off to {@link #execute(Runnable)}.
+ */
+public class SdkExecutor {
+
+    private static final int WORKER_THREADS = 4;
+    private static final long KEEP_ALIVE_SECONDS = 30;
+
+    private static volatile SdkExecutor instance;
+
+    private final ThreadPoolExecutor workers;
+    private final ScheduledThreadPoolExecutor scheduler;
+    private final AtomicLong timeoutsFired = new AtomicLong();
+
+    @VisibleForTesting
+    SdkExecutor(int workerThreads) {
+        workers = new ThreadPoolExecutor(workerThreads, workerThreads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<Runnable>(), new NamedThreadFactory("KinWorker"));
+        workers.allowCoreThreadTimeOut(true);
+        scheduler = new ScheduledThreadPoolExecutor(1, new NamedThreadFactory("KinScheduler"));
+        scheduler.setKeepAliveTime(KEEP_ALIVE_SECONDS, TimeUnit.SECONDS);
+        scheduler.allowCoreThreadTimeOut(true);
+    }
+
+    public static SdkExecutor getInstance() {
+        if (instance == null) {
+            synchronized (SdkExecutor.class) {
+                if (instance == null) {
+                    instance = new SdkExecutor(WORKER_THREADS);
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Run the task on a worker thread.
+     */
+    public void execute(@NonNull Runnable task) {
+        workers.execute(task);
+    }
+
+    /**
+     * Run the task on the scheduler thread after the delay.
+     */
+    public ScheduledFuture<?> schedule(@NonNull Runnable task, long delay, @NonNull TimeUnit unit) {
+        return scheduler.schedule(task, delay, unit);
+    }
+
+    /**
+     * Same as {@link #schedule(Runnable, long, TimeUnit)}, counted in {@link Metrics#getTimeoutsFired()} when it runs.
+     * Cancel the returned future when the awaited result arrives in time.
+     */
+    public ScheduledFuture<?> scheduleTimeout(@NonNull final Runnable timeoutTask, long delay, @NonNull TimeUnit unit) {
+        return scheduler.schedule(new Runnable() {
+            @Override
+            public void run() {
+                timeoutsFired.incrementAndGet();
+                timeoutTask.run();
+            }
+        }, delay, unit);
+    }
+
+    /**
+     * @return an executor that runs its tasks on the workers one at a time, in submission order.
+     */
+    public Executor newSerialExecutor() {
+        return new SerialExecutor(workers);
+    }
+
+    public Metrics getMetrics() {
+        return new Metrics(workers.getQueue().size(), workers.getActiveCount(), workers.getCompletedTaskCount(),
+            scheduler.getQueue().size(), timeoutsFired.get());
+    }
+
+    public static class Metrics {
+
+        private final int queuedTasks;
+        private final int activeTasks;
+        private final long completedTasks;
+        private final int scheduledTasks;
+        private final long timeoutsFired;
+
+        Metrics(int queuedTasks, int activeTasks, long completedTasks, int scheduledTasks, long timeoutsFired) {
+            this.queuedTasks = queuedTasks;
+            this.activeTasks = activeTasks;
+            this.completedTasks = completedTasks;
+            this.scheduledTasks = scheduledTasks;
+            this.timeoutsFired = timeoutsFired;
+        }
+
+        /**
+         * @return tasks waiting for a free worker.
+         */
+        public int getQueuedTasks() {
+            return queuedTasks;
+        }
+
+        /**
+         * @return tasks running on the workers.
+         */
+        public int getActiveTasks() {
+            return activeTasks;
+        }
+
+        /**
+         * @return approximate number of tasks the workers completed.
+         */
+        public long getCompletedTasks() {
+            return completedTasks;
+        }
+
+        /**
+         * @return delayed tasks waiting on the scheduler, cancelled ones included until their delay passes.
+         */
+        public int getScheduledTasks() {
+            return scheduledTasks;
+        }
+
+        public long getTimeoutsFired() {
+            return timeoutsFired;
+        }
+
+        @Override
+        public String toString() {
+            return "Metrics{" +
+                "queuedTasks=" + queuedTasks +
+                ", activeTasks=" + activeTasks +
+                ", completedTasks=" + completedTasks +
+                ", scheduledTasks=" + scheduledTasks +
+                ", timeoutsFired=" + timeoutsFired +
+                '}';
+        }
+    }
+
+    private static class SerialExecutor implements Executor {
+
+        private final Executor executor;
+        private final ArrayDeque<Runnable> tasks = new ArrayDeque<>();
+        private Runnable active;
+
+        SerialExecutor(Executor executor) {
+            this.executor = executor;
+        }
+
+        @Override
+        public synchronized void execute(@NonNull final Runnable task) {
+            tasks.offer(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        task.run();
+                    } finally {
+                        scheduleNext();
+                    }
+                }
+            });
+            if (active == null) {
+                scheduleNext();
+            }
+        }
+
+        private synchronized void scheduleNext() {
+            active = tasks.poll();
+            if (active != null) {
+                executor.execute(active);
+            }
+        }
+    }
+
+    private static class NamedThreadFactory implements ThreadFactory {
+
+        private final String namePrefix;
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        NamedThreadFactory(String namePrefix) {
+            this.namePrefix = namePrefix;
+        }
+
+        @Override
+        public Thread newThread(@NonNull Runnable runnable) {
+            return new Thread(runnable, namePrefix + "-" + threadNumber.getAndIncrement());
+        }
+    }
+}
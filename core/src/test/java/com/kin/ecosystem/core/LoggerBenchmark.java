@@ -0,0 +1,54 @@
+package com.kin.ecosystem.core;
+
+import java.util.Locale;
+import org.junit.Ignore;
+import org.junit.Test;
+
+/**
+ * A disabled debug log on a hot path, formatted eagerly as before against the priority check.
+ * Not a test, run it manually.
+ */
+@Ignore("Benchmark, run manually")
+public class LoggerBenchmark {
+
+	private static final String TAG = "LoggerBenchmark";
+	private static final int LOGS = 200000;
+
+	@Test
+	public void disabledLogNanos() {
+		Logger.enableLogs(false);
+		Logger.setRecordPriority(Log.INFO);
+		long sink = 0;
+
+		for (int i = 0; i < LOGS; i++) {
+			sink += legacyFormat(i).length();
+			if (Logger.isLoggable(Log.DEBUG)) {
+				Logger.log(new Log().withTag(TAG).put("order", "order_id").put("index", i));
+			}
+		}
+
+		long start = System.nanoTime();
+		for (int i = 0; i < LOGS; i++) {
+			sink += legacyFormat(i).length();
+		}
+		final long legacyNanos = System.nanoTime() - start;
+
+		start = System.nanoTime();
+		for (int i = 0; i < LOGS; i++) {
+			if (Logger.isLoggable(Log.DEBUG)) {
+				Logger.log(new Log().withTag(TAG).put("order", "order_id").put("index", i));
+			}
+		}
+		final long checkedNanos = System.nanoTime() - start;
+
+		System.out.println(String.format(Locale.US, "Disabled log ns, legacy: %.1f, checked: %.1f (%d)",
+			(double) legacyNanos / LOGS, (double) checkedNanos / LOGS, sink));
+	}
+
+	private static String legacyFormat(int index) {
+		final StringBuilder content = new StringBuilder();
+		content.append("order").append(": ").append("order_id").append(", ")
+			.append("index").append(": ").append(Integer.valueOf(index)).append(", ");
+		return content.substring(0, content.length() - 1);
+	}
+}
@@ -0,0 +1,167 @@
+package com.kin.ecosystem.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class LoggerTest {
+
+	private static final String TAG = "LoggerTest";
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private final AtomicInteger formatCount = new AtomicInteger();
+	private final Object countingValue = new Object() {
+		@Override
+		public String toString() {
+			formatCount.incrementAndGet();
+			return "value";
+		}
+	};
+
+	@Before
+	public void setUp() {
+		Logger.enableLogs(false);
+		Logger.setRecordPriority(Log.INFO);
+		Logger.clearRecords();
+	}
+
+	@After
+	public void tearDown() {
+		Logger.setFileSink(null);
+		Logger.setRecordPriority(Log.INFO);
+	}
+
+	@Test
+	public void content_SameFormatAsBefore() {
+		final Log log = new Log().withTag(TAG).text("start").put("name", "kin").put("count", 3)
+			.put("amount", 1.5).put("ok", true);
+
+		assertEquals(" start name: kin, count: 3, amount: 1.5, ok: true,", log.getContent());
+	}
+
+	@Test
+	public void content_GrowsPastInitialCapacity() {
+		final Log log = new Log();
+		final StringBuilder expected = new StringBuilder();
+		for (int i = 0; i < 20; i++) {
+			log.put("key" + i, i);
+			expected.append("key").append(i).append(": ").append(i).append(", ");
+		}
+
+		assertEquals(expected.substring(0, expected.length() - 1), log.getContent());
+	}
+
+	@Test
+	public void isLoggable_BelowRecordPriorityAndDisabled_False() {
+		assertFalse(Logger.isLoggable(Log.DEBUG));
+		assertTrue(Logger.isLoggable(Log.INFO));
+		assertTrue(Logger.isLoggable(Log.ERROR));
+
+		Logger.setRecordPriority(Log.DEBUG);
+		assertTrue(Logger.isLoggable(Log.DEBUG));
+	}
+
+	@Test
+	public void log_NotRecorded_ValuesNeverFormatted() {
+		Logger.log(new Log().withTag(TAG).put("debug", countingValue));
+
+		assertEquals(0, formatCount.get());
+		assertEquals("", Logger.dump());
+	}
+
+	@Test
+	public void log_Recorded_FormattedOnlyOnDump() {
+		Logger.log(new Log().withTag(TAG).priority(Log.WARN).put("warn", countingValue));
+		assertEquals(0, formatCount.get());
+
+		final String dump = Logger.dump();
+		assertEquals(1, formatCount.get());
+		assertTrue(dump, dump.endsWith(" W KinEcosystem - LoggerTest [" + Thread.currentThread().getName()
+			+ "]: warn: value,\n"));
+	}
+
+	@Test
+	public void ringBuffer_KeepsLastRecordsInOrder() {
+		final LogRingBuffer ringBuffer = new LogRingBuffer(6);
+		assertEquals(8, ringBuffer.capacity());
+		for (int i = 0; i < 20; i++) {
+			ringBuffer.add(new Log().put("i", i));
+		}
+
+		final List<Log> logs = ringBuffer.snapshot();
+		assertEquals(8, logs.size());
+		for (int i = 0; i < 8; i++) {
+			assertEquals("i: " + (12 + i) + ",", logs.get(i).getContent());
+		}
+	}
+
+	@Test
+	public void ringBuffer_ConcurrentWriters() throws InterruptedException {
+		final LogRingBuffer ringBuffer = new LogRingBuffer(1024);
+		final Thread[] threads = new Thread[4];
+		for (int t = 0; t < threads.length; t++) {
+			threads[t] = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					for (int i = 0; i < 10000; i++) {
+						ringBuffer.add(new Log().put("i", i));
+					}
+				}
+			});
+			threads[t].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		final List<Log> logs = ringBuffer.snapshot();
+		assertEquals(1024, logs.size());
+		for (int i = 1; i < logs.size(); i++) {
+			assertEquals(logs.get(i - 1).sequence + 1, logs.get(i).sequence);
+		}
+	}
+
+	@Test
+	public void fileSink_RotatesBySize() throws IOException, InterruptedException {
+		final File file = new File(folder.getRoot(), "kin.log");
+		final LogFileSink sink = new LogFileSink(file, 1024, 2);
+		Logger.setFileSink(sink);
+		for (int i = 0; i < 100; i++) {
+			Logger.log(new Log().withTag(TAG).priority(Log.INFO).put("index", i));
+		}
+		Logger.setFileSink(null);
+		assertTrue(sink.awaitTermination(5, TimeUnit.SECONDS));
+
+		final File firstBackup = new File(file.getPath() + ".1");
+		final File secondBackup = new File(file.getPath() + ".2");
+		assertTrue(file.length() <= 1024);
+		assertTrue(firstBackup.length() <= 1024);
+		assertTrue(secondBackup.exists());
+		assertFalse(new File(file.getPath() + ".3").exists());
+
+		final List<String> lines = Files.readAllLines(file.toPath());
+		assertTrue(lines.get(lines.size() - 1).endsWith("index: 99,"));
+		final List<String> backupLines = Files.readAllLines(firstBackup.toPath());
+		final String lastBackupLine = backupLines.get(backupLines.size() - 1);
+		final String firstLine = lines.get(0);
+		assertEquals(indexOf(lastBackupLine) + 1, indexOf(firstLine));
+	}
+
+	private static int indexOf(String line) {
+		return Integer.parseInt(line.substring(line.lastIndexOf(": ") + 2, line.length() - 1));
+	}
+}
@@ -0,0 +1,136 @@
+package com.kin.ecosystem.core.bi;
+
+import static org.junit.Assert.assertEquals;
+
+import com.kin.ecosystem.core.bi.EventPolicyEngine.AggregatedCount;
+import com.kin.ecosystem.core.bi.EventPolicyEngine.Decision;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+public class EventPolicyEngineTest {
+
+	private static final String EVENT_NAME = "test_event";
+	private static final String OTHER_EVENT_NAME = "other_event";
+
+	@Test
+	public void sampleRate_KeepsRateOfEvents() {
+		final EventPolicyEngine engine = createEngine(new EventPolicy.Builder().sampleRate(0.25).build());
+		final int events = 100000;
+		int sent = 0;
+		for (int i = 0; i < events; i++) {
+			if (engine.onEvent(EVENT_NAME, 0) == Decision.SEND) {
+				sent++;
+			}
+		}
+
+		assertEquals(0.25, (double) sent / events, 0.01);
+		final EventPolicyStats stats = engine.getStats().get(EVENT_NAME);
+		assertEquals(sent, stats.getSent());
+		assertEquals(events - sent, stats.getSampledOut());
+		assertEquals(events - sent, stats.getDropped());
+	}
+
+	@Test
+	public void rateLimit_DropsAfterBurstAndRefills() {
+		final EventPolicyEngine engine = createEngine(new EventPolicy.Builder().rateLimit(3, 60).build());
+		for (int i = 0; i < 3; i++) {
+			assertEquals(Decision.SEND, engine.onEvent(EVENT_NAME, 0));
+		}
+		assertEquals(Decision.RATE_LIMITED, engine.onEvent(EVENT_NAME, 500));
+
+		// One token a second.
+		assertEquals(Decision.SEND, engine.onEvent(EVENT_NAME, 1000));
+		assertEquals(Decision.RATE_LIMITED, engine.onEvent(EVENT_NAME, 1000));
+
+		// The bucket never holds more than the burst.
+		for (int i = 0; i < 3; i++) {
+			assertEquals(Decision.SEND, engine.onEvent(EVENT_NAME, 60000));
+		}
+		assertEquals(Decision.RATE_LIMITED, engine.onEvent(EVENT_NAME, 60000));
+
+		final EventPolicyStats stats = engine.getStats().get(EVENT_NAME);
+		assertEquals(7, stats.getSent());
+		assertEquals(3, stats.getRateLimited());
+	}
+
+	@Test
+	public void aggregationWindow_CountsEventsAfterFirst() {
+		final EventPolicyEngine engine = createEngine(
+			new EventPolicy.Builder().aggregationWindow(10, TimeUnit.SECONDS).build());
+		assertEquals(Decision.SEND, engine.onEvent(EVENT_NAME, 1000));
+		for (int i = 0; i < 5; i++) {
+			assertEquals(Decision.AGGREGATED, engine.onEvent(EVENT_NAME, 2000 + i));
+		}
+		assertEquals(11000, engine.getNextWindowEndMillis());
+		assertEquals(0, engine.closeEndedWindows(10999).size());
+
+		final List<AggregatedCount> counts = engine.closeEndedWindows(11000);
+		assertEquals(1, counts.size());
+		assertEquals(EVENT_NAME, counts.get(0).eventName);
+		assertEquals(5, counts.get(0).count);
+		assertEquals(10000, counts.get(0).windowMillis);
+		assertEquals(0, engine.getNextWindowEndMillis());
+
+		// A new window opens with the next event.
+		assertEquals(Decision.SEND, engine.onEvent(EVENT_NAME, 12000));
+		assertEquals(0, engine.closeEndedWindows(22000).size());
+
+		final EventPolicyStats stats = engine.getStats().get(EVENT_NAME);
+		assertEquals(2, stats.getSent());
+		assertEquals(5, stats.getAggregated());
+		assertEquals(0, stats.getDropped());
+	}
+
+	@Test
+	public void policyPerType_DefaultForOtherTypes() {
+		final Map<String, EventPolicy> policies = new HashMap<>();
+		policies.put(EVENT_NAME, new EventPolicy.Builder().sampleRate(0).build());
+		final EventPolicyEngine engine = new EventPolicyEngine(new EventPolicyConfig(policies, EventPolicy.UNLIMITED),
+			new Random(1));
+
+		assertEquals(Decision.SAMPLED_OUT, engine.onEvent(EVENT_NAME, 0));
+		assertEquals(Decision.SEND, engine.onEvent(OTHER_EVENT_NAME, 0));
+		assertEquals(2, engine.getStats().size());
+	}
+
+	@Test
+	public void fromJson_OverridesBuiltInPolicies() {
+		final EventPolicyConfig config = EventPolicyConfig.fromJson("{"
+			+ "\"*\": {\"max_burst\": 30, \"tokens_per_minute\": 60},"
+			+ "\"kin_balance_updated\": {\"sample_rate\": 0.5},"
+			+ "\"test_event\": {\"aggregation_window_seconds\": 30}"
+			+ "}");
+
+		final EventPolicy defaultPolicy = config.getPolicy(OTHER_EVENT_NAME);
+		assertEquals(30, defaultPolicy.getMaxBurst());
+		assertEquals(60, defaultPolicy.getTokensPerMinute(), 0);
+
+		final EventPolicy balancePolicy = config.getPolicy("kin_balance_updated");
+		assertEquals(0.5, balancePolicy.getSampleRate(), 0);
+		assertEquals(0, balancePolicy.getAggregationWindowMillis());
+
+		assertEquals(30000, config.getPolicy(EVENT_NAME).getAggregationWindowMillis());
+		// Built in policies not in the config are kept.
+		assertEquals(5, config.getPolicy("balance_tapped").getMaxBurst());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void fromJson_Malformed_Throws() {
+		EventPolicyConfig.fromJson("{\"test_event\": 5}");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void fromJson_InvalidSampleRate_Throws() {
+		EventPolicyConfig.fromJson("{\"test_event\": {\"sample_rate\": 2}}");
+	}
+
+	private static EventPolicyEngine createEngine(EventPolicy policy) {
+		final Map<String, EventPolicy> policies = new HashMap<>();
+		policies.put(EVENT_NAME, policy);
+		return new EventPolicyEngine(new EventPolicyConfig(policies, EventPolicy.UNLIMITED), new Random(42));
+	}
+}
@@ -0,0 +1,98 @@
+package com.kin.ecosystem.core.bi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class EventQueueTest {
+
+	private static final long MAX_BYTES = 1024;
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private File queueFile;
+
+	@Before
+	public void setUp() throws Exception {
+		queueFile = new File(temporaryFolder.getRoot(), "events");
+	}
+
+	@Test
+	public void add_peek_remove_keepsOrder() {
+		EventQueue eventQueue = new EventQueue(queueFile, MAX_BYTES);
+		eventQueue.add("{\"a\":1}");
+		eventQueue.add("{\"b\":2}");
+		eventQueue.add("{\"c\":3}");
+
+		assertEquals(Arrays.asList("{\"a\":1}", "{\"b\":2}"), eventQueue.peek(2));
+		assertEquals(3, eventQueue.size());
+
+		eventQueue.remove(2);
+		assertEquals(Arrays.asList("{\"c\":3}"), eventQueue.peek(10));
+	}
+
+	@Test
+	public void reload_survivesRestart() {
+		EventQueue eventQueue = new EventQueue(queueFile, MAX_BYTES);
+		eventQueue.add("{\"a\":1}");
+		eventQueue.add("{\"b\":2}");
+		eventQueue.remove(1);
+		eventQueue.add("{\"c\":3}");
+
+		EventQueue reloadedQueue = new EventQueue(queueFile, MAX_BYTES);
+		assertEquals(Arrays.asList("{\"b\":2}", "{\"c\":3}"), reloadedQueue.peek(10));
+	}
+
+	@Test
+	public void reload_tornLastLine_dropped() throws Exception {
+		FileOutputStream outputStream = new FileOutputStream(queueFile);
+		outputStream.write("{\"a\":1}\n{\"b\":2}\n{\"c\":{\"d\":3}".getBytes("UTF-8"));
+		outputStream.close();
+
+		EventQueue eventQueue = new EventQueue(queueFile, MAX_BYTES);
+		assertEquals(Arrays.asList("{\"a\":1}", "{\"b\":2}"), eventQueue.peek(10));
+
+		// The next event isn't appended to the torn line.
+		eventQueue.add("{\"e\":5}");
+		EventQueue reloadedQueue = new EventQueue(queueFile, MAX_BYTES);
+		assertEquals(Arrays.asList("{\"a\":1}", "{\"b\":2}", "{\"e\":5}"), reloadedQueue.peek(10));
+	}
+
+	@Test
+	public void removePeeked_afterEviction_keepsNewerEvents() {
+		EventQueue eventQueue = new EventQueue(queueFile, 36);
+		eventQueue.add("{\"event\":1}");
+		eventQueue.add("{\"event\":2}");
+		assertEquals(2, eventQueue.peek(10).size());
+
+		// Evicts event 1 of the peeked batch while it's being sent.
+		eventQueue.add("{\"event\":3}");
+		eventQueue.add("{\"event\":4}");
+		eventQueue.removePeeked();
+
+		assertEquals(Arrays.asList("{\"event\":3}", "{\"event\":4}"), eventQueue.peek(10));
+	}
+
+	@Test
+	public void add_exceedsMaxBytes_evictsOldestFirst() {
+		EventQueue eventQueue = new EventQueue(queueFile, 30);
+		eventQueue.add("{\"event\":1}");
+		eventQueue.add("{\"event\":2}");
+		eventQueue.add("{\"event\":3}");
+
+		List<String> events = eventQueue.peek(10);
+		assertEquals(2, events.size());
+		assertEquals("{\"event\":2}", events.get(0));
+		assertEquals("{\"event\":3}", events.get(1));
+		assertTrue(queueFile.length() <= 30);
+	}
+}
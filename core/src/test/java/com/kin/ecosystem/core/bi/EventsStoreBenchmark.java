@@ -0,0 +1,125 @@
+package com.kin.ecosystem.core.bi;
+
+import com.kin.ecosystem.core.bi.EventsStore.ClientModifier;
+import com.kin.ecosystem.core.bi.EventsStore.CommonModifier;
+import com.kin.ecosystem.core.bi.EventsStore.DynamicValue;
+import com.kin.ecosystem.core.bi.EventsStore.UserModifier;
+import com.kin.ecosystem.core.bi.events.ClientProxy;
+import com.kin.ecosystem.core.bi.events.CommonProxy;
+import com.kin.ecosystem.core.bi.events.KinBalanceUpdated;
+import com.kin.ecosystem.core.bi.events.UserProxy;
+import java.util.Locale;
+import java.util.UUID;
+import org.junit.Ignore;
+import org.junit.Test;
+
+/**
+ * Events created per second, taking a snapshot of the proxies for every event as before, against the cached
+ * snapshots. Both use the same dynamic values, with UUID.randomUUID() for the legacy ids.
+ * Not a test, run it manually.
+ */
+@Ignore("Benchmark, run manually")
+public class EventsStoreBenchmark {
+
+	private static final int EVENTS = 50000;
+
+	@Test
+	public void eventsPerSecond() {
+		EventsStore.init(new UserModifier() {
+			@Override
+			public void modify(UserProxy mutable) {
+				setUp(mutable);
+			}
+		}, new CommonModifier() {
+			@Override
+			public void modify(CommonProxy mutable) {
+				setUp(mutable, new DynamicValue<UUID>() {
+					@Override
+					public UUID get() {
+						return EventIdGenerator.next();
+					}
+				});
+			}
+		}, new ClientModifier() {
+			@Override
+			public void modify(ClientProxy mutable) {
+				setUp(mutable);
+			}
+		});
+		final UserProxy user = new UserProxy();
+		final CommonProxy common = new CommonProxy();
+		final ClientProxy client = new ClientProxy();
+		setUp(user);
+		setUp(common, new DynamicValue<UUID>() {
+			@Override
+			public UUID get() {
+				return UUID.randomUUID();
+			}
+		});
+		setUp(client);
+
+		// Warm up both paths before measuring.
+		for (int i = 0; i < EVENTS; i++) {
+			new KinBalanceUpdated(common.snapshot(), user.snapshot(), client.snapshot(), 1.0);
+			KinBalanceUpdated.create(1.0);
+		}
+
+		long start = System.nanoTime();
+		for (int i = 0; i < EVENTS; i++) {
+			new KinBalanceUpdated(common.snapshot(), user.snapshot(), client.snapshot(), 1.0);
+		}
+		final double legacyPerSecond = EVENTS * 1e9 / (System.nanoTime() - start);
+
+		start = System.nanoTime();
+		for (int i = 0; i < EVENTS; i++) {
+			KinBalanceUpdated.create(1.0);
+		}
+		final double cachedPerSecond = EVENTS * 1e9 / (System.nanoTime() - start);
+
+		System.out.println(String.format(Locale.US, "Events per second, legacy: %.0f, cached snapshots: %.0f",
+			legacyPerSecond, cachedPerSecond));
+	}
+
+	private static void setUp(UserProxy user) {
+		user.setBalance(new DynamicValue<Double>() {
+			@Override
+			public Double get() {
+				return 100.0;
+			}
+		});
+		user.setDigitalServiceId("test_app_id");
+		user.setDigitalServiceUserId("test_user");
+		user.setEntryPointParam("");
+		user.setEarnCount(0);
+		user.setSpendCount(0);
+		user.setTotalKinEarned(0.0);
+		user.setTotalKinSpent(0.0);
+		user.setTransactionCount(0);
+	}
+
+	private static void setUp(CommonProxy common, DynamicValue<UUID> eventId) {
+		common.setEventId(eventId);
+		common.setTimestamp(new DynamicValue<Long>() {
+			@Override
+			public Long get() {
+				return System.currentTimeMillis();
+			}
+		});
+		common.setUserId("test_user_id");
+		common.setVersion("test_version");
+	}
+
+	private static void setUp(ClientProxy client) {
+		client.setDeviceId("test_device_id");
+		client.setCarrier("test_carrier");
+		client.setOs("9");
+		client.setDeviceManufacturer("test_manufacturer");
+		client.setDeviceModel("test_model");
+		client.setLanguage(new DynamicValue<String>() {
+			@Override
+			public String get() {
+				return Locale.getDefault().getDisplayLanguage();
+			}
+		});
+	}
+}
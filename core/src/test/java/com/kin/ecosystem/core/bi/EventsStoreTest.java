@@ -0,0 +1,152 @@
+package com.kin.ecosystem.core.bi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.kin.ecosystem.core.bi.EventsStore.ClientModifier;
+import com.kin.ecosystem.core.bi.EventsStore.CommonModifier;
+import com.kin.ecosystem.core.bi.EventsStore.DynamicValue;
+import com.kin.ecosystem.core.bi.EventsStore.UserModifier;
+import com.kin.ecosystem.core.bi.events.ClientProxy;
+import com.kin.ecosystem.core.bi.events.CommonProxy;
+import com.kin.ecosystem.core.bi.events.KinBalanceUpdated;
+import com.kin.ecosystem.core.bi.events.UserProxy;
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Before;
+import org.junit.Test;
+
+public class EventsStoreTest {
+
+	private final AtomicInteger balanceReads = new AtomicInteger();
+	private volatile String balance = "100";
+
+	private final UserModifier userModifier = new UserModifier() {
+		@Override
+		public void modify(UserProxy mutable) {
+			setUp(mutable);
+		}
+	};
+
+	private final CommonModifier commonModifier = new CommonModifier() {
+		@Override
+		public void modify(CommonProxy mutable) {
+			setUp(mutable, new DynamicValue<UUID>() {
+				@Override
+				public UUID get() {
+					return EventIdGenerator.next();
+				}
+			});
+		}
+	};
+
+	private final ClientModifier clientModifier = new ClientModifier() {
+		@Override
+		public void modify(ClientProxy mutable) {
+			setUp(mutable);
+		}
+	};
+
+	@Before
+	public void setUp() {
+		EventsStore.init(userModifier, commonModifier, clientModifier);
+	}
+
+	@Test
+	public void user_SnapshotReusedUntilInvalidated() {
+		assertSame(EventsStore.user(), EventsStore.user());
+		assertEquals(1, balanceReads.get());
+
+		balance = "250";
+		assertEquals(100.0, EventsStore.user().getBalance(), 0);
+
+		EventsStore.invalidateUser();
+		assertEquals(250.0, EventsStore.user().getBalance(), 0);
+		assertEquals(2, balanceReads.get());
+	}
+
+	@Test
+	public void common_NewEventIdAndTimestampPerEvent() {
+		final KinBalanceUpdated first = KinBalanceUpdated.create(1.0);
+		final KinBalanceUpdated second = KinBalanceUpdated.create(1.0);
+
+		assertNotEquals(first.getCommon().getEventId(), second.getCommon().getEventId());
+		assertEquals("test_user_id", second.getCommon().getUserId());
+		assertSame(first.getUser(), second.getUser());
+		assertSame(first.getClient(), second.getClient());
+	}
+
+	@Test
+	public void update_TakesNewSnapshot() {
+		EventsStore.user();
+		EventsStore.update(new UserModifier() {
+			@Override
+			public void modify(UserProxy mutable) {
+				mutable.setEntryPointParam("marketplace");
+			}
+		});
+
+		assertEquals("marketplace", EventsStore.user().getEntryPointParam());
+	}
+
+	@Test
+	public void eventIdGenerator_UniqueVersion4Ids() {
+		final Set<UUID> ids = new HashSet<>();
+		for (int i = 0; i < 100000; i++) {
+			final UUID id = EventIdGenerator.next();
+			assertEquals(4, id.version());
+			assertEquals(2, id.variant());
+			assertTrue(ids.add(id));
+		}
+	}
+
+	private void setUp(UserProxy user) {
+		user.setBalance(new DynamicValue<Double>() {
+			@Override
+			public Double get() {
+				balanceReads.incrementAndGet();
+				return new BigDecimal(balance).doubleValue();
+			}
+		});
+		user.setDigitalServiceId("test_app_id");
+		user.setDigitalServiceUserId("test_user");
+		user.setEntryPointParam("");
+		user.setEarnCount(0);
+		user.setSpendCount(0);
+		user.setTotalKinEarned(0.0);
+		user.setTotalKinSpent(0.0);
+		user.setTransactionCount(0);
+	}
+
+	private static void setUp(CommonProxy common, DynamicValue<UUID> eventId) {
+		common.setEventId(eventId);
+		common.setTimestamp(new DynamicValue<Long>() {
+			@Override
+			public Long get() {
+				return System.currentTimeMillis();
+			}
+		});
+		common.setUserId("test_user_id");
+		common.setVersion("test_version");
+	}
+
+	private static void setUp(ClientProxy client) {
+		client.setDeviceId("test_device_id");
+		client.setCarrier("test_carrier");
+		client.setOs("9");
+		client.setDeviceManufacturer("test_manufacturer");
+		client.setDeviceModel("test_model");
+		client.setLanguage(new DynamicValue<String>() {
+			@Override
+			public String get() {
+				return Locale.getDefault().getDisplayLanguage();
+			}
+		});
+	}
+}
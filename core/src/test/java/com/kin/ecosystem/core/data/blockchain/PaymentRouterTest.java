@@ -0,0 +1,146 @@
+package com.kin.ecosystem.core.data.blockchain;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import android.support.annotation.NonNull;
+import com.kin.ecosystem.common.Observer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PaymentRouterTest {
+
+	private static final String APP_ID = "appID";
+
+	private final Executor directExecutor = new Executor() {
+		@Override
+		public void execute(@NonNull Runnable command) {
+			command.run();
+		}
+	};
+
+	private PaymentRouter paymentRouter;
+
+	@Before
+	public void setUp() {
+		paymentRouter = new PaymentRouter(directExecutor);
+	}
+
+	@Test
+	public void dispatch_OnlyOrderObserversAndGlobal() {
+		final int orders = 100;
+		final int[] calls = new int[orders];
+		for (int i = 0; i < orders; i++) {
+			final int index = i;
+			paymentRouter.addObserver("order" + i, new Observer<Payment>() {
+				@Override
+				public void onChanged(Payment value) {
+					calls[index]++;
+				}
+			});
+		}
+		final List<Payment> globalPayments = new ArrayList<>();
+		paymentRouter.addGlobalObserver(new Observer<Payment>() {
+			@Override
+			public void onChanged(Payment value) {
+				globalPayments.add(value);
+			}
+		});
+
+		paymentRouter.dispatch(new Payment("order42", true, null));
+
+		for (int i = 0; i < orders; i++) {
+			assertEquals(i == 42 ? 1 : 0, calls[i]);
+		}
+		assertEquals(1, globalPayments.size());
+	}
+
+	@Test
+	public void removeObserver_NotCalledAnymore() {
+		final List<String> calls = new ArrayList<>();
+		final Observer<Payment> first = new Observer<Payment>() {
+			@Override
+			public void onChanged(Payment value) {
+				calls.add("first");
+				// Removing while the payment is dispatched doesn't affect the other observers.
+				paymentRouter.removeObserver("order", this);
+			}
+		};
+		final Observer<Payment> second = new Observer<Payment>() {
+			@Override
+			public void onChanged(Payment value) {
+				calls.add("second");
+			}
+		};
+		paymentRouter.addObserver("order", first);
+		paymentRouter.addObserver("order", second);
+
+		paymentRouter.dispatch(new Payment("order", true, null));
+		paymentRouter.removeObserver("order", second);
+		paymentRouter.dispatch(new Payment("order", true, null));
+
+		assertEquals(2, calls.size());
+		assertEquals("first", calls.get(0));
+		assertEquals("second", calls.get(1));
+	}
+
+	@Test
+	public void removeObserver_Twice_RemovedOnce() {
+		final Observer<Payment> observer = new Observer<Payment>() {
+			@Override
+			public void onChanged(Payment value) {
+			}
+		};
+		paymentRouter.addObserver("order", observer);
+		paymentRouter.addGlobalObserver(observer);
+
+		assertTrue(paymentRouter.removeObserver("order", observer));
+		assertFalse(paymentRouter.removeObserver("order", observer));
+		assertFalse(paymentRouter.removeObserver("other order", observer));
+		assertTrue(paymentRouter.removeGlobalObserver(observer));
+		assertFalse(paymentRouter.removeGlobalObserver(observer));
+	}
+
+	@Test
+	public void removeGlobalObserver_NotCalledAnymore() {
+		final List<Payment> payments = new ArrayList<>();
+		final Observer<Payment> observer = new Observer<Payment>() {
+			@Override
+			public void onChanged(Payment value) {
+				payments.add(value);
+			}
+		};
+		paymentRouter.addGlobalObserver(observer);
+		paymentRouter.dispatch(new Payment("order", true, null));
+		paymentRouter.removeGlobalObserver(observer);
+		paymentRouter.dispatch(new Payment("order", true, null));
+
+		assertEquals(1, payments.size());
+	}
+
+	@Test
+	public void memoCodec_EncodeDecode() {
+		final String memo = MemoCodec.encode(APP_ID, "orderID");
+		assertEquals("1-appID-orderID", memo);
+		assertEquals("orderID", MemoCodec.decodeOrderId(memo, APP_ID));
+	}
+
+	@Test
+	public void memoCodec_NotThisAppOrMalformed_Null() {
+		assertNull(MemoCodec.decodeOrderId("1-appID-orderID", null));
+		assertNull(MemoCodec.decodeOrderId("1-otherApp-orderID", APP_ID));
+		assertNull(MemoCodec.decodeOrderId("1-appIDs-orderID", APP_ID));
+		assertNull(MemoCodec.decodeOrderId("1-appI-orderID", APP_ID));
+		assertNull(MemoCodec.decodeOrderId("123", APP_ID));
+		assertNull(MemoCodec.decodeOrderId("1-appID", APP_ID));
+		assertNull(MemoCodec.decodeOrderId("1-appID-", APP_ID));
+		assertNull(MemoCodec.decodeOrderId("-appID-orderID", APP_ID));
+		assertNull(MemoCodec.decodeOrderId("1-appID-order-ID", APP_ID));
+		assertNull(MemoCodec.decodeOrderId(null, APP_ID));
+	}
+}
@@ -0,0 +1,85 @@
+package com.kin.ecosystem.core.data.blockchain;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import android.support.annotation.NonNull;
+import com.kin.ecosystem.core.data.blockchain.TransactionQueue.Transaction;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+public class TransactionQueueTest {
+
+	private final TransactionQueue transactionQueue = new TransactionQueue();
+
+	@Test
+	public void enqueue_NextSentOnlyWhenPreviousDone() {
+		final List<String> sent = new ArrayList<>();
+		final List<Runnable> pendingDone = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			final String name = "tx" + i;
+			transactionQueue.enqueue(new Transaction() {
+				@Override
+				public void send(@NonNull Runnable onDone) {
+					sent.add(name);
+					pendingDone.add(onDone);
+				}
+			});
+		}
+		assertEquals(1, sent.size());
+		assertEquals(2, transactionQueue.getPendingCount());
+
+		pendingDone.get(0).run();
+		assertEquals(2, sent.size());
+		pendingDone.get(1).run();
+		pendingDone.get(2).run();
+		assertEquals("tx2", sent.get(2));
+		assertEquals(0, transactionQueue.getPendingCount());
+	}
+
+	@Test
+	public void enqueue_ConcurrentSenders_NeverOverlap() throws InterruptedException {
+		final int transactions = 200;
+		final AtomicInteger inFlight = new AtomicInteger();
+		final List<Integer> maxInFlight = Collections.synchronizedList(new ArrayList<Integer>());
+		final CountDownLatch done = new CountDownLatch(transactions);
+		final ExecutorService senders = Executors.newFixedThreadPool(8);
+		final ExecutorService network = Executors.newFixedThreadPool(4);
+		for (int i = 0; i < transactions; i++) {
+			senders.execute(new Runnable() {
+				@Override
+				public void run() {
+					transactionQueue.enqueue(new Transaction() {
+						@Override
+						public void send(@NonNull final Runnable onDone) {
+							maxInFlight.add(inFlight.incrementAndGet());
+							network.execute(new Runnable() {
+								@Override
+								public void run() {
+									inFlight.decrementAndGet();
+									done.countDown();
+									onDone.run();
+								}
+							});
+						}
+					});
+				}
+			});
+		}
+		assertTrue(done.await(5, TimeUnit.SECONDS));
+		senders.shutdown();
+		network.shutdown();
+
+		assertEquals(transactions, maxInFlight.size());
+		for (int value : maxInFlight) {
+			assertEquals(1, value);
+		}
+	}
+}
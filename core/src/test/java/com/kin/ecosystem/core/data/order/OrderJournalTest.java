@@ -0,0 +1,122 @@
+package com.kin.ecosystem.core.data.order;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.kin.ecosystem.core.data.order.OrderJournal.Entry;
+import com.kin.ecosystem.core.data.order.OrderTracker.State;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class OrderJournalTest {
+
+	private File file;
+
+	@Before
+	public void setUp() throws IOException {
+		file = File.createTempFile("order_journal", null);
+		assertTrue(file.delete());
+	}
+
+	@After
+	public void tearDown() {
+		file.delete();
+		new File(file.getPath() + ".tmp").delete();
+	}
+
+	@Test
+	public void load_AfterRestart_LastStateOfLiveOrders() {
+		final OrderJournal orderJournal = new OrderJournal(file);
+		orderJournal.append(entry("order_1", State.CREATED));
+		orderJournal.append(entry("order_2", State.CREATED));
+		orderJournal.append(entry("order_1", State.SUBMITTED));
+		orderJournal.append(entry("order_1", State.TX_SENT));
+		orderJournal.append(entry("order_2", State.SUBMITTED));
+		orderJournal.append(entry("order_2", State.CONFIRMED));
+		orderJournal.append(new Entry("order_3", null, false, State.SUBMITTED, 1));
+
+		final List<Entry> entries = new OrderJournal(file).load();
+		assertEquals(2, entries.size());
+		assertEquals("order_1", entries.get(0).getOrderId());
+		assertEquals(State.TX_SENT, entries.get(0).getState());
+		assertTrue(entries.get(0).isExternal());
+		assertEquals("offer", entries.get(0).getOfferId());
+		assertEquals("order_3", entries.get(1).getOrderId());
+		assertEquals("", entries.get(1).getOfferId());
+		assertFalse(entries.get(1).isExternal());
+	}
+
+	@Test
+	public void append_SameStateOrUnknownFinal_Skipped() throws IOException {
+		final OrderJournal orderJournal = new OrderJournal(file);
+		orderJournal.append(entry("order_1", State.SUBMITTED));
+		orderJournal.append(entry("order_1", State.SUBMITTED));
+		orderJournal.append(entry("order_2", State.FAILED));
+
+		assertEquals(1, countLines());
+	}
+
+	@Test
+	public void load_TornLastLine_Ignored() throws IOException {
+		final OrderJournal orderJournal = new OrderJournal(file);
+		orderJournal.append(entry("order_1", State.SUBMITTED));
+		final FileOutputStream outputStream = new FileOutputStream(file, true);
+		outputStream.write("order_1\toffer\tE\tTX_SE".getBytes("UTF-8"));
+		outputStream.close();
+
+		final OrderJournal reloaded = new OrderJournal(file);
+		assertEquals(State.SUBMITTED, reloaded.load().get(0).getState());
+		reloaded.append(entry("order_2", State.CREATED));
+
+		final List<Entry> entries = new OrderJournal(file).load();
+		assertEquals(2, entries.size());
+		assertEquals(2, countLines());
+	}
+
+	@Test
+	public void append_ManyFinishedOrders_Compacted() throws IOException {
+		final OrderJournal orderJournal = new OrderJournal(file);
+		orderJournal.append(entry("live", State.SUBMITTED));
+		for (int i = 0; i < 100; i++) {
+			orderJournal.append(entry("order_" + i, State.CREATED));
+			orderJournal.append(entry("order_" + i, State.CONFIRMED));
+		}
+
+		assertTrue(countLines() < 64);
+		final List<Entry> entries = new OrderJournal(file).load();
+		assertEquals(1, entries.size());
+		assertEquals("live", entries.get(0).getOrderId());
+	}
+
+	@Test
+	public void clear_NothingToLoad() {
+		final OrderJournal orderJournal = new OrderJournal(file);
+		orderJournal.append(entry("order_1", State.SUBMITTED));
+		orderJournal.clear();
+
+		assertFalse(file.exists());
+		assertTrue(new OrderJournal(file).load().isEmpty());
+	}
+
+	private static Entry entry(String orderId, State state) {
+		return new Entry(orderId, "offer", true, state, System.currentTimeMillis());
+	}
+
+	private int countLines() throws IOException {
+		final BufferedReader reader = new BufferedReader(new FileReader(file));
+		int lines = 0;
+		while (reader.readLine() != null) {
+			lines++;
+		}
+		reader.close();
+		return lines;
+	}
+}
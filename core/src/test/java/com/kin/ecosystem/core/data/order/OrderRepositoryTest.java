@@ -8,7 +8,10 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -42,6 +45,8 @@ import com.kin.ecosystem.core.network.model.Order.Origin;
 import com.kin.ecosystem.core.network.model.Order.Status;
 import com.kin.ecosystem.core.network.model.OrderList;
 import com.kin.ecosystem.core.network.model.OrderSpendResult.TypeEnum;
+import com.kin.ecosystem.core.network.model.Paging;
+import com.kin.ecosystem.core.network.model.PagingCursors;
 import java.lang.reflect.Field;
 import java.math.BigDecimal;
 import java.util.Arrays;
@@ -150,7 +155,7 @@ public class OrderRepositoryTest extends BaseTestClass {
 		KinCallback<OrderList> orderHistoryCallback = mock(KinCallback.class);
 		ArgumentCaptor<Callback<OrderList, ApiException>> orderHistoryCaptor = ArgumentCaptor.forClass(Callback.class);
 		orderRepository.getAllOrderHistory(orderHistoryCallback);
-		verify(remote).getAllOrderHistory(orderHistoryCaptor.capture());
+		verify(remote).getOrderHistory(isNull(String.class), isNull(String.class), anyInt(), orderHistoryCaptor.capture());
 
 		orderHistoryCaptor.getValue().onResponse(new OrderList().addOrder(order));
 
@@ -159,6 +164,62 @@ public class OrderRepositoryTest extends BaseTestClass {
 		verify(orderHistoryCallback).onResponse(orderList);
 	}
 
+	@Test
+	public void getAllOrderHistory_Cached_GetOnlyNewerOrders() {
+		KinCallback<OrderList> orderHistoryCallback = mock(KinCallback.class);
+		ArgumentCaptor<Callback<OrderList, ApiException>> orderHistoryCaptor = ArgumentCaptor.forClass(Callback.class);
+		Order oldOrder = new Order().orderId("old").status(Status.COMPLETED);
+		Order newOrder = new Order().orderId("new").status(Status.COMPLETED);
+
+		orderRepository.getAllOrderHistory(orderHistoryCallback);
+		verify(remote).getOrderHistory(isNull(String.class), isNull(String.class), anyInt(), orderHistoryCaptor.capture());
+		orderHistoryCaptor.getValue().onResponse(createOrderList("oldCursor", oldOrder));
+
+		orderRepository.getAllOrderHistory(orderHistoryCallback);
+		verify(remote).getOrderHistory(eq("oldCursor"), isNull(String.class), anyInt(), orderHistoryCaptor.capture());
+		orderHistoryCaptor.getValue().onResponse(createOrderList("newCursor", newOrder));
+
+		OrderList orderList = orderRepository.getAllCachedOrderHistory();
+		assertEquals(Arrays.asList(newOrder, oldOrder), orderList.getOrders());
+		assertEquals("newCursor", orderList.getPaging().getCursors().getBefore());
+		verify(remote, times(1)).getOrderHistory(isNull(String.class), isNull(String.class), anyInt(),
+			any(Callback.class));
+		verify(local, times(2)).setOrderHistory(orderList);
+	}
+
+	@Test
+	public void getAllOrderHistory_CachedPageOverflows_KeepNewerOrdersWithTheirAfterCursor() {
+		KinCallback<OrderList> orderHistoryCallback = mock(KinCallback.class);
+		ArgumentCaptor<Callback<OrderList, ApiException>> orderHistoryCaptor = ArgumentCaptor.forClass(Callback.class);
+		OrderList firstPage = new OrderList();
+		for (int i = 0; i < 20; i++) {
+			firstPage.addOrder(new Order().orderId("old_" + i).status(Status.COMPLETED));
+		}
+		firstPage.setPaging(new Paging().cursors(new PagingCursors().before("oldBefore").after("oldAfter")));
+		Order newOrder = new Order().orderId("new").status(Status.COMPLETED);
+		OrderList newerOrders = new OrderList().addOrder(newOrder);
+		newerOrders.setPaging(new Paging().cursors(new PagingCursors().before("newBefore").after("newAfter")));
+
+		orderRepository.getAllOrderHistory(orderHistoryCallback);
+		verify(remote).getOrderHistory(isNull(String.class), isNull(String.class), anyInt(), orderHistoryCaptor.capture());
+		orderHistoryCaptor.getValue().onResponse(firstPage);
+
+		orderRepository.getAllOrderHistory(orderHistoryCallback);
+		verify(remote).getOrderHistory(eq("oldBefore"), isNull(String.class), anyInt(), orderHistoryCaptor.capture());
+		orderHistoryCaptor.getValue().onResponse(newerOrders);
+
+		OrderList orderList = orderRepository.getAllCachedOrderHistory();
+		assertEquals(Arrays.asList(newOrder), orderList.getOrders());
+		assertEquals("newBefore", orderList.getPaging().getCursors().getBefore());
+		assertEquals("newAfter", orderList.getPaging().getCursors().getAfter());
+	}
+
+	private OrderList createOrderList(String beforeCursor, Order order) {
+		OrderList orderList = new OrderList().addOrder(order);
+		orderList.setPaging(new Paging().cursors(new PagingCursors().before(beforeCursor)));
+		return orderList;
+	}
+
 	@Test
 	public void createOrder_Succeed() {
 		orderRepository.createOrder(offerID, openOrderCallback);
@@ -199,7 +260,7 @@ public class OrderRepositoryTest extends BaseTestClass {
 		// Submit Order
 		orderRepository.submitOrder(order.getOfferId(), "", order.getOrderId(), orderCallback);
 		verify(remote).submitOrder(anyString(), anyString(), submitOrderCapture.capture());
-		verify(blockchainSource).addPaymentObservable(paymentCapture.capture());
+		verify(blockchainSource).addPaymentObserver(eq(orderID), paymentCapture.capture());
 
 		when(order.getStatus()).thenReturn(Status.PENDING);
 		submitOrderCapture.getValue().onResponse(order);
@@ -241,7 +302,7 @@ public class OrderRepositoryTest extends BaseTestClass {
 		// Submit Order
 		orderRepository.submitOrder(order.getOfferId(), "", order.getOrderId(), orderCallback);
 		verify(remote).submitOrder(anyString(), anyString(), submitOrderCapture.capture());
-		verify(blockchainSource).addPaymentObservable(paymentCapture.capture());
+		verify(blockchainSource).addPaymentObserver(eq(orderID), paymentCapture.capture());
 
 		when(order.getStatus()).thenReturn(Status.PENDING);
 		submitOrderCapture.getValue().onResponse(order);
@@ -282,7 +343,7 @@ public class OrderRepositoryTest extends BaseTestClass {
 		// Submit Order
 		orderRepository.submitOrder(order.getOfferId(), "", order.getOrderId(), orderCallback);
 		verify(remote).submitOrder(anyString(), anyString(), submitOrderCapture.capture());
-		verify(blockchainSource).addPaymentObservable(paymentCapture.capture());
+		verify(blockchainSource).addPaymentObserver(eq(orderID), paymentCapture.capture());
 
 		when(order.getStatus()).thenReturn(Status.PENDING);
 		submitOrderCapture.getValue().onResponse(order);
@@ -393,7 +454,7 @@ public class OrderRepositoryTest extends BaseTestClass {
 		});
 		Thread.sleep(500);
 		ShadowLooper.runUiThreadTasks();
-		verify(blockchainSource, times(2)).addPaymentObservable(paymentCapture.capture());
+		verify(blockchainSource, times(2)).addPaymentObserver(eq(orderID), paymentCapture.capture());
 		List<Observer<Payment>> observersList = paymentCapture.getAllValues();
 		for (Observer<Payment> observer : observersList) {
 			observer.onChanged(payment);
@@ -452,7 +513,7 @@ public class OrderRepositoryTest extends BaseTestClass {
 
 		Thread.sleep(500);
 		ShadowLooper.runUiThreadTasks();
-		verify(blockchainSource, never()).addPaymentObservable(any(Observer.class));
+		verify(blockchainSource, never()).addPaymentObserver(anyString(), any(Observer.class));
 		verify(remote, never()).submitOrder(anyString(), anyString(), any(Callback.class));
 		assertNull(orderRepository.getOrderWatcher().getValue());
 
@@ -482,7 +543,7 @@ public class OrderRepositoryTest extends BaseTestClass {
 		});
 		Thread.sleep(500);
 		ShadowLooper.runUiThreadTasks();
-		verify(blockchainSource, never()).addPaymentObservable(any(Observer.class));
+		verify(blockchainSource, never()).addPaymentObserver(anyString(), any(Observer.class));
 		verify(remote, never()).submitOrder(anyString(), anyString(), any(Callback.class));
 		assertNull(orderRepository.getOrderWatcher().getValue());
 
@@ -542,7 +603,7 @@ public class OrderRepositoryTest extends BaseTestClass {
 		});
 		Thread.sleep(500);
 		ShadowLooper.runUiThreadTasks();
-		verify(blockchainSource, times(2)).addPaymentObservable(paymentCapture.capture());
+		verify(blockchainSource, times(2)).addPaymentObserver(eq(orderID), paymentCapture.capture());
 		List<Observer<Payment>> observersList = paymentCapture.getAllValues();
 		for (Observer<Payment> observer : observersList) {
 			observer.onChanged(payment);
@@ -550,8 +611,8 @@ public class OrderRepositoryTest extends BaseTestClass {
 
 		countDownLatch.await(500, TimeUnit.MICROSECONDS);
 
-		verify(blockchainSource).removePaymentObserver(observersList.get(0));
-		verify(blockchainSource).removePaymentObserver(observersList.get(1));
+		verify(blockchainSource).removePaymentObserver(orderID, observersList.get(0));
+		verify(blockchainSource).removePaymentObserver(orderID, observersList.get(1));
 		verify(remote).changeOrder(anyString(), any(Body.class), any(Callback.class));
 
 		assertNull(orderRepository.getOrderWatcher().getValue());
@@ -0,0 +1,221 @@
+package com.kin.ecosystem.core.data.order;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import android.support.annotation.NonNull;
+import com.kin.ecosystem.core.data.order.OrderTracker.State;
+import com.kin.ecosystem.core.data.order.OrderTracker.StateListener;
+import com.kin.ecosystem.core.data.order.OrderTracker.TrackedOrder;
+import com.kin.ecosystem.core.util.SdkExecutor;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+
+public class OrderTrackerTest {
+
+	private static final String ORDER_ID = "order_1";
+	private static final String OFFER_ID = "offer_1";
+
+	private OrderTracker orderTracker;
+	private final List<String> transitions = Collections.synchronizedList(new ArrayList<String>());
+
+	@Before
+	public void setUp() {
+		orderTracker = new OrderTracker(SdkExecutor.getInstance());
+		orderTracker.addListener(new StateListener() {
+			@Override
+			public void onStateChanged(@NonNull TrackedOrder order, @NonNull State from, @NonNull State to) {
+				transitions.add(order.getOrderId() + ":" + from + "->" + to);
+			}
+		});
+	}
+
+	@Test
+	public void moveTo_FullFlow_OrderDroppedWhenConfirmed() {
+		final TrackedOrder order = orderTracker.track(ORDER_ID, OFFER_ID, true);
+		assertEquals(State.CREATED, order.getState());
+
+		assertTrue(orderTracker.moveTo(ORDER_ID, State.SUBMITTED));
+		assertTrue(orderTracker.moveTo(ORDER_ID, State.TX_SENT));
+		assertTrue(orderTracker.moveTo(ORDER_ID, State.PAYMENT_SEEN));
+		assertEquals(1, orderTracker.count(State.PAYMENT_SEEN));
+		assertTrue(orderTracker.moveTo(ORDER_ID, State.CONFIRMED));
+
+		assertEquals(State.CONFIRMED, order.getState());
+		assertNull(orderTracker.get(ORDER_ID));
+		assertEquals(4, transitions.size());
+		assertEquals(ORDER_ID + ":PAYMENT_SEEN->CONFIRMED", transitions.get(3));
+	}
+
+	@Test
+	public void moveTo_NeverMovesBackOrOutOfFinalState() {
+		orderTracker.track(ORDER_ID, OFFER_ID, false);
+		assertTrue(orderTracker.moveTo(ORDER_ID, State.PAYMENT_SEEN));
+		assertFalse(orderTracker.moveTo(ORDER_ID, State.SUBMITTED));
+		assertFalse(orderTracker.moveTo(ORDER_ID, State.PAYMENT_SEEN));
+
+		final TrackedOrder order = orderTracker.get(ORDER_ID);
+		assertTrue(orderTracker.fail(ORDER_ID, "canceled"));
+		assertFalse(orderTracker.moveTo(ORDER_ID, State.CONFIRMED));
+		assertEquals(State.FAILED, order.getState());
+		assertEquals("canceled", order.getFailureReason());
+	}
+
+	@Test
+	public void track_AlreadyTracked_KeepsState() {
+		final TrackedOrder order = orderTracker.track(ORDER_ID, OFFER_ID, true);
+		orderTracker.moveTo(ORDER_ID, State.SUBMITTED);
+
+		assertSame(order, orderTracker.track(ORDER_ID, OFFER_ID, false));
+		assertEquals(State.SUBMITTED, order.getState());
+		assertTrue(order.isExternal());
+	}
+
+	@Test
+	public void orderListener_OnlyOwnOrder() {
+		final List<State> states = new ArrayList<>();
+		orderTracker.track(ORDER_ID, OFFER_ID, true).addListener(new StateListener() {
+			@Override
+			public void onStateChanged(@NonNull TrackedOrder order, @NonNull State from, @NonNull State to) {
+				states.add(to);
+			}
+		});
+		orderTracker.track("order_2", OFFER_ID, true);
+
+		orderTracker.moveTo("order_2", State.SUBMITTED);
+		orderTracker.moveTo(ORDER_ID, State.SUBMITTED);
+		orderTracker.fail(ORDER_ID, null);
+
+		assertEquals(2, states.size());
+		assertEquals(State.FAILED, states.get(1));
+		assertEquals(3, transitions.size());
+	}
+
+	@Test
+	public void stateTimer_FailsStuckOrder() throws InterruptedException {
+		orderTracker = new OrderTracker(SdkExecutor.getInstance(), TimeUnit.SECONDS.toMillis(10), 50);
+		final CountDownLatch failed = new CountDownLatch(1);
+		final TrackedOrder order = orderTracker.track(ORDER_ID, OFFER_ID, true);
+		order.addListener(new StateListener() {
+			@Override
+			public void onStateChanged(@NonNull TrackedOrder order, @NonNull State from, @NonNull State to) {
+				if (to == State.FAILED) {
+					failed.countDown();
+				}
+			}
+		});
+		orderTracker.moveTo(ORDER_ID, State.SUBMITTED);
+
+		assertTrue(failed.await(5, TimeUnit.SECONDS));
+		assertEquals("timed out in SUBMITTED", order.getFailureReason());
+		assertNull(orderTracker.get(ORDER_ID));
+	}
+
+	@Test
+	public void stateTimer_CreatedMarketplaceOrderNotTimed_StillSubmitted() throws InterruptedException {
+		orderTracker = new OrderTracker(SdkExecutor.getInstance(), 50, 50);
+		final TrackedOrder order = orderTracker.track(ORDER_ID, OFFER_ID, false);
+		orderTracker.track("external_order", OFFER_ID, true);
+
+		Thread.sleep(200);
+		assertEquals(State.CREATED, order.getState());
+		assertNull(orderTracker.get("external_order"));
+
+		assertTrue(orderTracker.moveTo(ORDER_ID, State.SUBMITTED));
+		assertEquals(State.SUBMITTED, order.getState());
+	}
+
+	@Test
+	public void stateTimer_CanceledWhenStateChanges() throws InterruptedException {
+		orderTracker = new OrderTracker(SdkExecutor.getInstance(), 50, TimeUnit.SECONDS.toMillis(10));
+		final TrackedOrder order = orderTracker.track(ORDER_ID, OFFER_ID, true);
+		orderTracker.moveTo(ORDER_ID, State.SUBMITTED);
+
+		Thread.sleep(200);
+		assertEquals(State.SUBMITTED, order.getState());
+	}
+
+	@Test
+	public void resume_NotTimedWhilePolled() throws InterruptedException {
+		orderTracker = new OrderTracker(SdkExecutor.getInstance(), 50, 50);
+		final TrackedOrder order = orderTracker.resume(ORDER_ID, OFFER_ID, true, State.SUBMITTED,
+			TimeUnit.HOURS.toMillis(1));
+		assertNotNull(order);
+		assertNull(orderTracker.resume(ORDER_ID, OFFER_ID, true, State.TX_SENT, 0));
+		orderTracker.moveTo(ORDER_ID, State.TX_SENT);
+
+		Thread.sleep(200);
+		assertEquals(State.TX_SENT, order.getState());
+		assertSame(order, orderTracker.get(ORDER_ID));
+	}
+
+	@Test
+	public void startStateTimer_ResumedOrder_TimeoutLessElapsed() throws InterruptedException {
+		orderTracker = new OrderTracker(SdkExecutor.getInstance(), TimeUnit.SECONDS.toMillis(10),
+			TimeUnit.SECONDS.toMillis(10));
+		final CountDownLatch failed = new CountDownLatch(1);
+		final TrackedOrder order = orderTracker.resume(ORDER_ID, OFFER_ID, true, State.SUBMITTED,
+			TimeUnit.SECONDS.toMillis(20));
+		order.addListener(new StateListener() {
+			@Override
+			public void onStateChanged(@NonNull TrackedOrder order, @NonNull State from, @NonNull State to) {
+				if (to == State.FAILED) {
+					failed.countDown();
+				}
+			}
+		});
+
+		orderTracker.startStateTimer(ORDER_ID);
+
+		assertTrue(failed.await(1, TimeUnit.SECONDS));
+		assertEquals("timed out in SUBMITTED", order.getFailureReason());
+	}
+
+	@Test
+	public void concurrentOrders_EachRunsItsOwnStateMachine() throws InterruptedException {
+		final int orders = 50;
+		final ExecutorService executor = Executors.newFixedThreadPool(8);
+		final CountDownLatch done = new CountDownLatch(orders);
+		for (int i = 0; i < orders; i++) {
+			final String orderId = "order_" + i;
+			final boolean fail = i % 5 == 0;
+			executor.execute(new Runnable() {
+				@Override
+				public void run() {
+					orderTracker.track(orderId, OFFER_ID, true);
+					orderTracker.moveTo(orderId, State.SUBMITTED);
+					orderTracker.moveTo(orderId, State.TX_SENT);
+					if (fail) {
+						orderTracker.fail(orderId, "transaction failed");
+					} else {
+						orderTracker.moveTo(orderId, State.PAYMENT_SEEN);
+					}
+					done.countDown();
+				}
+			});
+		}
+		assertTrue(done.await(5, TimeUnit.SECONDS));
+		executor.shutdown();
+
+		assertEquals(40, orderTracker.count(State.PAYMENT_SEEN));
+		assertEquals(0, orderTracker.count(State.CREATED, State.SUBMITTED, State.TX_SENT));
+		assertEquals(40, orderTracker.getLiveOrders().size());
+		assertEquals(50 * 3, transitions.size());
+
+		final String dump = orderTracker.dump();
+		assertNotNull(dump);
+		assertEquals(40, dump.split("\n").length);
+		assertTrue(dump.contains("order_1 offer=offer_1 external state=PAYMENT_SEEN"));
+	}
+}
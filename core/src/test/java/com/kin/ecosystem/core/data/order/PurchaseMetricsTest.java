@@ -0,0 +1,38 @@
+package com.kin.ecosystem.core.data.order;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.kin.ecosystem.common.model.PurchaseStats;
+import com.kin.ecosystem.core.data.order.PurchaseMetrics.Stage;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+public class PurchaseMetricsTest {
+
+	@Test
+	public void record_FlowsKeptApart() {
+		final PurchaseMetrics purchaseMetrics = new PurchaseMetrics();
+		final long now = System.nanoTime();
+		purchaseMetrics.record(false, Stage.SUBMIT, now - TimeUnit.MILLISECONDS.toNanos(400));
+		purchaseMetrics.record(false, Stage.TOTAL, now - TimeUnit.MILLISECONDS.toNanos(3000));
+		purchaseMetrics.record(true, Stage.PREPARE, now - TimeUnit.MILLISECONDS.toNanos(100));
+		purchaseMetrics.record(true, Stage.TOTAL, now - TimeUnit.MILLISECONDS.toNanos(1000));
+
+		final List<PurchaseStats> stats = purchaseMetrics.getStats();
+		assertEquals(2, stats.size());
+		final PurchaseStats sequential = stats.get(0);
+		final PurchaseStats pipelined = stats.get(1);
+		assertFalse(sequential.isPipelined());
+		assertTrue(pipelined.isPipelined());
+
+		assertEquals(1, sequential.getSubmit().getCount());
+		assertEquals(0, sequential.getPrepare().getCount());
+		assertTrue(sequential.getTotal().getMax() >= 3000);
+		assertEquals(1, pipelined.getPrepare().getCount());
+		assertEquals(0, pipelined.getSubmit().getCount());
+		assertTrue(pipelined.getTotal().getMax() >= 1000 && pipelined.getTotal().getMax() < 3000);
+	}
+}
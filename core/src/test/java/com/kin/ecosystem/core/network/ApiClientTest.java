@@ -0,0 +1,77 @@
+package com.kin.ecosystem.core.network;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.kin.ecosystem.core.network.model.Error;
+import java.io.IOException;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.SocketPolicy;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ApiClientTest {
+
+    private MockWebServer server;
+    private OkHttpClient httpClient;
+    private ApiClient apiClient;
+
+    @Before
+    public void setUp() throws Exception {
+        httpClient = SharedHttpClient.newBuilder().build();
+        server = new MockWebServer();
+        server.start();
+        apiClient = new ApiClient(server.url("/").toString());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    public void deserialize_JsonBody() throws Exception {
+        server.enqueue(new MockResponse().setBody("{\"error\":\"Not found\",\"message\":\"No such order\",\"code\":4041}"));
+
+        final Error error = apiClient.deserialize(get(), Error.class);
+
+        assertEquals("Not found", error.getError());
+        assertEquals("No such order", error.getMessage());
+        assertEquals(4041, error.getCode().intValue());
+    }
+
+    @Test
+    public void deserialize_BodyTruncatedByDisconnect_ApiExceptionWithIOCause() throws Exception {
+        final StringBuilder message = new StringBuilder();
+        for (int i = 0; i < 1024; i++) {
+            message.append("order ");
+        }
+        server.enqueue(new MockResponse()
+            .setBody("{\"error\":\"Not found\",\"message\":\"" + message + "\",\"code\":4041}")
+            .setSocketPolicy(SocketPolicy.DISCONNECT_DURING_RESPONSE_BODY));
+
+        try {
+            apiClient.deserialize(get(), Error.class);
+            fail("Expected ApiException");
+        } catch (ApiException e) {
+            assertTrue(e.getCause() instanceof IOException);
+        }
+    }
+
+    @Test(expected = ApiException.class)
+    public void deserialize_MalformedBody_ApiException() throws Exception {
+        server.enqueue(new MockResponse().setBody("{\"error\":\"Not found\",\"code\":"));
+
+        apiClient.deserialize(get(), Error.class);
+    }
+
+    private Response get() throws IOException {
+        return httpClient.newCall(new Request.Builder().url(server.url("/orders/1")).build()).execute();
+    }
+}
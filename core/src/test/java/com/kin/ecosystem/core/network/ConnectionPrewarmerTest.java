@@ -0,0 +1,84 @@
+package com.kin.ecosystem.core.network;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Collections;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ConnectionPrewarmerTest {
+
+    private MockWebServer server;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    public void prewarm_FirstCallReusesConnection() throws Exception {
+        server.enqueue(new MockResponse());
+        server.enqueue(new MockResponse().setBody("{}"));
+        final HttpClientStats before = SharedHttpClient.getStats();
+
+        SharedHttpClient.prewarm(Collections.singletonList(server.url("/v2/").toString()),
+            Collections.<String>emptyList());
+        waitForPrewarm(before.getPrewarmedConnections() + 1);
+
+        final OkHttpClient client = SharedHttpClient.newBuilder().build();
+        final Response response = client.newCall(new Request.Builder().url(server.url("/v2/offers")).build())
+            .execute();
+        response.close();
+
+        final HttpClientStats after = SharedHttpClient.getStats();
+        assertEquals(before.getPrewarmHits() + 1, after.getPrewarmHits());
+        assertEquals(before.getPrewarmMisses(), after.getPrewarmMisses());
+        assertEquals("HEAD / HTTP/1.1", server.takeRequest().getRequestLine());
+        final RecordedRequest request = server.takeRequest();
+        assertEquals("GET /v2/offers HTTP/1.1", request.getRequestLine());
+        // Second request on the pre-warmed connection.
+        assertEquals(1, request.getSequenceNumber());
+    }
+
+    @Test
+    public void secondCall_NotReported() throws Exception {
+        server.enqueue(new MockResponse());
+        server.enqueue(new MockResponse().setBody("{}"));
+        server.enqueue(new MockResponse().setBody("{}"));
+
+        final HttpClientStats before = SharedHttpClient.getStats();
+        SharedHttpClient.prewarm(Collections.singletonList(server.url("/").toString()),
+            Collections.<String>emptyList());
+        waitForPrewarm(before.getPrewarmedConnections() + 1);
+
+        final OkHttpClient client = SharedHttpClient.newBuilder().build();
+        client.newCall(new Request.Builder().url(server.url("/offers")).build()).execute().close();
+        client.newCall(new Request.Builder().url(server.url("/offers")).build()).execute().close();
+
+        final HttpClientStats after = SharedHttpClient.getStats();
+        assertEquals(before.getPrewarmHits() + before.getPrewarmMisses() + 1,
+            after.getPrewarmHits() + after.getPrewarmMisses());
+    }
+
+    private static void waitForPrewarm(long prewarmedConnections) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 5000;
+        while (SharedHttpClient.getStats().getPrewarmedConnections() < prewarmedConnections
+            && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(prewarmedConnections, SharedHttpClient.getStats().getPrewarmedConnections());
+    }
+}
@@ -0,0 +1,99 @@
+package com.kin.ecosystem.core.network;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.IOException;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class HttpResponseCacheTest {
+
+    private static final String OFFERS_JSON = "{\"offers\":[],\"paging\":{\"cursors\":{}}}";
+
+    @ClassRule
+    public static TemporaryFolder cacheFolder = new TemporaryFolder();
+
+    private MockWebServer server;
+    private OkHttpClient httpClient;
+
+    @Before
+    public void setUp() throws Exception {
+        SharedHttpClient.setCacheDirectory(cacheFolder.getRoot());
+        SharedHttpClient.clearCache();
+        httpClient = SharedHttpClient.newBuilder().build();
+        server = new MockWebServer();
+        server.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    public void unchangedResponse_RevalidatedWithETag_ServedFromCache() throws Exception {
+        server.enqueue(new MockResponse().setHeader("ETag", "\"v1\"").setBody(OFFERS_JSON));
+        server.enqueue(new MockResponse().setResponseCode(304).setHeader("ETag", "\"v1\""));
+        final HttpClientStats before = SharedHttpClient.getStats();
+
+        assertEquals(OFFERS_JSON, get("/v2/offers"));
+        assertNull(server.takeRequest().getHeader("If-None-Match"));
+
+        assertEquals(OFFERS_JSON, get("/v2/offers"));
+        RecordedRequest revalidation = server.takeRequest();
+        assertEquals("\"v1\"", revalidation.getHeader("If-None-Match"));
+
+        final HttpClientStats after = SharedHttpClient.getStats();
+        assertEquals(2, after.getCacheRequests() - before.getCacheRequests());
+        assertEquals(1, after.getCacheHits() - before.getCacheHits());
+        assertEquals(1, after.getCacheRevalidations() - before.getCacheRevalidations());
+        assertEquals(1, after.getCacheNotModified() - before.getCacheNotModified());
+    }
+
+    @Test
+    public void freshResponse_ServedWithoutNetwork() throws Exception {
+        server.enqueue(new MockResponse().setHeader("Cache-Control", "max-age=60").setBody(OFFERS_JSON));
+        final HttpClientStats before = SharedHttpClient.getStats();
+
+        assertEquals(OFFERS_JSON, get("/v2/orders"));
+        assertEquals(OFFERS_JSON, get("/v2/orders"));
+
+        final HttpClientStats after = SharedHttpClient.getStats();
+        assertEquals(1, server.getRequestCount());
+        assertEquals(1, after.getCacheHits() - before.getCacheHits());
+        assertEquals(1, after.getCacheNetworkRequests() - before.getCacheNetworkRequests());
+        assertEquals(0, after.getCacheRevalidations() - before.getCacheRevalidations());
+    }
+
+    @Test
+    public void clearCache_NextRequestNotConditional() throws Exception {
+        server.enqueue(new MockResponse().setHeader("ETag", "\"v1\"").setBody(OFFERS_JSON));
+        server.enqueue(new MockResponse().setHeader("ETag", "\"v1\"").setBody(OFFERS_JSON));
+
+        get("/v2/orders");
+        server.takeRequest();
+        SharedHttpClient.clearCache();
+        get("/v2/orders");
+
+        assertNull(server.takeRequest().getHeader("If-None-Match"));
+    }
+
+    private String get(String path) throws IOException {
+        Response response = httpClient.newCall(new Request.Builder().url(server.url(path)).build()).execute();
+        try {
+            return response.body().string();
+        } finally {
+            response.close();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.kin.ecosystem.core.network;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParser;
+import com.kin.ecosystem.core.network.model.JWTBodyPaymentConfirmationResult;
+import com.kin.ecosystem.core.network.model.Offer;
+import com.kin.ecosystem.core.network.model.OfferList;
+import com.kin.ecosystem.core.network.model.Order;
+import com.kin.ecosystem.core.network.model.OrderList;
+import org.junit.Test;
+
+public class ModelTypeAdapterFactoryTest {
+
+    private static final String ORDER_LIST_JSON = "{\"orders\":[{"
+        + "\"id\":\"order_id\",\"offer_id\":\"offer_id\",\"offer_type\":\"spend\",\"status\":\"completed\","
+        + "\"origin\":\"marketplace\",\"title\":\"title\",\"description\":\"description\",\"amount\":100,"
+        + "\"completion_date\":\"2018-10-18T10:00:00Z\",\"call_to_action\":\"cta\",\"content\":\"content\","
+        + "\"result\":{\"type\":\"payment_confirmation\",\"jwt\":\"jwt\"},"
+        + "\"blockchain_data\":{\"transaction_id\":\"tx\",\"sender_address\":\"sender\",\"recipient_address\":\"recipient\"},"
+        + "\"error\":{\"error\":\"error\",\"message\":\"message\",\"code\":4001},"
+        + "\"unknown_field\":{\"nested\":[1,2,3]}}],"
+        + "\"paging\":{\"cursors\":{\"after\":\"after\",\"before\":\"before\"},\"previous\":null,\"next\":\"next\"}}";
+
+    private static final String OFFER_LIST_JSON = "{\"offers\":[{"
+        + "\"id\":\"offer_id\",\"title\":\"title\",\"description\":\"description\",\"image\":\"image\",\"amount\":20,"
+        + "\"offer_type\":\"earn\",\"content_type\":\"quiz\",\"content\":\"{}\","
+        + "\"blockchain_data\":{\"recipient_address\":\"recipient\"}}],"
+        + "\"paging\":{\"cursors\":{\"after\":\"after\"}}}";
+
+    private final Gson gson = new JSON().getGson();
+    private final Gson reflectiveGson = new Gson();
+    private final JsonParser parser = new JsonParser();
+
+    @Test
+    public void orderList_sameAsReflective() {
+        OrderList orderList = gson.fromJson(ORDER_LIST_JSON, OrderList.class);
+        Order order = orderList.get(0);
+
+        assertEquals("order_id", order.getOrderId());
+        assertEquals(Order.Status.COMPLETED, order.getStatus());
+        assertEquals(Integer.valueOf(100), order.getAmount());
+        assertEquals("jwt", ((JWTBodyPaymentConfirmationResult) order.getResult()).getJwt());
+        assertEquals(Integer.valueOf(4001), order.getError().getCode());
+        assertNull(orderList.getPaging().getPrevious());
+
+        OrderList reflectiveOrderList = reflectiveGson.fromJson(ORDER_LIST_JSON, OrderList.class);
+        assertEquals(parser.parse(reflectiveGson.toJson(reflectiveOrderList)), parser.parse(gson.toJson(orderList)));
+    }
+
+    @Test
+    public void offerList_sameAsReflective() {
+        OfferList offerList = gson.fromJson(OFFER_LIST_JSON, OfferList.class);
+        Offer offer = offerList.getOffers().get(0);
+
+        assertEquals(Offer.OfferType.EARN, offer.getOfferType());
+        assertEquals(Offer.ContentTypeEnum.QUIZ, offer.getContentType());
+        assertNull(offer.getBlockchainData().getTransactionId());
+
+        OfferList reflectiveOfferList = reflectiveGson.fromJson(OFFER_LIST_JSON, OfferList.class);
+        assertEquals(parser.parse(reflectiveGson.toJson(reflectiveOfferList)), parser.parse(gson.toJson(offerList)));
+    }
+}
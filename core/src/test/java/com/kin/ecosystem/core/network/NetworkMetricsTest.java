@@ -0,0 +1,89 @@
+package com.kin.ecosystem.core.network;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import com.kin.ecosystem.common.model.EndpointStats;
+import com.kin.ecosystem.common.model.NetworkStats;
+import java.io.IOException;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class NetworkMetricsTest {
+
+    private MockWebServer server;
+    private OkHttpClient httpClient;
+
+    @Before
+    public void setUp() throws Exception {
+        httpClient = SharedHttpClient.newBuilder().build();
+        server = new MockWebServer();
+        server.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    public void endpointName_IdsReplaced() {
+        assertEquals("GET /orders/{id}", NetworkMetrics.getEndpointName("GET", "/orders/Gx7pT2kq"));
+        assertEquals("POST /offers/{id}/orders", NetworkMetrics.getEndpointName("POST", "/offers/O3fR1/orders"));
+        assertEquals("POST /offers/external/orders",
+            NetworkMetrics.getEndpointName("POST", "/offers/external/orders"));
+        assertEquals("POST bi", NetworkMetrics.getEndpointName("POST", "bi"));
+    }
+
+    @Test
+    public void calls_RecordedPerEndpoint() throws Exception {
+        server.enqueue(new MockResponse().setBody("{\"id\":1}"));
+        server.enqueue(new MockResponse().setResponseCode(404).setBody("{}"));
+        server.enqueue(new MockResponse().setBody("[]"));
+
+        call("GET", "/v2/orders/A1b2C3");
+        call("GET", "/v2/orders/Z9y8X7");
+        call("POST", "/v2/users");
+
+        final NetworkStats stats = NetworkMetrics.getInstance().getSnapshot();
+        final EndpointStats getOrder = find(stats, "GET /v2/orders/{id}");
+        assertEquals(2, getOrder.getCalls());
+        assertEquals(0, getOrder.getFailedCalls());
+        assertEquals(Long.valueOf(1), getOrder.getStatusCodes().get(200));
+        assertEquals(Long.valueOf(1), getOrder.getStatusCodes().get(404));
+        assertEquals(2, getOrder.getTimeToFirstByte().getCount());
+        assertEquals(2, getOrder.getResponseBytes().getCount());
+        assertEquals(8, getOrder.getResponseBytes().getMax());
+
+        final EndpointStats signIn = find(stats, "POST /v2/users");
+        assertEquals(1, signIn.getCalls());
+        assertEquals(7, signIn.getRequestBytes().getMax());
+        assertNull(find(stats, "GET /v2/users"));
+    }
+
+    private void call(String method, String path) throws IOException {
+        final RequestBody body = "POST".equals(method)
+            ? RequestBody.create(MediaType.parse("application/json"), "{\"a\":1}") : null;
+        Response response = httpClient.newCall(new Request.Builder().url(server.url(path)).method(method, body)
+            .build()).execute();
+        response.body().string();
+        response.close();
+    }
+
+    private static EndpointStats find(NetworkStats stats, String endpoint) {
+        for (EndpointStats endpointStats : stats.getEndpoints()) {
+            if (endpointStats.getEndpoint().equals(endpoint)) {
+                return endpointStats;
+            }
+        }
+        return null;
+    }
+}
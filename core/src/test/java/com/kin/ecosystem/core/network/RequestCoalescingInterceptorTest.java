@@ -0,0 +1,173 @@
+package com.kin.ecosystem.core.network;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class RequestCoalescingInterceptorTest {
+
+    private static final String ORDERS_JSON = "{\"orders\":[],\"paging\":{\"cursors\":{}}}";
+    private static final int CONCURRENT_REQUESTS = 5;
+
+    private MockWebServer server;
+    private OkHttpClient httpClient;
+
+    @Before
+    public void setUp() throws Exception {
+        httpClient = SharedHttpClient.newBuilder().addInterceptor(new RequestCoalescingInterceptor()).build();
+        server = new MockWebServer();
+        server.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    public void concurrentIdenticalGets_OneRequest_AllGetTheResponse() throws Exception {
+        server.enqueue(new MockResponse().setBody(ORDERS_JSON).setBodyDelay(500, TimeUnit.MILLISECONDS)
+            .setHeadersDelay(500, TimeUnit.MILLISECONDS));
+        final long before = SharedHttpClient.getStats().getCoalescedRequests();
+
+        final AtomicInteger responses = new AtomicInteger();
+        final CountDownLatch latch = new CountDownLatch(CONCURRENT_REQUESTS);
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            httpClient.newCall(get("/v2/orders", "Bearer a")).enqueue(new Callback() {
+                @Override
+                public void onFailure(Call call, IOException e) {
+                    latch.countDown();
+                }
+
+                @Override
+                public void onResponse(Call call, Response response) throws IOException {
+                    if (response.code() == 200 && ORDERS_JSON.equals(response.body().string())) {
+                        responses.incrementAndGet();
+                    }
+                    latch.countDown();
+                }
+            });
+        }
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(CONCURRENT_REQUESTS, responses.get());
+        assertEquals(1, server.getRequestCount());
+        assertEquals(CONCURRENT_REQUESTS - 1, SharedHttpClient.getStats().getCoalescedRequests() - before);
+    }
+
+    @Test
+    public void differentAuthorization_NotCoalesced() throws Exception {
+        server.enqueue(new MockResponse().setBody(ORDERS_JSON).setHeadersDelay(300, TimeUnit.MILLISECONDS));
+        server.enqueue(new MockResponse().setBody(ORDERS_JSON).setHeadersDelay(300, TimeUnit.MILLISECONDS));
+
+        final CountDownLatch latch = new CountDownLatch(2);
+        httpClient.newCall(get("/v2/orders", "Bearer a")).enqueue(new CountingCallback(latch));
+        httpClient.newCall(get("/v2/orders", "Bearer b")).enqueue(new CountingCallback(latch));
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    public void sequentialGetsAndPosts_NotCoalesced() throws Exception {
+        server.enqueue(new MockResponse().setBody(ORDERS_JSON));
+        server.enqueue(new MockResponse().setBody(ORDERS_JSON));
+        server.enqueue(new MockResponse().setBody(ORDERS_JSON));
+
+        httpClient.newCall(get("/v2/orders", "Bearer a")).execute().close();
+        httpClient.newCall(get("/v2/orders", "Bearer a")).execute().close();
+        httpClient.newCall(new Request.Builder().url(server.url("/v2/orders"))
+            .post(RequestBody.create(null, new byte[0])).build()).execute().close();
+
+        assertEquals(3, server.getRequestCount());
+    }
+
+    @Test
+    public void clientsSharingTheInterceptor_Coalesced() throws Exception {
+        final RequestCoalescingInterceptor interceptor = new RequestCoalescingInterceptor();
+        final OkHttpClient interactiveClient = SharedHttpClient.newBuilder().addInterceptor(interceptor).build();
+        final OkHttpClient backgroundClient = SharedHttpClient.newBuilder().addInterceptor(interceptor).build();
+        server.enqueue(new MockResponse().setBody(ORDERS_JSON).setHeadersDelay(300, TimeUnit.MILLISECONDS));
+
+        final CountDownLatch latch = new CountDownLatch(2);
+        interactiveClient.newCall(get("/v2/orders", "Bearer a")).enqueue(new CountingCallback(latch));
+        backgroundClient.newCall(get("/v2/orders", "Bearer a")).enqueue(new CountingCallback(latch));
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void noTimeout_JoinedRequestWaitsUntilDone() throws Exception {
+        final OkHttpClient noTimeoutClient = SharedHttpClient.newBuilder()
+            .connectTimeout(0, TimeUnit.MILLISECONDS)
+            .writeTimeout(0, TimeUnit.MILLISECONDS)
+            .readTimeout(0, TimeUnit.MILLISECONDS)
+            .addInterceptor(new RequestCoalescingInterceptor())
+            .build();
+        server.enqueue(new MockResponse().setBody(ORDERS_JSON).setHeadersDelay(300, TimeUnit.MILLISECONDS));
+
+        final AtomicInteger responses = new AtomicInteger();
+        final CountDownLatch latch = new CountDownLatch(2);
+        for (int i = 0; i < 2; i++) {
+            noTimeoutClient.newCall(get("/v2/orders", "Bearer a")).enqueue(new Callback() {
+                @Override
+                public void onFailure(Call call, IOException e) {
+                    latch.countDown();
+                }
+
+                @Override
+                public void onResponse(Call call, Response response) throws IOException {
+                    if (response.code() == 200) {
+                        responses.incrementAndGet();
+                    }
+                    response.close();
+                    latch.countDown();
+                }
+            });
+        }
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(2, responses.get());
+        assertEquals(1, server.getRequestCount());
+    }
+
+    private Request get(String path, String authorization) {
+        return new Request.Builder().url(server.url(path)).header("Authorization", authorization).build();
+    }
+
+    private static class CountingCallback implements Callback {
+
+        private final CountDownLatch latch;
+
+        CountingCallback(CountDownLatch latch) {
+            this.latch = latch;
+        }
+
+        @Override
+        public void onFailure(Call call, IOException e) {
+            latch.countDown();
+        }
+
+        @Override
+        public void onResponse(Call call, Response response) throws IOException {
+            response.close();
+            latch.countDown();
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.kin.ecosystem.core.network;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.kin.ecosystem.core.util.SdkExecutor;
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class RequestRetrierTest {
+
+    private static final String REQUEST_ID = "3f1c9b0e-request";
+
+    private final RequestRetrier requestRetrier = new RequestRetrier(new RequestScheduler(),
+        SdkExecutor.getInstance(), 10);
+
+    private MockWebServer server;
+    private OkHttpClient httpClient;
+
+    @Before
+    public void setUp() throws Exception {
+        httpClient = SharedHttpClient.newBuilder().build();
+        server = new MockWebServer();
+        server.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    public void transientFailures_RetriedWithSameRequestId() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(503));
+        server.enqueue(new MockResponse().setResponseCode(502));
+        server.enqueue(new MockResponse().setBody("{}"));
+        final HttpClientStats before = SharedHttpClient.getStats();
+
+        final Response response = requestRetrier.execute(newCall(REQUEST_ID), RequestLane.INTERACTIVE);
+        response.close();
+
+        assertEquals(200, response.code());
+        assertEquals(3, server.getRequestCount());
+        for (int i = 0; i < 3; i++) {
+            assertEquals(REQUEST_ID, server.takeRequest().getHeader(RequestRetrier.REQUEST_ID_HEADER));
+        }
+        final HttpClientStats after = SharedHttpClient.getStats();
+        assertEquals(2, after.getRetries() - before.getRetries());
+        assertEquals(1, after.getRetriedCalls() - before.getRetriedCalls());
+        assertEquals(1, after.getRetriedCallsSucceeded() - before.getRetriedCallsSucceeded());
+    }
+
+    @Test
+    public void clientError_NotRetried() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(400));
+
+        final Response response = requestRetrier.execute(newCall(REQUEST_ID), RequestLane.INTERACTIVE);
+        response.close();
+
+        assertEquals(400, response.code());
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void noRequestId_NotRetried() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(503));
+
+        final Response response = requestRetrier.execute(newCall(""), RequestLane.INTERACTIVE);
+        response.close();
+
+        assertEquals(503, response.code());
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void telemetry_NotRetried() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(503));
+
+        final Response response = requestRetrier.execute(newCall(REQUEST_ID), RequestLane.TELEMETRY);
+        response.close();
+
+        assertEquals(503, response.code());
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void async_RetriesExhausted_LastResponseDelivered() throws Exception {
+        for (int i = 0; i <= RequestRetrier.MAX_RETRIES; i++) {
+            server.enqueue(new MockResponse().setResponseCode(500));
+        }
+        final AtomicInteger responseCode = new AtomicInteger();
+        final CountDownLatch latch = new CountDownLatch(1);
+
+        requestRetrier.enqueue(newCall(REQUEST_ID), RequestLane.INTERACTIVE, new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                latch.countDown();
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                responseCode.set(response.code());
+                response.close();
+                latch.countDown();
+            }
+        });
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(500, responseCode.get());
+        assertEquals(RequestRetrier.MAX_RETRIES + 1, server.getRequestCount());
+    }
+
+    private Call newCall(String requestId) {
+        return httpClient.newCall(new Request.Builder().url(server.url("/v2/orders/A1/submit"))
+            .header(RequestRetrier.REQUEST_ID_HEADER, requestId)
+            .post(RequestBody.create(MediaType.parse("application/json"), "{}"))
+            .build());
+    }
+}
@@ -0,0 +1,207 @@
+package com.kin.ecosystem.core.network;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class RequestSchedulerTest {
+
+    private final RequestScheduler requestScheduler = new RequestScheduler();
+    private final List<String> finishedPaths = new CopyOnWriteArrayList<>();
+    private final AtomicInteger telemetryRequests = new AtomicInteger();
+
+    private MockWebServer server;
+    private OkHttpClient httpClient;
+
+    @Before
+    public void setUp() throws Exception {
+        httpClient = SharedHttpClient.newBuilder().build();
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                if (request.getPath().equals("/events") && telemetryRequests.incrementAndGet() == 1) {
+                    // Slow enough to be preempted.
+                    return new MockResponse().setHeadersDelay(2, TimeUnit.SECONDS);
+                }
+                return new MockResponse().setHeadersDelay(300, TimeUnit.MILLISECONDS);
+            }
+        });
+        server.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    public void laneLimit_ExtraCallsQueued() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(4);
+        for (int i = 0; i < 4; i++) {
+            enqueue("/orders", RequestLane.BACKGROUND_SYNC, latch);
+        }
+
+        RequestLaneStats stats = requestScheduler.getStats(RequestLane.BACKGROUND_SYNC);
+        assertEquals(2, stats.getRunningCalls());
+        assertEquals(2, stats.getQueuedCalls());
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        stats = requestScheduler.getStats(RequestLane.BACKGROUND_SYNC);
+        assertEquals(4, stats.getStartedCalls());
+        assertTrue(stats.getMaxQueueWaitMillis() >= 250);
+    }
+
+    @Test
+    public void telemetry_WaitsForInteractiveCalls() throws Exception {
+        telemetryRequests.set(1);
+        final CountDownLatch latch = new CountDownLatch(2);
+        enqueue("/submit", RequestLane.INTERACTIVE, latch);
+        enqueue("/events", RequestLane.TELEMETRY, latch);
+
+        assertEquals(1, requestScheduler.getStats(RequestLane.TELEMETRY).getQueuedCalls());
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals("/submit", finishedPaths.get(0));
+        assertEquals("/events", finishedPaths.get(1));
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    public void runningTelemetry_PreemptedByInteractiveCall_SentAgain() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(2);
+        enqueue("/events", RequestLane.TELEMETRY, latch);
+        server.takeRequest();
+        enqueue("/submit", RequestLane.INTERACTIVE, latch);
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals("/submit", finishedPaths.get(0));
+        assertEquals("/events", finishedPaths.get(1));
+        assertEquals(2, telemetryRequests.get());
+        final RequestLaneStats stats = requestScheduler.getStats(RequestLane.TELEMETRY);
+        assertEquals(1, stats.getPreemptedCalls());
+        assertEquals(2, stats.getStartedCalls());
+    }
+
+    @Test
+    public void slowCallback_SlotReleasedOnResponse() throws Exception {
+        telemetryRequests.set(1);
+        final CountDownLatch secondCallDone = new CountDownLatch(1);
+        final CountDownLatch firstCallDone = new CountDownLatch(1);
+        final Call call = httpClient.newCall(new Request.Builder().url(server.url("/events")).build());
+        requestScheduler.enqueue(call, RequestLane.TELEMETRY, new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                firstCallDone.countDown();
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) throws IOException {
+                // The lane has a single slot, the next call runs only if it was released.
+                enqueue("/events", RequestLane.TELEMETRY, secondCallDone);
+                try {
+                    assertTrue(secondCallDone.await(5, TimeUnit.SECONDS));
+                    finishedPaths.add("first /events");
+                } catch (InterruptedException e) {
+                    throw new InterruptedIOException();
+                } finally {
+                    response.close();
+                    firstCallDone.countDown();
+                }
+            }
+        });
+
+        assertTrue(firstCallDone.await(10, TimeUnit.SECONDS));
+        assertEquals(2, finishedPaths.size());
+        assertEquals("first /events", finishedPaths.get(1));
+    }
+
+    @Test
+    public void fullInteractiveLane_SignInFromInterceptor_NotBlocked() throws Exception {
+        final int calls = RequestLane.INTERACTIVE.maxRunningCalls;
+        final CountDownLatch rejectedCalls = new CountDownLatch(calls);
+        final OkHttpClient authClient = httpClient.newBuilder().addInterceptor(new Interceptor() {
+            @Override
+            public Response intercept(Chain chain) throws IOException {
+                final Response response = chain.proceed(chain.request());
+                if (!chain.request().url().encodedPath().equals("/orders")) {
+                    return response;
+                }
+                // Like a 401 refreshing the token, sign in while all the interactive slots are held.
+                response.close();
+                rejectedCalls.countDown();
+                try {
+                    rejectedCalls.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    throw new InterruptedIOException();
+                }
+                requestScheduler.execute(httpClient.newCall(new Request.Builder().url(server.url("/users")).build()),
+                    RequestLane.AUTH).close();
+                return chain.proceed(chain.request());
+            }
+        }).build();
+
+        final ExecutorService executor = Executors.newFixedThreadPool(calls);
+        final CountDownLatch latch = new CountDownLatch(calls);
+        for (int i = 0; i < calls; i++) {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        requestScheduler.execute(authClient.newCall(new Request.Builder().url(server.url("/orders"))
+                            .build()), RequestLane.INTERACTIVE).close();
+                        latch.countDown();
+                    } catch (IOException e) {
+                        finishedPaths.add("failed /orders");
+                    }
+                }
+            });
+        }
+
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(calls, requestScheduler.getStats(RequestLane.AUTH).getStartedCalls());
+        assertEquals(calls * 3, server.getRequestCount());
+    }
+
+    private void enqueue(final String path, RequestLane lane, final CountDownLatch latch) {
+        final Call call = httpClient.newCall(new Request.Builder().url(server.url(path)).build());
+        requestScheduler.enqueue(call, lane, new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                finishedPaths.add("failed " + path);
+                latch.countDown();
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) throws IOException {
+                response.close();
+                finishedPaths.add(path);
+                latch.countDown();
+            }
+        });
+    }
+}
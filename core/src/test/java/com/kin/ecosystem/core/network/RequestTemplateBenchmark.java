@@ -0,0 +1,73 @@
+package com.kin.ecosystem.core.network;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import okhttp3.Request;
+import org.junit.Ignore;
+import org.junit.Test;
+
+/**
+ * Bytes allocated to build one request, the legacy generated code against the template.
+ * Not a test, run it manually on a JVM that supports thread allocation counters.
+ */
+@Ignore("Benchmark, run manually")
+public class RequestTemplateBenchmark {
+
+    private static final String BASE_PATH = "https://api.kin.test/v1";
+    private static final String REQUEST_ID = "6e4b2f1c-03a3-4d2c-9a8b-1f2e3d4c5b6a";
+    private static final int ITERATIONS = 20000;
+
+    private static final RequestTemplate GET_ORDER = RequestTemplate
+        .builder(ApiClient.GET, "/orders/{order_id}")
+        .accept(ApiClient.APPLICATION_JSON_KEY)
+        .build();
+
+    private final ApiClient apiClient = new ApiClient(BASE_PATH);
+
+    @Test
+    public void allocatedBytesPerRequest() throws Exception {
+        final com.sun.management.ThreadMXBean allocations =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        final long threadId = Thread.currentThread().getId();
+
+        // Warm up both paths so the JIT and the caches settle before measuring.
+        for (int i = 0; i < ITERATIONS; i++) {
+            legacyGetOrder("Gx7pT2kq");
+            templateGetOrder("Gx7pT2kq");
+        }
+
+        long start = allocations.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < ITERATIONS; i++) {
+            legacyGetOrder("Gx7pT2kq");
+        }
+        final long legacyBytes = (allocations.getThreadAllocatedBytes(threadId) - start) / ITERATIONS;
+
+        start = allocations.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < ITERATIONS; i++) {
+            templateGetOrder("Gx7pT2kq");
+        }
+        final long templateBytes = (allocations.getThreadAllocatedBytes(threadId) - start) / ITERATIONS;
+
+        System.out.println("Allocated bytes per request, legacy: " + legacyBytes + ", template: " + templateBytes);
+    }
+
+    private Request templateGetOrder(String orderId) throws ApiException {
+        return GET_ORDER.newCall(apiClient)
+            .pathParam("order_id", orderId)
+            .header("X-REQUEST-ID", REQUEST_ID)
+            .build().request();
+    }
+
+    private Request legacyGetOrder(String orderId) throws ApiException {
+        final String path = "/orders/{order_id}"
+            .replaceAll("\\{" + "order_id" + "\\}", apiClient.escapeString(orderId));
+        final Map<String, String> headerParams = new HashMap<String, String>();
+        headerParams.put("X-REQUEST-ID", apiClient.parameterToString(REQUEST_ID));
+        headerParams.put("Accept", apiClient.selectHeaderAccept(new String[]{"application/json", "application/json"}));
+        headerParams.put("Content-Type", apiClient.selectHeaderContentType(new String[]{}));
+        return apiClient.buildRequest(path, ApiClient.GET, new ArrayList<Pair>(), new ArrayList<Pair>(), null,
+            headerParams, new HashMap<String, Object>(), new String[]{});
+    }
+}
@@ -0,0 +1,140 @@
+package com.kin.ecosystem.core.network;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import com.kin.ecosystem.core.network.model.JWT;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import okhttp3.Request;
+import okio.Buffer;
+import org.junit.Before;
+import org.junit.Test;
+
+public class RequestTemplateTest {
+
+    private static final String BASE_PATH = "https://api.kin.test/v1";
+    private static final String REQUEST_ID = "6e4b2f1c-03a3-4d2c-9a8b-1f2e3d4c5b6a";
+
+    private static final RequestTemplate GET_ORDER = RequestTemplate
+        .builder(ApiClient.GET, "/orders/{order_id}")
+        .accept(ApiClient.APPLICATION_JSON_KEY)
+        .build();
+    private static final RequestTemplate GET_HISTORY = RequestTemplate
+        .builder(ApiClient.GET, "/orders")
+        .accept(ApiClient.APPLICATION_JSON_KEY)
+        .build();
+    private static final RequestTemplate SIGN_IN = RequestTemplate
+        .builder(ApiClient.POST, "/users")
+        .accept(ApiClient.APPLICATION_JSON_KEY)
+        .build();
+
+    private ApiClient apiClient;
+
+    @Before
+    public void setUp() {
+        apiClient = new ApiClient(BASE_PATH);
+        apiClient.addDefaultHeader("X-SDK-VERSION", "0.6.0");
+        apiClient.addDefaultHeader("X-DEVICE-MODEL", "Pixel 2");
+    }
+
+    @Test
+    public void getWithPathParam_SameAsLegacyRequest() throws Exception {
+        final Request request = GET_ORDER.newCall(apiClient)
+            .pathParam("order_id", "Gx7pT2kq")
+            .header("X-REQUEST-ID", REQUEST_ID)
+            .build().request();
+
+        assertSameRequest(legacyGetOrder("Gx7pT2kq"), request);
+        assertNull(request.body());
+        assertEquals("GET /orders/{id}", request.tag());
+    }
+
+    @Test
+    public void queryParams_NullsSkippedAndEscaped() throws Exception {
+        final Request request = GET_HISTORY.newCall(apiClient)
+            .queryParam("origin", "external")
+            .queryParam("offer_id", null)
+            .queryParam("limit", 25)
+            .queryParam("before", "a b/c+d")
+            .header("X-REQUEST-ID", REQUEST_ID)
+            .build().request();
+
+        final List<Pair> queryParams = new ArrayList<>();
+        queryParams.addAll(apiClient.parameterToPair("origin", "external"));
+        queryParams.addAll(apiClient.parameterToPair("limit", 25));
+        queryParams.addAll(apiClient.parameterToPair("before", "a b/c+d"));
+        final Request legacy = apiClient.buildRequest("/orders", ApiClient.GET, queryParams, new ArrayList<Pair>(),
+            null, legacyHeaders(), new HashMap<String, Object>(), new String[]{});
+
+        assertSameRequest(legacy, request);
+        assertEquals(BASE_PATH + "/orders?origin=external&limit=25&before=a%20b%2Fc%2Bd", request.url().toString());
+    }
+
+    @Test
+    public void postWithBody_SameAsLegacyRequest() throws Exception {
+        final Request request = SIGN_IN.newCall(apiClient)
+            .header("X-REQUEST-ID", REQUEST_ID)
+            .body(new JWT("header.payload.signature"))
+            .build().request();
+
+        final Request legacy = apiClient.buildRequest("/users", ApiClient.POST, new ArrayList<Pair>(),
+            new ArrayList<Pair>(), new JWT("header.payload.signature"), legacyHeaders(),
+            new HashMap<String, Object>(), new String[]{});
+
+        assertSameRequest(legacy, request);
+        assertEquals(legacy.body().contentType(), request.body().contentType());
+        assertEquals(bodyOf(legacy), bodyOf(request));
+    }
+
+    @Test
+    public void defaultHeaderChanged_NextCallsUseNewValue() throws Exception {
+        GET_ORDER.newCall(apiClient).pathParam("order_id", "Gx7pT2kq").build();
+        apiClient.addDefaultHeader("X-SDK-VERSION", "0.7.0");
+
+        final Request request = GET_ORDER.newCall(apiClient).pathParam("order_id", "Gx7pT2kq").build().request();
+        assertEquals("0.7.0", request.header("X-SDK-VERSION"));
+    }
+
+    @Test(expected = ApiException.class)
+    public void missingPathParam_Throws() throws Exception {
+        GET_ORDER.newCall(apiClient).build();
+    }
+
+    /**
+     * The request the swagger generated code built before the templates.
+     */
+    private Request legacyGetOrder(String orderId) throws ApiException {
+        final String path = "/orders/{order_id}"
+            .replaceAll("\\{" + "order_id" + "\\}", apiClient.escapeString(orderId));
+        final Map<String, String> headerParams = new HashMap<String, String>();
+        headerParams.put("X-REQUEST-ID", apiClient.parameterToString(REQUEST_ID));
+        headerParams.put("Accept", apiClient.selectHeaderAccept(new String[]{"application/json", "application/json"}));
+        headerParams.put("Content-Type", apiClient.selectHeaderContentType(new String[]{}));
+        return apiClient.buildRequest(path, ApiClient.GET, new ArrayList<Pair>(), new ArrayList<Pair>(), null,
+            headerParams, new HashMap<String, Object>(), new String[]{});
+    }
+
+    private Map<String, String> legacyHeaders() {
+        final Map<String, String> headerParams = new HashMap<>();
+        headerParams.put("X-REQUEST-ID", REQUEST_ID);
+        headerParams.put("Accept", ApiClient.APPLICATION_JSON_KEY);
+        headerParams.put("Content-Type", ApiClient.APPLICATION_JSON_KEY);
+        return headerParams;
+    }
+
+    private static void assertSameRequest(Request expected, Request actual) {
+        assertEquals(expected.method(), actual.method());
+        assertEquals(expected.url(), actual.url());
+        assertEquals(expected.headers().toMultimap(), actual.headers().toMultimap());
+        assertEquals(expected.tag(), actual.tag());
+    }
+
+    private static String bodyOf(Request request) throws Exception {
+        final Buffer buffer = new Buffer();
+        request.body().writeTo(buffer);
+        return buffer.readUtf8();
+    }
+}
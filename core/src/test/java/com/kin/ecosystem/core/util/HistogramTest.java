@@ -0,0 +1,41 @@
+package com.kin.ecosystem.core.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.kin.ecosystem.common.model.HistogramSummary;
+import org.junit.Test;
+
+public class HistogramTest {
+
+    @Test
+    public void bucketBounds_CoverAllValues() {
+        for (long value = 0; value < 100000; value++) {
+            int index = Histogram.bucketIndex(value);
+            assertTrue(value <= Histogram.bucketUpperBound(index));
+            assertTrue(index == 0 || value > Histogram.bucketUpperBound(index - 1));
+        }
+        assertEquals(Long.MAX_VALUE, Histogram.bucketUpperBound(Histogram.bucketIndex(Long.MAX_VALUE)));
+    }
+
+    @Test
+    public void summary_PercentilesWithinBucketPrecision() {
+        final Histogram histogram = new Histogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i);
+        }
+
+        final HistogramSummary summary = histogram.getSummary();
+        assertEquals(1000, summary.getCount());
+        assertEquals(500, summary.getMean());
+        assertEquals(1000, summary.getMax());
+        assertInRange(500, summary.getP50());
+        assertInRange(900, summary.getP90());
+        assertInRange(990, summary.getP99());
+    }
+
+    private static void assertInRange(long expected, long actual) {
+        assertTrue("expected about " + expected + " but was " + actual,
+            actual >= expected && actual <= expected * 1.125);
+    }
+}
@@ -0,0 +1,59 @@
+package com.kin.ecosystem.core.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+public class SdkExecutorTest {
+
+    private final SdkExecutor sdkExecutor = new SdkExecutor(4);
+
+    @Test
+    public void serialExecutor_RunInSubmissionOrder() throws Exception {
+        final Executor serialExecutor = sdkExecutor.newSerialExecutor();
+        final List<Integer> results = new ArrayList<>();
+        final CountDownLatch latch = new CountDownLatch(100);
+        for (int i = 0; i < 100; i++) {
+            final int index = i;
+            serialExecutor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    results.add(index);
+                    latch.countDown();
+                }
+            });
+        }
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 100; i++) {
+            assertEquals(Integer.valueOf(i), results.get(i));
+        }
+    }
+
+    @Test
+    public void scheduleTimeout_CountOnlyFiredTimeouts() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(1);
+        ScheduledFuture<?> canceledTimeout = sdkExecutor.scheduleTimeout(new Runnable() {
+            @Override
+            public void run() {
+            }
+        }, 1, TimeUnit.SECONDS);
+        sdkExecutor.scheduleTimeout(new Runnable() {
+            @Override
+            public void run() {
+                latch.countDown();
+            }
+        }, 10, TimeUnit.MILLISECONDS);
+        canceledTimeout.cancel(false);
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(1, sdkExecutor.getMetrics().getTimeoutsFired());
+    }
+}
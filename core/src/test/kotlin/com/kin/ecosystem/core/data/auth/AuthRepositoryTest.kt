@@ -20,6 +20,10 @@ import org.junit.runner.RunWith
 import org.robolectric.RobolectricTestRunner
 import org.robolectric.annotation.Config
 import java.time.Instant
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import kotlin.concurrent.thread
 
 
 @Config(manifest = Config.NONE)
@@ -238,6 +242,43 @@ class AuthRepositoryTest : BaseTestClass() {
         verify(callback).onResponse(any())
     }
 
+    @Test
+    fun `concurrent token refreshes sign in once`() {
+        val twoDaysAgo = Instant.now().minusMillis(2 * DateUtils.DAY_IN_MILLIS).toString()
+        val expiredToken = AuthToken("expiredToken", twoDaysAgo, APP_ID, USER_ID_A, ECOSYSTEM_USER_ID_A)
+        val newToken = getValidToken(APP_ID, USER_ID_A, ECOSYSTEM_USER_ID_A)
+        val signInLatch = CountDownLatch(1)
+
+        whenever(local.authTokenSync) doAnswer { expiredToken }
+        whenever(remote.getAccountInfoSync(any())) doAnswer {
+            signInLatch.await(1, TimeUnit.SECONDS)
+            AccountInfo(newToken, null)
+        }
+        resetInstance()
+        authRepository.setJWT(JWT_A)
+
+        val results = ConcurrentLinkedQueue<AuthToken>()
+        val threads = (1..5).map { thread { results.add(authRepository.authTokenSync) } }
+        signInLatch.countDown()
+        threads.forEach { it.join() }
+
+        verify(remote, times(1)).getAccountInfoSync(any())
+        assertEquals(5, results.size)
+        results.forEach { assertEquals(newToken, it) }
+    }
+
+    @Test
+    fun `refresh rejected token, already replaced, return the current token`() {
+        whenever(remote.getAccountInfoSync(any())) doAnswer { AccountInfo(getValidToken(APP_ID, USER_ID_A, ECOSYSTEM_USER_ID_A), null) }
+        authRepository.setJWT(JWT_A)
+
+        assertEquals(authToken, authRepository.refreshAuthTokenSync("oldToken"))
+        verify(remote, never()).getAccountInfoSync(any())
+
+        authRepository.refreshAuthTokenSync(authToken.token)
+        verify(remote).getAccountInfoSync(any())
+    }
+
     private fun getValidToken(appId: String, userId: String, kinUserId: String): AuthToken {
         val tomorrow = Instant.now().plusMillis(3 * DateUtils.DAY_IN_MILLIS).toString()
         return AuthToken("authToken", tomorrow, appId, userId, kinUserId)
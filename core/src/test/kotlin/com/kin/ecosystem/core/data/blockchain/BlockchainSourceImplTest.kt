@@ -1,5 +1,6 @@
 package com.kin.ecosystem.core.data.blockchain
 
+import com.kin.ecosystem.common.KinCallback
 import com.kin.ecosystem.common.Observer
 import com.kin.ecosystem.common.exception.BlockchainException
 import com.kin.ecosystem.common.model.Balance
@@ -296,6 +297,25 @@ class BlockchainSourceImplTest() : BaseTestClass() {
         verify(local).balance = value.toInt()
     }
 
+    @Test
+    fun `get balance while a query is in flight or cached, query once`() {
+        loadAccount(kinAccountA, PUBLIC_ADDRESS_A, KIN_USER_ID_A)
+        val callback: KinCallback<Balance> = mock()
+        val resultCallback = argumentCaptor<ResultCallback<kin.core.Balance>>()
+
+        blockchainSource.getBalance(callback)
+        verify(getBalanceReq).run(resultCallback.capture())
+
+        whenever(balanceObj.value()).thenReturn(BigDecimal(30))
+        resultCallback.firstValue.onResult(balanceObj)
+        verify(callback, times(1)).onResponse(any())
+
+        blockchainSource.getBalance(callback)
+        verify(callback, times(2)).onResponse(any())
+        verify(getBalanceReq, times(1)).run(any())
+        verify(local).balance = 30
+    }
+
     @Test
     fun `get KeyStoreProvider is not null`() {
         assertNotNull(blockchainSource.keyStoreProvider)
@@ -1,9 +1,12 @@
 package com.kin.ecosystem;
 
+import android.content.ComponentCallbacks;
 import android.content.Context;
+import android.content.res.Configuration;
 import android.os.Build;
 import android.os.Build.VERSION;
 import android.telephony.TelephonyManager;
+import com.kin.ecosystem.core.bi.EventIdGenerator;
 import com.kin.ecosystem.core.bi.EventsStore;
 import com.kin.ecosystem.core.bi.EventsStore.ClientModifier;
 import com.kin.ecosystem.core.bi.EventsStore.CommonModifier;
@@ -43,7 +46,7 @@ class EventCommonDataUtil {
 				commonProxy.setEventId(new DynamicValue<UUID>() {
 					@Override
 					public UUID get() {
-						return UUID.randomUUID();
+						return EventIdGenerator.next();
 					}
 				});
 
@@ -113,6 +116,18 @@ class EventCommonDataUtil {
 		EventsStore.update(userModifier);
 		EventsStore.update(commonModifier);
 		EventsStore.update(clientModifier);
+
+		// The client snapshot holds the device language.
+		context.registerComponentCallbacks(new ComponentCallbacks() {
+			@Override
+			public void onConfigurationChanged(Configuration newConfig) {
+				EventsStore.invalidateClient();
+			}
+
+			@Override
+			public void onLowMemory() {
+			}
+		});
 	}
 
 	private static String safeguardNullString(final String text) {
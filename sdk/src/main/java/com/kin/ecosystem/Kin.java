@@ -11,6 +11,7 @@ import android.content.pm.ApplicationInfo;
 import android.content.pm.PackageManager;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
+import com.kin.ecosystem.common.KinBatchCallback;
 import com.kin.ecosystem.common.KinCallback;
 import com.kin.ecosystem.common.KinEnvironment;
 import com.kin.ecosystem.common.NativeOfferClickEvent;
@@ -20,7 +21,9 @@ import com.kin.ecosystem.common.exception.ClientException;
 import com.kin.ecosystem.common.exception.KinEcosystemException;
 import com.kin.ecosystem.common.model.Balance;
 import com.kin.ecosystem.common.model.NativeOffer;
+import com.kin.ecosystem.common.model.NetworkStats;
 import com.kin.ecosystem.common.model.OrderConfirmation;
+import com.kin.ecosystem.common.model.PurchaseStats;
 import com.kin.ecosystem.common.model.UserStats;
 import com.kin.ecosystem.core.Log;
 import com.kin.ecosystem.core.Logger;
@@ -50,15 +53,21 @@ import com.kin.ecosystem.core.data.order.OrderRemoteData;
 import com.kin.ecosystem.core.data.order.OrderRepository;
 import com.kin.ecosystem.core.data.settings.SettingsDataSourceImpl;
 import com.kin.ecosystem.core.data.settings.SettingsDataSourceLocal;
+import com.kin.ecosystem.core.network.NetworkMetrics;
+import com.kin.ecosystem.core.network.SharedHttpClient;
 import com.kin.ecosystem.core.network.model.AccountInfo;
 import com.kin.ecosystem.core.util.DeviceUtils;
 import com.kin.ecosystem.core.util.ErrorUtil;
 import com.kin.ecosystem.core.util.ExecutorsUtil;
+import com.kin.ecosystem.core.util.SdkExecutor;
 import com.kin.ecosystem.core.util.Validator;
 import com.kin.ecosystem.main.view.EcosystemActivity;
 import com.kin.ecosystem.recovery.BackupAndRestore;
 import com.kin.ecosystem.recovery.BackupAndRestoreImpl;
 import com.kin.ecosystem.splash.view.SplashActivity;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 import kin.core.KinClient;
 import kin.core.ServiceProvider;
@@ -100,7 +109,20 @@ public class Kin {
 	 * @param appContext application context.
 	 * @throws ClientException - The sdk could not be initiated.
 	 */
-	public synchronized static void initialize(Context appContext) throws ClientException {
+	public static void initialize(Context appContext) throws ClientException {
+		initialize(appContext, false);
+	}
+
+	/**
+	 * Initialize the sdk, see {@link #initialize(Context)}.
+	 *
+	 * @param appContext application context.
+	 * @param prewarmConnections true to resolve and connect to the environment hosts in the background,
+	 * so the first {@link #login(String, KinCallback)} doesn't wait for DNS, TCP and TLS setup.
+	 * @throws ClientException - The sdk could not be initiated.
+	 */
+	public synchronized static void initialize(Context appContext, boolean prewarmConnections)
+		throws ClientException {
 		if (isInstanceNull()) {
 			instance = getInstance();
 			// use application context to avoid leaks.
@@ -109,9 +131,16 @@ public class Kin {
 			//Load data from manifest, can throw ClientException if no data available.
 			loadDefaultsFromMetadata(appContext);
 
+			//Cache responses of the apis created from now on
+			SharedHttpClient.setCacheDirectory(appContext.getCacheDir());
+
 			//Set Environment
 			ConfigurationImpl.init(environmentName);
 			KinEnvironment kinEnvironment = ConfigurationImpl.getInstance().getEnvironment();
+			if (prewarmConnections) {
+				prewarmConnections(kinEnvironment);
+			}
+			EventLoggerImpl.init(appContext);
 			eventLogger = EventLoggerImpl.getInstance();
 			final String networkUrl = kinEnvironment.getBlockchainNetworkUrl();
 			final String networkId = kinEnvironment.getBlockchainPassphrase();
@@ -150,6 +179,13 @@ public class Kin {
 		}
 	}
 
+	private static void prewarmConnections(KinEnvironment kinEnvironment) {
+		// The blockchain network is called by the KinClient http client, its host can only be resolved.
+		SharedHttpClient.prewarm(
+			Arrays.asList(kinEnvironment.getEcosystemServerUrl(), kinEnvironment.getBiUrl()),
+			Collections.singletonList(kinEnvironment.getBlockchainNetworkUrl()));
+	}
+
 	private static void loadDefaultsFromMetadata(Context context) throws ClientException {
 		if (context == null) {
 			return;
@@ -190,6 +226,14 @@ public class Kin {
 		Logger.enableLogs(enableLogs);
 	}
 
+	/**
+	 * @return the last SDK logs of info priority and above, kept in memory also when the logs are disabled,
+	 * for diagnostics of field issues.
+	 */
+	public static String dumpLogs() {
+		return Logger.dump();
+	}
+
 	/**
 	 * In order to use all the other features in Kin Ecosystem, you should login the user first.
 	 * This option should be use in production.
@@ -280,6 +324,10 @@ public class Kin {
 	private static void sendLoginSucceed(final KinCallback<Void> loginCallback, @UserLoginState int loginState) {
 		if (loginState != UserLoginState.SAME_USER) {
 			eventLogger.send(UserLoginSucceeded.create());
+			// Orders journaled by another user can't be resumed.
+			OrderRepository.getInstance().discardJournaledOrders();
+		} else {
+			OrderRepository.getInstance().resumeJournaledOrders();
 		}
 		isAccountLoggedIn.getAndSet(true);
 		instance.executorsUtil.mainThread().execute(new Runnable() {
@@ -344,6 +392,12 @@ public class Kin {
 		AccountManagerImpl.getInstance().logout();
 		OrderRepository.getInstance().logout();
 		OfferRepository.getInstance().logout();
+		SdkExecutor.getInstance().execute(new Runnable() {
+			@Override
+			public void run() {
+				SharedHttpClient.clearCache();
+			}
+		});
 	}
 
 	/**
@@ -479,6 +533,40 @@ public class Kin {
 		OrderRepository.getInstance().purchase(offerJwt, callback);
 	}
 
+	/**
+	 * Run the following {@link #purchase(String, KinCallback)} calls pipelined: the account is looked up while the
+	 * order is created, and the transaction is sent as soon as the order submit is acknowledged.
+	 * Compare the flows with {@link #getPurchaseStats()}.
+	 *
+	 * @throws ClientException - sdk not initialized.
+	 */
+	public static void setPipelinedPurchase(boolean pipelined) throws ClientException {
+		checkInstanceNotNull();
+		OrderRepository.getInstance().setPipelinedPurchase(pipelined);
+	}
+
+	/**
+	 * Send the BI events in batches, as a JSON array per request, instead of a request per event.
+	 * Enable only when the BI endpoint of the environment accepts JSON arrays.
+	 *
+	 * @throws ClientException - sdk not initialized.
+	 */
+	public static void setBatchEvents(boolean batchEvents) throws ClientException {
+		checkInstanceNotNull();
+		EventLoggerImpl.getInstance().setBatchRequests(batchEvents);
+	}
+
+	/**
+	 * Get the duration of each stage of the purchases, for the sequential and the pipelined flows.
+	 *
+	 * @return stats counted since the SDK was initialized, the sequential flow first.
+	 * @throws ClientException - sdk not initialized.
+	 */
+	public static List<PurchaseStats> getPurchaseStats() throws ClientException {
+		checkInstanceNotNull();
+		return OrderRepository.getInstance().getPurchaseMetrics().getStats();
+	}
+
 	/**
 	 * Allowing your users to earn Kin as a reward for native task you define.
 	 * This call might take time, due to transaction validation on the blockchain network.
@@ -511,6 +599,37 @@ public class Kin {
 		OrderRepository.getInstance().purchase(offerJwt, callback);
 	}
 
+	/**
+	 * Request payments for many native tasks at once, e.g. payouts of many small earns.
+	 * The orders are created and submitted together, each order completes on its own.
+	 *
+	 * @param offerJwts The offers details represented in a JWT manner.
+	 * @param callback Gets the {@link OrderConfirmation} or failure of each JWT by its index, as soon as it completes.
+	 * @throws ClientException - sdk not initialized or account not logged in.
+	 */
+	public static void requestPayments(@NonNull List<String> offerJwts,
+		@NonNull KinBatchCallback<OrderConfirmation> callback) throws ClientException {
+		checkInstanceNotNull();
+		checkAccountIsLoggedIn();
+		OrderRepository.getInstance().requestPaymentBatch(offerJwts, callback);
+	}
+
+	/**
+	 * Pay to many users at once, e.g. tips.
+	 * The orders are created and submitted together, and the transactions are sent one after the other,
+	 * each order completes on its own.
+	 *
+	 * @param offerJwts Represents 'Pay to user' offers in a JWT manner.
+	 * @param callback Gets the {@link OrderConfirmation} or failure of each JWT by its index, as soon as it completes.
+	 * @throws ClientException - sdk not initialized or account not logged in.
+	 */
+	public static void payToUsers(@NonNull List<String> offerJwts,
+		@NonNull KinBatchCallback<OrderConfirmation> callback) throws ClientException {
+		checkInstanceNotNull();
+		checkAccountIsLoggedIn();
+		OrderRepository.getInstance().purchaseBatch(offerJwts, callback);
+	}
+
 	/**
 	 * Determine if a Kin Account is associated with the {@param userId}, on Kin Ecosystem Server.
 	 * That means you can pay to the user with {@link Kin#payToUser(String userId, KinCallback)},
@@ -607,4 +726,38 @@ public class Kin {
 			eventLogger, BlockchainSourceImpl.getInstance(),
 			new SettingsDataSourceImpl(new SettingsDataSourceLocal(activity.getApplicationContext())));
 	}
+
+	/**
+	 * Get the latency, size and status codes of the SDK network calls, per endpoint.
+	 *
+	 * @return stats counted since the SDK was initialized.
+	 * @throws ClientException - sdk not initialized.
+	 */
+	public static NetworkStats getNetworkStats() throws ClientException {
+		checkInstanceNotNull();
+		return NetworkMetrics.getInstance().getSnapshot();
+	}
+
+	/**
+	 * Add network stats observer to get a {@link NetworkStats} summary periodically, on the main thread.
+	 * Use {@link #removeNetworkStatsObserver(Observer)} with the same observer to stop it.
+	 *
+	 * @throws ClientException - sdk not initialized.
+	 */
+	public static void addNetworkStatsObserver(@NonNull final Observer<NetworkStats> observer)
+		throws ClientException {
+		checkInstanceNotNull();
+		NetworkMetrics.getInstance().addSummaryObserver(observer);
+	}
+
+	/**
+	 * Remove the network stats observer.
+	 *
+	 * @throws ClientException - sdk not initialized.
+	 */
+	public static void removeNetworkStatsObserver(@NonNull final Observer<NetworkStats> observer)
+		throws ClientException {
+		checkInstanceNotNull();
+		NetworkMetrics.getInstance().removeSummaryObserver(observer);
+	}
 }
@@ -6,4 +6,6 @@ import com.kin.ecosystem.history.view.IOrderHistoryView;
 public interface IOrderHistoryPresenter extends IBasePresenter<IOrderHistoryView> {
 
     void onItemCLicked(int position);
+
+    void onListScrolled(int firstVisiblePosition, int lastVisiblePosition);
 }
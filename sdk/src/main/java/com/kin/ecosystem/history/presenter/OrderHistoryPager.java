@@ -0,0 +1,268 @@
+package com.kin.ecosystem.history.presenter;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import com.kin.ecosystem.common.KinCallback;
+import com.kin.ecosystem.common.exception.KinEcosystemException;
+import com.kin.ecosystem.core.data.order.OrderDataSource;
+import com.kin.ecosystem.core.network.model.Order;
+import com.kin.ecosystem.core.network.model.Order.Status;
+import com.kin.ecosystem.core.network.model.OrderList;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Pages of the order history, newest order first, loaded while the list is scrolled.
+ * Only {@code maxPages} pages are kept in memory, a page that was dropped while scrolling away
+ * is loaded again with the cursors of its neighbour page when scrolling back.
+ * Should be used from the main thread.
+ */
+class OrderHistoryPager {
+
+	interface Listener {
+
+		void onOrdersInserted(int position, int count);
+
+		void onOrdersRemoved(int position, int count);
+
+		void onOrderChanged(int position);
+	}
+
+	private static final int NOT_FOUND = -1;
+	// Start loading the next page when the list is scrolled this close to its edge.
+	private static final int PREFETCH_DISTANCE = 5;
+
+	private final OrderDataSource orderRepository;
+	private final int maxPages;
+	private final Listener listener;
+
+	// The orders of all the loaded pages, as they are shown.
+	private final List<Order> orders = new ArrayList<>();
+	private final LinkedList<Page> pages = new LinkedList<>();
+	private boolean hasNewerPages;
+	private boolean hasOlderPages;
+	private boolean isLoadingNewer;
+	private boolean isLoadingOlder;
+	// Changed when the pages are reset, so responses for the previous pages are ignored.
+	private int pagesVersion;
+
+	private static class Page {
+
+		int size;
+		String before;
+		String after;
+	}
+
+	OrderHistoryPager(@NonNull OrderDataSource orderRepository, int maxPages, @NonNull Listener listener) {
+		this.orderRepository = orderRepository;
+		this.maxPages = maxPages;
+		this.listener = listener;
+	}
+
+	/**
+	 * @return the loaded orders, the same list is updated as pages are loaded or dropped.
+	 */
+	List<Order> getOrders() {
+		return orders;
+	}
+
+	/**
+	 * Reset the pages to the newest page of the history.
+	 */
+	void setNewestPage(@Nullable OrderList orderList) {
+		pagesVersion++;
+		isLoadingNewer = false;
+		isLoadingOlder = false;
+		orders.clear();
+		pages.clear();
+
+		final List<Order> pageOrders = getFinishedOrders(orderList);
+		orders.addAll(pageOrders);
+		pages.add(createPage(orderList, pageOrders.size()));
+		hasNewerPages = false;
+		hasOlderPages = hasOrders(orderList) && getAfterCursor(orderList) != null;
+	}
+
+	/**
+	 * Update the cursors of the newest page after it was synced with the server.
+	 */
+	void setNewestPageCursors(@Nullable OrderList orderList) {
+		if (hasNewerPages || pages.isEmpty()) {
+			return;
+		}
+		final Page page = pages.getFirst();
+		page.before = getBeforeCursor(orderList);
+		if (pages.size() == 1) {
+			page.after = getAfterCursor(orderList);
+			hasOlderPages = hasOrders(orderList) && page.after != null;
+		}
+	}
+
+	/**
+	 * @return true if the newest page from the server can be merged to the loaded pages without leaving a gap,
+	 * it overlaps the loaded newest page or the newest page is not loaded, its newer orders are loaded on scroll.
+	 */
+	boolean isContiguous(@Nullable OrderList newestPage) {
+		if (orders.isEmpty()) {
+			return false;
+		}
+		return hasNewerPages || getFinishedOrders(newestPage).contains(orders.get(0));
+	}
+
+	/**
+	 * Update a loaded order, or add a new order at the top if the newest page is loaded.
+	 */
+	void addOrUpdateOrder(@NonNull Order order) {
+		if (order.getStatus() == Status.PENDING) {
+			return;
+		}
+		final int index = orders.indexOf(order);
+		if (index != NOT_FOUND) {
+			orders.set(index, order);
+			listener.onOrderChanged(index);
+		} else if (!hasNewerPages && !pages.isEmpty()) {
+			orders.add(0, order);
+			pages.getFirst().size++;
+			listener.onOrdersInserted(0, 1);
+		}
+	}
+
+	void onScrolled(int firstVisiblePosition, int lastVisiblePosition) {
+		if (lastVisiblePosition >= orders.size() - PREFETCH_DISTANCE) {
+			loadOlderPage();
+		}
+		if (firstVisiblePosition <= PREFETCH_DISTANCE) {
+			loadNewerPage();
+		}
+	}
+
+	private void loadOlderPage() {
+		if (isLoadingOlder || !hasOlderPages || pages.isEmpty()) {
+			return;
+		}
+		isLoadingOlder = true;
+		final int version = pagesVersion;
+		orderRepository.getOrderHistoryPage(null, pages.getLast().after, new KinCallback<OrderList>() {
+			@Override
+			public void onResponse(OrderList orderList) {
+				if (version != pagesVersion) {
+					return;
+				}
+				isLoadingOlder = false;
+				final List<Order> pageOrders = getFinishedOrders(orderList);
+				final int position = orders.size();
+				orders.addAll(pageOrders);
+				pages.addLast(createPage(orderList, pageOrders.size()));
+				hasOlderPages = hasOrders(orderList) && getAfterCursor(orderList) != null;
+				notifyInserted(position, pageOrders.size());
+
+				if (pages.size() > maxPages) {
+					final Page newestPage = pages.removeFirst();
+					orders.subList(0, newestPage.size).clear();
+					hasNewerPages = true;
+					notifyRemoved(0, newestPage.size);
+				}
+			}
+
+			@Override
+			public void onFailure(KinEcosystemException exception) {
+				if (version == pagesVersion) {
+					isLoadingOlder = false;
+				}
+			}
+		});
+	}
+
+	private void loadNewerPage() {
+		if (isLoadingNewer || !hasNewerPages || pages.isEmpty()) {
+			return;
+		}
+		isLoadingNewer = true;
+		final int version = pagesVersion;
+		orderRepository.getOrderHistoryPage(pages.getFirst().before, null, new KinCallback<OrderList>() {
+			@Override
+			public void onResponse(OrderList orderList) {
+				if (version != pagesVersion) {
+					return;
+				}
+				isLoadingNewer = false;
+				final List<Order> pageOrders = getFinishedOrders(orderList);
+				orders.addAll(0, pageOrders);
+				pages.addFirst(createPage(orderList, pageOrders.size()));
+				hasNewerPages = hasOrders(orderList) && getBeforeCursor(orderList) != null;
+				notifyInserted(0, pageOrders.size());
+
+				if (pages.size() > maxPages) {
+					final Page oldestPage = pages.removeLast();
+					final int position = orders.size() - oldestPage.size;
+					orders.subList(position, orders.size()).clear();
+					hasOlderPages = true;
+					notifyRemoved(position, oldestPage.size);
+				}
+			}
+
+			@Override
+			public void onFailure(KinEcosystemException exception) {
+				if (version == pagesVersion) {
+					isLoadingNewer = false;
+				}
+			}
+		});
+	}
+
+	private void notifyInserted(int position, int count) {
+		if (count > 0) {
+			listener.onOrdersInserted(position, count);
+		}
+	}
+
+	private void notifyRemoved(int position, int count) {
+		if (count > 0) {
+			listener.onOrdersRemoved(position, count);
+		}
+	}
+
+	private static Page createPage(@Nullable OrderList orderList, int size) {
+		final Page page = new Page();
+		page.size = size;
+		page.before = getBeforeCursor(orderList);
+		page.after = getAfterCursor(orderList);
+		return page;
+	}
+
+	/**
+	 * Pending orders are not shown in the history.
+	 */
+	private static List<Order> getFinishedOrders(@Nullable OrderList orderList) {
+		final List<Order> finishedOrders = new ArrayList<>();
+		if (orderList != null && orderList.getOrders() != null) {
+			for (Order order : orderList.getOrders()) {
+				if (order.getStatus() != Status.PENDING) {
+					finishedOrders.add(order);
+				}
+			}
+		}
+		return finishedOrders;
+	}
+
+	private static boolean hasOrders(@Nullable OrderList orderList) {
+		return orderList != null && orderList.getOrders() != null && !orderList.getOrders().isEmpty();
+	}
+
+	@Nullable
+	private static String getBeforeCursor(@Nullable OrderList orderList) {
+		if (orderList == null || orderList.getPaging() == null || orderList.getPaging().getCursors() == null) {
+			return null;
+		}
+		return orderList.getPaging().getCursors().getBefore();
+	}
+
+	@Nullable
+	private static String getAfterCursor(@Nullable OrderList orderList) {
+		if (orderList == null || orderList.getPaging() == null || orderList.getPaging().getCursors() == null) {
+			return null;
+		}
+		return orderList.getPaging().getCursors().getAfter();
+	}
+}
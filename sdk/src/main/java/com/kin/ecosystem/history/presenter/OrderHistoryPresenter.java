@@ -19,18 +19,20 @@ import com.kin.ecosystem.core.network.model.CouponCodeResult;
 import com.kin.ecosystem.core.network.model.Order;
 import com.kin.ecosystem.core.network.model.Order.Status;
 import com.kin.ecosystem.core.network.model.OrderList;
+import com.kin.ecosystem.history.presenter.OrderHistoryPager.Listener;
 import com.kin.ecosystem.history.view.IOrderHistoryView;
-import java.util.ArrayList;
 import java.util.List;
 
 public class OrderHistoryPresenter extends BasePresenter<IOrderHistoryView> implements IOrderHistoryPresenter {
 
-	private static final int NOT_FOUND = -1;
+	private static final int MAX_PAGES_IN_MEMORY = 5;
+
 	private final OrderDataSource orderRepository;
 	private final BlockchainSource blockchainSource;
 	private final EventLogger eventLogger;
 
-	private List<Order> orderHistoryList = new ArrayList<>();
+	private final OrderHistoryPager orderHistoryPager;
+	private final List<Order> orderHistoryList;
 	private Observer<Order> completedOrderObserver;
 	private final Gson gson;
 
@@ -47,6 +49,23 @@ public class OrderHistoryPresenter extends BasePresenter<IOrderHistoryView> impl
 		this.eventLogger = eventLogger;
 		this.isFirstSpendOrder = isFirstSpendOrder;
 		this.gson = new Gson();
+		this.orderHistoryPager = new OrderHistoryPager(orderRepository, MAX_PAGES_IN_MEMORY, new Listener() {
+			@Override
+			public void onOrdersInserted(int position, int count) {
+				notifyItemsInserted(position, count);
+			}
+
+			@Override
+			public void onOrdersRemoved(int position, int count) {
+				notifyItemsRemoved(position, count);
+			}
+
+			@Override
+			public void onOrderChanged(int position) {
+				notifyItemUpdated(position);
+			}
+		});
+		this.orderHistoryList = orderHistoryPager.getOrders();
 
 		view.attachPresenter(this);
 	}
@@ -60,9 +79,7 @@ public class OrderHistoryPresenter extends BasePresenter<IOrderHistoryView> impl
 	}
 
 	private void getOrderHistoryList() {
-		OrderList cachedOrderListObj = orderRepository.getAllCachedOrderHistory();
-		List<Order> cachedList = removePendingOrders(cachedOrderListObj);
-		setOrderHistoryList(cachedList);
+		setNewestPage(orderRepository.getAllCachedOrderHistory());
 		orderRepository.getAllOrderHistory(new KinCallback<OrderList>() {
 			@Override
 			public void onResponse(OrderList orderHistoryList) {
@@ -77,48 +94,29 @@ public class OrderHistoryPresenter extends BasePresenter<IOrderHistoryView> impl
 	}
 
 	private void syncNewOrders(OrderList newOrdersListObj) {
-		List<Order> newList = removePendingOrders(newOrdersListObj);
-		if (orderHistoryList.size() > 0) {
-			//the oldest order is the last one, so we'll go from the last and add the top
-			//we will end with newest order at the top.
-			for (int i = newList.size() - 1; i >= 0; i--) {
-				Order order = newList.get(i);
-				int index = orderHistoryList.indexOf(order);
-				if (index == NOT_FOUND) {
-					//add at top (ui orientation)
-					orderHistoryList.add(0, order);
-					notifyItemInserted();
-				} else {
-					//Update
-					orderHistoryList.set(index, order);
-					notifyItemUpdated(index);
+		List<Order> newList = newOrdersListObj != null ? newOrdersListObj.getOrders() : null;
+		// A first page fetched again after a gap doesn't reach the shown orders, merging it would hide the gap.
+		if (orderHistoryPager.isContiguous(newOrdersListObj)) {
+			if (newList != null) {
+				//the oldest order is the last one, so we'll go from the last and add the top
+				//we will end with newest order at the top.
+				for (int i = newList.size() - 1; i >= 0; i--) {
+					orderHistoryPager.addOrUpdateOrder(newList.get(i));
 				}
 			}
-
+			orderHistoryPager.setNewestPageCursors(newOrdersListObj);
 		} else {
-			setOrderHistoryList(newList);
+			setNewestPage(newOrdersListObj);
 		}
 	}
 
-	private void setOrderHistoryList(List<Order> orders) {
-		orderHistoryList = orders;
+	private void setNewestPage(OrderList orderList) {
+		orderHistoryPager.setNewestPage(orderList);
 		if (view != null) {
 			view.updateOrderHistoryList(orderHistoryList);
 		}
 	}
 
-	private List<Order> removePendingOrders(OrderList orderListObj) {
-		List<Order> orderList = new ArrayList<>();
-		if (orderListObj != null && orderListObj.getOrders() != null) {
-			for (Order order : orderListObj.getOrders()) {
-				if (order.getStatus() != Status.PENDING) {
-					orderList.add(order);
-				}
-			}
-		}
-		return orderList;
-	}
-
 	private void listenToCompletedOrders() {
 		completedOrderObserver = new Observer<Order>() {
 			@Override
@@ -136,19 +134,18 @@ public class OrderHistoryPresenter extends BasePresenter<IOrderHistoryView> impl
 	}
 
 	private void addOrderOrUpdate(Order order) {
-		int index = orderHistoryList.indexOf(order);
-		if (index == NOT_FOUND) {
-			orderHistoryList.add(0, order);
-			notifyItemInserted();
-		} else {
-			orderHistoryList.set(index, order);
-			notifyItemUpdated(index);
+		orderHistoryPager.addOrUpdateOrder(order);
+	}
+
+	private void notifyItemsInserted(int position, int count) {
+		if (view != null) {
+			view.onItemsInserted(position, count);
 		}
 	}
 
-	private void notifyItemInserted() {
+	private void notifyItemsRemoved(int position, int count) {
 		if (view != null) {
-			view.onItemInserted();
+			view.onItemsRemoved(position, count);
 		}
 	}
 
@@ -158,8 +155,16 @@ public class OrderHistoryPresenter extends BasePresenter<IOrderHistoryView> impl
 		}
 	}
 
+	@Override
+	public void onListScrolled(int firstVisiblePosition, int lastVisiblePosition) {
+		orderHistoryPager.onScrolled(firstVisiblePosition, lastVisiblePosition);
+	}
+
 	@Override
 	public void onItemCLicked(int position) {
+		if (position < 0 || position >= orderHistoryList.size()) {
+			return;
+		}
 		Order order = orderHistoryList.get(position);
 		if (order != null) {
 			eventLogger.send(OrderHistoryItemTapped.create(order.getOfferId(), order.getOrderId()));
@@ -11,7 +11,9 @@ public interface IOrderHistoryView extends IBaseView<IOrderHistoryPresenter>{
 
     void updateOrderHistoryList(List<Order> orders);
 
-    void onItemInserted();
+    void onItemsInserted(int position, int count);
+
+    void onItemsRemoved(int position, int count);
 
     void onItemUpdated(int index);
 
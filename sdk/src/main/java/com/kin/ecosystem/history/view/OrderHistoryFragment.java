@@ -7,6 +7,7 @@ import android.support.annotation.Nullable;
 import android.support.v4.app.Fragment;
 import android.support.v7.widget.LinearLayoutManager;
 import android.support.v7.widget.RecyclerView;
+import android.support.v7.widget.RecyclerView.OnScrollListener;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -56,6 +57,14 @@ public class OrderHistoryFragment extends Fragment implements IOrderHistoryView
 				orderHistoryPresenter.onItemCLicked(position);
 			}
 		});
+		orderRecyclerView.addOnScrollListener(new OnScrollListener() {
+			@Override
+			public void onScrolled(RecyclerView recyclerView, int dx, int dy) {
+				LinearLayoutManager layoutManager = (LinearLayoutManager) recyclerView.getLayoutManager();
+				orderHistoryPresenter.onListScrolled(layoutManager.findFirstVisibleItemPosition(),
+					layoutManager.findLastVisibleItemPosition());
+			}
+		});
 	}
 
 	@Override
@@ -72,9 +81,16 @@ public class OrderHistoryFragment extends Fragment implements IOrderHistoryView
 	}
 
 	@Override
-	public void onItemInserted() {
+	public void onItemsInserted(int position, int count) {
+		if(orderHistoryRecyclerAdapter != null) {
+			orderHistoryRecyclerAdapter.notifyItemRangeInserted(position, count);
+		}
+	}
+
+	@Override
+	public void onItemsRemoved(int position, int count) {
 		if(orderHistoryRecyclerAdapter != null) {
-			orderHistoryRecyclerAdapter.notifyItemInserted(0);
+			orderHistoryRecyclerAdapter.notifyItemRangeRemoved(position, count);
 		}
 	}
 
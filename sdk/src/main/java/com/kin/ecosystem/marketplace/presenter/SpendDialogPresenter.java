@@ -176,6 +176,7 @@ class SpendDialogPresenter extends BaseDialogPresenter<ISpendDialog> implements
 
 	private void sendTransaction(String addressee, BigDecimal amount, String orderID) {
 		blockchainSource.sendTransaction(addressee, amount, orderID, offer.getId());
+		orderRepository.onTransactionSent(orderID);
 	}
 
 	private void submitOrder(String offerID, final String orderID) {
@@ -17,21 +17,21 @@ import com.kin.ecosystem.core.bi.EventLogger;
 import com.kin.ecosystem.core.bi.events.BackButtonOnWelcomeScreenPageTapped;
 import com.kin.ecosystem.core.bi.events.WelcomeScreenButtonTapped;
 import com.kin.ecosystem.core.bi.events.WelcomeScreenPageViewed;
+import com.kin.ecosystem.core.util.SdkExecutor;
 import com.kin.ecosystem.splash.view.ISplashView;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 
 public class SplashPresenter extends BasePresenter<ISplashView> implements ISplashPresenter {
 
 	private static final String TAG = SplashPresenter.class.getSimpleName();
 
-	private static final int SEC_IN_MILI = 1000;
 	private static final int TIME_OUT_DURATION = 20;
 
 	private final AccountManager accountManager;
 	private final EventLogger eventLogger;
-	private final Timer timer;
+	private final SdkExecutor sdkExecutor;
 	private @EcosystemExperience final int nextExperience;
 
 	private final Observer<Integer> accountStateObserver = new Observer<Integer>() {
@@ -53,16 +53,16 @@ public class SplashPresenter extends BasePresenter<ISplashView> implements ISpla
 		}
 	};
 
-	private TimerTask timeOutTask;
+	private ScheduledFuture<?> timeOutTask;
 
 	private boolean animationEnded = false;
 
 	public SplashPresenter(@NonNull AccountManager accountManager,
 		@NonNull EventLogger eventLogger,
-		@NonNull Timer timer, Bundle extras) {
+		@NonNull SdkExecutor sdkExecutor, Bundle extras) {
 		this.accountManager = accountManager;
 		this.eventLogger = eventLogger;
-		this.timer = timer;
+		this.sdkExecutor = sdkExecutor;
 		this.nextExperience = getExperience(extras);
 	}
 
@@ -110,8 +110,8 @@ public class SplashPresenter extends BasePresenter<ISplashView> implements ISpla
 		}
 	}
 
-	private TimerTask createTimeOutTimerTask() {
-		return new TimerTask() {
+	private Runnable createTimeOutTask() {
+		return new Runnable() {
 			@Override
 			public void run() {
 				Logger.log(new Log().withTag(TAG).text("Account creation time out"));
@@ -124,16 +124,14 @@ public class SplashPresenter extends BasePresenter<ISplashView> implements ISpla
 
 	private void cancelTimeoutTask() {
 		if (timeOutTask != null) {
-			timeOutTask.cancel();
+			timeOutTask.cancel(false);
 			timeOutTask = null;
 		}
-		timer.purge();
 	}
 
 	private void startCreationTimeout(final int sec) {
 		cancelTimeoutTask();
-		timeOutTask = createTimeOutTimerTask();
-		timer.schedule(timeOutTask, sec * SEC_IN_MILI);
+		timeOutTask = sdkExecutor.scheduleTimeout(createTimeOutTask(), sec, TimeUnit.SECONDS);
 	}
 
 	private void showTryAgainLater() {
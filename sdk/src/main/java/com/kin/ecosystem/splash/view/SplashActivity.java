@@ -21,12 +21,12 @@ import com.kin.ecosystem.R;
 import com.kin.ecosystem.base.KinEcosystemBaseActivity;
 import com.kin.ecosystem.core.accountmanager.AccountManagerImpl;
 import com.kin.ecosystem.core.bi.EventLoggerImpl;
+import com.kin.ecosystem.core.util.SdkExecutor;
 import com.kin.ecosystem.main.view.EcosystemActivity;
 import com.kin.ecosystem.splash.presenter.ISplashPresenter;
 import com.kin.ecosystem.splash.presenter.ISplashPresenter.Message;
 import com.kin.ecosystem.splash.presenter.SplashPresenter;
 import com.kin.ecosystem.splash.view.SplashScreenButton.LoadAnimationListener;
-import java.util.Timer;
 
 public class SplashActivity extends KinEcosystemBaseActivity implements ISplashView {
 
@@ -45,7 +45,7 @@ public class SplashActivity extends KinEcosystemBaseActivity implements ISplashV
 	protected void onCreate(@Nullable Bundle savedInstanceState) {
 		super.onCreate(savedInstanceState);
 		setContentView(R.layout.kinecosystem_activity_splash);
-		attachPresenter(new SplashPresenter(AccountManagerImpl.getInstance(), EventLoggerImpl.getInstance(), new Timer(), getIntent().getExtras()));
+		attachPresenter(new SplashPresenter(AccountManagerImpl.getInstance(), EventLoggerImpl.getInstance(), SdkExecutor.getInstance(), getIntent().getExtras()));
 		initViews();
 		initAnimations();
 		setBackButtonListener();
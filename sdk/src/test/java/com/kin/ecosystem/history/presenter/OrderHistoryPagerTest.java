@@ -0,0 +1,137 @@
+package com.kin.ecosystem.history.presenter;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.kin.ecosystem.common.KinCallback;
+import com.kin.ecosystem.core.data.order.OrderDataSource;
+import com.kin.ecosystem.core.network.model.Order;
+import com.kin.ecosystem.core.network.model.Order.Status;
+import com.kin.ecosystem.core.network.model.OrderList;
+import com.kin.ecosystem.core.network.model.Paging;
+import com.kin.ecosystem.core.network.model.PagingCursors;
+import com.kin.ecosystem.history.presenter.OrderHistoryPager.Listener;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+@RunWith(JUnit4.class)
+public class OrderHistoryPagerTest {
+
+	private static final int PAGE_SIZE = 10;
+	private static final int MAX_PAGES = 2;
+
+	@Mock
+	private OrderDataSource orderRepository;
+
+	@Mock
+	private Listener listener;
+
+	@Captor
+	private ArgumentCaptor<KinCallback<OrderList>> pageCaptor;
+
+	private OrderHistoryPager orderHistoryPager;
+
+	@Before
+	public void setUp() throws Exception {
+		MockitoAnnotations.initMocks(this);
+		orderHistoryPager = new OrderHistoryPager(orderRepository, MAX_PAGES, listener);
+	}
+
+	@Test
+	public void onScrolled_NearTheEnd_LoadOlderPageOnce() {
+		orderHistoryPager.setNewestPage(createPage(0));
+
+		orderHistoryPager.onScrolled(0, 3);
+		verify(orderRepository, never()).getOrderHistoryPage(anyString(), anyString(), any(KinCallback.class));
+
+		orderHistoryPager.onScrolled(0, PAGE_SIZE - 1);
+		orderHistoryPager.onScrolled(0, PAGE_SIZE - 1);
+		verify(orderRepository).getOrderHistoryPage(isNull(String.class), eq("after_0"), pageCaptor.capture());
+
+		pageCaptor.getValue().onResponse(createPage(1));
+		assertEquals(2 * PAGE_SIZE, orderHistoryPager.getOrders().size());
+		assertEquals("order_1_0", orderHistoryPager.getOrders().get(PAGE_SIZE).getOrderId());
+		verify(listener).onOrdersInserted(PAGE_SIZE, PAGE_SIZE);
+	}
+
+	@Test
+	public void onScrolled_MoreThanMaxPages_DropAndReloadNewestPage() {
+		orderHistoryPager.setNewestPage(createPage(0));
+		orderHistoryPager.onScrolled(0, PAGE_SIZE - 1);
+		verify(orderRepository).getOrderHistoryPage(isNull(String.class), eq("after_0"), pageCaptor.capture());
+		pageCaptor.getValue().onResponse(createPage(1));
+
+		orderHistoryPager.onScrolled(PAGE_SIZE, 2 * PAGE_SIZE - 1);
+		verify(orderRepository).getOrderHistoryPage(isNull(String.class), eq("after_1"), pageCaptor.capture());
+		pageCaptor.getValue().onResponse(createPage(2));
+
+		// The newest page was dropped.
+		verify(listener).onOrdersRemoved(0, PAGE_SIZE);
+		assertEquals(MAX_PAGES * PAGE_SIZE, orderHistoryPager.getOrders().size());
+		assertEquals("order_1_0", orderHistoryPager.getOrders().get(0).getOrderId());
+
+		// New orders are not added above a dropped page.
+		orderHistoryPager.addOrUpdateOrder(createOrder("new_order", Status.COMPLETED));
+		verify(listener, never()).onOrdersInserted(0, 1);
+
+		orderHistoryPager.onScrolled(0, PAGE_SIZE - 1);
+		verify(orderRepository).getOrderHistoryPage(eq("before_1"), isNull(String.class), pageCaptor.capture());
+		pageCaptor.getValue().onResponse(createPage(0));
+
+		verify(listener).onOrdersRemoved(2 * PAGE_SIZE, PAGE_SIZE);
+		assertEquals("order_0_0", orderHistoryPager.getOrders().get(0).getOrderId());
+		assertEquals("order_1_" + (PAGE_SIZE - 1), orderHistoryPager.getOrders().get(2 * PAGE_SIZE - 1).getOrderId());
+	}
+
+	@Test
+	public void addOrUpdateOrder_NewestPageLoaded_AddAtTopSkipPending() {
+		orderHistoryPager.setNewestPage(createPage(0));
+
+		orderHistoryPager.addOrUpdateOrder(createOrder("pending_order", Status.PENDING));
+		orderHistoryPager.addOrUpdateOrder(createOrder("new_order", Status.COMPLETED));
+		orderHistoryPager.addOrUpdateOrder(createOrder("order_0_3", Status.FAILED));
+
+		assertEquals(PAGE_SIZE + 1, orderHistoryPager.getOrders().size());
+		assertEquals("new_order", orderHistoryPager.getOrders().get(0).getOrderId());
+		assertEquals(Status.FAILED, orderHistoryPager.getOrders().get(4).getStatus());
+		verify(listener).onOrdersInserted(0, 1);
+		verify(listener).onOrderChanged(4);
+	}
+
+	@Test
+	public void isContiguous_OnlyWhenOverlappingNewestPage() {
+		orderHistoryPager.setNewestPage(createPage(1));
+		final OrderList newerOrders = createPage(0);
+		assertFalse(orderHistoryPager.isContiguous(newerOrders));
+
+		newerOrders.addOrder(createOrder("order_1_0", Status.COMPLETED));
+		assertTrue(orderHistoryPager.isContiguous(newerOrders));
+	}
+
+	private OrderList createPage(int pageIndex) {
+		OrderList orderList = new OrderList();
+		for (int i = 0; i < PAGE_SIZE; i++) {
+			orderList.addOrder(createOrder("order_" + pageIndex + "_" + i, Status.COMPLETED));
+		}
+		String before = pageIndex == 0 ? null : "before_" + pageIndex;
+		orderList.setPaging(new Paging().cursors(new PagingCursors().before(before).after("after_" + pageIndex)));
+		return orderList;
+	}
+
+	private Order createOrder(String orderId, Status status) {
+		return new Order().orderId(orderId).status(status);
+	}
+}
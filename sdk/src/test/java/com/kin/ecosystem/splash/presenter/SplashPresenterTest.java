@@ -6,6 +6,7 @@ import static junit.framework.Assert.assertNotNull;
 import static junit.framework.Assert.assertNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -20,9 +21,10 @@ import com.kin.ecosystem.core.bi.EventLogger;
 import com.kin.ecosystem.core.bi.events.BackButtonOnWelcomeScreenPageTapped;
 import com.kin.ecosystem.core.bi.events.WelcomeScreenButtonTapped;
 import com.kin.ecosystem.core.bi.events.WelcomeScreenPageViewed;
+import com.kin.ecosystem.core.util.SdkExecutor;
 import com.kin.ecosystem.splash.view.ISplashView;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import kin.ecosystem.test.base.BaseTestClass;
 import org.junit.After;
 import org.junit.Before;
@@ -46,7 +48,10 @@ public class SplashPresenterTest extends BaseTestClass {
 	private EventLogger eventLogger;
 
 	@Mock
-	private Timer timer;
+	private SdkExecutor sdkExecutor;
+
+	@Mock
+	private ScheduledFuture<?> timeoutFuture;
 
 	@Mock
 	private ISplashView splashView;
@@ -61,7 +66,8 @@ public class SplashPresenterTest extends BaseTestClass {
 		super.setUp();
 		MockitoAnnotations.initMocks(this);
 		when(extras.getInt(Kin.KEY_ECOSYSTEM_EXPERIENCE, EcosystemExperience.NONE)).thenReturn(EcosystemExperience.MARKETPLACE);
-		splashPresenter = new SplashPresenter(accountManager, eventLogger, timer, extras);
+		doReturn(timeoutFuture).when(sdkExecutor).scheduleTimeout(any(Runnable.class), anyLong(), any(TimeUnit.class));
+		splashPresenter = new SplashPresenter(accountManager, eventLogger, sdkExecutor, extras);
 		splashPresenter.onAttach(splashView);
 		assertNotNull(splashPresenter.getView());
 		verify(eventLogger).send(any(WelcomeScreenPageViewed.class));
@@ -97,12 +103,12 @@ public class SplashPresenterTest extends BaseTestClass {
 
 	@Test
 	public void getStartedClicked_AccountNotCreated_Timeout_NotNavigateToMP() {
-		ArgumentCaptor<TimerTask> timeoutTask = ArgumentCaptor.forClass(TimerTask.class);
+		ArgumentCaptor<Runnable> timeoutTask = ArgumentCaptor.forClass(Runnable.class);
 		ArgumentCaptor<Observer<Integer>> accountStateObserver = ArgumentCaptor.forClass(Observer.class);
 		when(accountManager.isAccountCreated()).thenReturn(false);
 
 		splashPresenter.getStartedClicked();
-		verify(timer).schedule(timeoutTask.capture(), anyLong());
+		verify(sdkExecutor).scheduleTimeout(timeoutTask.capture(), anyLong(), any(TimeUnit.class));
 		verify(accountManager).addAccountStateObserver(accountStateObserver.capture());
 		verify(splashView).animateLoading();
 
@@ -116,12 +122,12 @@ public class SplashPresenterTest extends BaseTestClass {
 
 	@Test
 	public void getStartedClicked_AccountNotCreated_ObserverOnChange_AccountCreated_NavigateToMP() {
-		ArgumentCaptor<TimerTask> timeoutTask = ArgumentCaptor.forClass(TimerTask.class);
+		ArgumentCaptor<Runnable> timeoutTask = ArgumentCaptor.forClass(Runnable.class);
 		ArgumentCaptor<Observer<Integer>> accountStateObserver = ArgumentCaptor.forClass(Observer.class);
 		when(accountManager.isAccountCreated()).thenReturn(false);
 
 		splashPresenter.getStartedClicked();
-		verify(timer).schedule(timeoutTask.capture(), anyLong());
+		verify(sdkExecutor).scheduleTimeout(timeoutTask.capture(), anyLong(), any(TimeUnit.class));
 		verify(accountManager).addAccountStateObserver(accountStateObserver.capture());
 		verify(splashView).animateLoading();
 
@@ -132,25 +138,25 @@ public class SplashPresenterTest extends BaseTestClass {
 		accountStateObserver.getValue().onChanged(CREATION_COMPLETED);
 
 		verify(accountManager).removeAccountStateObserver(accountStateObserver.getValue());
-		verify(timer, times(2)).purge();
+		verify(timeoutFuture).cancel(false);
 		verify(splashView).navigateToEcosystemActivity(EcosystemExperience.MARKETPLACE);
 	}
 
 	@Test
 	public void getStartedClicked_AccountNotCreated_ObserverOnChange_AccountCreated_NavigateToMP_AnimationEnded() {
-		ArgumentCaptor<TimerTask> timeoutTask = ArgumentCaptor.forClass(TimerTask.class);
+		ArgumentCaptor<Runnable> timeoutTask = ArgumentCaptor.forClass(Runnable.class);
 		ArgumentCaptor<Observer<Integer>> accountStateObserver = ArgumentCaptor.forClass(Observer.class);
 		when(accountManager.isAccountCreated()).thenReturn(false);
 
 		splashPresenter.getStartedClicked();
-		verify(timer).schedule(timeoutTask.capture(), anyLong());
+		verify(sdkExecutor).scheduleTimeout(timeoutTask.capture(), anyLong(), any(TimeUnit.class));
 		verify(accountManager).addAccountStateObserver(accountStateObserver.capture());
 		verify(splashView).animateLoading();
 		when(accountManager.isAccountCreated()).thenReturn(true);
 		accountStateObserver.getValue().onChanged(CREATION_COMPLETED);
 
 		verify(accountManager).removeAccountStateObserver(accountStateObserver.getValue());
-		verify(timer, times(2)).purge();
+		verify(timeoutFuture).cancel(false);
 		verify(splashView, times(0)).navigateToEcosystemActivity(EcosystemExperience.MARKETPLACE);
 
 		splashPresenter.onAnimationEnded();
@@ -175,7 +181,7 @@ public class SplashPresenterTest extends BaseTestClass {
 		when(accountManager.isAccountCreated()).thenReturn(false);
 
 		splashPresenter.getStartedClicked();
-		verify(timer).schedule(any(TimerTask.class), anyLong());
+		verify(sdkExecutor).scheduleTimeout(any(Runnable.class), anyLong(), any(TimeUnit.class));
 		verify(accountManager).addAccountStateObserver(accountStateObserver.capture());
 		verify(splashView).animateLoading();
 
@@ -184,7 +190,7 @@ public class SplashPresenterTest extends BaseTestClass {
 
 		accountStateObserver.getValue().onChanged(ERROR);
 		verify(accountManager).removeAccountStateObserver(accountStateObserver.getValue());
-		verify(timer, times(2)).purge();
+		verify(timeoutFuture).cancel(false);
 		verify(splashView).showToast(ISplashPresenter.TRY_AGAIN);
 		verify(splashView, times(0)).navigateToEcosystemActivity(EcosystemExperience.MARKETPLACE);
 	}